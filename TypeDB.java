@@ -72,6 +72,10 @@ public interface TypeDB {
 
         String ruleSchema();
 
+        void ingestBulkLoad();
+
+        void recountStatistics();
+
         void delete();
     }
 
@@ -20,27 +20,44 @@ package com.vaticle.typedb.core.common.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
+import java.util.Optional;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 
+import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class CommonCache<KEY, VALUE> {
 
-    private static final int CACHE_SIZE = 10_000; // TODO: parameterise this through typedb.properties
-    private static final int CACHE_TIMEOUT_MINUTES = 1_440;
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    public static final int DEFAULT_CACHE_TIMEOUT_MINUTES = 1_440;
     private final Cache<KEY, VALUE> cache;
 
     public CommonCache() {
-        this(CACHE_SIZE, CACHE_TIMEOUT_MINUTES);
+        this(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TIMEOUT_MINUTES);
     }
 
     public CommonCache(int size) {
-        this(size, CACHE_TIMEOUT_MINUTES);
+        this(size, DEFAULT_CACHE_TIMEOUT_MINUTES);
     }
 
     public CommonCache(int size, int timeoutMinutes) {
-        cache = Caffeine.newBuilder().maximumSize(size).expireAfterAccess(timeoutMinutes, MINUTES).build();
+        cache = Caffeine.newBuilder().maximumSize(size).expireAfterAccess(timeoutMinutes, MINUTES).recordStats().build();
+    }
+
+    /**
+     * Create a cache bounded by the total weight of its entries, rather than the number of entries.
+     * The weigher should estimate the relative memory footprint of an entry, and is only evaluated when the entry
+     * is inserted or replaced.
+     */
+    public CommonCache(long maxWeight, int timeoutMinutes, Weigher<KEY, VALUE> weigher) {
+        cache = Caffeine.newBuilder().maximumWeight(maxWeight).weigher(weigher)
+                .expireAfterAccess(timeoutMinutes, MINUTES).recordStats().build();
     }
 
     public VALUE get(KEY key, Function<KEY, VALUE> function) {
@@ -49,6 +66,10 @@ public class CommonCache<KEY, VALUE> {
 
     public void invalidate(KEY key) { cache.invalidate(key); }
 
+    public void invalidateIf(BiPredicate<KEY, VALUE> predicate) {
+        cache.asMap().entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+    }
+
     public void put(KEY key, VALUE value) {
         cache.put(key, value);
     }
@@ -58,4 +79,69 @@ public class CommonCache<KEY, VALUE> {
     public void clear() {
         cache.invalidateAll();
     }
+
+    public Statistics statistics() {
+        long size = cache.estimatedSize();
+        Optional<Policy.Eviction<KEY, VALUE>> eviction = cache.policy().eviction();
+        long weight = eviction.isPresent() && eviction.get().isWeighted() ? eviction.get().weightedSize().orElse(size) : size;
+        return new Statistics(cache.stats(), size, weight);
+    }
+
+    public static class Statistics {
+
+        private static final double MILLISECOND_NANOS = 1_000_000d;
+
+        private final CacheStats stats;
+        private final long size;
+        private final long weight;
+
+        private Statistics(CacheStats stats, long size, long weight) {
+            this.stats = stats;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        public long weight() {
+            return weight;
+        }
+
+        public long hitCount() {
+            return stats.hitCount();
+        }
+
+        public long missCount() {
+            return stats.missCount();
+        }
+
+        public double hitRate() {
+            return stats.hitRate();
+        }
+
+        public long evictionCount() {
+            return stats.evictionCount();
+        }
+
+        public long loadCount() {
+            return stats.loadCount();
+        }
+
+        public long totalLoadTimeMillis() {
+            return NANOSECONDS.toMillis(stats.totalLoadTime());
+        }
+
+        public double averageLoadTimeMillis() {
+            return stats.averageLoadPenalty() / MILLISECOND_NANOS;
+        }
+
+        @Override
+        public String toString() {
+            return format("size: %d, weight: %d, hits: %d, misses: %d, hit rate: %.3f, evictions: %d, loads: %d, " +
+                            "average load time: %.3f ms", size, weight, hitCount(), missCount(), hitRate(),
+                    evictionCount(), loadCount(), averageLoadTimeMillis());
+        }
+    }
 }
@@ -47,6 +47,11 @@ import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
 public abstract class ByteArray implements Comparable<ByteArray> {
 
+    private static final byte STRING_ESCAPE = 0x00;
+    private static final byte STRING_ESCAPED_ZERO = 0x01;
+    private static final byte STRING_TERMINATOR = 0x00;
+    private static final int STRING_TERMINATOR_SIZE = 2;
+
     final byte[] array;
     private int hash = 0;
 
@@ -261,6 +266,12 @@ public abstract class ByteArray implements Comparable<ByteArray> {
         return ByteBuffer.wrap(clone).getDouble();
     }
 
+    /**
+     * Encode a string such that the encodings sort in the order of the string's code points, and the end of the
+     * encoding can be found within a longer key. The encoded bytes are followed by a terminator of two zero bytes,
+     * and each zero byte within the string is escaped by a following one byte, so that a string sorts before any
+     * string it is a prefix of.
+     */
     public static ByteArray encodeStringAsSorted(String value, Charset encoding) throws TypeDBCheckedException {
         // note: cannot cache encoder because it is not thread safe
         if (!encoding.newEncoder().canEncode(value)) {
@@ -270,13 +281,40 @@ public abstract class ByteArray implements Comparable<ByteArray> {
         if (bytes.length > SHORT_UNSIGNED_MAX_VALUE) {
             throw TypeDBCheckedException.of(ILLEGAL_STRING_SIZE, SHORT_UNSIGNED_MAX_VALUE);
         }
-        return join(encodeUnsignedShort(bytes.length), of(bytes));
+        int zeros = 0;
+        for (byte b : bytes) {
+            if (b == STRING_ESCAPE) zeros++;
+        }
+        byte[] sorted = new byte[bytes.length + zeros + STRING_TERMINATOR_SIZE];
+        int pos = 0;
+        for (byte b : bytes) {
+            sorted[pos++] = b;
+            if (b == STRING_ESCAPE) sorted[pos++] = STRING_ESCAPED_ZERO;
+        }
+        // the terminator bytes are left as zeros
+        return of(sorted);
     }
 
     public String decodeSortedAsString(Charset encoding) {
-        int stringLength = view(0, 2).decodeUnsignedShort();
-        if (stringLength == 0) return "";
-        else return view(SHORT_SIZE, SHORT_SIZE + stringLength).decodeString(encoding);
+        int sortedLength = sortedStringLength();
+        byte[] bytes = new byte[sortedLength - STRING_TERMINATOR_SIZE];
+        int length = 0;
+        for (int i = 0; i < sortedLength - STRING_TERMINATOR_SIZE; i++) {
+            bytes[length++] = get(i);
+            if (get(i) == STRING_ESCAPE) i++;
+        }
+        return new String(bytes, 0, length, encoding);
+    }
+
+    /**
+     * @return - the length of the sorted string encoding at the start of this array, including its terminator
+     */
+    public int sortedStringLength() {
+        int i = 0;
+        while (get(i) != STRING_ESCAPE || get(i + 1) != STRING_TERMINATOR) {
+            i += get(i) == STRING_ESCAPE ? 2 : 1;
+        }
+        return i + STRING_TERMINATOR_SIZE;
     }
 
     public static ByteArray encodeDateTimeAsSorted(LocalDateTime value, ZoneId timeZoneID) {
@@ -245,6 +245,9 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new Transaction(17, "RPC answer streaming prefetch size must be at least 1, is set to: %d.");
         public static final Transaction TRANSACTION_TIMEOUT_NOT_CONFIGURABLE =
                 new Transaction(18, "Transaction timeout cannot be configured at the '%s' level.");
+        public static final Transaction TRANSACTION_WRITE_BUFFER_EXCEEDED =
+                new Transaction(19, "The transaction has written more than its limit of %d things and edges. " +
+                        "Commit the writes in smaller transactions.");
 
         private static final String codePrefix = "TXN";
         private static final String messagePrefix = "Invalid Transaction Operation";
@@ -362,6 +365,8 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new ThingRead(10, "The variable '%s' cannot be used to calculate aggregate functions, as it contains non-numeric values.");
         public static final ThingRead NUMERIC_IS_NOT_NUMBER =
                 new ThingRead(11, "The numeric value is not a valid number (NaN).");
+        public static final ThingRead INVALID_QUERY_PARAMETER =
+                new ThingRead(12, "The parameter '%s' is not an unassigned variable of the prepared query.");
 
         private static final String codePrefix = "THR";
         private static final String messagePrefix = "Invalid Thing Read";
@@ -714,6 +719,8 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new Migrator(10, "The data being imported is invalid - the header is missing.");
         public static final Migrator IMPORT_CHECKSUM_MISMATCH =
                 new Migrator(11, "The import has finished but mismatches the required checksums: '%s");
+        public static final Migrator ID_MAPPING_CAPACITY_EXCEEDED =
+                new Migrator(12, "The in-memory ID mapping of the import cannot hold more than '%s' IDs. Import with an on-disk ID mapping instead.");
 
         private static final String codePrefix = "MIG";
         private static final String messagePrefix = "Migrator failure";
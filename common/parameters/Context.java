@@ -19,6 +19,7 @@
 package com.vaticle.typedb.core.common.parameters;
 
 import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typeql.lang.query.TypeQLQuery;
 
 import javax.annotation.Nullable;
@@ -96,15 +97,18 @@ public class Context<PARENT extends Context<?, ?>, OPTIONS extends Options<?, ?>
     public static class Query extends Context<Context.Transaction, Options.Query> {
 
         private Either<Arguments.Query.Producer, Long> producerCtx;
+        private final QueryProfile profile;
         private static final Either<Arguments.Query.Producer, Long> DEFAULT_PRODUCER = Either.first(INCREMENTAL);
 
         public Query(Transaction context, Options.Query options) {
             super(context, options.parent(context.options()));
+            this.profile = options.profile() ? new QueryProfile(true) : QueryProfile.DISABLED;
         }
 
         public Query(Transaction context, Options.Query options, TypeQLQuery query) {
             super(context, options.parent(context.options()));
             options.query(query);
+            this.profile = options.profile() ? new QueryProfile(true) : QueryProfile.DISABLED;
         }
 
         public Either<Arguments.Query.Producer, Long> producer() {
@@ -116,5 +120,12 @@ public class Context<PARENT extends Context<?, ?>, OPTIONS extends Options<?, ?>
             this.producerCtx = producerCtx;
             return this;
         }
+
+        /**
+         * The profile of this query, recorded as its traversals are executed if the query is profiled.
+         */
+        public QueryProfile profile() {
+            return profile;
+        }
     }
 }
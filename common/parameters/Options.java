@@ -34,36 +34,63 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 
 public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options<?, ?>> {
 
+    public static final String SPILL_DIRECTORY = "_spill";
     public static final int DEFAULT_PREFETCH_SIZE = 50;
     public static final long DEFAULT_SESSION_IDLE_TIMEOUT_MILLIS = SECONDS.toMillis(30);
     public static final long DEFAULT_TRANSACTION_TIMEOUT_MILLIS = MINUTES.toMillis(5);
+    public static final int DEFAULT_WRITE_BUFFER_LIMIT = 0;
     public static final long DEFAULT_SCHEMA_LOCK_ACQUIRE_TIMEOUT_MILLIS = SECONDS.toMillis(10);
     public static final boolean DEFAULT_INFER = false;
     public static final boolean DEFAULT_TRACE_INFERENCE = false;
     public static final boolean DEFAULT_EXPLAIN = false;
     public static final boolean DEFAULT_REASONER_PERF_COUNTERS = false;
+    public static final boolean DEFAULT_PROFILE = false;
+    public static final long DEFAULT_PROFILE_SLOW_QUERY_MILLIS = SECONDS.toMillis(1);
     public static final boolean DEFAULT_PARALLEL = true;
     public static final boolean DEFAULT_QUERY_READ_PREFETCH = true;
     public static final boolean DEFAULT_QUERY_WRITE_PREFETCH = false;
+    public static final boolean DEFAULT_BOUNDED_WRITES = false;
     public static final boolean DEFAULT_READ_ANY_REPLICA = false;
+    public static final boolean DEFAULT_APPROXIMATE_MEDIAN = false;
+    public static final int DEFAULT_TRAVERSAL_PLAN_CACHE_SIZE = 10_000;
+    public static final int DEFAULT_LOGIC_CACHE_SIZE = 10_000;
+    public static final int DEFAULT_QUERY_CACHE_TIMEOUT_MINUTES = 1_440;
+    public static final boolean DEFAULT_QUERY_CACHE_WEIGHTED = false;
+    public static final int DEFAULT_INFERRED_ANSWER_CACHE_SIZE = 0;
+    public static final int DEFAULT_PARSED_QUERY_CACHE_SIZE = 1_000;
+    public static final boolean DEFAULT_BULK_LOAD = false;
+    public static final boolean DEFAULT_ACTOR_WORK_STEALING = false;
 
     private PARENT parent;
     private Boolean infer = null;
     private Boolean traceInference = null;
     private Boolean explain = null;
     private Boolean reasonerPerfCounters = null;
+    private Boolean profile = null;
+    private Long profileSlowQueryMillis = null;
     private Boolean parallel = null;
     private Integer prefetchSize = null;
+    private Boolean boundedWrites = null;
     private Long sessionIdleTimeoutMillis = null;
     private Long transactionTimeoutMillis = null;
+    private Integer writeBufferLimit = null;
     private Long schemaLockAcquireTimeoutMillis = null;
     private Boolean readAnyReplica = null;
+    private Boolean approximateMedian = null;
     protected Boolean prefetch = null;
     protected Path typeDBDir = null;
     protected Path dataDir = null;
     protected Path reasonerDebuggerDir = null;
     protected Long storageDataCacheSize = null;
     protected Long storageIndexCacheSize = null;
+    protected Integer traversalPlanCacheSize = null;
+    protected Integer logicCacheSize = null;
+    protected Integer queryCacheTimeoutMinutes = null;
+    protected Boolean queryCacheWeighted = null;
+    protected Integer inferredAnswerCacheSize = null;
+    protected Integer parsedQueryCacheSize = null;
+    protected Boolean bulkLoad = null;
+    protected Boolean actorWorkStealing = null;
 
     abstract SELF getThis();
 
@@ -116,6 +143,28 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    public boolean profile() {
+        if (profile != null) return profile;
+        else if (parent != null) return parent.profile();
+        else return DEFAULT_PROFILE;
+    }
+
+    public SELF profile(boolean profile) {
+        this.profile = profile;
+        return getThis();
+    }
+
+    public long profileSlowQueryMillis() {
+        if (profileSlowQueryMillis != null) return profileSlowQueryMillis;
+        else if (parent != null) return parent.profileSlowQueryMillis();
+        else return DEFAULT_PROFILE_SLOW_QUERY_MILLIS;
+    }
+
+    public SELF profileSlowQueryMillis(long slowQueryMillis) {
+        this.profileSlowQueryMillis = slowQueryMillis;
+        return getThis();
+    }
+
     public int prefetchSize() {
         if (prefetchSize != null) return prefetchSize;
         else if (parent != null) return parent.prefetchSize();
@@ -127,6 +176,23 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    public boolean boundedWrites() {
+        if (boundedWrites != null) return boundedWrites;
+        else if (parent != null) return parent.boundedWrites();
+        else return DEFAULT_BOUNDED_WRITES;
+    }
+
+    /**
+     * Hold the answers of a match-insert, match-delete or match-update in bounded memory, spilling them to the spill
+     * directory once there are too many. The match is completed and spilled before the first write, as the match
+     * reads the writes of the transaction, and the answers are then read back and written one by one. Answers
+     * read back from the spill directory no longer hold the things deleted before they were read.
+     */
+    public SELF boundedWrites(boolean boundedWrites) {
+        this.boundedWrites = boundedWrites;
+        return getThis();
+    }
+
     public boolean parallel() {
         if (parallel != null) return parallel;
         else if (parent != null) return parent.parallel();
@@ -160,6 +226,22 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    public int writeBufferLimit() {
+        if (writeBufferLimit != null) return writeBufferLimit;
+        else if (parent != null) return parent.writeBufferLimit();
+        else return DEFAULT_WRITE_BUFFER_LIMIT;
+    }
+
+    /**
+     * Limit the number of things and edges that a transaction may write before it commits, failing the transaction
+     * once the limit is exceeded rather than growing its write buffer without bound. A limit of 0 disables it. Bulk-load
+     * transactions are not limited.
+     */
+    public SELF writeBufferLimit(int writeBufferLimit) {
+        this.writeBufferLimit = writeBufferLimit;
+        return getThis();
+    }
+
     public long schemaLockTimeoutMillis() {
         if (schemaLockAcquireTimeoutMillis != null) return schemaLockAcquireTimeoutMillis;
         else if (parent != null) return parent.schemaLockTimeoutMillis();
@@ -182,6 +264,17 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    public boolean approximateMedian() {
+        if (approximateMedian != null) return approximateMedian;
+        else if (parent != null) return parent.approximateMedian();
+        else return DEFAULT_APPROXIMATE_MEDIAN;
+    }
+
+    public SELF approximateMedian(boolean approximateMedian) {
+        this.approximateMedian = approximateMedian;
+        return getThis();
+    }
+
     public Path typeDBDir() {
         if (typeDBDir != null) return typeDBDir;
         else if (parent != null) return parent.typeDBDir();
@@ -194,6 +287,13 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         else throw TypeDBException.of(ILLEGAL_STATE);
     }
 
+    /**
+     * The directory, under the data directory, in which queries spill intermediate results that do not fit in memory.
+     */
+    public Path spillDir() {
+        return dataDir().resolve(SPILL_DIRECTORY);
+    }
+
     public Path reasonerDebuggerDir() {
         if (reasonerDebuggerDir != null) return reasonerDebuggerDir;
         else if (parent != null) return parent.reasonerDebuggerDir();
@@ -212,6 +312,54 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         else throw TypeDBException.of(ILLEGAL_STATE);
     }
 
+    public int traversalPlanCacheSize() {
+        if (traversalPlanCacheSize != null) return traversalPlanCacheSize;
+        else if (parent != null) return parent.traversalPlanCacheSize();
+        else return DEFAULT_TRAVERSAL_PLAN_CACHE_SIZE;
+    }
+
+    public int logicCacheSize() {
+        if (logicCacheSize != null) return logicCacheSize;
+        else if (parent != null) return parent.logicCacheSize();
+        else return DEFAULT_LOGIC_CACHE_SIZE;
+    }
+
+    public int queryCacheTimeoutMinutes() {
+        if (queryCacheTimeoutMinutes != null) return queryCacheTimeoutMinutes;
+        else if (parent != null) return parent.queryCacheTimeoutMinutes();
+        else return DEFAULT_QUERY_CACHE_TIMEOUT_MINUTES;
+    }
+
+    public boolean queryCacheWeighted() {
+        if (queryCacheWeighted != null) return queryCacheWeighted;
+        else if (parent != null) return parent.queryCacheWeighted();
+        else return DEFAULT_QUERY_CACHE_WEIGHTED;
+    }
+
+    public int inferredAnswerCacheSize() {
+        if (inferredAnswerCacheSize != null) return inferredAnswerCacheSize;
+        else if (parent != null) return parent.inferredAnswerCacheSize();
+        else return DEFAULT_INFERRED_ANSWER_CACHE_SIZE;
+    }
+
+    public int parsedQueryCacheSize() {
+        if (parsedQueryCacheSize != null) return parsedQueryCacheSize;
+        else if (parent != null) return parent.parsedQueryCacheSize();
+        else return DEFAULT_PARSED_QUERY_CACHE_SIZE;
+    }
+
+    public boolean bulkLoad() {
+        if (bulkLoad != null) return bulkLoad;
+        else if (parent != null) return parent.bulkLoad();
+        else return DEFAULT_BULK_LOAD;
+    }
+
+    public boolean actorWorkStealing() {
+        if (actorWorkStealing != null) return actorWorkStealing;
+        else if (parent != null) return parent.actorWorkStealing();
+        else return DEFAULT_ACTOR_WORK_STEALING;
+    }
+
     public static class Database extends Options<Options<?, ?>, Database> {
 
         @Override
@@ -247,6 +395,57 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
             this.storageIndexCacheSize = size;
             return this;
         }
+
+        public Database traversalPlanCacheSize(int size) {
+            this.traversalPlanCacheSize = size;
+            return this;
+        }
+
+        public Database logicCacheSize(int size) {
+            this.logicCacheSize = size;
+            return this;
+        }
+
+        public Database queryCacheTimeoutMinutes(int timeoutMinutes) {
+            this.queryCacheTimeoutMinutes = timeoutMinutes;
+            return this;
+        }
+
+        /**
+         * Bound the query caches by the estimated memory footprint of their entries, rather than the entry count.
+         */
+        public Database queryCacheWeighted(boolean weighted) {
+            this.queryCacheWeighted = weighted;
+            return this;
+        }
+
+        /**
+         * Share the completed answers of rule-derived concludables between read transactions, up to the given number
+         * of answer tables. A size of 0 disables the cache.
+         */
+        public Database inferredAnswerCacheSize(int size) {
+            this.inferredAnswerCacheSize = size;
+            return this;
+        }
+
+        /**
+         * Share parsed match queries between transactions, keyed by their query text, up to the given number of
+         * queries, or characters of query text if the caches are weighted. A size of 0 disables the cache.
+         */
+        public Database parsedQueryCacheSize(int size) {
+            this.parsedQueryCacheSize = size;
+            return this;
+        }
+
+        /**
+         * Let idle actor executors steal the mailboxes of busy ones, rather than only running the actors scheduled
+         * on them. This only takes effect for the first database manager opened in the process, which creates the
+         * executors.
+         */
+        public Database actorWorkStealing(boolean workStealing) {
+            this.actorWorkStealing = workStealing;
+            return this;
+        }
     }
 
     public static class Session extends Options<Database, Session> {
@@ -268,6 +467,17 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         public Transaction sessionIdleTimeoutMillis(long idleTimeoutMillis) {
             throw TypeDBException.of(SESSION_IDLE_TIMEOUT_NOT_CONFIGURABLE, className(getClass()));
         }
+
+        /**
+         * Bulk-load data transactions are committed into the database's bulk loader, rather than into storage,
+         * and are only visible to other transactions once the loaded data is ingested by the database. Committing a
+         * bulk-load transaction is not durable: the loaded data is ingested when the database is closed, but it is
+         * lost if the server stops before it is ingested.
+         */
+        public Transaction bulkLoad(boolean bulkLoad) {
+            this.bulkLoad = bulkLoad;
+            return this;
+        }
     }
 
     public static class Query extends Options<Transaction, Query> {
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.common.perfcounter;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The profile of a single query, recording the procedures its traversals executed and, for each of their operators,
+ * how often it was seeked, how many vertices it iterated and the time spent in it. Procedures may be executed
+ * concurrently by several graph iterators, so all counters are thread-safe.
+ */
+public class QueryProfile {
+
+    public static final QueryProfile DISABLED = new QueryProfile(false);
+
+    private final boolean enabled;
+    private final long startNanos;
+    private final ConcurrentMap<Object, Procedure> procedures;
+
+    public QueryProfile(boolean enabled) {
+        this.enabled = enabled;
+        this.startNanos = System.nanoTime();
+        this.procedures = new ConcurrentHashMap<>();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the profile of the given procedure, registering its operators the first time it is executed.
+     */
+    public Procedure procedure(Object procedure, Consumer<Procedure> registerOperators) {
+        assert enabled;
+        return procedures.computeIfAbsent(procedure, p -> {
+            Procedure profile = new Procedure(procedures.size());
+            registerOperators.accept(profile);
+            return profile;
+        });
+    }
+
+    public long elapsedMillis() {
+        return NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Query profile: %d ms, %d procedure(s)\n", elapsedMillis(), procedures.size()));
+        procedures.values().stream().sorted(Comparator.comparing(p -> p.id)).forEach(sb::append);
+        return sb.toString();
+    }
+
+    public static class Procedure {
+
+        private final int id;
+        private final Map<Object, Operator> operators;
+        private final LongAdder iterators;
+        private final LongAdder answers;
+
+        private Procedure(int id) {
+            this.id = id;
+            this.operators = new LinkedHashMap<>();
+            this.iterators = new LongAdder();
+            this.answers = new LongAdder();
+        }
+
+        /**
+         * Operators must be registered in the order of the plan, before the procedure is shared between threads.
+         */
+        public void register(Object operator, String name, boolean timed) {
+            operators.put(operator, new Operator(name, timed));
+        }
+
+        public Operator operator(Object operator) {
+            assert operators.containsKey(operator);
+            return operators.get(operator);
+        }
+
+        public void iteratorCreated() {
+            iterators.increment();
+        }
+
+        public void answerFound() {
+            answers.increment();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Procedure %d: %d iterator(s), %d answer(s)\n", id, iterators.sum(), answers.sum()));
+            sb.append(String.format("\t%-64s %12s %12s %12s %12s\n", "operator", "seeks", "iterated", "bytes", "time (ms)"));
+            operators.values().forEach(sb::append);
+            return sb.toString();
+        }
+    }
+
+    public static class Operator {
+
+        private final String name;
+        private final boolean timed;
+        private final LongAdder seeks;
+        private final LongAdder iterated;
+        private final LongAdder bytes;
+        private final LongAdder nanos;
+
+        private Operator(String name, boolean timed) {
+            this.name = name;
+            this.timed = timed;
+            this.seeks = new LongAdder();
+            this.iterated = new LongAdder();
+            this.bytes = new LongAdder();
+            this.nanos = new LongAdder();
+        }
+
+        public void seek() {
+            seeks.increment();
+        }
+
+        public void iterated(long bytes) {
+            this.iterated.increment();
+            this.bytes.add(bytes);
+        }
+
+        public void time(long nanos) {
+            this.nanos.add(nanos);
+        }
+
+        @Override
+        public String toString() {
+            String time = timed ? String.format("%.3f", nanos.sum() / 1_000_000.0) : "-";
+            return String.format("\t%-64s %12d %12d %12d %12s\n", name, seeks.sum(), iterated.sum(), bytes.sum(), time);
+        }
+    }
+}
@@ -235,6 +235,12 @@ public interface AttributeType extends ThingType {
 
         Pattern getRegex();
 
+        void setNGramIndexed();
+
+        void unsetNGramIndexed();
+
+        boolean isNGramIndexed();
+
         Attribute.String put(java.lang.String value);
 
         Attribute.String put(java.lang.String value, boolean isInferred);
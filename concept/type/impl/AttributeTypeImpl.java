@@ -883,6 +883,25 @@ public abstract class AttributeTypeImpl extends ThingTypeImpl implements Attribu
             return vertex.regex();
         }
 
+        @Override
+        public void setNGramIndexed() {
+            if (vertex.isNGramIndexed()) return;
+            vertex.isNGramIndexed(true);
+            graphMgr().data().indexNGrams(vertex);
+        }
+
+        @Override
+        public void unsetNGramIndexed() {
+            if (!vertex.isNGramIndexed()) return;
+            vertex.isNGramIndexed(false);
+            graphMgr().data().deleteNGramIndex(vertex);
+        }
+
+        @Override
+        public boolean isNGramIndexed() {
+            return vertex.isNGramIndexed();
+        }
+
         @Override
         public Attribute.String put(java.lang.String value) {
             return put(value, false);
@@ -998,6 +1017,16 @@ public abstract class AttributeTypeImpl extends ThingTypeImpl implements Attribu
             public void unsetRegex() {
                 throw exception(TypeDBException.of(ROOT_TYPE_MUTATION));
             }
+
+            @Override
+            public void setNGramIndexed() {
+                throw exception(TypeDBException.of(ROOT_TYPE_MUTATION));
+            }
+
+            @Override
+            public void unsetNGramIndexed() {
+                throw exception(TypeDBException.of(ROOT_TYPE_MUTATION));
+            }
         }
     }
 
@@ -66,12 +66,12 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
 
         private final ACTOR actor;
         private final ActorExecutorGroup executorService;
-        private final ActorExecutor executor;
+        private final ActorExecutor.Mailbox mailbox;
 
         private Driver(Function<Driver<ACTOR>, ACTOR> actorFn, ActorExecutorGroup executorService) {
             this.actor = actorFn.apply(this);
             this.executorService = executorService;
-            this.executor = executorService.nextExecutor();
+            this.mailbox = executorService.nextExecutor().mailbox();
         }
 
         // TODO: do not use this method - any usages should be removed ASAP
@@ -86,7 +86,7 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
         public void execute(Consumer<ACTOR> consumer) {
             assert actor != null : ERROR_ACTOR_NOT_SETUP;
             if (!actor.isTerminated) {
-                executor.submit(() -> {
+                mailbox.submit(() -> {
                     if (!actor.isTerminated) consumer.accept(actor);
                 }, actor::exception);
             }
@@ -95,7 +95,7 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
         public void executeNext(Consumer<ACTOR> consumer) {
             assert actor != null : ERROR_ACTOR_NOT_SETUP;
             if (!actor.isTerminated) {
-                executor.submitFirst(() -> {
+                mailbox.submitFirst(() -> {
                     if (!actor.isTerminated) consumer.accept(actor);
                 }, actor::exception);
             }
@@ -112,7 +112,7 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
             assert actor != null : ERROR_ACTOR_NOT_SETUP;
             if (!actor.isTerminated) {
                 CompletableFuture<ANSWER> future = new CompletableFuture<>();
-                executor.submit(
+                mailbox.submit(
                         () -> {
                             if (!actor.isTerminated) future.complete(function.apply(actor));
                         },
@@ -128,7 +128,7 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
         public Optional<ActorExecutor.FutureTask> schedule(Consumer<ACTOR> consumer, long scheduleMillis) {
             assert actor != null : ERROR_ACTOR_NOT_SETUP;
             if (!actor.isTerminated) {
-                return Optional.of(executor.schedule(() -> {
+                return Optional.of(mailbox.schedule(() -> {
                     if (!actor.isTerminated) consumer.accept(actor);
                 }, scheduleMillis, actor::exception));
             } else return Optional.empty();
@@ -139,7 +139,7 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
         }
 
         public ActorExecutor executor() {
-            return executor;
+            return mailbox.executor();
         }
     }
 }
@@ -24,11 +24,14 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -37,44 +40,132 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILL
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNEXPECTED_INTERRUPTION;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+/**
+ * Runs the tasks submitted to it, and the mailboxes of the actors that are submitted to it, on a single thread.
+ *
+ * Unless its group is work stealing, an actor's mailbox submits every message straight to the actor's executor, so
+ * that a message submitted first runs before every other message queued on the executor.
+ *
+ * In a work stealing group, the messages of an actor are queued in its mailbox, which is submitted to an executor
+ * whenever it has messages and is not already submitted, so that the messages of each actor are run sequentially.
+ * When an executor runs out of tasks, it steals a mailbox from the back of the queue of another executor in its
+ * group, and the actor stays with the executor that stole it. A message submitted first then only runs before the
+ * other messages of its own actor.
+ */
 @ThreadSafe
 public class ActorExecutor {
 
     private static final Logger LOG = LoggerFactory.getLogger(ActorExecutor.class);
+    private static final int MAILBOX_BATCH_SIZE = 64;
 
+    private final ActorExecutorGroup group;
     private final BlockingDeque<Task> submittedTasks;
     private final ScheduledTaskQueue scheduledTasks;
     private final AtomicBoolean isStopped;
+    private final AtomicBoolean isListedIdle;
     private final Supplier<Long> clock;
     private final Thread thread;
+    private final long startNanos;
     private volatile boolean active;
-
-    public ActorExecutor(ThreadFactory threadFactory, Supplier<Long> clock) {
+    private volatile boolean idle;
+    private volatile long tasksRun;
+    private volatile long mailboxesStolen;
+    private volatile long totalLatencyNanos;
+    private volatile long maxLatencyNanos;
+    private volatile long busyNanos;
+
+    ActorExecutor(ActorExecutorGroup group, ThreadFactory threadFactory, Supplier<Long> clock) {
+        this.group = group;
         this.thread = threadFactory.newThread(this::run);
         this.clock = clock;
         submittedTasks = new LinkedBlockingDeque<>();
         scheduledTasks = new ScheduledTaskQueue();
         isStopped = new AtomicBoolean(false);
+        isListedIdle = new AtomicBoolean(false);
+        startNanos = System.nanoTime();
         active = true;
+        idle = false;
         thread.start();
     }
 
     private void run() {
         while (active) {
             Task task = scheduledTasks.poll();
+            if (task == null) task = submittedTasks.poll();
+            if (task == null) task = steal();
+            if (task == null) task = awaitTask();
             if (task != null) {
+                if (task.mailbox == null && task.scheduleMillis == null) recordLatency(task);
+                long start = System.nanoTime();
                 task.run();
-            } else {
-                try {
-                    task = submittedTasks.poll(scheduledTasks.timeToNext(), MILLISECONDS);
-                    if (task != null) task.run();
-                } catch (InterruptedException e) {
-                    throw TypeDBException.of(UNEXPECTED_INTERRUPTION);
-                }
+                busyNanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    @Nullable
+    private Task awaitTask() {
+        try {
+            if (group.isWorkStealing() && isListedIdle.compareAndSet(false, true)) {
+                group.listIdle(this);
+                // a mailbox may have been submitted to a busy executor before this executor was listed as idle
+                Task task = steal();
+                if (task != null) return task;
             }
+            idle = true;
+            return submittedTasks.poll(scheduledTasks.timeToNext(), MILLISECONDS);
+        } catch (InterruptedException e) {
+            throw TypeDBException.of(UNEXPECTED_INTERRUPTION);
+        } finally {
+            idle = false;
+            if (isListedIdle.compareAndSet(true, false)) group.unlistIdle(this);
         }
     }
 
+    @Nullable
+    private Task steal() {
+        if (!group.isWorkStealing()) return null;
+        ActorExecutor[] executors = group.executors();
+        int offset = ThreadLocalRandom.current().nextInt(executors.length);
+        for (int i = 0; i < executors.length; i++) {
+            ActorExecutor victim = executors[(offset + i) % executors.length];
+            if (victim == this || victim == null) continue; // the group may still be starting its executors
+            Task task = victim.stealableTask();
+            if (task != null) {
+                task.mailbox.executor = this;
+                mailboxesStolen++;
+                return task;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Task stealableTask() {
+        Iterator<Task> tasks = submittedTasks.descendingIterator();
+        while (tasks.hasNext()) {
+            Task task = tasks.next();
+            if (task.mailbox != null && submittedTasks.removeLastOccurrence(task)) return task;
+        }
+        return null;
+    }
+
+    void wake() {
+        if (isListedIdle.compareAndSet(true, false)) submittedTasks.offer(new Task(() -> {}, e -> {}));
+    }
+
+    public Mailbox mailbox() {
+        return new Mailbox(this);
+    }
+
+    private void submit(Mailbox mailbox, boolean first) {
+        assert active;
+        Task task = new Task(mailbox);
+        if (first) submittedTasks.addFirst(task);
+        else submittedTasks.offer(task);
+        if (!idle && group.isWorkStealing()) group.wakeIdle();
+    }
+
     public void submit(Runnable runnable, Consumer<Throwable> errorHandler) {
         assert active;
         submittedTasks.offer(new Task(runnable, errorHandler));
@@ -103,23 +194,162 @@ public class ActorExecutor {
         }
     }
 
+    public Metrics metrics() {
+        return new Metrics(submittedTasks.size(), tasksRun, mailboxesStolen, totalLatencyNanos, maxLatencyNanos,
+                busyNanos, System.nanoTime() - startNanos);
+    }
+
+    private void recordLatency(Task task) {
+        long latencyNanos = System.nanoTime() - task.submittedNanos;
+        tasksRun++;
+        totalLatencyNanos += latencyNanos;
+        if (latencyNanos > maxLatencyNanos) maxLatencyNanos = latencyNanos;
+    }
+
+    /**
+     * The queue of messages of a single actor, which are run sequentially by the executor the mailbox is submitted to.
+     * Outside a work stealing group, messages bypass the queue and are submitted to the executor directly.
+     */
+    @ThreadSafe
+    public static class Mailbox {
+
+        private final ConcurrentLinkedDeque<Task> tasks;
+        private final AtomicBoolean isSubmitted;
+        private volatile ActorExecutor executor;
+
+        private Mailbox(ActorExecutor executor) {
+            this.executor = executor;
+            tasks = new ConcurrentLinkedDeque<>();
+            isSubmitted = new AtomicBoolean(false);
+        }
+
+        public void submit(Runnable runnable, Consumer<Throwable> errorHandler) {
+            if (!executor.group.isWorkStealing()) executor.submit(runnable, errorHandler);
+            else {
+                tasks.offer(new Task(runnable, errorHandler));
+                maySubmit(false);
+            }
+        }
+
+        public void submitFirst(Runnable runnable, Consumer<Throwable> errorHandler) {
+            if (!executor.group.isWorkStealing()) executor.submitFirst(runnable, errorHandler);
+            else {
+                tasks.addFirst(new Task(runnable, errorHandler));
+                maySubmit(true);
+            }
+        }
+
+        public FutureTask schedule(Runnable runnable, long scheduleMillis, Consumer<Throwable> errorHandler) {
+            if (!executor.group.isWorkStealing()) return executor.schedule(runnable, scheduleMillis, errorHandler);
+            else return executor.schedule(() -> submit(runnable, errorHandler), scheduleMillis, errorHandler);
+        }
+
+        public ActorExecutor executor() {
+            return executor;
+        }
+
+        private void maySubmit(boolean first) {
+            if (isSubmitted.compareAndSet(false, true)) executor.submit(this, first);
+        }
+
+        private void run() {
+            Task task;
+            for (int i = 0; i < MAILBOX_BATCH_SIZE && (task = tasks.poll()) != null; i++) {
+                executor.recordLatency(task);
+                task.run();
+            }
+            isSubmitted.set(false);
+            if (!tasks.isEmpty()) maySubmit(false);
+        }
+    }
+
+    public static class Metrics {
+
+        private final int queueDepth;
+        private final long tasksRun;
+        private final long mailboxesStolen;
+        private final long totalLatencyNanos;
+        private final long maxLatencyNanos;
+        private final long busyNanos;
+        private final long uptimeNanos;
+
+        private Metrics(int queueDepth, long tasksRun, long mailboxesStolen, long totalLatencyNanos,
+                        long maxLatencyNanos, long busyNanos, long uptimeNanos) {
+            this.queueDepth = queueDepth;
+            this.tasksRun = tasksRun;
+            this.mailboxesStolen = mailboxesStolen;
+            this.totalLatencyNanos = totalLatencyNanos;
+            this.maxLatencyNanos = maxLatencyNanos;
+            this.busyNanos = busyNanos;
+            this.uptimeNanos = uptimeNanos;
+        }
+
+        public int queueDepth() {
+            return queueDepth;
+        }
+
+        public long tasksRun() {
+            return tasksRun;
+        }
+
+        public long mailboxesStolen() {
+            return mailboxesStolen;
+        }
+
+        public double meanLatencyMicros() {
+            return tasksRun == 0 ? 0 : totalLatencyNanos / 1_000.0 / tasksRun;
+        }
+
+        public double maxLatencyMicros() {
+            return maxLatencyNanos / 1_000.0;
+        }
+
+        public long busyNanos() {
+            return busyNanos;
+        }
+
+        public double utilisation() {
+            return uptimeNanos == 0 ? 0 : (double) busyNanos / uptimeNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("queue depth: %d, tasks run: %d, mailboxes stolen: %d, mean latency: %.1f us, " +
+                            "max latency: %.1f us, utilisation: %.1f%%", queueDepth, tasksRun, mailboxesStolen,
+                    meanLatencyMicros(), maxLatencyMicros(), utilisation() * 100);
+        }
+    }
+
     @NotThreadSafe
     private static class Task implements Comparable<Task> {
 
         private final Runnable runnable;
         private final Consumer<Throwable> errorHandler;
         private final Long scheduleMillis;
+        private final Mailbox mailbox;
+        private final long submittedNanos;
         private boolean isCancelled;
         private boolean isRan;
 
         private Task(Runnable runnable, Consumer<Throwable> errorHandler) {
-            this(runnable, null, errorHandler);
+            this(runnable, null, errorHandler, null);
         }
 
         private Task(Runnable runnable, @Nullable Long scheduleMillis, Consumer<Throwable> errorHandler) {
+            this(runnable, scheduleMillis, errorHandler, null);
+        }
+
+        private Task(Mailbox mailbox) {
+            this(mailbox::run, null, e -> LOG.error("Unexpected error at running a Mailbox", e), mailbox);
+        }
+
+        private Task(Runnable runnable, @Nullable Long scheduleMillis, Consumer<Throwable> errorHandler,
+                     @Nullable Mailbox mailbox) {
             this.runnable = runnable;
             this.scheduleMillis = scheduleMillis;
             this.errorHandler = errorHandler;
+            this.mailbox = mailbox;
+            this.submittedNanos = System.nanoTime();
             isCancelled = false;
             isRan = false;
         }
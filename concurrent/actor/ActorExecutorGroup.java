@@ -18,6 +18,10 @@
 package com.vaticle.typedb.core.concurrent.actor;
 
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
@@ -27,14 +31,22 @@ public class ActorExecutorGroup {
 
     private final ActorExecutor[] executors;
     private final AtomicInteger nextIndex;
+    private final boolean workStealing;
+    private final Queue<ActorExecutor> idleExecutors;
 
     public ActorExecutorGroup(int size, ThreadFactory threadFactory) {
         this(size, threadFactory, System::currentTimeMillis);
     }
 
     public ActorExecutorGroup(int size, ThreadFactory threadFactory, Supplier<Long> clock) {
+        this(size, threadFactory, clock, false);
+    }
+
+    public ActorExecutorGroup(int size, ThreadFactory threadFactory, Supplier<Long> clock, boolean workStealing) {
+        this.workStealing = workStealing;
+        idleExecutors = new ConcurrentLinkedQueue<>();
         executors = new ActorExecutor[size];
-        for (int i = 0; i < size; i++) executors[i] = new ActorExecutor(threadFactory, clock);
+        for (int i = 0; i < size; i++) executors[i] = new ActorExecutor(this, threadFactory, clock);
         nextIndex = new AtomicInteger(0);
     }
 
@@ -42,6 +54,33 @@ public class ActorExecutorGroup {
         return executors[nextIndexAndIncrement()];
     }
 
+    ActorExecutor[] executors() {
+        return executors;
+    }
+
+    public boolean isWorkStealing() {
+        return workStealing;
+    }
+
+    void listIdle(ActorExecutor executor) {
+        idleExecutors.offer(executor);
+    }
+
+    void unlistIdle(ActorExecutor executor) {
+        idleExecutors.remove(executor);
+    }
+
+    void wakeIdle() {
+        ActorExecutor executor = idleExecutors.poll();
+        if (executor != null) executor.wake();
+    }
+
+    public List<ActorExecutor.Metrics> metrics() {
+        List<ActorExecutor.Metrics> metrics = new ArrayList<>(executors.length);
+        for (ActorExecutor executor : executors) metrics.add(executor.metrics());
+        return metrics;
+    }
+
     public void await() throws InterruptedException {
         for (int i = 0; i < executors.length; i++) {
             executors[i].await();
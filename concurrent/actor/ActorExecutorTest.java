@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.concurrent.actor;
+
+import com.vaticle.typedb.common.concurrent.NamedThreadFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ActorExecutorTest {
+
+    private static final int EXECUTORS = 4;
+
+    private static ActorExecutorGroup group(int size, boolean workStealing) {
+        return new ActorExecutorGroup(size, new NamedThreadFactory("actor-executor-test"), System::currentTimeMillis, workStealing);
+    }
+
+    private static void block(ActorExecutor.Mailbox mailbox, CountDownLatch blocked, CountDownLatch release) {
+        mailbox.submit(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }, e -> {});
+    }
+
+    @Test
+    public void submit_first_runs_before_other_actors_without_work_stealing() throws InterruptedException {
+        ActorExecutorGroup group = group(1, false);
+        ActorExecutor executor = group.executors()[0];
+        ActorExecutor.Mailbox first = executor.mailbox();
+        ActorExecutor.Mailbox second = executor.mailbox();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        block(first, blocked, release);
+        assertTrue(blocked.await(10, SECONDS));
+        first.submit(() -> { order.add("first"); done.countDown(); }, e -> {});
+        second.submitFirst(() -> { order.add("second"); done.countDown(); }, e -> {});
+        release.countDown();
+
+        assertTrue(done.await(10, SECONDS));
+        assertEquals(List.of("second", "first"), order);
+        group.stop();
+    }
+
+    @Test
+    public void submit_first_runs_before_own_actor_with_work_stealing() throws InterruptedException {
+        ActorExecutorGroup group = group(1, true);
+        ActorExecutor.Mailbox mailbox = group.executors()[0].mailbox();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        block(mailbox, blocked, release);
+        assertTrue(blocked.await(10, SECONDS));
+        mailbox.submit(() -> { order.add("last"); done.countDown(); }, e -> {});
+        mailbox.submitFirst(() -> { order.add("first"); done.countDown(); }, e -> {});
+        release.countDown();
+
+        assertTrue(done.await(10, SECONDS));
+        assertEquals(List.of("first", "last"), order);
+        group.stop();
+    }
+
+    @Test
+    public void idle_executors_steal_mailboxes_of_busy_executor() throws InterruptedException {
+        int actors = 64;
+        ActorExecutorGroup group = group(EXECUTORS, true);
+        ActorExecutor busy = group.executors()[0];
+        CountDownLatch done = new CountDownLatch(actors);
+        for (int i = 0; i < actors; i++) {
+            busy.mailbox().submit(() -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                done.countDown();
+            }, e -> {});
+        }
+
+        assertTrue(done.await(10, SECONDS));
+        long stolen = 0;
+        for (ActorExecutor.Metrics metrics : group.metrics()) stolen += metrics.mailboxesStolen();
+        assertTrue(stolen > 0);
+        group.stop();
+    }
+
+    @Test
+    public void messages_of_each_actor_run_sequentially_and_in_order_under_work_stealing() throws InterruptedException {
+        int actors = 200;
+        int messages = 500;
+        ActorExecutorGroup group = group(EXECUTORS, true);
+        List<ActorExecutor.Mailbox> mailboxes = new ArrayList<>();
+        List<AtomicBoolean> running = new ArrayList<>();
+        List<AtomicInteger> received = new ArrayList<>();
+        for (int i = 0; i < actors; i++) {
+            // place the actors on two of the executors, so that the others can only run them by stealing
+            mailboxes.add(group.executors()[i % 2].mailbox());
+            running.add(new AtomicBoolean(false));
+            received.add(new AtomicInteger(0));
+        }
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+        AtomicBoolean reordered = new AtomicBoolean(false);
+        CountDownLatch done = new CountDownLatch(actors * messages);
+
+        List<Thread> senders = new ArrayList<>();
+        for (int s = 0; s < EXECUTORS; s++) {
+            int sender = s;
+            Thread thread = new Thread(() -> {
+                for (int m = 0; m < messages; m++) {
+                    for (int a = sender; a < actors; a += EXECUTORS) {
+                        int actor = a;
+                        int message = m;
+                        mailboxes.get(actor).submit(() -> {
+                            if (!running.get(actor).compareAndSet(false, true)) overlapped.set(true);
+                            if (received.get(actor).getAndIncrement() != message) reordered.set(true);
+                            running.get(actor).set(false);
+                            done.countDown();
+                        }, e -> {});
+                    }
+                }
+            });
+            senders.add(thread);
+            thread.start();
+        }
+        for (Thread thread : senders) thread.join();
+
+        assertTrue(done.await(30, SECONDS));
+        assertFalse(overlapped.get());
+        assertFalse(reordered.get());
+        for (AtomicInteger count : received) assertEquals(messages, count.get());
+        group.stop();
+    }
+
+    @Test
+    public void scheduled_messages_run_under_work_stealing() throws InterruptedException {
+        ActorExecutorGroup group = group(EXECUTORS, true);
+        CountDownLatch done = new CountDownLatch(EXECUTORS * 10);
+        for (int i = 0; i < EXECUTORS * 10; i++) {
+            group.nextExecutor().mailbox().schedule(done::countDown, System.currentTimeMillis() + 10, e -> {});
+        }
+        assertTrue(done.await(10, SECONDS));
+        group.stop();
+    }
+}
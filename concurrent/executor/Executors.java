@@ -27,6 +27,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
@@ -46,6 +47,7 @@ public class Executors {
     private static final String TYPEDB_CORE_SERIAL_THREAD_NAME = "typedb-serial";
     private static final String TYPEDB_CORE_SCHEDULED_THREAD_NAME = "typedb-scheduled";
     private static final int TYPEDB_CORE_SCHEDULED_THREAD_SIZE = 1;
+    private static final int ACTOR_METRICS_LOG_PERIOD_MINUTES = 1;
 
     private static Executors singleton = null;
 
@@ -57,17 +59,29 @@ public class Executors {
     private final ScheduledThreadPoolExecutor scheduledThreadPool;
     private final ExecutorService serialService;
 
-    private Executors(int parallelisation) {
+    private Executors(int parallelisation, boolean actorWorkStealing) {
         if (parallelisation <= 0) throw TypeDBException.of(ILLEGAL_ARGUMENT);
         serviceExecutorService = new ParallelThreadPoolExecutor(parallelisation, threadFactory(TYPEDB_CORE_SERVICE_THREAD_NAME));
         asyncExecutorService1 = new ParallelThreadPoolExecutor(parallelisation, threadFactory(TYPEDB_CORE_ASYNC_THREAD_1_NAME));
         asyncExecutorService2 = new ParallelThreadPoolExecutor(parallelisation, threadFactory(TYPEDB_CORE_ASYNC_THREAD_2_NAME));
-        actorExecutorService = new ActorExecutorGroup(parallelisation, threadFactory(TYPEDB_CORE_ACTOR_THREAD_NAME));
+        actorExecutorService = new ActorExecutorGroup(parallelisation, threadFactory(TYPEDB_CORE_ACTOR_THREAD_NAME),
+                                                      System::currentTimeMillis, actorWorkStealing);
         networkExecutorService = new NioEventLoopGroup(parallelisation, threadFactory(TYPEDB_CORE_NETWORK_THREAD_NAME));
         scheduledThreadPool = new ScheduledThreadPoolExecutor(TYPEDB_CORE_SCHEDULED_THREAD_SIZE,
                                                               threadFactory(TYPEDB_CORE_SCHEDULED_THREAD_NAME));
         serialService = java.util.concurrent.Executors.newSingleThreadExecutor(threadFactory(TYPEDB_CORE_SERIAL_THREAD_NAME));
         scheduledThreadPool.setRemoveOnCancelPolicy(true);
+        scheduledThreadPool.scheduleAtFixedRate(this::mayLogActorMetrics, ACTOR_METRICS_LOG_PERIOD_MINUTES,
+                                                ACTOR_METRICS_LOG_PERIOD_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private void mayLogActorMetrics() {
+        if (!LOG.isDebugEnabled()) return;
+        StringBuilder builder = new StringBuilder(String.format(
+                "Actor executors (work stealing %s):", actorExecutorService.isWorkStealing() ? "enabled" : "disabled"
+        ));
+        actorExecutorService.metrics().forEach(metrics -> builder.append("\n\t").append(metrics));
+        LOG.debug(builder.toString());
     }
 
     private NamedThreadFactory threadFactory(String threadNamePrefix) {
@@ -75,9 +89,13 @@ public class Executors {
     }
 
     public static synchronized void initialise(int parallelisationFactor) {
+        initialise(parallelisationFactor, false);
+    }
+
+    public static synchronized void initialise(int parallelisationFactor, boolean actorWorkStealing) {
         if (isInitialised()) throw TypeDBException.of(ILLEGAL_OPERATION);
         PARALLELISATION_FACTOR = parallelisationFactor;
-        singleton = new Executors(parallelisationFactor);
+        singleton = new Executors(parallelisationFactor, actorWorkStealing);
     }
 
     public static boolean isInitialised() {
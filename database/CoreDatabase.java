@@ -21,6 +21,7 @@ package com.vaticle.typedb.core.database;
 import com.vaticle.typedb.common.collection.ConcurrentSet;
 import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.cache.CommonCache;
 import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
@@ -39,11 +40,15 @@ import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.logic.LogicCache;
+import com.vaticle.typedb.core.query.QueryCache;
+import com.vaticle.typedb.core.reasoner.common.ConcludableAnswerCache;
+import com.vaticle.typedb.core.reasoner.planner.ReasonerPlanCache;
 import com.vaticle.typedb.core.traversal.TraversalCache;
 import com.vaticle.typeql.lang.TypeQL;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,9 +58,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
@@ -65,6 +73,8 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
@@ -72,7 +82,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static com.vaticle.typedb.common.collection.Collections.list;
@@ -103,6 +117,7 @@ import static com.vaticle.typedb.core.encoding.Encoding.ENCODING_VERSION;
 import static com.vaticle.typedb.core.encoding.Encoding.ROCKS_DATA;
 import static com.vaticle.typedb.core.encoding.Encoding.ROCKS_SCHEMA;
 import static com.vaticle.typedb.core.encoding.Encoding.System.ENCODING_VERSION_KEY;
+import static java.lang.String.format;
 import static java.util.Comparator.reverseOrder;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -111,6 +126,8 @@ public class CoreDatabase implements TypeDB.Database {
 
     private static final Logger LOG = LoggerFactory.getLogger(CoreDatabase.class);
     private static final int ROCKS_LOG_PERIOD = 300;
+    private static final String BULK_LOAD_DIRECTORY = "bulk-load";
+    private static final long BULK_LOAD_BUFFER_BYTES = 256 * 1024 * 1024L;
 
     private final CoreDatabaseManager databaseMgr;
     private final Factory.Session sessionFactory;
@@ -125,6 +142,7 @@ public class CoreDatabase implements TypeDB.Database {
     protected final KeyGenerator.Data.Persisted dataKeyGenerator;
     private final IsolationManager isolationMgr;
     private final StatisticsCorrector statisticsCorrector;
+    private final RocksBulkLoader bulkLoader;
     protected OptimisticTransactionDB rocksSchema;
     protected OptimisticTransactionDB rocksData;
     protected CorePartitionManager.Schema rocksSchemaPartitionMgr;
@@ -141,6 +159,7 @@ public class CoreDatabase implements TypeDB.Database {
         dataKeyGenerator = new KeyGenerator.Data.Persisted();
         isolationMgr = new IsolationManager();
         statisticsCorrector = createStatisticsCorrector();
+        bulkLoader = new RocksBulkLoader(this, directory().resolve(BULK_LOAD_DIRECTORY), BULK_LOAD_BUFFER_BYTES);
         sessions = new ConcurrentHashMap<>();
         rocksConfiguration = new RocksConfiguration(options().storageDataCacheSize(),
                 options().storageIndexCacheSize(), LOG.isDebugEnabled(), ROCKS_LOG_PERIOD);
@@ -238,6 +257,7 @@ public class CoreDatabase implements TypeDB.Database {
         loadSchema();
         validateEncodingVersion();
         loadData();
+        mayUpgradeEncodingVersion();
         isOpen.set(true);
         try (CoreSession.Schema session = createAndOpenSession(SCHEMA, new Options.Session()).asSchema()) {
             try (CoreTransaction.Schema txn = session.initialisationTransaction()) {
@@ -265,12 +285,19 @@ public class CoreDatabase implements TypeDB.Database {
         try {
             List<ColumnFamilyDescriptor> dataDescriptors = CorePartitionManager.Data.descriptors(rocksConfiguration.data());
             List<ColumnFamilyHandle> dataHandles = new ArrayList<>();
+            String dataDirectory = directory().resolve(Encoding.ROCKS_DATA).toString();
+            int partitions;
+            try (org.rocksdb.Options options = new org.rocksdb.Options()) {
+                partitions = RocksDB.listColumnFamilies(options, dataDirectory).size();
+            }
+            // databases created with an older encoding version lack the partitions added since, which are created empty
             rocksData = OptimisticTransactionDB.open(
                     rocksConfiguration.data().dbOptions(),
-                    directory().resolve(Encoding.ROCKS_DATA).toString(),
-                    dataDescriptors,
+                    dataDirectory,
+                    dataDescriptors.subList(0, partitions),
                     dataHandles
             );
+            dataHandles.addAll(rocksData.createColumnFamilies(dataDescriptors.subList(partitions, dataDescriptors.size())));
             assert dataDescriptors.size() == dataHandles.size();
             rocksDataPartitionMgr = createPartitionMgrData(dataDescriptors, dataHandles);
         } catch (RocksDBException e) {
@@ -286,6 +313,8 @@ public class CoreDatabase implements TypeDB.Database {
                     new RocksProperties.Logger(rocksData, rocksDataPartitionMgr.handles, name),
                     0, ROCKS_LOG_PERIOD, SECONDS
             );
+            scheduledPropertiesLogger.scheduleAtFixedRate(this::logCacheStatistics, 0, ROCKS_LOG_PERIOD, SECONDS);
+            scheduledPropertiesLogger.scheduleAtFixedRate(this::logIsolationStatistics, 0, ROCKS_LOG_PERIOD, SECONDS);
         } else {
             scheduledPropertiesLogger = null;
         }
@@ -304,15 +333,30 @@ public class CoreDatabase implements TypeDB.Database {
     }
 
     protected void validateEncodingVersion() {
+        int encoding = encodingVersion();
+        if (encoding != ENCODING_VERSION && !RocksEncodingUpgrader.isUpgradable(encoding)) {
+            throw TypeDBException.of(INCOMPATIBLE_ENCODING, name(), directory().toAbsolutePath(), encoding, ENCODING_VERSION);
+        }
+    }
+
+    /**
+     * Upgrade the data of a database created with an older, upgradable encoding version, once it is loaded.
+     */
+    protected void mayUpgradeEncodingVersion() {
+        int encoding = encodingVersion();
+        if (encoding == ENCODING_VERSION) return;
+        LOG.info("Upgrading database '{}' from encoding version {} to {}", name, encoding, ENCODING_VERSION);
+        new RocksEncodingUpgrader(rocksData, rocksDataPartitionMgr).upgrade(encoding);
+        initialiseEncodingVersion();
+    }
+
+    private int encodingVersion() {
         try {
             byte[] encodingBytes = rocksSchema.get(
                     rocksSchemaPartitionMgr.get(Key.Partition.DEFAULT),
                     ENCODING_VERSION_KEY.bytes().getBytes()
             );
-            int encoding = encodingBytes == null || encodingBytes.length == 0 ? 0 : ByteArray.of(encodingBytes).decodeInt();
-            if (encoding != ENCODING_VERSION) {
-                throw TypeDBException.of(INCOMPATIBLE_ENCODING, name(), directory().toAbsolutePath(), encoding, ENCODING_VERSION);
-            }
+            return encodingBytes == null || encodingBytes.length == 0 ? 0 : ByteArray.of(encodingBytes).decodeInt();
         } catch (RocksDBException e) {
             throw TypeDBException.of(e);
         }
@@ -353,6 +397,33 @@ public class CoreDatabase implements TypeDB.Database {
         return cache;
     }
 
+    /**
+     * Statistics of the query caches shared by the transactions of this database, since the caches were last
+     * invalidated by a schema change.
+     */
+    public synchronized Map<String, CommonCache.Statistics> cacheStatistics() {
+        Map<String, CommonCache.Statistics> statistics = new LinkedHashMap<>();
+        if (cache != null) {
+            cache.traversal().statistics().forEach((label, stats) -> statistics.put("traversal." + label, stats));
+            cache.logic().statistics().forEach((label, stats) -> statistics.put("logic." + label, stats));
+            cache.reasonerPlans().statistics().forEach((label, stats) -> statistics.put("reasoner." + label, stats));
+            cache.answers().statistics().forEach((label, stats) -> statistics.put("reasoner." + label, stats));
+            cache.queries().statistics().forEach((label, stats) -> statistics.put("query." + label, stats));
+        }
+        return statistics;
+    }
+
+    private void logCacheStatistics() {
+        StringBuilder builder = new StringBuilder(format("Database '%s' query cache statistics:\n", name));
+        cacheStatistics().forEach((label, stats) -> builder.append(format("%-40s %s\n", label, stats)));
+        LOG.debug(builder.toString());
+    }
+
+    private void logIsolationStatistics() {
+        LOG.debug(format("Database '%s' retains %d committed transactions and %d written keys for isolation validation",
+                name, isolationMgr.committedEventCount(), isolationMgr.conflictIndexSize()));
+    }
+
     synchronized void cacheUnborrow(Cache cache) {
         cache.unborrow();
     }
@@ -366,6 +437,10 @@ public class CoreDatabase implements TypeDB.Database {
         }
     }
 
+    private synchronized void cacheInvalidateAnswers() {
+        if (cache != null) cache.answers().invalidateAll();
+    }
+
     protected synchronized void cacheClose() {
         if (cache != null) cache.close();
     }
@@ -398,6 +473,10 @@ public class CoreDatabase implements TypeDB.Database {
         return statisticsCorrector;
     }
 
+    RocksBulkLoader bulkLoader() {
+        return bulkLoader;
+    }
+
     /**
      * Get the lock that guarantees that the schema is not modified at the same
      * time as data being written to the database. When a schema session is
@@ -460,6 +539,29 @@ public class CoreDatabase implements TypeDB.Database {
         }
     }
 
+    /**
+     * Ingest the data committed by bulk-load transactions, making it visible to new transactions. Bulk-load
+     * transactions are not corrected for the statistics of concurrent writes, so statistics should be recounted
+     * once loading is complete.
+     */
+    @Override
+    public void ingestBulkLoad() {
+        if (!isOpen.get()) throw TypeDBException.of(DATABASE_CLOSED, name);
+        // the types written by bulk loads are not tracked, so every cached answer may be derived from older data
+        cacheInvalidateAnswers();
+        bulkLoader.ingest();
+        cacheInvalidateAnswers();
+    }
+
+    @Override
+    public void recountStatistics() {
+        try (CoreSession.Data session = createAndOpenSession(DATA, new Options.Session()).asData();
+             CoreTransaction.Data txn = session.transaction(WRITE)) {
+            txn.graphMgr.data().recountStatistics();
+            txn.commit();
+        }
+    }
+
     void closed(CoreSession session) {
         if (session != statisticsBackgroundCounterSession) {
             long lock = sessions.remove(session.uuid()).second();
@@ -488,6 +590,7 @@ public class CoreDatabase implements TypeDB.Database {
     protected void closeResources() {
         statisticsCorrector.close();
         sessions.values().forEach(p -> p.first().close());
+        bulkLoader.close();
         cacheClose();
         rocksDataPartitionMgr.close();
         rocksData.close();
@@ -506,96 +609,361 @@ public class CoreDatabase implements TypeDB.Database {
         }
     }
 
+    /**
+     * Validates that committing transactions do not conflict with any transaction that committed since their
+     * snapshot, or that is committing concurrently.
+     *
+     * Written keys are indexed in stripes by their hash, so validating a commit only locks the stripes of its own
+     * write set, and costs time proportional to its write set rather than to the number of overlapping transactions.
+     *
+     * Committed transactions are retained until no open transaction has a snapshot older than their commit. The oldest
+     * open snapshot is tracked in an ordered multiset, and committed transactions are ordered by their commit snapshot,
+     * so each cleanup only visits the transactions it releases.
+     */
     public static class IsolationManager {
 
         private final ConcurrentSet<CoreTransaction.Data> uncommitted;
         private final ConcurrentSet<CoreTransaction.Data> committing;
-        private final ConcurrentSet<CoreTransaction.Data> committed;
-        private final AtomicBoolean cleanupRunning;
+        private final ConcurrentSkipListSet<CommitRecord> committed;
+        private final ConcurrentSkipListMap<Long, Integer> openSnapshots;
+        private final ConcurrentMap<CoreTransaction.Data, CommitRecord> commitRecords;
+        private final ConcurrentSkipListMap<Long, CoreTransaction.Data> commitOrder;
+        private final ConflictIndex conflictIndex;
+        private final AtomicLong newestCommittedSnapshot;
+        private final AtomicLong retainedCount;
+        private long nextCommitTicket;
 
         IsolationManager() {
             uncommitted = new ConcurrentSet<>();
             committing = new ConcurrentSet<>();
-            committed = new ConcurrentSet<>();
-            cleanupRunning = new AtomicBoolean(false);
+            committed = new ConcurrentSkipListSet<>(CommitRecord.BY_SNAPSHOT_END);
+            openSnapshots = new ConcurrentSkipListMap<>();
+            commitRecords = new ConcurrentHashMap<>();
+            commitOrder = new ConcurrentSkipListMap<>();
+            conflictIndex = new ConflictIndex();
+            newestCommittedSnapshot = new AtomicLong(0);
+            retainedCount = new AtomicLong(0);
+            nextCommitTicket = 0;
         }
 
         void opened(CoreTransaction.Data transaction) {
+            openSnapshots.merge(transaction.snapshotStart(), 1, Integer::sum);
             uncommitted.add(transaction);
         }
 
-        public Set<CoreTransaction.Data> validateOverlappingAndStartCommit(CoreTransaction.Data txn) {
-            Set<CoreTransaction.Data> transactions;
-            synchronized (this) {
-                transactions = commitMayConflict(txn);
-                transactions.forEach(other -> validateIsolation(txn, other));
-                committing.add(txn);
-                uncommitted.remove(txn);
-            }
-            return transactions;
+        private void closeSnapshot(CoreTransaction.Data transaction) {
+            openSnapshots.computeIfPresent(transaction.snapshotStart(), (snapshot, count) -> count == 1 ? null : count - 1);
         }
 
-        private Set<CoreTransaction.Data> commitMayConflict(CoreTransaction.Data txn) {
-            if (!txn.dataStorage.hasTrackedWrite()) return set();
-            Set<CoreTransaction.Data> mayConflict = new HashSet<>(committing);
-            for (CoreTransaction.Data committedTxn : committed) {
-                if (committedTxn.snapshotEnd().get() > txn.snapshotStart()) mayConflict.add(committedTxn);
+        public Set<CoreTransaction.Data> validateOverlappingAndStartCommit(CoreTransaction.Data txn) {
+            CommitRecord record = new CommitRecord(txn);
+            if (record.hasWrite()) conflictIndex.validateAndRegister(record, txn.snapshotStart());
+            committing.add(txn);
+            uncommitted.remove(txn);
+            commitRecords.put(txn, record);
+            synchronized (commitOrder) {
+                record.ticket = nextCommitTicket++;
+                commitOrder.put(record.ticket, txn);
             }
-            return mayConflict;
+            if (!record.hasWrite()) return set();
+            else return overlapping(txn, record.ticket);
         }
 
-        private void validateIsolation(CoreTransaction.Data txn, CoreTransaction.Data mayConflict) {
-            if (txn.dataStorage.modifyDeleteConflict(mayConflict.dataStorage)) {
-                throw TypeDBException.of(TRANSACTION_ISOLATION_MODIFY_DELETE_VIOLATION);
-            } else if (txn.dataStorage.deleteModifyConflict(mayConflict.dataStorage)) {
-                throw TypeDBException.of(TRANSACTION_ISOLATION_DELETE_MODIFY_VIOLATION);
-            } else if (txn.dataStorage.exclusiveCreateConflict(mayConflict.dataStorage)) {
-                throw TypeDBException.of(TRANSACTION_ISOLATION_EXCLUSIVE_CREATE_VIOLATION);
+        /**
+         * Transactions that entered their commit before this one, and that were either still committing, or committed
+         * after this transaction's snapshot. Ordering by commit ticket ensures that only one of any pair of overlapping
+         * transactions reports the other.
+         */
+        private Set<CoreTransaction.Data> overlapping(CoreTransaction.Data txn, long ticket) {
+            Set<CoreTransaction.Data> overlapping = new HashSet<>();
+            for (CoreTransaction.Data other : commitOrder.headMap(ticket).values()) {
+                Optional<Long> snapshotEnd = other.snapshotEnd();
+                if (snapshotEnd.isPresent() ? snapshotEnd.get() > txn.snapshotStart() : committing.contains(other)) {
+                    overlapping.add(other);
+                }
             }
+            return overlapping;
         }
 
         public void committed(CoreTransaction.Data txn) {
             assert committing.contains(txn) && txn.snapshotEnd().isPresent();
-            committed.add(txn);
+            CommitRecord record = commitRecords.get(txn);
+            record.snapshotEnd = txn.snapshotEnd().get();
+            if (record.hasWrite()) conflictIndex.committed(record, record.snapshotEnd);
+            committed.add(record);
+            retainedCount.incrementAndGet();
+            newestCommittedSnapshot.accumulateAndGet(record.snapshotEnd, Math::max);
             committing.remove(txn);
+            closeSnapshot(txn);
         }
 
         void closed(CoreTransaction.Data txn) {
             // txn closed with commit or without failed commit
-            uncommitted.remove(txn);
-            committing.remove(txn);
+            if (uncommitted.contains(txn)) {
+                uncommitted.remove(txn);
+                closeSnapshot(txn);
+            } else if (committing.contains(txn)) {
+                CommitRecord record = commitRecords.remove(txn);
+                if (record.hasWrite()) conflictIndex.aborted(record);
+                commitOrder.remove(record.ticket);
+                committing.remove(txn);
+                closeSnapshot(txn);
+            }
             cleanupCommitted();
         }
 
+        /**
+         * Release committed transactions that can no longer conflict with any open transaction. Concurrent cleanups
+         * are safe, as each committed transaction is released by the cleanup that removes it from the committed set.
+         */
         private void cleanupCommitted() {
-            if (cleanupRunning.compareAndSet(false, true)) {
-                long lastCommittedSnapshot = newestCommittedSnapshot();
-                Long cleanupUntil = oldestUncommittedSnapshot().orElse(lastCommittedSnapshot + 1);
-                committed.forEach(txn -> {
-                    if (txn.snapshotEnd().get() < cleanupUntil) {
-                        txn.delete();
-                        committed.remove(txn);
-                    }
-                });
-                cleanupRunning.set(false);
+            long cleanupUntil = oldestOpenSnapshot();
+            for (CommitRecord record : committed) {
+                if (record.snapshotEnd >= cleanupUntil) break;
+                if (committed.remove(record)) {
+                    commitRecords.remove(record.txn);
+                    if (record.hasWrite()) conflictIndex.cleanup(record, cleanupUntil);
+                    commitOrder.remove(record.ticket);
+                    record.txn.delete();
+                    retainedCount.decrementAndGet();
+                }
             }
         }
 
-        private Optional<Long> oldestUncommittedSnapshot() {
-            return link(iterate(uncommitted), iterate(committing)).map(CoreTransaction.Data::snapshotStart)
-                    .stream().min(Comparator.naturalOrder());
-        }
-
-        private long newestCommittedSnapshot() {
-            return iterate(committed).map(txn -> txn.snapshotEnd().get()).stream().max(Comparator.naturalOrder()).orElse(0L);
+        private long oldestOpenSnapshot() {
+            Map.Entry<Long, Integer> oldest = openSnapshots.firstEntry();
+            if (oldest != null) return oldest.getKey();
+            else return newestCommittedSnapshot.get() + 1;
         }
 
         FunctionalIterator<CoreTransaction.Data> getNotCommitted() {
             return link(iterate(uncommitted), iterate(committing));
         }
 
+        /**
+         * @return the number of committed transactions retained to validate the commits of open transactions
+         */
         long committedEventCount() {
-            return committed.size();
+            return retainedCount.get();
+        }
+
+        long conflictIndexSize() {
+            return conflictIndex.size();
+        }
+
+        private enum Write {MODIFY, DELETE, EXCLUSIVE}
+
+        /**
+         * The tracked writes of a transaction, copied when it starts committing so they remain available to
+         * the conflict index after the transaction's storage is cleared.
+         */
+        private static class CommitRecord {
+
+            private static final Comparator<CommitRecord> BY_SNAPSHOT_END =
+                    Comparator.<CommitRecord>comparingLong(record -> record.snapshotEnd).thenComparingLong(record -> record.ticket);
+
+            private final CoreTransaction.Data txn;
+            private final List<ByteArray> modified;
+            private final List<ByteArray> deleted;
+            private final List<ByteArray> exclusive;
+            private final int[] stripes;
+            private long ticket;
+            private long snapshotEnd;
+
+            private CommitRecord(CoreTransaction.Data txn) {
+                RocksStorage.Data storage = txn.dataStorage;
+                this.txn = txn;
+                modified = new ArrayList<>(storage.modifiedKeys());
+                deleted = new ArrayList<>(storage.deletedKeys());
+                exclusive = new ArrayList<>(storage.exclusiveBytes());
+                BitSet stripeSet = new BitSet(ConflictIndex.STRIPES);
+                modified.forEach(key -> stripeSet.set(ConflictIndex.stripe(key)));
+                deleted.forEach(key -> stripeSet.set(ConflictIndex.stripe(key)));
+                exclusive.forEach(key -> stripeSet.set(ConflictIndex.stripe(key)));
+                stripes = stripeSet.stream().toArray();
+            }
+
+            private boolean hasWrite() {
+                return stripes.length > 0;
+            }
+
+            private void forEachWrite(BiConsumer<ByteArray, Write> consumer) {
+                modified.forEach(key -> consumer.accept(key, Write.MODIFY));
+                deleted.forEach(key -> consumer.accept(key, Write.DELETE));
+                exclusive.forEach(key -> consumer.accept(key, Write.EXCLUSIVE));
+            }
+        }
+
+        /**
+         * Index from written keys to the number of transactions committing a write to the key, and the latest
+         * snapshot at which a write to the key was committed.
+         */
+        private static class ConflictIndex {
+
+            private static final int STRIPES = 1 << 10;
+
+            private final Stripe[] stripes;
+
+            private ConflictIndex() {
+                stripes = new Stripe[STRIPES];
+                for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+            }
+
+            private static int stripe(ByteArray key) {
+                int hash = key.hashCode();
+                return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+            }
+
+            /**
+             * Atomically validate the writes of a committing transaction against writes committed after its snapshot
+             * or being committed concurrently, and register its writes as committing. Stripes are always locked in
+             * ascending order, so concurrent validations cannot deadlock.
+             */
+            private void validateAndRegister(CommitRecord record, long snapshotStart) {
+                for (int stripe : record.stripes) stripes[stripe].lock.lock();
+                try {
+                    for (ByteArray key : record.modified) {
+                        if (conflicts(key, Write.DELETE, snapshotStart)) {
+                            throw TypeDBException.of(TRANSACTION_ISOLATION_MODIFY_DELETE_VIOLATION);
+                        }
+                    }
+                    for (ByteArray key : record.deleted) {
+                        if (conflicts(key, Write.MODIFY, snapshotStart)) {
+                            throw TypeDBException.of(TRANSACTION_ISOLATION_DELETE_MODIFY_VIOLATION);
+                        }
+                    }
+                    for (ByteArray key : record.exclusive) {
+                        if (conflicts(key, Write.EXCLUSIVE, snapshotStart)) {
+                            throw TypeDBException.of(TRANSACTION_ISOLATION_EXCLUSIVE_CREATE_VIOLATION);
+                        }
+                    }
+                    record.forEachWrite((key, write) -> stripes[stripe(key)].entries
+                            .computeIfAbsent(key, k -> new Entry()).committing[write.ordinal()]++);
+                } finally {
+                    for (int i = record.stripes.length - 1; i >= 0; i--) stripes[record.stripes[i]].lock.unlock();
+                }
+            }
+
+            private boolean conflicts(ByteArray key, Write write, long snapshotStart) {
+                Entry entry = stripes[stripe(key)].entries.get(key);
+                return entry != null && entry.conflicts(write, snapshotStart);
+            }
+
+            private void committed(CommitRecord record, long snapshotEnd) {
+                record.forEachWrite((key, write) -> stripes[stripe(key)].update(key, entry -> {
+                    entry.committing[write.ordinal()]--;
+                    entry.committedEnd[write.ordinal()] = Math.max(entry.committedEnd[write.ordinal()], snapshotEnd);
+                }));
+            }
+
+            /**
+             * Unregister the writes of a transaction that failed to commit, removing the keys that no other transaction
+             * is committing or has committed. Keys that were committed are removed by the cleanup of their commits.
+             */
+            private void aborted(CommitRecord record) {
+                record.forEachWrite((key, write) -> stripes[stripe(key)].updateAndRemoveIf(
+                        key, entry -> entry.committing[write.ordinal()]--, Entry::isUnused
+                ));
+            }
+
+            /**
+             * Remove the keys of a committed transaction that can no longer conflict with any open transaction,
+             * given that all open transactions have snapshots no earlier than {@code cleanupUntil}.
+             */
+            private void cleanup(CommitRecord record, long cleanupUntil) {
+                record.forEachWrite((key, write) -> stripes[stripe(key)].removeIf(key, entry -> entry.isIdleBefore(cleanupUntil)));
+            }
+
+            private long size() {
+                long size = 0;
+                for (Stripe stripe : stripes) size += stripe.size();
+                return size;
+            }
+
+            private static class Stripe {
+
+                private final ReentrantLock lock;
+                private final Map<ByteArray, Entry> entries;
+
+                private Stripe() {
+                    lock = new ReentrantLock();
+                    entries = new HashMap<>();
+                }
+
+                private void update(ByteArray key, Consumer<Entry> function) {
+                    lock.lock();
+                    try {
+                        Entry entry = entries.get(key);
+                        assert entry != null;
+                        function.accept(entry);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+
+                private void updateAndRemoveIf(ByteArray key, Consumer<Entry> function, Predicate<Entry> predicate) {
+                    lock.lock();
+                    try {
+                        Entry entry = entries.get(key);
+                        assert entry != null;
+                        function.accept(entry);
+                        if (predicate.test(entry)) entries.remove(key);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+
+                private int size() {
+                    lock.lock();
+                    try {
+                        return entries.size();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+
+                private void removeIf(ByteArray key, Predicate<Entry> predicate) {
+                    lock.lock();
+                    try {
+                        Entry entry = entries.get(key);
+                        if (entry != null && predicate.test(entry)) entries.remove(key);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+
+            private static class Entry {
+
+                private static final long NONE = Long.MIN_VALUE;
+
+                private final int[] committing;
+                private final long[] committedEnd;
+
+                private Entry() {
+                    committing = new int[Write.values().length];
+                    committedEnd = new long[Write.values().length];
+                    Arrays.fill(committedEnd, NONE);
+                }
+
+                private boolean conflicts(Write write, long snapshotStart) {
+                    return committing[write.ordinal()] > 0 || committedEnd[write.ordinal()] > snapshotStart;
+                }
+
+                private boolean isUnused() {
+                    for (int i = 0; i < committing.length; i++) {
+                        if (committing[i] > 0 || committedEnd[i] != NONE) return false;
+                    }
+                    return true;
+                }
+
+                private boolean isIdleBefore(long snapshot) {
+                    for (int i = 0; i < committing.length; i++) {
+                        if (committing[i] > 0 || committedEnd[i] >= snapshot) return false;
+                    }
+                    return true;
+                }
+            }
         }
     }
 
@@ -876,6 +1244,9 @@ public class CoreDatabase implements TypeDB.Database {
 
         private final TraversalCache traversalCache;
         private final LogicCache logicCache;
+        private final ReasonerPlanCache reasonerPlanCache;
+        private final ConcludableAnswerCache answerCache;
+        private final QueryCache queryCache;
         private final TypeGraph typeGraph;
         private final RocksStorage schemaStorage;
         private final AtomicLong statisticsVersion;
@@ -885,8 +1256,17 @@ public class CoreDatabase implements TypeDB.Database {
         private Cache(CoreDatabase database) {
             schemaStorage = new RocksStorage.Cache(database.rocksSchema, database.rocksSchemaPartitionMgr);
             typeGraph = new TypeGraph(schemaStorage, true);
-            traversalCache = new TraversalCache();
-            logicCache = new LogicCache();
+            Options.Database options = database.options();
+            traversalCache = new TraversalCache(options.traversalPlanCacheSize(), options.queryCacheTimeoutMinutes(),
+                    options.queryCacheWeighted());
+            logicCache = new LogicCache(options.logicCacheSize(), options.queryCacheTimeoutMinutes(),
+                    options.queryCacheWeighted());
+            reasonerPlanCache = new ReasonerPlanCache(options.logicCacheSize(), options.queryCacheTimeoutMinutes(),
+                    options.queryCacheWeighted());
+            answerCache = new ConcludableAnswerCache(options.inferredAnswerCacheSize(), options.queryCacheTimeoutMinutes(),
+                    options.queryCacheWeighted());
+            queryCache = new QueryCache(options.parsedQueryCacheSize(), options.queryCacheTimeoutMinutes(),
+                    options.queryCacheWeighted());
             borrowerCount = 0L;
             invalidated = false;
             statisticsVersion = new AtomicLong(0);
@@ -900,6 +1280,18 @@ public class CoreDatabase implements TypeDB.Database {
             return logicCache;
         }
 
+        public ReasonerPlanCache reasonerPlans() {
+            return reasonerPlanCache;
+        }
+
+        public ConcludableAnswerCache answers() {
+            return answerCache;
+        }
+
+        public QueryCache queries() {
+            return queryCache;
+        }
+
         public TypeGraph typeGraph() {
             return typeGraph;
         }
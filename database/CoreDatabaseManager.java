@@ -28,6 +28,8 @@ import com.vaticle.typedb.core.concurrent.executor.Executors;
 import org.rocksdb.RocksDB;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Set;
@@ -41,6 +43,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DAT
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_NAME_RESERVED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.TYPEDB_CLOSED;
+import static java.util.Comparator.reverseOrder;
 
 public class CoreDatabaseManager implements TypeDB.DatabaseManager {
 
@@ -71,11 +74,12 @@ public class CoreDatabaseManager implements TypeDB.DatabaseManager {
     }
 
     protected CoreDatabaseManager(Options.Database databaseOptions, Factory.Database databaseFactory) {
-        if (!Executors.isInitialised()) Executors.initialise(MAX_THREADS);
+        if (!Executors.isInitialised()) Executors.initialise(MAX_THREADS, databaseOptions.actorWorkStealing());
         this.databaseOptions = databaseOptions;
         this.databaseFactory = databaseFactory;
         databases = new ConcurrentHashMap<>();
         isOpen = new AtomicBoolean(true);
+        deleteSpilled();
         loadAll();
     }
 
@@ -84,8 +88,23 @@ public class CoreDatabaseManager implements TypeDB.DatabaseManager {
         return this.isOpen.get();
     }
 
+    /**
+     * Delete intermediate results that queries spilled before the server last stopped.
+     */
+    private void deleteSpilled() {
+        Path spillDir = databaseOptions.spillDir();
+        if (!spillDir.toFile().exists()) return;
+        try {
+            Files.walk(spillDir).sorted(reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+
     protected void loadAll() {
-        File[] databaseDirectories = directory().toFile().listFiles(File::isDirectory);
+        File[] databaseDirectories = directory().toFile().listFiles(
+                file -> file.isDirectory() && !file.getName().equals(Options.SPILL_DIRECTORY)
+        );
         if (databaseDirectories != null && databaseDirectories.length > 0) {
             Arrays.stream(databaseDirectories).parallel().forEach(directory -> {
                 String name = directory.getName();
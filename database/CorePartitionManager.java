@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.encoding.key.Key;
 import org.rocksdb.AbstractImmutableNativeReference;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 
@@ -37,12 +38,13 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILL
 import static com.vaticle.typedb.core.encoding.key.Key.Partition.DEFAULT;
 import static com.vaticle.typedb.core.encoding.key.Key.Partition.FIXED_START_EDGE;
 import static com.vaticle.typedb.core.encoding.key.Key.Partition.METADATA;
+import static com.vaticle.typedb.core.encoding.key.Key.Partition.NGRAM_INDEX;
 import static com.vaticle.typedb.core.encoding.key.Key.Partition.OPTIMISATION_EDGE;
 import static com.vaticle.typedb.core.encoding.key.Key.Partition.VARIABLE_START_EDGE;
 
 public abstract class CorePartitionManager {
 
-    private final List<ColumnFamilyDescriptor> descriptors;
+    final List<ColumnFamilyDescriptor> descriptors;
     final List<ColumnFamilyHandle> handles;
 
     private CorePartitionManager(List<ColumnFamilyDescriptor> descriptors, List<ColumnFamilyHandle> handles) {
@@ -102,12 +104,14 @@ public abstract class CorePartitionManager {
         private static final int FIXED_START_EDGE_HANDLE_INDEX = 2;
         private static final int OPTIMISATION_EDGE_HANDLE_INDEX = 3;
         private static final int METADATA_HANDLE_INDEX = 4;
+        private static final int NGRAM_INDEX_HANDLE_INDEX = 5;
 
         protected final ColumnFamilyHandle defaultHandle;
         protected final ColumnFamilyHandle variableStartEdgeHandle;
         protected final ColumnFamilyHandle fixedStartEdgeHandle;
         protected final ColumnFamilyHandle optimisationEdgeHandle;
         protected final ColumnFamilyHandle metadataHandle;
+        protected final ColumnFamilyHandle ngramIndexHandle;
 
         protected Data(List<ColumnFamilyDescriptor> descriptors, List<ColumnFamilyHandle> handles) {
             super(descriptors, handles);
@@ -116,10 +120,11 @@ public abstract class CorePartitionManager {
             fixedStartEdgeHandle = handles.get(FIXED_START_EDGE_HANDLE_INDEX);
             optimisationEdgeHandle = handles.get(OPTIMISATION_EDGE_HANDLE_INDEX);
             metadataHandle = handles.get(METADATA_HANDLE_INDEX);
+            ngramIndexHandle = handles.get(NGRAM_INDEX_HANDLE_INDEX);
         }
 
         static List<ColumnFamilyDescriptor> descriptors(RocksConfiguration.Data configuration) {
-            ColumnFamilyDescriptor[] descriptors = new ColumnFamilyDescriptor[5];
+            ColumnFamilyDescriptor[] descriptors = new ColumnFamilyDescriptor[6];
             descriptors[DEFAULT_HANDLE_INDEX] = new ColumnFamilyDescriptor(
                     RocksDB.DEFAULT_COLUMN_FAMILY,
                     configuration.defaultCFOptions()
@@ -140,6 +145,10 @@ public abstract class CorePartitionManager {
                     new byte[]{METADATA.encoding().ID()},
                     configuration.metadataCFOptions()
             );
+            descriptors[NGRAM_INDEX_HANDLE_INDEX] = new ColumnFamilyDescriptor(
+                    new byte[]{NGRAM_INDEX.encoding().ID()},
+                    configuration.ngramIndexCFOptions()
+            );
             return Arrays.asList(descriptors);
         }
 
@@ -156,14 +165,20 @@ public abstract class CorePartitionManager {
                     return optimisationEdgeHandle;
                 case METADATA:
                     return metadataHandle;
+                case NGRAM_INDEX:
+                    return ngramIndexHandle;
                 default:
                     throw TypeDBException.of(ILLEGAL_STATE);
             }
         }
 
+        ColumnFamilyOptions options(Key.Partition partition) {
+            return descriptors.get(handles.indexOf(get(partition))).getOptions();
+        }
+
         @Override
         Set<Key.Partition> partitions() {
-            return set(DEFAULT, VARIABLE_START_EDGE, FIXED_START_EDGE, OPTIMISATION_EDGE, METADATA);
+            return set(DEFAULT, VARIABLE_START_EDGE, FIXED_START_EDGE, OPTIMISATION_EDGE, METADATA, NGRAM_INDEX);
         }
     }
 }
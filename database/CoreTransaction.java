@@ -25,6 +25,7 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.graph.GraphManager;
@@ -32,12 +33,17 @@ import com.vaticle.typedb.core.graph.ThingGraph;
 import com.vaticle.typedb.core.graph.TypeGraph;
 import com.vaticle.typedb.core.logic.LogicCache;
 import com.vaticle.typedb.core.logic.LogicManager;
+import com.vaticle.typedb.core.query.QueryCache;
 import com.vaticle.typedb.core.query.QueryManager;
 import com.vaticle.typedb.core.reasoner.Reasoner;
+import com.vaticle.typedb.core.reasoner.common.ConcludableAnswerCache;
+import com.vaticle.typedb.core.reasoner.planner.ReasonerPlanCache;
 import com.vaticle.typedb.core.traversal.TraversalCache;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
 import org.rocksdb.RocksDBException;
 
+import javax.annotation.Nullable;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -69,12 +75,13 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
                 .id(this.session.database().nextTransactionID());
     }
 
-    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache) {
+    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache, ReasonerPlanCache planCache,
+                    QueryCache queryCache, @Nullable ConcludableAnswerCache.Recorder answerRecorder) {
         traversalEng = new TraversalEngine(graphMgr, traversalCache);
         conceptMgr = new ConceptManager(graphMgr);
         logicMgr = new LogicManager(graphMgr, conceptMgr, traversalEng, logicCache);
-        reasoner = new Reasoner(conceptMgr, logicMgr, traversalEng, context);
-        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, context);
+        reasoner = new Reasoner(conceptMgr, logicMgr, traversalEng, planCache, answerRecorder, context);
+        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, queryCache, context);
         isOpen = new AtomicBoolean(true);
     }
 
@@ -172,10 +179,10 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
 
             dataStorage = storageFactory.storageData(session.database(), this);
             ThingGraph.Statistics statistics = new ThingGraph.Statistics(typeGraph, dataStorage, new AtomicLong(0));
-            ThingGraph thingGraph = new ThingGraph(dataStorage, typeGraph, statistics);
+            ThingGraph thingGraph = new ThingGraph(dataStorage, typeGraph, statistics, context.options().writeBufferLimit());
 
             graphMgr = new GraphManager(typeGraph, thingGraph);
-            initialise(graphMgr, new TraversalCache(), new LogicCache());
+            initialise(graphMgr, new TraversalCache(), new LogicCache(), new ReasonerPlanCache(), new QueryCache(), null);
         }
 
         @Override
@@ -221,6 +228,9 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
          * If a lock was acquired from calling {@code graph.commit()} then we should
          * let inform the graph by confirming whether the RocksDB commit was successful
          * or not.
+         *
+         * Bulk-load transactions are not validated against concurrent transactions,
+         * and their writes are handed to the database's bulk loader instead.
          */
         @Override
         public void commit() {
@@ -281,13 +291,18 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             super(session, type, options);
 
             this.cache = session.database().cacheBorrow();
+            // the recorder must observe the answer cache version before the storage snapshot is opened
+            ConcludableAnswerCache.Recorder answerRecorder = cache.answers().isEnabled() && type().isRead() &&
+                    !context.options().explain() ? cache.answers().recorder() : null;
             this.dataStorage = storageFactory.storageData(session.database(), this);
             ThingGraph.Statistics statistics = new ThingGraph.Statistics(cache.typeGraph(), dataStorage, cache.statisticsVersion());
-            ThingGraph thingGraph = new ThingGraph(dataStorage, cache.typeGraph(), statistics);
+            // bulk loads are expected to be large, so they are not limited
+            int writeBufferLimit = dataStorage.isBulkLoad() ? 0 : context.options().writeBufferLimit();
+            ThingGraph thingGraph = new ThingGraph(dataStorage, cache.typeGraph(), statistics, writeBufferLimit);
             this.graphMgr = new GraphManager(cache.typeGraph(), thingGraph);
 
             if (type().isWrite()) session.database().isolationMgr().opened(this);
-            initialise(graphMgr, cache.traversal(), cache.logic());
+            initialise(graphMgr, cache.traversal(), cache.logic(), cache.reasonerPlans(), cache.queries(), answerRecorder);
         }
 
         @Override
@@ -316,6 +331,9 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
          * If a lock was acquired from calling {@code graph.commit()} then we should
          * let inform the graph by confirming whether the RocksDB commit was successful
          * or not.
+         *
+         * Bulk-load transactions are not validated against concurrent transactions,
+         * and their writes are handed to the database's bulk loader instead.
          */
         @Override
         public void commit() {
@@ -325,12 +343,21 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
                     else if (graphMgr.schema().isModified()) throw TypeDBException.of(SESSION_DATA_VIOLATION);
 
                     conceptMgr.validateThings();
+                    Set<Label> modifiedTypes = modifiedTypes();
                     graphMgr.data().commit();
+                    if (dataStorage.isBulkLoad()) {
+                        // bulk-loaded writes only become visible, and invalidate cached answers, once they are ingested
+                        dataStorage.commitBulkLoad();
+                        return;
+                    }
+                    // invalidate both before and after the write, so no reader publishes answers from either side of it
+                    cache.answers().invalidate(modifiedTypes);
 
                     Set<CoreTransaction.Data> overlapping =
                             session.database().isolationMgr().validateOverlappingAndStartCommit(this);
                     session.database().statisticsCorrector().recordCorrectionMetadata(this, overlapping);
                     dataStorage.commit();
+                    cache.answers().invalidate(modifiedTypes);
                     session.database().isolationMgr().committed(this);
                     session.database().statisticsCorrector().committed(this);
                     if (graphMgr.data().stats().statisticsPersisted()) cache.incrementStatisticsVersion();
@@ -349,6 +376,17 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             }
         }
 
+        private Set<Label> modifiedTypes() {
+            Set<Label> modifiedTypes = new HashSet<>();
+            graphMgr.data().modifiedTypes().forEach(typeIID -> {
+                Label label = graphMgr.schema().convert(typeIID).properLabel();
+                modifiedTypes.add(label);
+                // role players are part of their relation
+                label.scope().ifPresent(scope -> modifiedTypes.add(Label.of(scope)));
+            });
+            return modifiedTypes;
+        }
+
         @Override
         public void rollback() {
             try {
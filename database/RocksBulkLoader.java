@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.common.collection.Pair;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.encoding.key.Key.Partition;
+import org.rocksdb.DBOptions;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLong;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static java.util.Comparator.reverseOrder;
+
+/**
+ * Loads the writes of bulk-load transactions into the data storage by sorting them per partition into external SST
+ * files, which are ingested into RocksDB directly. Ingested writes bypass the write-ahead log, the memtables, and
+ * transaction conflict validation, and only become visible to new transactions once they are ingested.
+ *
+ * Writes are buffered in memory, sorted by key, until the estimated heap size of the buffer reaches its limit, when
+ * each partition's buffer is written out as a sorted run in its own SST file. Runs are ingested in the order they were
+ * written, so later writes to a key take precedence over earlier ones.
+ *
+ * Loaded writes are not durable until they are ingested: they are ingested when the database is closed, but they are
+ * lost if the server stops without closing the database.
+ */
+@ThreadSafe
+public class RocksBulkLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksBulkLoader.class);
+    private static final String SST_FILE_PREFIX = "bulk-load-";
+    private static final String SST_FILE_SUFFIX = ".sst";
+    // the heap held by a buffered write besides its key and value bytes: the tree map entry, the write, and the
+    // key and value byte arrays with their wrappers
+    private static final int WRITE_OVERHEAD_BYTES = 128;
+
+    private final CoreDatabase database;
+    private final Path directory;
+    private final long bufferLimitBytes;
+    private final Map<Partition, TreeMap<ByteArray, Write>> buffers;
+    private final List<Pair<Partition, Path>> files;
+    private long bufferedBytes;
+    private long fileCount;
+
+    RocksBulkLoader(CoreDatabase database, Path directory, long bufferLimitBytes) {
+        this.database = database;
+        this.directory = directory;
+        this.bufferLimitBytes = bufferLimitBytes;
+        this.buffers = new EnumMap<>(Partition.class);
+        this.files = new ArrayList<>();
+        this.bufferedBytes = 0;
+        this.fileCount = 0;
+        if (Files.exists(directory)) {
+            LOG.warn("Discarding bulk-loaded data of database '{}' that was not ingested before the server stopped",
+                    database.name());
+            deleteDirectory();
+        }
+    }
+
+    synchronized void write(Writes writes) {
+        writes.partitions.forEach((partition, partitionWrites) -> {
+            TreeMap<ByteArray, Write> buffer = buffers.computeIfAbsent(partition, p -> new TreeMap<>());
+            partitionWrites.forEach((key, write) -> {
+                Write previous = buffer.get(key);
+                Write combined = previous != null ? previous.then(write) : write;
+                buffer.put(key, combined);
+                if (previous != null) bufferedBytes -= previous.value.length();
+                else bufferedBytes += WRITE_OVERHEAD_BYTES + key.length();
+                bufferedBytes += combined.value.length();
+            });
+        });
+        if (bufferedBytes >= bufferLimitBytes) writeFiles();
+    }
+
+    /**
+     * Ingest every write loaded so far into the data storage.
+     */
+    synchronized void ingest() {
+        writeFiles();
+        if (files.isEmpty()) return;
+        LOG.debug("Ingesting {} bulk-loaded files into database '{}'", files.size(), database.name());
+        try (IngestExternalFileOptions options = new IngestExternalFileOptions().setMoveFiles(true)) {
+            for (Pair<Partition, Path> file : files) {
+                database.rocksData.ingestExternalFile(
+                        database.rocksDataPartitionMgr.get(file.first()), list(file.second().toString()), options
+                );
+            }
+        } catch (RocksDBException e) {
+            throw TypeDBException.of(e);
+        } finally {
+            files.clear();
+            deleteDirectory();
+        }
+    }
+
+    /**
+     * Ingest every write loaded since the last ingestion, as the loaded writes would otherwise be lost.
+     */
+    synchronized void close() {
+        try {
+            ingest();
+        } catch (TypeDBException e) {
+            LOG.error("Failed to ingest the bulk-loaded data of database '" + database.name() + "', which is lost", e);
+        } finally {
+            buffers.clear();
+            bufferedBytes = 0;
+            files.clear();
+            deleteDirectory();
+        }
+    }
+
+    private void writeFiles() {
+        if (bufferedBytes == 0) return;
+        try (EnvOptions envOptions = new EnvOptions(); DBOptions dbOptions = new DBOptions()) {
+            Files.createDirectories(directory);
+            for (Map.Entry<Partition, TreeMap<ByteArray, Write>> entry : buffers.entrySet()) {
+                if (entry.getValue().isEmpty()) continue;
+                Path file = directory.resolve(SST_FILE_PREFIX + fileCount++ + SST_FILE_SUFFIX);
+                writeFile(file, entry.getKey(), entry.getValue(), envOptions, dbOptions);
+                files.add(new Pair<>(entry.getKey(), file));
+                entry.getValue().clear();
+            }
+            bufferedBytes = 0;
+        } catch (IOException | RocksDBException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+
+    private void writeFile(Path file, Partition partition, TreeMap<ByteArray, Write> writes,
+                           EnvOptions envOptions, DBOptions dbOptions) throws RocksDBException {
+        // the file must be written with the options of its column family, in particular its comparator
+        try (org.rocksdb.Options options = new org.rocksdb.Options(dbOptions, database.rocksDataPartitionMgr.options(partition));
+             SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+            writer.open(file.toString());
+            for (Map.Entry<ByteArray, Write> entry : writes.entrySet()) {
+                byte[] key = entry.getKey().getBytes();
+                switch (entry.getValue().type) {
+                    case PUT:
+                        writer.put(key, entry.getValue().value.getBytes());
+                        break;
+                    case MERGE:
+                        writer.merge(key, entry.getValue().value.getBytes());
+                        break;
+                    case DELETE:
+                        writer.delete(key);
+                        break;
+                }
+            }
+            writer.finish();
+        }
+    }
+
+    private void deleteDirectory() {
+        if (!Files.exists(directory)) return;
+        try {
+            Files.walk(directory).sorted(reverseOrder()).map(Path::toFile).forEach(path -> {
+                boolean deleted = path.delete();
+                if (!deleted) LOG.warn("Failed to delete bulk-load file '" + path + "'");
+            });
+        } catch (IOException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+
+    /**
+     * The writes of a single bulk-load transaction, combined per key in the order they were made.
+     */
+    static class Writes {
+
+        private final ConcurrentMap<Partition, ConcurrentSkipListMap<ByteArray, Write>> partitions;
+
+        Writes() {
+            partitions = new ConcurrentHashMap<>();
+        }
+
+        void put(Partition partition, ByteArray key, ByteArray value) {
+            record(partition, key, new Write(Write.Type.PUT, value));
+        }
+
+        void merge(Partition partition, ByteArray key, ByteArray value) {
+            record(partition, key, new Write(Write.Type.MERGE, value));
+        }
+
+        void delete(Partition partition, ByteArray key) {
+            record(partition, key, new Write(Write.Type.DELETE, ByteArray.empty()));
+        }
+
+        private void record(Partition partition, ByteArray key, Write write) {
+            partitions.computeIfAbsent(partition, p -> new ConcurrentSkipListMap<>()).merge(key, write, Write::then);
+        }
+
+        void clear() {
+            partitions.clear();
+        }
+    }
+
+    private static class Write {
+
+        private enum Type {PUT, MERGE, DELETE}
+
+        private final Type type;
+        private final ByteArray value;
+
+        private Write(Type type, ByteArray value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        /**
+         * Combine this write with a later write to the same key. Merge operands are unsigned 64-bit additions,
+         * as configured for the only partition that is written to with merges.
+         */
+        private Write then(Write next) {
+            if (next.type != Type.MERGE) return next;
+            switch (type) {
+                case PUT:
+                    return new Write(Type.PUT, encodeLong(value.decodeLong() + next.value.decodeLong()));
+                case MERGE:
+                    return new Write(Type.MERGE, encodeLong(value.decodeLong() + next.value.decodeLong()));
+                case DELETE:
+                    return new Write(Type.PUT, next.value);
+                default:
+                    throw TypeDBException.of(ILLEGAL_STATE);
+            }
+        }
+    }
+}
@@ -217,6 +217,20 @@ public class RocksConfiguration {
             return options;
         }
 
+        /**
+         * This CF contains the n-gram index of string attributes, which is only scanned by type and n-gram prefixes
+         * Since this will contain several keys per attribute we make larger write buffers
+         */
+        org.rocksdb.ColumnFamilyOptions ngramIndexCFOptions() {
+            org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
+            writeOptimisedWriteBuffers(options);
+            configureSST(options);
+            configureCompression(options);
+            configurePrefixExtractor(options, Key.Partition.NGRAM_INDEX.fixedStartBytes().get());
+            options.setTableFormatConfig(tableOptions(true, false));
+            return options;
+        }
+
         org.rocksdb.ColumnFamilyOptions metadataCFOptions() {
             org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
             readOptimisedWriteBuffers(options);
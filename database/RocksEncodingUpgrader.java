@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBCheckedException;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.encoding.Encoding;
+import com.vaticle.typedb.core.encoding.iid.InfixIID;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
+import com.vaticle.typedb.core.encoding.key.Key.Partition;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.core.common.collection.ByteArray.encodeStringAsSorted;
+import static com.vaticle.typedb.core.common.collection.ByteArray.join;
+import static com.vaticle.typedb.core.common.collection.Bytes.SHORT_SIZE;
+import static com.vaticle.typedb.core.encoding.Encoding.ENCODING_VERSION;
+import static com.vaticle.typedb.core.encoding.Encoding.Edge.Thing.Optimised.ROLEPLAYER;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
+import static com.vaticle.typedb.core.encoding.Encoding.Vertex.Thing.ATTRIBUTE;
+import static com.vaticle.typedb.core.encoding.iid.VertexIID.Attribute.VALUE_TYPE_LENGTH;
+import static com.vaticle.typedb.core.encoding.iid.VertexIID.Thing.PREFIX_W_TYPE_LENGTH;
+
+/**
+ * Upgrades the data storage of a database created with an older encoding version, in place, when it is loaded.
+ *
+ * Version 2 encoded the value of a string attribute IID as its length followed by its bytes, so that string
+ * attributes were sorted by length. Version 3 encodes it in value order, as by {@link ByteArray#encodeStringAsSorted},
+ * so every key holding a string attribute IID is rewritten: string attribute vertices, and edges that start or end at
+ * one. Version 4 only added the n-gram index partition, which is created empty when the data storage is loaded.
+ */
+class RocksEncodingUpgrader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksEncodingUpgrader.class);
+    private static final int OLDEST_UPGRADABLE_VERSION = 2;
+    private static final int VALUE_SORTED_STRINGS_VERSION = 3;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int VALUE_INDEX = PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH;
+
+    private final OptimisticTransactionDB rocksData;
+    private final CorePartitionManager.Data partitionMgr;
+
+    RocksEncodingUpgrader(OptimisticTransactionDB rocksData, CorePartitionManager.Data partitionMgr) {
+        this.rocksData = rocksData;
+        this.partitionMgr = partitionMgr;
+    }
+
+    static boolean isUpgradable(int encodingVersion) {
+        return encodingVersion >= OLDEST_UPGRADABLE_VERSION && encodingVersion < ENCODING_VERSION;
+    }
+
+    void upgrade(int encodingVersion) {
+        assert isUpgradable(encodingVersion);
+        if (encodingVersion < VALUE_SORTED_STRINGS_VERSION) {
+            long rewritten = rewrite(Partition.DEFAULT, this::upgradeStringAttribute);
+            for (Partition partition : list(Partition.VARIABLE_START_EDGE, Partition.FIXED_START_EDGE, Partition.OPTIMISATION_EDGE)) {
+                rewritten += rewrite(partition, this::upgradeEdge);
+            }
+            LOG.info("Rewrote {} keys holding string attributes to encoding version {}", rewritten, VALUE_SORTED_STRINGS_VERSION);
+        }
+    }
+
+    private interface KeyUpgrade {
+
+        /**
+         * @return the upgraded key, or null if the key is unchanged
+         */
+        @Nullable
+        ByteArray apply(ByteArray key);
+    }
+
+    private long rewrite(Partition partition, KeyUpgrade upgrade) {
+        ColumnFamilyHandle handle = partitionMgr.get(partition);
+        long rewritten = 0;
+        // the iterator reads the keys as they were before the upgrade, so it never reads an upgraded key
+        try (RocksIterator iterator = rocksData.newIterator(handle);
+             WriteBatch batch = new WriteBatch();
+             WriteOptions options = new WriteOptions()) {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                ByteArray upgraded = upgrade.apply(ByteArray.of(iterator.key()));
+                if (upgraded == null) continue;
+                batch.delete(handle, iterator.key());
+                batch.put(handle, upgraded.getBytes(), iterator.value());
+                if (++rewritten % BATCH_SIZE == 0) {
+                    rocksData.write(options, batch);
+                    batch.clear();
+                }
+            }
+            iterator.status();
+            rocksData.write(options, batch);
+        } catch (RocksDBException e) {
+            throw TypeDBException.of(e);
+        }
+        return rewritten;
+    }
+
+    @Nullable
+    private ByteArray upgradeStringAttribute(ByteArray key) {
+        if (!isStringAttribute(key, 0)) return null;
+        assert key.length() == vertexLength(key, 0);
+        return upgradeVertex(key, 0);
+    }
+
+    /**
+     * An edge is its start vertex, its infix, which is followed by a type for role player edges, its end vertex, and a
+     * suffix, none of which hold attributes besides the start and end vertices.
+     */
+    @Nullable
+    private ByteArray upgradeEdge(ByteArray key) {
+        int infixIndex = vertexLength(key, 0);
+        boolean isRolePlayer = Encoding.Edge.Thing.of(key.get(infixIndex)).equals(ROLEPLAYER);
+        int endIndex = infixIndex + (isRolePlayer ? InfixIID.RolePlayer.LENGTH : InfixIID.DEFAULT_LENGTH);
+        int suffixIndex = endIndex + vertexLength(key, endIndex);
+        if (!isStringAttribute(key, 0) && !isStringAttribute(key, endIndex)) return null;
+        return join(
+                isStringAttribute(key, 0) ? upgradeVertex(key, 0) : key.view(0, infixIndex),
+                key.view(infixIndex, endIndex),
+                isStringAttribute(key, endIndex) ? upgradeVertex(key, endIndex) : key.view(endIndex, suffixIndex),
+                key.view(suffixIndex)
+        );
+    }
+
+    private static boolean isStringAttribute(ByteArray key, int from) {
+        return key.get(from) == ATTRIBUTE.prefix().key() && key.get(from + PREFIX_W_TYPE_LENGTH) == STRING.key();
+    }
+
+    /**
+     * @return the length of the thing vertex IID starting at the given index, in the version 2 encoding
+     */
+    private static int vertexLength(ByteArray key, int from) {
+        if (isStringAttribute(key, from)) {
+            return VALUE_INDEX + SHORT_SIZE + key.view(from + VALUE_INDEX, from + VALUE_INDEX + SHORT_SIZE).decodeUnsignedShort();
+        } else {
+            // only string attributes are encoded differently
+            return VertexIID.Thing.extract(key, from).bytes().length();
+        }
+    }
+
+    private static ByteArray upgradeVertex(ByteArray key, int from) {
+        int stringIndex = from + VALUE_INDEX + SHORT_SIZE;
+        String value = key.view(stringIndex, from + vertexLength(key, from)).decodeString(STRING_ENCODING);
+        try {
+            return join(key.view(from, from + VALUE_INDEX), encodeStringAsSorted(value, STRING_ENCODING));
+        } catch (TypeDBCheckedException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+}
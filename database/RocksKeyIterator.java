@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.sorted.AbstractSortedIterator;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterators;
+import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.encoding.key.Key;
+
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.RESOURCE_CLOSED;
+import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
+
+/**
+ * An ascending iterator over the keys under a prefix, for a single consumer. Unlike {@link RocksIterator}, values are
+ * never read and keys are returned as bytes, for the caller to decode only if it needs to.
+ *
+ * Keys are read from RocksDB in batches, through a direct buffer that is reused across keys, so that a key is only
+ * copied onto the heap once it is known to be under the prefix. The monitor that guards against a concurrent
+ * {@link #close()} of the storage is taken once per batch, and when seeking, rather than for every key.
+ */
+public class RocksKeyIterator extends AbstractSortedIterator<ByteArray, Order.Asc>
+        implements SortedIterator.Forwardable<ByteArray, Order.Asc>, AutoCloseable {
+
+    static final int BATCH_SIZE = 64;
+    private static final int INITIAL_KEY_CAPACITY = 64;
+
+    private final Key.Prefix<?> prefix;
+    private final RocksStorage storage;
+    private final ByteArray[] batch;
+    private ByteBuffer keyBuffer;
+    private int batchSize;
+    private int batchIndex;
+    private boolean isExhausted;
+    private ByteArray last;
+    private boolean isClosed;
+    private State state;
+    org.rocksdb.RocksIterator internalRocksIterator;
+
+    private enum State {INIT, OPENED, COMPLETED}
+
+    RocksKeyIterator(RocksStorage storage, Key.Prefix<?> prefix) {
+        super(ASC);
+        this.storage = storage;
+        this.prefix = prefix;
+        this.batch = new ByteArray[BATCH_SIZE];
+        this.batchSize = 0;
+        this.batchIndex = 0;
+        this.isExhausted = false;
+        this.isClosed = false;
+        this.state = State.INIT;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (state == State.COMPLETED) return false;
+        else if (batchIndex < batchSize) return true;
+        else if (isExhausted) {
+            close();
+            return false;
+        } else return fetchBatch();
+    }
+
+    @Override
+    public ByteArray peek() {
+        if (!hasNext()) {
+            if (isClosed) throw TypeDBException.of(RESOURCE_CLOSED);
+            else throw new NoSuchElementException();
+        }
+        return batch[batchIndex];
+    }
+
+    @Override
+    public ByteArray next() {
+        if (!hasNext()) {
+            if (isClosed) throw TypeDBException.of(RESOURCE_CLOSED);
+            else throw new NoSuchElementException();
+        }
+        last = batch[batchIndex];
+        batch[batchIndex++] = null;
+        return last;
+    }
+
+    @Override
+    public void forward(ByteArray target) {
+        if (state == State.COMPLETED) return;
+        while (batchIndex < batchSize) {
+            if (order().inOrder(target, batch[batchIndex])) return;
+            batch[batchIndex++] = null;
+        }
+        if (last != null && order().inOrder(target, last)) return;
+        else if (!target.hasPrefix(prefix.bytes())) {
+            if (order().inOrder(target, prefix.bytes())) return;
+            else close();
+        } else seek(target);
+    }
+
+    private synchronized boolean fetchBatch() {
+        if (state == State.COMPLETED) return false;
+        else if (state == State.INIT) {
+            initialiseInternalIterator();
+            internalRocksIterator.seek(prefix.bytes().getBytes());
+        }
+        batchIndex = 0;
+        batchSize = 0;
+        while (batchSize < BATCH_SIZE) {
+            if (!internalRocksIterator.isValid() || !readKeyWithPrefix()) {
+                isExhausted = true;
+                break;
+            }
+            byte[] key = new byte[keyBuffer.remaining()];
+            keyBuffer.get(key);
+            batch[batchSize++] = ByteArray.of(key);
+            internalRocksIterator.next();
+        }
+        if (batchSize == 0) {
+            close();
+            return false;
+        } else return true;
+    }
+
+    private synchronized void seek(ByteArray target) {
+        if (state == State.COMPLETED) return;
+        else if (state == State.INIT) initialiseInternalIterator();
+        internalRocksIterator.seek(target.getBytes());
+        batchIndex = 0;
+        batchSize = 0;
+        isExhausted = false;
+    }
+
+    /**
+     * Reads the current key into the key buffer, growing it if the key does not fit, and checks it has the prefix
+     * without copying it out of the buffer.
+     */
+    private boolean readKeyWithPrefix() {
+        keyBuffer.clear();
+        int length = internalRocksIterator.key(keyBuffer);
+        if (length > keyBuffer.capacity()) {
+            keyBuffer = ByteBuffer.allocateDirect(Integer.highestOneBit(length) << 1);
+            length = internalRocksIterator.key(keyBuffer);
+        }
+        ByteArray prefixBytes = prefix.bytes();
+        if (length < prefixBytes.length()) return false;
+        for (int i = 0; i < prefixBytes.length(); i++) {
+            if (keyBuffer.get(i) != prefixBytes.get(i)) return false;
+        }
+        return true;
+    }
+
+    private void initialiseInternalIterator() {
+        assert state == State.INIT;
+        internalRocksIterator = storage.getInternalRocksIterator(prefix.partition(), usePrefixBloom());
+        if (keyBuffer == null) keyBuffer = ByteBuffer.allocateDirect(INITIAL_KEY_CAPACITY);
+        state = State.OPENED;
+    }
+
+    @Override
+    public void recycle() {
+        close();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (state != State.COMPLETED) {
+            if (state != State.INIT) storage.recycle(partition(), usePrefixBloom(), internalRocksIterator);
+            state = State.COMPLETED;
+            isClosed = true;
+            storage.remove(this);
+        }
+    }
+
+    Key.Partition partition() {
+        return prefix.partition();
+    }
+
+    boolean usePrefixBloom() {
+        return prefix.isFixedStartInPartition();
+    }
+
+    @Override
+    public Forwardable<ByteArray, Order.Asc> merge(Forwardable<ByteArray, Order.Asc> iterator) {
+        return SortedIterators.Forwardable.merge(this, iterator);
+    }
+
+    @Override
+    public Forwardable<ByteArray, Order.Asc> intersect(Forwardable<ByteArray, Order.Asc> iterator) {
+        return SortedIterators.Forwardable.intersect(this, iterator);
+    }
+
+    @Override
+    public <V extends Comparable<? super V>, ORD extends Order> Forwardable<V, ORD> mapSorted(
+            Function<ByteArray, V> mappingFn, Function<V, ByteArray> reverseMappingFn, ORD order) {
+        return SortedIterators.Forwardable.mapSorted(order, this, mappingFn, reverseMappingFn);
+    }
+
+    @Override
+    public Forwardable<ByteArray, Order.Asc> distinct() {
+        return SortedIterators.Forwardable.distinct(this);
+    }
+
+    @Override
+    public Forwardable<ByteArray, Order.Asc> filter(Predicate<ByteArray> predicate) {
+        return SortedIterators.Forwardable.filter(this, predicate);
+    }
+
+    @Override
+    public Forwardable<ByteArray, Order.Asc> limit(long limit) {
+        return SortedIterators.Forwardable.limit(this, limit);
+    }
+
+    @Override
+    public Forwardable<ByteArray, Order.Asc> takeWhile(Function<ByteArray, Boolean> condition) {
+        return SortedIterators.Forwardable.takeWhile(this, condition);
+    }
+
+    @Override
+    public Forwardable<ByteArray, Order.Asc> onConsumed(Runnable function) {
+        return SortedIterators.Forwardable.onConsume(this, function);
+    }
+
+    @Override
+    public Forwardable<ByteArray, Order.Asc> onFinalise(Runnable finalise) {
+        return SortedIterators.Forwardable.onFinalise(this, finalise);
+    }
+}
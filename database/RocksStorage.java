@@ -43,6 +43,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
@@ -51,7 +52,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.StampedLock;
 
-import static com.vaticle.typedb.common.collection.Collections.hasIntersection;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.RESOURCE_CLOSED;
@@ -72,6 +72,7 @@ public abstract class RocksStorage implements Storage {
     protected final Snapshot snapshot;
     protected final ReadWriteLock deleteCloseSchemaWriteLock;
     protected final ConcurrentSet<RocksIterator<?, ?>> iterators;
+    protected final ConcurrentSet<RocksKeyIterator> keyIterators;
     // TODO: use a single set of iterators when 'setAutoPrefixMode(true)' is available on ReadOptions API
     protected final ConcurrentMap<Partition, ConcurrentLinkedQueue<org.rocksdb.RocksIterator>> recycled;
     protected final ConcurrentMap<Partition, ConcurrentLinkedQueue<org.rocksdb.RocksIterator>> recycledWithPrefixBloom;
@@ -84,6 +85,7 @@ public abstract class RocksStorage implements Storage {
         this.isReadOnly = isReadOnly;
         this.partitionMgr = partitionMgr;
         iterators = new ConcurrentSet<>();
+        keyIterators = new ConcurrentSet<>();
         recycled = new ConcurrentHashMap<>();
         recycledWithPrefixBloom = new ConcurrentHashMap<>();
         partitionMgr.partitions().forEach(partition -> recycled.put(partition, new ConcurrentLinkedQueue<>()));
@@ -149,18 +151,30 @@ public abstract class RocksStorage implements Storage {
         return iterator;
     }
 
+    RocksKeyIterator createKeyIterator(Key.Prefix<?> prefix) {
+        RocksKeyIterator iterator = new RocksKeyIterator(this, prefix);
+        keyIterators.add(iterator);
+        if (!isOpen()) throw TypeDBException.of(RESOURCE_CLOSED); //guard against close() race conditions
+        return iterator;
+    }
+
     void recycle(RocksIterator<?, ?> rocksIterator) {
-        if (rocksIterator.usePrefixBloom()) {
-            recycledWithPrefixBloom.get(rocksIterator.partition()).add(rocksIterator.internalRocksIterator);
-        } else {
-            recycled.get(rocksIterator.partition()).add(rocksIterator.internalRocksIterator);
-        }
+        recycle(rocksIterator.partition(), rocksIterator.usePrefixBloom(), rocksIterator.internalRocksIterator);
+    }
+
+    void recycle(Partition partition, boolean usePrefixBloom, org.rocksdb.RocksIterator internalRocksIterator) {
+        if (usePrefixBloom) recycledWithPrefixBloom.get(partition).add(internalRocksIterator);
+        else recycled.get(partition).add(internalRocksIterator);
     }
 
     void remove(RocksIterator<?, ?> iterator) {
         iterators.remove(iterator);
     }
 
+    void remove(RocksKeyIterator iterator) {
+        keyIterators.remove(iterator);
+    }
+
     @Override
     public TypeDBException exception(ErrorMessage error) {
         TypeDBException e = TypeDBException.of(error);
@@ -188,6 +202,8 @@ public abstract class RocksStorage implements Storage {
             if (isOpen.compareAndSet(true, false)) {
                 iterators.parallelStream().forEach(RocksIterator::close);
                 iterators.clear();
+                keyIterators.parallelStream().forEach(RocksKeyIterator::close);
+                keyIterators.clear();
                 recycledWithPrefixBloom.values().forEach(iters -> iters.forEach(AbstractImmutableNativeReference::close));
                 recycledWithPrefixBloom.clear();
                 recycled.values().forEach(iters -> iters.forEach(AbstractImmutableNativeReference::close));
@@ -235,6 +251,12 @@ public abstract class RocksStorage implements Storage {
             RocksIterator<T, ORDER> iterator = createIterator(prefix, order);
             return iterator.onFinalise(iterator::close);
         }
+
+        @Override
+        public SortedIterator.Forwardable<ByteArray, Order.Asc> iterateKeys(Key.Prefix<?> prefix) {
+            RocksKeyIterator iterator = createKeyIterator(prefix);
+            return iterator.onFinalise(iterator::close);
+        }
     }
 
     static abstract class TransactionBounded extends RocksStorage {
@@ -321,6 +343,11 @@ public abstract class RocksStorage implements Storage {
             return createIterator(prefix, order);
         }
 
+        @Override
+        public SortedIterator.Forwardable<ByteArray, Order.Asc> iterateKeys(Key.Prefix<?> prefix) {
+            return createKeyIterator(prefix);
+        }
+
         @Override
         public TypeDBException exception(ErrorMessage errorMessage) {
             transaction.close();
@@ -387,6 +414,7 @@ public abstract class RocksStorage implements Storage {
         private final ConcurrentSkipListSet<ByteArray> modifiedKeys;
         private final ConcurrentSkipListSet<ByteArray> deletedKeys;
         private final ConcurrentSkipListSet<ByteArray> exclusiveBytes; // these are not real keys, just reserved bytes
+        private final RocksBulkLoader.Writes bulkLoadWrites;
         private final long snapshotStart;
         protected volatile Long snapshotEnd;
         protected boolean hasWrite;
@@ -399,6 +427,8 @@ public abstract class RocksStorage implements Storage {
             this.modifiedKeys = new ConcurrentSkipListSet<>();
             this.deletedKeys = new ConcurrentSkipListSet<>();
             this.exclusiveBytes = new ConcurrentSkipListSet<>();
+            this.bulkLoadWrites = transaction.type().isWrite() && transaction.context().options().bulkLoad() ?
+                    new RocksBulkLoader.Writes() : null;
             this.snapshotEnd = null;
             this.hasWrite = false;
         }
@@ -427,6 +457,10 @@ public abstract class RocksStorage implements Storage {
         @Override
         public void putUntracked(Key key, ByteArray value) {
             assert isOpen() && !isReadOnly;
+            if (bulkLoadWrites != null) {
+                bulkLoadWrites.put(key.partition(), key.bytes(), value);
+                return;
+            }
             try {
                 deleteCloseSchemaWriteLock.readLock().lock();
                 if (!isOpen()) throw TypeDBException.of(RESOURCE_CLOSED);
@@ -449,12 +483,14 @@ public abstract class RocksStorage implements Storage {
         @Override
         public void deleteUntracked(Key key) {
             super.deleteUntracked(key);
+            if (bulkLoadWrites != null) bulkLoadWrites.delete(key.partition(), key.bytes());
             hasWrite = true;
         }
 
         @Override
         public void trackModified(ByteArray key) {
             assert isOpen();
+            if (bulkLoadWrites != null) return;
             this.modifiedKeys.add(key);
             this.deletedKeys.remove(key);
         }
@@ -462,6 +498,7 @@ public abstract class RocksStorage implements Storage {
         @Override
         public void trackExclusiveBytes(ByteArray bytes) {
             assert isOpen();
+            if (bulkLoadWrites != null) return;
             this.exclusiveBytes.add(bytes);
         }
 
@@ -479,6 +516,20 @@ public abstract class RocksStorage implements Storage {
             snapshotEnd = database.rocksData.getLatestSequenceNumber();
         }
 
+        /**
+         * Hand the writes of a bulk-load transaction to the database's bulk loader, rather than committing them into
+         * storage. Bulk-load transactions are not validated against concurrent transactions, so their writes are not
+         * tracked. Their puts and merges, which the graph only writes on commit, go straight to the bulk loader's
+         * writes, while their deletes are also written to the storage transaction, so that the transaction reads its
+         * own deletes, and are rolled back here.
+         */
+        void commitBulkLoad() throws RocksDBException {
+            assert isBulkLoad();
+            database.bulkLoader().write(bulkLoadWrites);
+            rocksTransaction.rollback();
+            clear();
+        }
+
         @Override
         public void rollback() throws RocksDBException {
             super.rollback();
@@ -493,11 +544,16 @@ public abstract class RocksStorage implements Storage {
             modifiedKeys.clear();
             deletedKeys.clear();
             exclusiveBytes.clear();
+            if (bulkLoadWrites != null) bulkLoadWrites.clear();
         }
 
         @Override
         public void mergeUntracked(Key key, ByteArray value) {
             assert isOpen() && !isReadOnly;
+            if (bulkLoadWrites != null) {
+                bulkLoadWrites.merge(key.partition(), key.bytes(), value);
+                return;
+            }
             try {
                 deleteCloseSchemaWriteLock.readLock().lock();
                 if (!isOpen()) throw TypeDBException.of(RESOURCE_CLOSED);
@@ -510,6 +566,10 @@ public abstract class RocksStorage implements Storage {
             hasWrite = true;
         }
 
+        boolean isBulkLoad() {
+            return bulkLoadWrites != null;
+        }
+
         long snapshotStart() {
             return snapshotStart;
         }
@@ -522,16 +582,16 @@ public abstract class RocksStorage implements Storage {
             return !modifiedKeys.isEmpty() || !deletedKeys.isEmpty() || !exclusiveBytes.isEmpty();
         }
 
-        boolean modifyDeleteConflict(RocksStorage.Data otherStorage) {
-            return hasIntersection(modifiedKeys, otherStorage.deletedKeys);
+        Set<ByteArray> modifiedKeys() {
+            return modifiedKeys;
         }
 
-        boolean deleteModifyConflict(RocksStorage.Data otherStorage) {
-            return hasIntersection(deletedKeys, otherStorage.modifiedKeys);
+        Set<ByteArray> deletedKeys() {
+            return deletedKeys;
         }
 
-        boolean exclusiveCreateConflict(RocksStorage.Data otherStorage) {
-            return hasIntersection(exclusiveBytes, otherStorage.exclusiveBytes);
+        Set<ByteArray> exclusiveBytes() {
+            return exclusiveBytes;
         }
     }
 }
@@ -40,6 +40,8 @@ artifacts = [
     "io.netty:netty-all",
     "io.netty:netty-transport",
     "junit:junit",
+    "org.openjdk.jmh:jmh-core",
+    "org.openjdk.jmh:jmh-generator-annprocess",
     "org.slf4j:slf4j-api",
     "org.zeroturnaround:zt-exec"
 ]
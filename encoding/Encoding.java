@@ -41,7 +41,6 @@ import static com.vaticle.typedb.common.collection.Collections.map;
 import static com.vaticle.typedb.common.collection.Collections.pair;
 import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.common.util.Objects.className;
-import static com.vaticle.typedb.core.common.collection.Bytes.SHORT_SIZE;
 import static com.vaticle.typedb.core.common.collection.Bytes.SHORT_UNSIGNED_MAX_VALUE;
 import static com.vaticle.typedb.core.common.collection.Bytes.signedByte;
 import static com.vaticle.typedb.core.common.collection.Bytes.unsignedByte;
@@ -55,14 +54,15 @@ public class Encoding {
 
     public static final String ROCKS_DATA = "data";
     public static final String ROCKS_SCHEMA = "schema";
-    public static final int ENCODING_VERSION = 2;
+    public static final int ENCODING_VERSION = 4;
 
     public enum Partition {
         DEFAULT(0),
         VARIABLE_START_EDGE(1),
         FIXED_START_EDGE(2),
         OPTIMISATION_EDGE(3),
-        METADATA(4);
+        METADATA(4),
+        NGRAM_INDEX(5);
 
         private final byte ID;
 
@@ -156,6 +156,7 @@ public class Encoding {
         // leave large open range for future indices
         INDEX_TYPE(20, PrefixType.INDEX),
         INDEX_RULE(21, PrefixType.INDEX),
+        INDEX_NGRAM(22, PrefixType.INDEX),
         METADATA_STATISTICS(60, PrefixType.METADATA),
         VERTEX_THING_TYPE(100, PrefixType.TYPE),
         VERTEX_ENTITY_TYPE(110, PrefixType.TYPE),
@@ -173,6 +174,7 @@ public class Encoding {
                 pair(SYSTEM.key, SYSTEM),
                 pair(INDEX_TYPE.key, INDEX_TYPE),
                 pair(INDEX_RULE.key, INDEX_RULE),
+                pair(INDEX_NGRAM.key, INDEX_NGRAM),
                 pair(METADATA_STATISTICS.key, METADATA_STATISTICS),
                 pair(VERTEX_THING_TYPE.key, VERTEX_THING_TYPE),
                 pair(VERTEX_ENTITY_TYPE.key, VERTEX_ENTITY_TYPE),
@@ -260,6 +262,7 @@ public class Encoding {
         PROPERTY_THEN(6),
         PROPERTY_VALUE(7),
         PROPERTY_VALUE_REF(8),
+        PROPERTY_NGRAM_INDEXED(9),
         EDGE_OWNS_PROPERTY_ANNOTATION_UNIQUE(20),
         EDGE_ISA_BACKWARD(-40), // EDGE_ISA_FORWARD does not exist by design
         EDGE_SUB_FORWARD(50),
@@ -291,6 +294,7 @@ public class Encoding {
                 pair(PROPERTY_THEN.key, PROPERTY_THEN),
                 pair(PROPERTY_VALUE.key, PROPERTY_VALUE),
                 pair(PROPERTY_VALUE_REF.key, PROPERTY_VALUE_REF),
+                pair(PROPERTY_NGRAM_INDEXED.key, PROPERTY_NGRAM_INDEXED),
                 pair(EDGE_ISA_BACKWARD.key, EDGE_ISA_BACKWARD),
                 pair(EDGE_SUB_FORWARD.key, EDGE_SUB_FORWARD),
                 pair(EDGE_SUB_BACKWARD.key, EDGE_SUB_BACKWARD),
@@ -355,6 +359,7 @@ public class Encoding {
             SCOPE(Infix.PROPERTY_SCOPE),
             ABSTRACT(Infix.PROPERTY_ABSTRACT),
             REGEX(Infix.PROPERTY_REGEX),
+            NGRAM_INDEXED(Infix.PROPERTY_NGRAM_INDEXED),
             VALUE_TYPE(Infix.PROPERTY_VALUE_TYPE),
             VALUE_REF(Infix.PROPERTY_VALUE_REF),
             VALUE(Infix.PROPERTY_VALUE);
@@ -414,7 +419,6 @@ public class Encoding {
 
         public static final ZoneId TIME_ZONE_ID = ZoneOffset.UTC;
         public static final Charset STRING_ENCODING = UTF_8;
-        public static final int STRING_SIZE_ENCODING = SHORT_SIZE;
         public static final int STRING_MAX_SIZE = SHORT_UNSIGNED_MAX_VALUE;
         public static final double DOUBLE_PRECISION = 0.000001d;
 
@@ -435,7 +439,7 @@ public class Encoding {
         }
         );
         public static final ValueType<String> STRING = new ValueType<>(
-                40, "String", String.class, true, true, false, TypeQLArg.ValueType.STRING, String::compareTo
+                40, "String", String.class, true, true, true, TypeQLArg.ValueType.STRING, ValueType::compareCodePoints
         );
         public static final ValueType<LocalDateTime> DATETIME = new ValueType<>(
                 50, "DateTime", LocalDateTime.class, true, true, true, TypeQLArg.ValueType.DATETIME, LocalDateTime::compareTo
@@ -473,7 +477,7 @@ public class Encoding {
         private final ByteArray bytes;
         private final boolean hasExactEquality;
         private final boolean isWritable;
-        private final boolean isSorted; // TODO: once strings are encoded in the correct order, we can remove this
+        private final boolean isSorted;
 
         private final Class<T> valueClass;
         private final TypeQLArg.ValueType typeQLValueType;
@@ -566,6 +570,21 @@ public class Encoding {
             return comparator;
         }
 
+        /**
+         * Compare strings by code point, rather than by UTF-16 code unit, to agree with the order of their encoding.
+         */
+        private static int compareCodePoints(String first, String second) {
+            int i = 0, j = 0;
+            while (i < first.length() && j < second.length()) {
+                int firstCodePoint = first.codePointAt(i);
+                int secondCodePoint = second.codePointAt(j);
+                if (firstCodePoint != secondCodePoint) return Integer.compare(firstCodePoint, secondCodePoint);
+                i += Character.charCount(firstCodePoint);
+                j += Character.charCount(secondCodePoint);
+            }
+            return Boolean.compare(i < first.length(), j < second.length());
+        }
+
         public static <T, U> int compare(ValueType<T> firstType, T firstValue, ValueType<U> secondType, U secondValue) {
             if (!firstType.comparableTo(secondType)) {
                 throw TypeDBException.of(VALUES_NOT_COMPARABLE, firstType, firstValue, secondType, secondValue);
@@ -1039,7 +1058,8 @@ public class Encoding {
 
         enum Prefix {
             TYPE(Encoding.Prefix.INDEX_TYPE),
-            RULE(Encoding.Prefix.INDEX_RULE);
+            RULE(Encoding.Prefix.INDEX_RULE),
+            NGRAM(Encoding.Prefix.INDEX_NGRAM);
 
             private final Encoding.Prefix prefix;
 
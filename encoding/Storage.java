@@ -44,6 +44,12 @@ public interface Storage {
 
     <T extends Key, ORDER extends Order> Forwardable<KeyValue<T, ByteArray>, ORDER> iterate(Key.Prefix<T> key, ORDER order);
 
+    /**
+     * Iterate the keys under the prefix in ascending order, without reading their values, for a single consumer.
+     * The keys are returned as bytes, and are only decoded by callers that need to.
+     */
+    Forwardable<ByteArray, Order.Asc> iterateKeys(Key.Prefix<?> key);
+
     void putUntracked(Key key);
 
     void putUntracked(Key key, ByteArray value);
@@ -24,8 +24,11 @@ import com.vaticle.typedb.core.encoding.Encoding.Index;
 import com.vaticle.typedb.core.encoding.key.Key;
 
 import javax.annotation.Nullable;
+import java.util.HashSet;
+import java.util.Set;
 
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeString;
+import static com.vaticle.typedb.core.common.collection.Bytes.SHORT_SIZE;
 import static com.vaticle.typedb.core.common.collection.ByteArray.join;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
 
@@ -157,6 +160,99 @@ public abstract class IndexIID extends PartitionedIID {
         }
     }
 
+    // attribute n-gram -> attribute indexing
+    public static class NGram extends IndexIID {
+
+        public static final int GRAM_CHARS = 3;
+        public static final int GRAM_LENGTH = GRAM_CHARS * SHORT_SIZE;
+        public static final int PREFIX_W_GRAM_LENGTH = PrefixIID.LENGTH + VertexIID.Type.LENGTH + GRAM_LENGTH;
+
+        private NGram(ByteArray bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public Partition partition() {
+            return Partition.NGRAM_INDEX;
+        }
+
+        /**
+         * Returns the distinct n-grams of a string, folding the case of each character the same way that
+         * {@code String#regionMatches} ignores case, so that every string containing a substring, ignoring case,
+         * contains all the n-grams of the substring.
+         *
+         * @param value the string to split into n-grams
+         * @return the n-grams of the string, or none if the string is shorter than an n-gram
+         */
+        public static Set<String> grams(String value) {
+            Set<String> grams = new HashSet<>();
+            if (value.length() < GRAM_CHARS) return grams;
+            char[] folded = new char[value.length()];
+            for (int i = 0; i < value.length(); i++) {
+                folded[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+            }
+            for (int i = 0; i <= folded.length - GRAM_CHARS; i++) grams.add(new String(folded, i, GRAM_CHARS));
+            return grams;
+        }
+
+        /**
+         * @return a byte array representing the index of a string attribute under one of its n-grams
+         */
+        public static NGram of(VertexIID.Type typeIID, String gram, VertexIID.Attribute<?> attributeIID) {
+            return new NGram(join(Index.Prefix.NGRAM.bytes(), typeIID.bytes, encodeGram(gram), attributeIID.bytes));
+        }
+
+        /**
+         * @return a byte array representing the index scan prefix of the attributes of a type containing an n-gram
+         */
+        public static Key.Prefix<NGram> prefix(VertexIID.Type typeIID, String gram) {
+            return new Key.Prefix<>(join(Index.Prefix.NGRAM.bytes(), typeIID.bytes, encodeGram(gram)),
+                    Partition.NGRAM_INDEX, NGram::new);
+        }
+
+        /**
+         * @return a byte array representing the index scan prefix of all the n-grams of the attributes of a type
+         */
+        public static Key.Prefix<NGram> prefix(VertexIID.Type typeIID) {
+            return new Key.Prefix<>(join(Index.Prefix.NGRAM.bytes(), typeIID.bytes), Partition.NGRAM_INDEX, NGram::new);
+        }
+
+        private static ByteArray encodeGram(String gram) {
+            assert gram.length() == GRAM_CHARS;
+            byte[] bytes = new byte[GRAM_LENGTH];
+            for (int i = 0; i < GRAM_CHARS; i++) {
+                bytes[i * SHORT_SIZE] = (byte) (gram.charAt(i) >> 8);
+                bytes[i * SHORT_SIZE + 1] = (byte) gram.charAt(i);
+            }
+            return ByteArray.of(bytes);
+        }
+
+        private String gram() {
+            char[] gram = new char[GRAM_CHARS];
+            int from = PrefixIID.LENGTH + VertexIID.Type.LENGTH;
+            for (int i = 0; i < GRAM_CHARS; i++) {
+                gram[i] = (char) (((bytes.get(from + i * SHORT_SIZE) & 0xFF) << 8) | (bytes.get(from + i * SHORT_SIZE + 1) & 0xFF));
+            }
+            return new String(gram);
+        }
+
+        public VertexIID.Attribute<?> attribute() {
+            return VertexIID.Attribute.extract(bytes, PREFIX_W_GRAM_LENGTH);
+        }
+
+        @Override
+        public String toString() {
+            if (readableString == null) {
+                readableString = "[" + PrefixIID.LENGTH + ": " + Index.Prefix.NGRAM.toString() + "]" +
+                        "[" + VertexIID.Type.LENGTH + ": " + VertexIID.Type.extract(bytes, PrefixIID.LENGTH) + "]" +
+                        "[" + GRAM_LENGTH + ": " + gram() + "]" +
+                        "[" + (bytes.length() - PREFIX_W_GRAM_LENGTH) + ": " + attribute() + "]" +
+                        "[partition: " + partition() + "]";
+            }
+            return readableString;
+        }
+    }
+
     public static class Rule extends IndexIID {
 
         Rule(ByteArray bytes) {
@@ -47,8 +47,6 @@ import static com.vaticle.typedb.core.encoding.Encoding.ValueType.DOUBLE;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.LONG;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
-import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_MAX_SIZE;
-import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_SIZE_ENCODING;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.TIME_ZONE_ID;
 import static com.vaticle.typedb.core.encoding.Encoding.Vertex.Thing.ATTRIBUTE;
 import static com.vaticle.typedb.core.encoding.Encoding.Vertex.Type.ATTRIBUTE_TYPE;
@@ -391,13 +389,11 @@ public abstract class VertexIID extends PartitionedIID {
 
             public String(VertexIID.Type typeIID, java.lang.String value) throws TypeDBCheckedException {
                 super(STRING, typeIID, encodeStringAsSorted(value, STRING_ENCODING), value);
-                assert bytes.length() <= STRING_MAX_SIZE + STRING_SIZE_ENCODING;
             }
 
             public static VertexIID.Attribute.String extract(ByteArray bytes, int from) {
                 int attValIndex = from + VALUE_INDEX;
-                int strValLen = bytes.view(attValIndex, attValIndex + STRING_SIZE_ENCODING).decodeUnsignedShort();
-                int stringEnd = from + PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + STRING_SIZE_ENCODING + strValLen;
+                int stringEnd = attValIndex + bytes.view(attValIndex).sortedStringLength();
                 return new VertexIID.Attribute.String(bytes.view(from, stringEnd));
             }
 
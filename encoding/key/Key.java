@@ -21,6 +21,7 @@ package com.vaticle.typedb.core.encoding.key;
 import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.encoding.Encoding;
+import com.vaticle.typedb.core.encoding.iid.IndexIID;
 import com.vaticle.typedb.core.encoding.iid.InfixIID;
 import com.vaticle.typedb.core.encoding.iid.VertexIID;
 
@@ -37,7 +38,8 @@ public interface Key extends Comparable<Key> {
         VARIABLE_START_EDGE(Encoding.Partition.VARIABLE_START_EDGE, null),
         FIXED_START_EDGE(Encoding.Partition.FIXED_START_EDGE, VertexIID.Thing.DEFAULT_LENGTH + InfixIID.Thing.DEFAULT_LENGTH + VertexIID.Thing.PREFIX_W_TYPE_LENGTH),
         OPTIMISATION_EDGE(Encoding.Partition.OPTIMISATION_EDGE, VertexIID.Thing.DEFAULT_LENGTH + InfixIID.Thing.RolePlayer.LENGTH + VertexIID.Thing.PREFIX_W_TYPE_LENGTH),
-        METADATA(Encoding.Partition.METADATA, null);
+        METADATA(Encoding.Partition.METADATA, null),
+        NGRAM_INDEX(Encoding.Partition.NGRAM_INDEX, IndexIID.NGram.PREFIX_W_GRAM_LENGTH);
 
         private final Encoding.Partition encoding;
         private final Integer fixedStartBytes;
@@ -53,6 +55,8 @@ public interface Key extends Comparable<Key> {
                 return OPTIMISATION_EDGE;
             } else if (ID == Encoding.Partition.METADATA.ID()) {
                 return METADATA;
+            } else if (ID == Encoding.Partition.NGRAM_INDEX.ID()) {
+                return NGRAM_INDEX;
             } else {
                 throw TypeDBException.of(UNRECOGNISED_VALUE);
             }
@@ -55,6 +55,10 @@ public class StatisticsKey implements Key {
         ));
     }
 
+    public static Prefix<StatisticsKey> vertexCountPrefix() {
+        return new Prefix<>(Statistics.Prefix.VERTEX_COUNT.bytes(), Partition.METADATA, StatisticsKey::new);
+    }
+
     public static StatisticsKey hasEdgeCount(VertexIID.Type thingTypeIID, VertexIID.Type attTypeIID) {
         return new StatisticsKey(join(
                 Statistics.Prefix.HAS_EDGE_COUNT.bytes(),
@@ -63,6 +67,10 @@ public class StatisticsKey implements Key {
         ));
     }
 
+    public static Prefix<StatisticsKey> hasEdgeCountPrefix() {
+        return new Prefix<>(Statistics.Prefix.HAS_EDGE_COUNT.bytes(), Partition.METADATA, StatisticsKey::new);
+    }
+
     public static StatisticsKey txnCommitted(long txnID) {
         return new StatisticsKey(join(
                 Statistics.Prefix.TXN_COMMITTED_ID.bytes(),
@@ -30,6 +30,7 @@ import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Order;
 import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.encoding.Storage;
+import com.vaticle.typedb.core.encoding.iid.IndexIID;
 import com.vaticle.typedb.core.encoding.iid.PartitionedIID;
 import com.vaticle.typedb.core.encoding.iid.VertexIID;
 import com.vaticle.typedb.core.encoding.key.KeyGenerator;
@@ -44,6 +45,7 @@ import com.vaticle.typedb.core.graph.vertex.impl.ThingVertexImpl;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -59,10 +61,13 @@ import static com.vaticle.typedb.core.common.collection.ByteArray.empty;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLong;
 import static com.vaticle.typedb.core.common.collection.ByteArray.join;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Encoding.ILLEGAL_STRING_SIZE;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_WRITE_BUFFER_EXCEEDED;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.Iterators.link;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.intersect;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
 import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
+import static com.vaticle.typedb.core.encoding.Encoding.Edge.Thing.Base.HAS;
 import static com.vaticle.typedb.core.encoding.Encoding.Status.BUFFERED;
 import static com.vaticle.typedb.core.encoding.Encoding.Status.PERSISTED;
 import static com.vaticle.typedb.core.encoding.Encoding.ValueType.BOOLEAN;
@@ -88,12 +93,15 @@ public class ThingGraph {
     private final ConcurrentSet<AttributeVertex<?>> attributesDeleted;
     private final ConcurrentSet<ThingEdge> hasEdgeCreated;
     private final ConcurrentSet<ThingEdge> hasEdgeDeleted;
+    private final int writeBufferLimit;
+    private final AtomicLong bufferedWrites;
     private boolean isModified;
 
-    public ThingGraph(Storage.Data storage, TypeGraph typeGraph, Statistics statistics) {
+    public ThingGraph(Storage.Data storage, TypeGraph typeGraph, Statistics statistics, int writeBufferLimit) {
         this.storage = storage;
         this.typeGraph = typeGraph;
         this.statistics = statistics;
+        this.writeBufferLimit = writeBufferLimit;
         keyGenerator = new KeyGenerator.Data.Buffered();
         thingsByIID = new ConcurrentHashMap<>();
         attributesByIID = new AttributesByIID();
@@ -103,6 +111,7 @@ public class ThingGraph {
         attributesDeleted = new ConcurrentSet<>();
         hasEdgeCreated = new ConcurrentSet<>();
         hasEdgeDeleted = new ConcurrentSet<>();
+        bufferedWrites = new AtomicLong(0);
     }
 
     public Storage.Data storage() {
@@ -236,6 +245,33 @@ public class ThingGraph {
         }
     }
 
+    /**
+     * Returns the attributes of an n-gram indexed type that contain all the n-grams of a substring, ignoring case.
+     * These are the only attributes of the type that can contain the substring, but each must still be checked.
+     *
+     * @param typeVertex of the attributes, whose n-grams are indexed
+     * @param substring  to find the candidate attributes for, at least as long as an n-gram
+     * @param order      of the attributes
+     * @return the candidate attributes, in the same order as all the attributes of the type
+     */
+    public <ORDER extends Order> Forwardable<ThingVertex, ORDER> getReadableContaining(TypeVertex typeVertex,
+                                                                                       String substring, ORDER order) {
+        assert typeVertex.isNGramIndexed() && substring.length() >= IndexIID.NGram.GRAM_CHARS;
+        Forwardable<ThingVertex, ORDER> vertices = intersect(iterate(IndexIID.NGram.grams(substring)).map(gram ->
+                storage.iterate(IndexIID.NGram.prefix(typeVertex.iid(), gram), order).mapSorted(
+                        kv -> (ThingVertex) convertToReadable(kv.key().attribute()),
+                        vertex -> KeyValue.of(IndexIID.NGram.of(typeVertex.iid(), gram, vertex.asAttribute().iid()), empty()),
+                        order
+                )
+        ), order);
+        if (!thingsByTypeIID.containsKey(typeVertex.iid())) return vertices;
+        else {
+            // buffered attributes are only indexed once they are committed
+            Forwardable<ThingVertex, ORDER> buffered = (Forwardable) iterateSorted(thingsByTypeIID.get(typeVertex.iid()), order);
+            return vertices.merge(buffered).distinct();
+        }
+    }
+
     public AttributeVertex<Boolean> getReadable(TypeVertex type, boolean value) {
         assert storage.isOpen();
         assert type.isAttributeType();
@@ -428,12 +464,16 @@ public class ThingGraph {
             if (thingsByTypeIID.containsKey(vertex.iid().type())) {
                 thingsByTypeIID.get(vertex.iid().type()).remove(vertex);
             }
+            if (vertex.asAttribute().isString() && vertex.type().isNGramIndexed()) {
+                deleteNGrams(vertex.asAttribute().asString());
+            }
         }
         vertexDeleted(vertex);
     }
 
     private void vertexCreated(ThingVertexImpl.Write vertex) {
         if (vertex.status() != BUFFERED) return;
+        countWrite(vertex.isInferred());
         statistics.vertexCreated(vertex.iid().type(), vertex.isInferred());
         if (vertex.isAttribute() && !vertex.isInferred()) {
             if (attributesDeleted.contains(vertex.asAttribute())) {
@@ -461,7 +501,11 @@ public class ThingGraph {
     }
 
     public void edgeCreated(ThingEdge edge) {
-        if (edge.encoding() != Encoding.Edge.Thing.Base.HAS || isPersisted(edge)) return;
+        boolean isHas = edge.encoding() == Encoding.Edge.Thing.Base.HAS;
+        // a has edge that is already persisted is not written again on commit
+        if (isHas && isPersisted(edge)) return;
+        countWrite(edge.isInferred());
+        if (!isHas) return;
         statistics.hasEdgeCreated(edge.from().asWrite(), edge.to().asAttribute().asWrite(), edge.isInferred());
 
         if (hasEdgeDeleted.contains(edge)) {
@@ -490,6 +534,18 @@ public class ThingGraph {
         }
     }
 
+    /**
+     * Guard the write buffer, which is held on heap until commit, by failing the transaction once it has written more
+     * things and edges than the write buffer limit.
+     */
+    private void countWrite(boolean isInferred) {
+        // inferred things and edges are never committed, so they do not count towards the limit
+        if (writeBufferLimit <= 0 || isInferred) return;
+        if (bufferedWrites.incrementAndGet() > writeBufferLimit) {
+            throw storage.exception(TypeDBException.of(TRANSACTION_WRITE_BUFFER_EXCEEDED, writeBufferLimit));
+        }
+    }
+
     public void exclusiveOwnership(TypeVertex ownerType, AttributeVertex<?> attribute) {
         storage.trackExclusiveBytes(join(ownerType.iid().bytes(), attribute.iid().bytes()));
     }
@@ -533,6 +589,20 @@ public class ThingGraph {
         return hasEdgeDeleted;
     }
 
+    /**
+     * @return the types of every persisted thing or has edge that this transaction creates, modifies or deletes
+     */
+    public Set<VertexIID.Type> modifiedTypes() {
+        Set<VertexIID.Type> modified = new HashSet<>(statistics.deltaVertexCount.keySet());
+        statistics.deltaHasEdgeCount.keySet().forEach(owns -> {
+            modified.add(owns.first());
+            modified.add(owns.second());
+        });
+        vertices().filter(vertex -> vertex.isModified() && !vertex.isInferred())
+                .forEachRemaining(vertex -> modified.add(vertex.iid().type()));
+        return modified;
+    }
+
 
     /**
      * Commits all the writes captured in
@@ -557,9 +627,73 @@ public class ThingGraph {
             if (!vertex.isInferred()) vertex.commit();
         }
         attributesByIID.commit();
+        for (AttributeVertex.Write<String> attribute : attributesByIID.strings.values()) {
+            if (!attribute.isInferred() && attribute.type().isNGramIndexed()) putNGrams(attribute);
+        }
         statistics.commit();
     }
 
+    /**
+     * Index the n-grams of every persisted attribute of a type, once the type has started being n-gram indexed.
+     * Buffered attributes of the type are indexed when they are committed.
+     */
+    public void indexNGrams(TypeVertex typeVertex) {
+        assert typeVertex.isNGramIndexed() && typeVertex.valueType() == STRING;
+        FunctionalIterator<VertexIID.Thing> attributes = storage.iterate(VertexIID.Thing.prefix(typeVertex.iid()))
+                .map(KeyValue::key);
+        while (attributes.hasNext()) {
+            VertexIID.Attribute.String attribute = attributes.next().asAttribute().asString();
+            for (String gram : IndexIID.NGram.grams(attribute.value())) {
+                storage.putUntracked(IndexIID.NGram.of(typeVertex.iid(), gram, attribute));
+            }
+        }
+    }
+
+    /**
+     * Delete the n-grams of every attribute of a type, once the type has stopped being n-gram indexed.
+     */
+    public void deleteNGramIndex(TypeVertex typeVertex) {
+        FunctionalIterator<IndexIID.NGram> grams = storage.iterate(IndexIID.NGram.prefix(typeVertex.iid()))
+                .map(KeyValue::key);
+        while (grams.hasNext()) storage.deleteUntracked(grams.next());
+    }
+
+    private void putNGrams(AttributeVertex<String> attribute) {
+        for (String gram : IndexIID.NGram.grams(attribute.value())) {
+            storage.putUntracked(IndexIID.NGram.of(attribute.type().iid(), gram, attribute.iid()));
+        }
+    }
+
+    private void deleteNGrams(AttributeVertex<String> attribute) {
+        for (String gram : IndexIID.NGram.grams(attribute.value())) {
+            storage.deleteUntracked(IndexIID.NGram.of(attribute.type().iid(), gram, attribute.iid()));
+        }
+    }
+
+    /**
+     * Recount the instances of every type, and the ownerships between every pair of types, and overwrite the
+     * persisted statistics with the counts. This scans all data, and should only be used when no other transaction
+     * is writing, eg. once data has been loaded without maintaining statistics.
+     */
+    public void recountStatistics() {
+        assert !isModified();
+        Map<VertexIID.Type, Long> vertexCounts = new HashMap<>();
+        Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCounts = new HashMap<>();
+        link(typeGraph.thingTypes(), typeGraph.roleTypes()).forEachRemaining(type -> {
+            long count = 0;
+            FunctionalIterator<ThingVertex> instances = getReadable(type);
+            while (instances.hasNext()) {
+                ThingVertex instance = instances.next();
+                instance.outs().edge(HAS).to().forEachRemaining(attribute ->
+                        hasEdgeCounts.merge(pair(type.iid(), attribute.type().iid()), 1L, Long::sum)
+                );
+                count++;
+            }
+            vertexCounts.put(type.iid(), count);
+        });
+        statistics.overwrite(vertexCounts, hasEdgeCounts);
+    }
+
     private static class AttributesByIID {
 
         private final ConcurrentMap<VertexIID.Attribute.Boolean, AttributeVertex.Write<Boolean>> booleans;
@@ -671,6 +805,14 @@ public class ThingGraph {
             return DBStatisticsVersion.get();
         }
 
+        /**
+         * Statistics are exact in this snapshot if no concurrently committed transactions left miscounts
+         * that are still waiting to be corrected by the database's statistics corrector.
+         */
+        public boolean isExact() {
+            return storage.iterate(StatisticsKey.Miscountable.prefix()).first().isEmpty();
+        }
+
         public long thingVertexSum(Set<Label> labels) {
             return thingVertexSum(labels.stream().map(typeGraph::getType));
         }
@@ -798,6 +940,23 @@ public class ThingGraph {
             if (!deltaVertexCount.isEmpty() || !deltaHasEdgeCount.isEmpty()) statisticsPersisted = true;
         }
 
+        private void overwrite(Map<VertexIID.Type, Long> vertexCounts,
+                               Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCounts) {
+            assert deltaVertexCount.isEmpty() && deltaHasEdgeCount.isEmpty();
+            // zero every count first, so that the counts of types and ownerships that no longer exist are not retained
+            link(storage.iterate(StatisticsKey.vertexCountPrefix()), storage.iterate(StatisticsKey.hasEdgeCountPrefix()))
+                    .map(KeyValue::key).toList().forEach(storage::deleteUntracked);
+            vertexCounts.forEach((typeIID, count) ->
+                    storage.putUntracked(StatisticsKey.vertexCount(typeIID), encodeLong(count))
+            );
+            hasEdgeCounts.forEach((ownership, count) ->
+                    storage.putUntracked(StatisticsKey.hasEdgeCount(ownership.first(), ownership.second()), encodeLong(count))
+            );
+            persistedVertexCount.clear();
+            persistedHasEdgeCount.clear();
+            statisticsPersisted = true;
+        }
+
         public boolean statisticsPersisted() {
             return statisticsPersisted;
         }
@@ -19,7 +19,6 @@
 package com.vaticle.typedb.core.graph.adjacency.impl;
 
 import com.vaticle.typedb.common.collection.ConcurrentSet;
-import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
@@ -49,7 +48,6 @@ import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Predicate;
 
-import static com.vaticle.typedb.core.common.collection.ByteArray.empty;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.Iterators.link;
@@ -128,9 +126,9 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
     Forwardable<EDGE_VIEW, Order.Asc> iteratePersistedViews(Encoding.Edge.Thing encoding, List<IID> lookahead) {
         assert encoding != ROLEPLAYER || lookahead.size() >= 1;
         Key.Prefix<EdgeViewIID.Thing> prefix = viewIIDPrefix(encoding, lookahead);
-        return owner().graph().storage().iterate(prefix, ASC).mapSorted(
-                kv -> getView(newPersistedEdge(EdgeViewIID.Thing.of(kv.key().bytes()))),
-                edgeView -> KeyValue.of(edgeView.iid(), empty()),
+        return owner().graph().storage().iterateKeys(prefix).mapSorted(
+                key -> getView(newPersistedEdge(EdgeViewIID.Thing.of(key))),
+                edgeView -> edgeView.iid().bytes(),
                 ASC
         );
     }
@@ -172,8 +170,8 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
         @Override
         public UnsortedEdgeIterator edge(Encoding.Edge.Thing.Optimised encoding) {
             Key.Prefix<EdgeViewIID.Thing> prefix = EdgeViewIID.Thing.prefix(owner().iid(), infixIID(encoding));
-            return new UnsortedEdgeIterator(owner.graph().storage().iterate(prefix, ASC)
-                    .map(kv -> newPersistedEdge(EdgeViewIID.Thing.of(kv.key().bytes()))));
+            return new UnsortedEdgeIterator(owner.graph().storage().iterateKeys(prefix)
+                    .map(key -> newPersistedEdge(EdgeViewIID.Thing.of(key))));
         }
 
         public static class In extends Read<ThingEdge.View.Backward> implements ThingAdjacency.In {
@@ -501,8 +499,8 @@ public abstract class ThingAdjacencyImpl<EDGE_VIEW extends ThingEdge.View<EDGE_V
 
             private FunctionalIterator<ThingEdge> iterateEdges(Encoding.Edge.Thing encoding, IID... lookahead) {
                 Key.Prefix<EdgeViewIID.Thing> prefix = viewIIDPrefix(encoding, List.of(lookahead));
-                FunctionalIterator<ThingEdge> storageIterator = owner.graph().storage().iterate(prefix, ASC)
-                        .map(keyValue -> newPersistedEdge(EdgeViewIID.Thing.of(keyValue.key().bytes())));
+                FunctionalIterator<ThingEdge> storageIterator = owner.graph().storage().iterateKeys(prefix)
+                        .map(key -> newPersistedEdge(EdgeViewIID.Thing.of(key)));
                 FunctionalIterator<ThingEdge> bufferedIterator = iterateBufferedViews(encoding, List.of(lookahead))
                         .map(ThingEdge.View::edge);
                 return link(bufferedIterator, storageIterator).distinct(); // note: has edges can be persisted and buffered
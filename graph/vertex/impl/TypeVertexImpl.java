@@ -44,6 +44,7 @@ import static com.vaticle.typedb.core.encoding.Encoding.Edge.Type.OWNS_KEY;
 import static com.vaticle.typedb.core.encoding.Encoding.Edge.Type.PLAYS;
 import static com.vaticle.typedb.core.encoding.Encoding.Edge.Type.RELATES;
 import static com.vaticle.typedb.core.encoding.Encoding.Property.Vertex.LABEL;
+import static com.vaticle.typedb.core.encoding.Encoding.Property.Vertex.NGRAM_INDEXED;
 import static com.vaticle.typedb.core.encoding.Encoding.Property.Vertex.ABSTRACT;
 import static com.vaticle.typedb.core.encoding.Encoding.Property.Vertex.REGEX;
 import static com.vaticle.typedb.core.encoding.Encoding.Property.Vertex.SCOPE;
@@ -70,6 +71,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
     Boolean isAbstract; // needs to be declared as the Boolean class
     Encoding.ValueType<?> valueType;
     Pattern regex;
+    Boolean isNGramIndexed; // needs to be declared as the Boolean class
 
     private volatile int outOwnsCount;
     private volatile int outPlaysCount;
@@ -344,6 +346,19 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
             return this;
         }
 
+        @Override
+        public boolean isNGramIndexed() {
+            return isNGramIndexed != null ? isNGramIndexed : false;
+        }
+
+        @Override
+        public TypeVertexImpl isNGramIndexed(boolean isNGramIndexed) {
+            assert !isDeleted();
+            this.isNGramIndexed = isNGramIndexed;
+            this.setModified();
+            return this;
+        }
+
         @Override
         public void delete() {
             if (isDeleted.compareAndSet(false, true)) {
@@ -372,6 +387,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
             if (isAbstract != null && isAbstract) commitPropertyAbstract();
             if (valueType != null) commitPropertyValueType();
             if (regex != null) commitPropertyRegex();
+            if (isNGramIndexed != null && isNGramIndexed) commitPropertyNGramIndexed();
         }
 
         private void commitPropertyScope() {
@@ -393,6 +409,10 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
         private void commitPropertyRegex() {
             graph.storage().putUntracked(PropertyIID.TypeVertex.of(iid, REGEX), encodeString(regex.pattern(), STRING_ENCODING));
         }
+
+        private void commitPropertyNGramIndexed() {
+            graph.storage().putUntracked(PropertyIID.TypeVertex.of(iid, NGRAM_INDEXED));
+        }
     }
 
     public static class Persisted extends TypeVertexImpl {
@@ -511,6 +531,24 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
             return this;
         }
 
+        @Override
+        public boolean isNGramIndexed() {
+            if (isNGramIndexed != null) return isNGramIndexed;
+            ByteArray flag = graph.storage().get(PropertyIID.TypeVertex.of(iid, NGRAM_INDEXED));
+            isNGramIndexed = flag != null;
+            return isNGramIndexed;
+        }
+
+        @Override
+        public TypeVertexImpl isNGramIndexed(boolean isNGramIndexed) {
+            assert !isDeleted();
+            if (isNGramIndexed) graph.storage().putUntracked(PropertyIID.TypeVertex.of(iid, NGRAM_INDEXED));
+            else graph.storage().deleteUntracked(PropertyIID.TypeVertex.of(iid, NGRAM_INDEXED));
+            this.isNGramIndexed = isNGramIndexed;
+            this.setModified();
+            return this;
+        }
+
         @Override
         public void commit() {
             commitEdges();
@@ -25,6 +25,7 @@ import com.vaticle.typedb.core.logic.resolvable.Unifier;
 import com.vaticle.typedb.core.traversal.GraphTraversal;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -44,10 +45,32 @@ public class LogicCache {
     }
 
     public LogicCache(int size, int timeOutMinutes) {
-        this.ruleCache = new CommonCache<>(size, timeOutMinutes);
-        this.unifiers = new CommonCache<>(size, timeOutMinutes);
-        this.typeInferenceCache = new CommonCache<>(size, timeOutMinutes);
-        this.queryCoherenceCache = new CommonCache<>(size, timeOutMinutes);
+        this(size, timeOutMinutes, false);
+    }
+
+    /**
+     * @param weighted if true, each cache is bounded by the total estimated size of its entries, measured in
+     *                 variables, unifiers or labels, rather than its entry count
+     */
+    public LogicCache(int size, int timeOutMinutes, boolean weighted) {
+        if (weighted) {
+            this.ruleCache = new CommonCache<>(size, timeOutMinutes, (label, rule) -> weigh(rule));
+            this.unifiers = new CommonCache<>(size, timeOutMinutes, (concludable, ruleUnifiers) ->
+                    Math.max(1, ruleUnifiers.values().stream().mapToInt(Set::size).sum()));
+            this.typeInferenceCache = new CommonCache<>(size, timeOutMinutes, (type, labels) ->
+                    Math.max(1, labels.map(map -> map.values().stream().mapToInt(Set::size).sum()).orElse(0)));
+            this.queryCoherenceCache = new CommonCache<>(size, timeOutMinutes, (type, coherent) -> 1);
+        } else {
+            this.ruleCache = new CommonCache<>(size, timeOutMinutes);
+            this.unifiers = new CommonCache<>(size, timeOutMinutes);
+            this.typeInferenceCache = new CommonCache<>(size, timeOutMinutes);
+            this.queryCoherenceCache = new CommonCache<>(size, timeOutMinutes);
+        }
+    }
+
+    private static int weigh(Rule rule) {
+        return rule.when().conjunctions().stream().mapToInt(conjunction -> conjunction.variables().size()).sum() +
+                rule.then().variables().size();
     }
 
     public CommonCache<GraphTraversal.Type, Optional<Map<Identifier.Variable.Retrievable, Set<Label>>>> typeInference() {
@@ -65,4 +88,13 @@ public class LogicCache {
     CommonCache<Concludable, Map<Rule, Set<Unifier>>> unifiers(){
         return unifiers;
     }
+
+    public Map<String, CommonCache.Statistics> statistics() {
+        Map<String, CommonCache.Statistics> statistics = new LinkedHashMap<>();
+        statistics.put("rules", ruleCache.statistics());
+        statistics.put("unifiers", unifiers.statistics());
+        statistics.put("type-inference", typeInferenceCache.statistics());
+        statistics.put("query-coherence", queryCoherenceCache.statistics());
+        return statistics;
+    }
 }
@@ -130,6 +130,16 @@ public class Materialiser {
         }
     }
 
+    /**
+     * Infer the relation again, returning the relation of the same type and role players if one already exists
+     */
+    public static Relation putRelation(Conclusion.Relation.Materialisable materialisable, TraversalEngine traversalEng,
+                                       ConceptManager conceptMgr) {
+        return matchRelation(materialisable, traversalEng, conceptMgr)
+                .filter(relation -> insertable(relation, materialisable)).first()
+                .orElseGet(() -> insert(materialisable));
+    }
+
     private static boolean insertable(Relation inserted, Conclusion.Relation.Materialisable materialisable) {
         if (!inserted.getType().getLabel().equals(materialisable.relationType().getLabel())) return false;
         Map<Pair<String, Concept>, Integer> relationMap = new HashMap<>();
@@ -46,11 +46,15 @@ public class CoreMigratorClient {
         return new CoreMigratorClient(stub);
     }
 
-    public boolean importDatabase(String database, Path schemaFile, Path dataFile) {
+    public boolean importDatabase(String database, Path schemaFile, Path dataFile, boolean bulkLoad,
+                                  boolean inMemoryIDMapping, int idMappingCacheSize) {
         MigratorProto.Import.Req req = MigratorProto.Import.Req.newBuilder()
                 .setDatabase(database)
                 .setSchemaFile(schemaFile.toAbsolutePath().toString())
                 .setDataFile(dataFile.toAbsolutePath().toString())
+                .setBulkLoad(bulkLoad)
+                .setInMemoryIdMapping(inMemoryIDMapping)
+                .setIdMappingCacheSize(idMappingCacheSize)
                 .build();
         ResponseObserver.Import streamObserver = new ResponseObserver.Import(new ProgressPrinter.Import());
         stub.importDatabase(req, streamObserver);
@@ -58,11 +62,12 @@ public class CoreMigratorClient {
         return streamObserver.success();
     }
 
-    public boolean exportDatabase(String database, Path schemaFile, Path dataFile) {
+    public boolean exportDatabase(String database, Path schemaFile, Path dataFile, int shards) {
         MigratorProto.Export.Req req = MigratorProto.Export.Req.newBuilder()
                 .setDatabase(database)
                 .setSchemaFile(schemaFile.toAbsolutePath().toString())
                 .setDataFile(dataFile.toAbsolutePath().toString())
+                .setShards(shards)
                 .build();
         ResponseObserver.Export streamObserver = new ResponseObserver.Export(new ProgressPrinter.Export());
         stub.exportDatabase(req, streamObserver);
@@ -45,7 +45,7 @@ public class MigratorService extends MigratorGrpc.MigratorImplBase {
         try {
             DatabaseExporter exporter = new DatabaseExporter(
                     databaseMgr, request.getDatabase(), Paths.get(request.getSchemaFile()),
-                    Paths.get(request.getDataFile()), version
+                    Paths.get(request.getDataFile()), version, new DatabaseExporter.Config().shards(request.getShards())
             );
             CompletableFuture<Void> migratorJob = CompletableFuture.runAsync(exporter::run);
             while (!migratorJob.isDone()) {
@@ -66,7 +66,7 @@ public class MigratorService extends MigratorGrpc.MigratorImplBase {
         try {
             importer = new DatabaseImporter(
                     databaseMgr, request.getDatabase(), Paths.get(request.getSchemaFile()),
-                    Paths.get(request.getDataFile()), version
+                    Paths.get(request.getDataFile()), version, importConfig(request)
             );
             CompletableFuture<Void> migratorJob = CompletableFuture.runAsync(importer::run);
             while (!migratorJob.isDone()) {
@@ -83,6 +83,14 @@ public class MigratorService extends MigratorGrpc.MigratorImplBase {
         }
     }
 
+    private static DatabaseImporter.Config importConfig(MigratorProto.Import.Req request) {
+        DatabaseImporter.Config config = new DatabaseImporter.Config()
+                .bulkLoad(request.getBulkLoad())
+                .inMemoryIDMapping(request.getInMemoryIdMapping());
+        if (request.getIdMappingCacheSize() > 0) config.idMappingCacheSize(request.getIdMappingCacheSize());
+        return config;
+    }
+
     public static StatusRuntimeException exception(Throwable e) {
         if (e instanceof StatusRuntimeException) {
             return (StatusRuntimeException) e;
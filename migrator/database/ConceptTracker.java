@@ -0,0 +1,494 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.migrator.database;
+
+import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.ID_MAPPING_CAPACITY_EXCEEDED;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
+import static java.util.Comparator.reverseOrder;
+
+/**
+ * Maps the IDs of exported concepts to the IIDs of their imported counterparts, and tracks the imported relations
+ * that are still missing some of their role players. Both are kept in the same store, so that an import with many
+ * incomplete relations is bounded the same way as its mapping.
+ */
+@ThreadSafe
+public abstract class ConceptTracker {
+
+    public static final int DEFAULT_CACHE_SIZE = 1_000_000;
+
+    final AtomicLong incompleteCount;
+
+    private ConceptTracker() {
+        incompleteCount = new AtomicLong(0);
+    }
+
+    public static ConceptTracker onDisk(String database, int cacheSize) {
+        return new OnDisk(database, cacheSize);
+    }
+
+    public static ConceptTracker offHeap() {
+        return new OffHeap();
+    }
+
+    public abstract void recordMapped(String originalID, ByteArray newID);
+
+    public abstract ByteArray getMapped(String originalID);
+
+    public boolean containsMapped(String originalID) {
+        return getMapped(originalID) != null;
+    }
+
+    public abstract void recordIncomplete(String originalID);
+
+    public abstract boolean isIncomplete(String originalID);
+
+    public boolean containsIncomplete() {
+        return incompleteCount.get() > 0;
+    }
+
+    public abstract void deleteIncomplete(String originalID);
+
+    public abstract void close();
+
+    /**
+     * Keeps the mapping in a temporary RocksDB, tuned for point lookups with bloom filters. New mappings are
+     * buffered and written in batches without a write-ahead log, and recently recorded or read mappings are served
+     * from an in-memory cache. Incomplete relations are written straight to storage under their own key prefix.
+     */
+    public static class OnDisk extends ConceptTracker {
+
+        private static final Logger LOG = LoggerFactory.getLogger(OnDisk.class);
+        private static final String DIRECTORY_PREFIX = "typedb-import-files-";
+        private static final int WRITE_BATCH_SIZE = 10_000;
+        private static final int BLOOM_FILTER_BITS_PER_KEY = 10;
+        private static final long BLOCK_CACHE_SIZE = 64 * MB;
+        private static final byte MAPPED_PREFIX = 0;
+        private static final byte INCOMPLETE_PREFIX = 1;
+        private static final byte[] EMPTY = new byte[0];
+
+        private final Path directory;
+        private final BloomFilter bloomFilter;
+        private final LRUCache blockCache;
+        private final org.rocksdb.Options options;
+        private final WriteOptions writeOptions;
+        private final RocksDB storage;
+        private final CommonCache<String, ByteArray> cache;
+        private final ConcurrentMap<String, ByteArray> unflushed;
+
+        private OnDisk(String database, int cacheSize) {
+            try {
+                directory = Files.createTempDirectory(DIRECTORY_PREFIX + database);
+                LOG.info("Import started with '" + directory + "' for auxiliary files.");
+                assert !Files.list(directory).findFirst().isPresent();
+                bloomFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false);
+                blockCache = new LRUCache(BLOCK_CACHE_SIZE);
+                options = new org.rocksdb.Options().setCreateIfMissing(true).setTableFormatConfig(
+                        new BlockBasedTableConfig()
+                                .setFilterPolicy(bloomFilter)
+                                .setBlockCache(blockCache)
+                                .setCacheIndexAndFilterBlocks(true)
+                );
+                writeOptions = new WriteOptions().setDisableWAL(true);
+                storage = RocksDB.open(options, directory.toString());
+            } catch (IOException | RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+            cache = cacheSize > 0 ? new CommonCache<>(cacheSize) : null;
+            unflushed = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public void recordMapped(String originalID, ByteArray newID) {
+            unflushed.put(originalID, newID);
+            if (cache != null) cache.put(originalID, newID);
+            if (unflushed.size() >= WRITE_BATCH_SIZE) flush();
+        }
+
+        @Override
+        public ByteArray getMapped(String originalID) {
+            ByteArray newID;
+            if ((newID = unflushed.get(originalID)) != null) return newID;
+            else if (cache != null && (newID = cache.getIfPresent(originalID)) != null) return newID;
+            try {
+                byte[] value = storage.get(encode(MAPPED_PREFIX, originalID));
+                assert value == null || value.length > 0;
+                if (value == null) return null;
+                newID = ByteArray.of(value);
+                if (cache != null) cache.put(originalID, newID);
+                return newID;
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        private synchronized void flush() {
+            if (unflushed.size() < WRITE_BATCH_SIZE) return;
+            List<Map.Entry<String, ByteArray>> flushed = new ArrayList<>(unflushed.entrySet());
+            try (WriteBatch batch = new WriteBatch()) {
+                for (Map.Entry<String, ByteArray> mapping : flushed) {
+                    batch.put(encode(MAPPED_PREFIX, mapping.getKey()), mapping.getValue().getBytes());
+                }
+                storage.write(writeOptions, batch);
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+            // mappings are only removed once they are readable from storage
+            flushed.forEach(mapping -> unflushed.remove(mapping.getKey(), mapping.getValue()));
+        }
+
+        @Override
+        public synchronized void recordIncomplete(String originalID) {
+            try {
+                byte[] key = encode(INCOMPLETE_PREFIX, originalID);
+                if (storage.get(key) != null) return;
+                storage.put(writeOptions, key, EMPTY);
+                incompleteCount.incrementAndGet();
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public boolean isIncomplete(String originalID) {
+            if (!containsIncomplete()) return false;
+            try {
+                return storage.get(encode(INCOMPLETE_PREFIX, originalID)) != null;
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public synchronized void deleteIncomplete(String originalID) {
+            try {
+                byte[] key = encode(INCOMPLETE_PREFIX, originalID);
+                if (storage.get(key) == null) return;
+                storage.delete(writeOptions, key);
+                incompleteCount.decrementAndGet();
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        private byte[] encode(byte prefix, String originalID) {
+            return ByteArray.join(ByteArray.of(prefix), ByteArray.encodeString(originalID, STRING_ENCODING)).getBytes();
+        }
+
+        @Override
+        public void close() {
+            storage.close();
+            writeOptions.close();
+            options.close();
+            blockCache.close();
+            bloomFilter.close();
+            if (cache != null) cache.clear();
+            unflushed.clear();
+            cleanupDirectory();
+        }
+
+        private void cleanupDirectory() {
+            try {
+                Files.walk(directory).sorted(reverseOrder()).map(Path::toFile).forEach(path -> {
+                    boolean deleted = path.delete();
+                    if (!deleted) LOG.warn("Failed to delete temporary file '" + path.toString() + "'");
+                });
+            } catch (IOException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+    }
+
+    /**
+     * Keeps the mapping in compact open-addressing hash tables outside the Java heap, for imports whose IDs fit in
+     * memory. The mapping is split into segments by hash, each with its own lock. Each segment appends its entries to
+     * chunks of direct memory, and its table only holds the address and hash of every entry. Incomplete relations are
+     * kept in a second set of segments, where completing a relation overwrites its flag in place rather than removing it.
+     */
+    public static class OffHeap extends ConceptTracker {
+
+        private static final int SEGMENT_BITS = 6;
+        private static final int CHUNK_SIZE = (int) (4 * MB);
+        private static final int INITIAL_CAPACITY = 1 << 12;
+        private static final int MAX_CAPACITY = 1 << 27;
+        private static final double MAX_LOAD_FACTOR = 0.6;
+        private static final byte[] INCOMPLETE = new byte[]{1};
+        private static final byte[] COMPLETE = new byte[]{0};
+
+        private final Segment[] segments;
+        private final Segment[] incompleteSegments;
+
+        private OffHeap() {
+            segments = createSegments();
+            incompleteSegments = createSegments();
+        }
+
+        private static Segment[] createSegments() {
+            Segment[] segments = new Segment[1 << SEGMENT_BITS];
+            for (int i = 0; i < segments.length; i++) segments[i] = new Segment();
+            return segments;
+        }
+
+        @Override
+        public void recordMapped(String originalID, ByteArray newID) {
+            byte[] key = ByteArray.encodeString(originalID, STRING_ENCODING).getBytes();
+            int hash = hash(key);
+            segment(segments, hash).put(key, hash, newID.getBytes());
+        }
+
+        @Override
+        public ByteArray getMapped(String originalID) {
+            byte[] key = ByteArray.encodeString(originalID, STRING_ENCODING).getBytes();
+            int hash = hash(key);
+            byte[] value = segment(segments, hash).get(key, hash);
+            if (value == null) return null;
+            else return ByteArray.of(value);
+        }
+
+        @Override
+        public void recordIncomplete(String originalID) {
+            if (!isIncompleteFlag(putIncompleteFlag(originalID, INCOMPLETE))) incompleteCount.incrementAndGet();
+        }
+
+        @Override
+        public boolean isIncomplete(String originalID) {
+            if (!containsIncomplete()) return false;
+            byte[] key = ByteArray.encodeString(originalID, STRING_ENCODING).getBytes();
+            int hash = hash(key);
+            return isIncompleteFlag(segment(incompleteSegments, hash).get(key, hash));
+        }
+
+        @Override
+        public void deleteIncomplete(String originalID) {
+            if (!containsIncomplete()) return;
+            if (isIncompleteFlag(putIncompleteFlag(originalID, COMPLETE))) incompleteCount.decrementAndGet();
+        }
+
+        private byte[] putIncompleteFlag(String originalID, byte[] flag) {
+            byte[] key = ByteArray.encodeString(originalID, STRING_ENCODING).getBytes();
+            int hash = hash(key);
+            return segment(incompleteSegments, hash).put(key, hash, flag);
+        }
+
+        private static boolean isIncompleteFlag(@Nullable byte[] flag) {
+            return flag != null && flag[0] == INCOMPLETE[0];
+        }
+
+        private static Segment segment(Segment[] segments, int hash) {
+            return segments[hash >>> (Integer.SIZE - SEGMENT_BITS)];
+        }
+
+        private static int hash(byte[] key) {
+            int hash = Arrays.hashCode(key);
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            hash *= 0xc2b2ae35;
+            return hash ^ (hash >>> 16);
+        }
+
+        @Override
+        public void close() {
+            for (Segment segment : segments) segment.clear();
+            for (Segment segment : incompleteSegments) segment.clear();
+        }
+
+        private static class Segment {
+
+            private final ReadWriteLock lock;
+            private final List<ByteBuffer> chunks;
+            private LongBuffer addresses; // 0 marks an empty slot, otherwise the entry's address + 1
+            private IntBuffer hashes;
+            private int capacity;
+            private int size;
+            private int chunkPosition;
+
+            private Segment() {
+                lock = new ReentrantReadWriteLock();
+                chunks = new ArrayList<>();
+                allocateTable(INITIAL_CAPACITY);
+                size = 0;
+                chunkPosition = CHUNK_SIZE;
+            }
+
+            private void allocateTable(int capacity) {
+                this.capacity = capacity;
+                addresses = ByteBuffer.allocateDirect(capacity * Long.BYTES).asLongBuffer();
+                hashes = ByteBuffer.allocateDirect(capacity * Integer.BYTES).asIntBuffer();
+            }
+
+            /**
+             * Returns the value previously held for the key, or null if it is new. A value of the same length as the
+             * previous one is overwritten in place, so that repeatedly updating a key does not grow the chunks.
+             */
+            private byte[] put(byte[] key, int hash, byte[] value) {
+                lock.writeLock().lock();
+                try {
+                    int slot = find(key, hash);
+                    long address = addresses.get(slot);
+                    if (address != 0) {
+                        byte[] previous = value(address - 1);
+                        if (previous.length == value.length) overwrite(address - 1, value);
+                        else addresses.put(slot, append(key, value) + 1);
+                        return previous;
+                    }
+                    addresses.put(slot, append(key, value) + 1);
+                    hashes.put(slot, hash);
+                    if (++size > capacity * MAX_LOAD_FACTOR) resize();
+                    return null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            private byte[] get(byte[] key, int hash) {
+                lock.readLock().lock();
+                try {
+                    long address = addresses.get(find(key, hash));
+                    if (address == 0) return null;
+                    else return value(address - 1);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+
+            private byte[] value(long address) {
+                ByteBuffer entry = entry(address);
+                int keyLength = entry.getInt();
+                entry.position(entry.position() + keyLength);
+                byte[] value = new byte[entry.getInt()];
+                entry.get(value);
+                return value;
+            }
+
+            private void overwrite(long address, byte[] value) {
+                ByteBuffer entry = entry(address);
+                int keyLength = entry.getInt();
+                entry.position(entry.position() + keyLength + Integer.BYTES);
+                entry.put(value);
+            }
+
+            private int find(byte[] key, int hash) {
+                int mask = capacity - 1;
+                int slot = hash & mask;
+                long address;
+                while ((address = addresses.get(slot)) != 0) {
+                    if (hashes.get(slot) == hash && keyEquals(address - 1, key)) return slot;
+                    slot = (slot + 1) & mask;
+                }
+                return slot;
+            }
+
+            private boolean keyEquals(long address, byte[] key) {
+                ByteBuffer entry = entry(address);
+                if (entry.getInt() != key.length) return false;
+                int start = entry.position();
+                for (int i = 0; i < key.length; i++) {
+                    if (entry.get(start + i) != key[i]) return false;
+                }
+                return true;
+            }
+
+            private ByteBuffer entry(long address) {
+                ByteBuffer entry = chunks.get((int) (address / CHUNK_SIZE)).duplicate();
+                entry.position((int) (address % CHUNK_SIZE));
+                return entry;
+            }
+
+            /**
+             * Entries are laid out as the key length, the key, the value length and the value.
+             */
+            private long append(byte[] key, byte[] value) {
+                int entrySize = 2 * Integer.BYTES + key.length + value.length;
+                assert entrySize <= CHUNK_SIZE;
+                if (chunkPosition + entrySize > CHUNK_SIZE) {
+                    chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE));
+                    chunkPosition = 0;
+                }
+                long address = (long) (chunks.size() - 1) * CHUNK_SIZE + chunkPosition;
+                ByteBuffer entry = chunks.get(chunks.size() - 1).duplicate();
+                entry.position(chunkPosition);
+                entry.putInt(key.length).put(key).putInt(value.length).put(value);
+                chunkPosition += entrySize;
+                return address;
+            }
+
+            private void resize() {
+                if (capacity == MAX_CAPACITY) {
+                    throw TypeDBException.of(ID_MAPPING_CAPACITY_EXCEEDED, (long) (MAX_CAPACITY * MAX_LOAD_FACTOR) << SEGMENT_BITS);
+                }
+                LongBuffer oldAddresses = addresses;
+                IntBuffer oldHashes = hashes;
+                allocateTable(capacity * 2);
+                int mask = capacity - 1;
+                for (int i = 0; i < oldAddresses.capacity(); i++) {
+                    long address = oldAddresses.get(i);
+                    if (address == 0) continue;
+                    int slot = oldHashes.get(i) & mask;
+                    while (addresses.get(slot) != 0) slot = (slot + 1) & mask;
+                    addresses.put(slot, address);
+                    hashes.put(slot, oldHashes.get(i));
+                }
+            }
+
+            private void clear() {
+                lock.writeLock().lock();
+                try {
+                    chunks.clear();
+                    allocateTable(INITIAL_CAPACITY);
+                    size = 0;
+                    chunkPosition = CHUNK_SIZE;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+}
@@ -21,27 +21,40 @@ package com.vaticle.typedb.core.migrator.database;
 import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Order;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.thing.Entity;
 import com.vaticle.typedb.core.concept.thing.Relation;
 import com.vaticle.typedb.core.concept.thing.Thing;
 import com.vaticle.typedb.core.concept.type.RoleType;
+import com.vaticle.typedb.core.concept.type.ThingType;
 import com.vaticle.typedb.core.migrator.MigratorProto;
 import com.vaticle.typedb.core.migrator.data.DataProto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.DATABASE_NOT_FOUND;
@@ -50,30 +63,43 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.FIL
 public class DatabaseExporter {
     private static final Logger LOG = LoggerFactory.getLogger(DatabaseExporter.class);
 
+    private static final String SHARD_FILE_INFIX = ".shard-";
+    private static final String SHARD_FILE_SUFFIX = ".gz";
+    private static final long MIN_PARTITION_SIZE = 10_000;
+    private static final int PARTITIONS_PER_THREAD = 4;
+
     private final TypeDB.DatabaseManager databaseMgr;
     private final String database;
     private final Path schemaFile;
     private final Path dataFile;
     private final String version;
+    private final int shards;
     private final Status status;
     private long totalEntityCount;
     private long totalAttributeCount;
     private long totalRelationCount;
 
     public DatabaseExporter(TypeDB.DatabaseManager databaseMgr, String database, Path schemaFile, Path dataFile, String version) {
+        this(databaseMgr, database, schemaFile, dataFile, version, new Config());
+    }
+
+    public DatabaseExporter(TypeDB.DatabaseManager databaseMgr, String database, Path schemaFile, Path dataFile,
+                            String version, Config config) {
         if (!databaseMgr.contains(database)) throw TypeDBException.of(DATABASE_NOT_FOUND, database);
         this.databaseMgr = databaseMgr;
         this.database = database;
         this.schemaFile = schemaFile;
         this.dataFile = dataFile;
         this.version = version;
+        this.shards = config.shards;
         this.status = new Status();
     }
 
     public void run() {
         LOG.info("Exporting database {} from TypeDB {}", database, version);
         writeSchema();
-        writeData();
+        if (shards > 0) writeShardedData();
+        else writeData();
         LOG.info("Finished exporting database {}.", database);
     }
 
@@ -107,6 +133,60 @@ public class DatabaseExporter {
         LOG.info("Finished exporting data to {}", dataFile);
     }
 
+    /**
+     * Export the data into compressed shard files, listed in a manifest written to the data file. The instances of each
+     * concrete type are partitioned into IID ranges, which are exported in parallel, each into whichever shard is free.
+     */
+    private void writeShardedData() {
+        assert com.vaticle.typedb.core.concurrent.executor.Executors.isInitialised();
+        int parallelisation = com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
+        ExecutorService exportExecutor = Executors.newFixedThreadPool(parallelisation);
+        List<Shard> shardFiles = new ArrayList<>();
+        BlockingQueue<Shard> freeShards = new ArrayBlockingQueue<>(shards);
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
+            for (int i = 0; i < shards; i++) {
+                Shard shard = new Shard(dataFile.resolveSibling(dataFile.getFileName() + SHARD_FILE_INFIX + i + SHARD_FILE_SUFFIX));
+                shardFiles.add(shard);
+                freeShards.add(shard);
+                shard.write(header());
+            }
+            totalEntityCount = tx.concepts().getRootEntityType().getInstancesCount();
+            totalAttributeCount = tx.concepts().getRootAttributeType().getInstancesCount();
+            totalRelationCount = tx.concepts().getRootRelationType().getInstancesCount();
+            long partitionSize = Math.max(MIN_PARTITION_SIZE, (totalEntityCount + totalAttributeCount + totalRelationCount) /
+                    ((long) parallelisation * PARTITIONS_PER_THREAD));
+
+            Partitioner partitioner = new Partitioner(partitionSize, freeShards, exportExecutor);
+            partitioner.partition(tx.concepts().getRootAttributeType(), thing -> attribute(thing.asAttribute()));
+            partitioner.partition(tx.concepts().getRootEntityType(), thing -> entity(thing.asEntity()));
+            partitioner.partition(tx.concepts().getRootRelationType(), thing -> relation(thing.asRelation()));
+            partitioner.join();
+        } finally {
+            exportExecutor.shutdownNow();
+            shardFiles.forEach(Shard::close);
+        }
+        writeManifest(shardFiles);
+        LOG.info("Exported " + status.toString());
+        LOG.info("Finished exporting data to {} and {} shards", dataFile, shards);
+    }
+
+    private void writeManifest(List<Shard> shardFiles) {
+        DataProto.Item.Manifest.Builder manifest = DataProto.Item.Manifest.newBuilder();
+        for (Shard shard : shardFiles) {
+            manifest.addShard(DataProto.Item.Manifest.Shard.newBuilder()
+                    .setFile(shard.file.getFileName().toString())
+                    .setItemCount(shard.itemCount));
+        }
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(dataFile))) {
+            export(outputStream, header());
+            export(outputStream, DataProto.Item.newBuilder().setManifest(manifest).build());
+            export(outputStream, checksums());
+        } catch (IOException e) {
+            throw TypeDBException.of(FILE_WRITE_ERROR, dataFile.toString());
+        }
+    }
+
     public MigratorProto.Export.Progress getProgress() {
         return MigratorProto.Export.Progress.newBuilder()
                 .setAttributesCurrent(status.attributeCount.get())
@@ -211,6 +291,132 @@ public class DatabaseExporter {
                 .setId(attribute.getIID().toBase64String()));
     }
 
+    public static class Config {
+
+        private int shards;
+
+        public Config() {
+            shards = 0;
+        }
+
+        /**
+         * The number of compressed shard files to export data into in parallel, or 0 to export into a single
+         * uncompressed data file.
+         */
+        public Config shards(int shards) {
+            this.shards = shards;
+            return this;
+        }
+    }
+
+    /**
+     * Splits the explicit instances of each concrete type into ranges of IIDs of at most the partition size, and
+     * submits each range for export as soon as its end is found, so that the scan for range boundaries runs ahead of
+     * the exports.
+     */
+    private class Partitioner {
+
+        private final long partitionSize;
+        private final BlockingQueue<Shard> freeShards;
+        private final ExecutorService executor;
+        private final List<CompletableFuture<Void>> exports;
+
+        private Partitioner(long partitionSize, BlockingQueue<Shard> freeShards, ExecutorService executor) {
+            this.partitionSize = partitionSize;
+            this.freeShards = freeShards;
+            this.executor = executor;
+            this.exports = new ArrayList<>();
+        }
+
+        private void partition(ThingType rootType, Function<Thing, DataProto.Item> serialiser) {
+            rootType.getSubtypes().filter(type -> !type.isAbstract()).forEachRemaining(type -> {
+                Forwardable<Thing, Order.Asc> instances = instancesExplicit(type);
+                Thing start = null;
+                long count = 0;
+                while (instances.hasNext()) {
+                    Thing thing = instances.next();
+                    if (count++ % partitionSize == 0) {
+                        if (start != null) submit(type, start, thing, serialiser);
+                        start = thing;
+                    }
+                }
+                if (start != null) submit(type, start, null, serialiser);
+            });
+        }
+
+        private void submit(ThingType type, Thing start, @Nullable Thing end, Function<Thing, DataProto.Item> serialiser) {
+            exports.add(CompletableFuture.runAsync(() -> exportRange(type, start, end, serialiser), executor));
+        }
+
+        private void exportRange(ThingType type, Thing start, @Nullable Thing end, Function<Thing, DataProto.Item> serialiser) {
+            Shard shard;
+            try {
+                shard = freeShards.take();
+            } catch (InterruptedException e) {
+                throw TypeDBException.of(e);
+            }
+            try {
+                Forwardable<Thing, Order.Asc> instances = instancesExplicit(type);
+                instances.forward(start);
+                if (end != null) instances = instances.takeWhile(thing -> thing.compareTo(end) < 0);
+                instances.forEachRemaining(thing -> shard.write(serialiser.apply(thing)));
+            } finally {
+                freeShards.add(shard);
+            }
+        }
+
+        private void join() {
+            try {
+                CompletableFuture.allOf(exports.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException exception) {
+                throw TypeDBException.of(exception);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Forwardable<Thing, Order.Asc> instancesExplicit(ThingType type) {
+            // WARN: work around Java's limitations that mean we can't forward an iterator of a wildcard type
+            return (Forwardable<Thing, Order.Asc>) type.getInstancesExplicit();
+        }
+    }
+
+    /**
+     * A compressed shard file, written to by one export at a time.
+     */
+    private static class Shard {
+
+        private final Path file;
+        private final OutputStream outputStream;
+        private long itemCount;
+
+        private Shard(Path file) {
+            this.file = file;
+            try {
+                this.outputStream = new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file)));
+            } catch (IOException e) {
+                throw TypeDBException.of(FILE_WRITE_ERROR, file.toString());
+            }
+            this.itemCount = 0;
+        }
+
+        private void write(DataProto.Item item) {
+            try {
+                item.writeDelimitedTo(outputStream);
+                itemCount++;
+            } catch (IOException e) {
+                throw TypeDBException.of(FILE_WRITE_ERROR, file.toString());
+            }
+        }
+
+        private void close() {
+            try {
+                outputStream.close();
+            } catch (IOException e) {
+                throw TypeDBException.of(FILE_WRITE_ERROR, file.toString());
+            }
+        }
+    }
+
     private static class Status {
 
         private final AtomicLong entityCount = new AtomicLong(0);
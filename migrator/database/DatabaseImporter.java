@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.thing.Entity;
 import com.vaticle.typedb.core.concept.thing.Relation;
@@ -34,9 +35,6 @@ import com.vaticle.typedb.core.concept.type.RoleType;
 import com.vaticle.typedb.core.migrator.MigratorProto;
 import com.vaticle.typedb.core.migrator.data.DataProto;
 import com.vaticle.typeql.lang.TypeQL;
-import org.rocksdb.RocksDB;
-import org.rocksdb.RocksDBException;
-import org.rocksdb.RocksIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +46,7 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -63,8 +62,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
-import static com.vaticle.typedb.core.common.collection.Bytes.unsignedByte;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_NOT_EMPTY;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.FILE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.FILE_READ_ERROR;
@@ -75,9 +74,8 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.PLA
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.ROLE_TYPE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.TYPE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
-import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
 import static com.vaticle.typedb.core.migrator.data.DataProto.Item.ItemCase.HEADER;
-import static java.util.Comparator.reverseOrder;
+import static com.vaticle.typedb.core.migrator.data.DataProto.Item.ItemCase.MANIFEST;
 
 public class DatabaseImporter {
     private static final Logger LOG = LoggerFactory.getLogger(DatabaseImporter.class);
@@ -94,11 +92,18 @@ public class DatabaseImporter {
     private Checksum checksum;
     private final TypeDB.DatabaseManager databaseMgr;
     private final Path dataFile;
+    private final List<Path> shardFiles;
     private final String database;
     private final Path schemaFile;
+    private final boolean bulkLoad;
     private TypeDB.Session session;
 
     public DatabaseImporter(TypeDB.DatabaseManager databaseMgr, String database, Path schemaFile, Path dataFile, String version) {
+        this(databaseMgr, database, schemaFile, dataFile, version, new Config());
+    }
+
+    public DatabaseImporter(TypeDB.DatabaseManager databaseMgr, String database, Path schemaFile, Path dataFile,
+                            String version, Config config) {
         if (!Files.exists(dataFile)) throw TypeDBException.of(FILE_NOT_FOUND, dataFile);
         if (!Files.exists(schemaFile)) throw TypeDBException.of(FILE_NOT_FOUND, schemaFile);
         if (databaseMgr.contains(database) && !databaseMgr.get(database).isEmpty()) {
@@ -108,12 +113,15 @@ public class DatabaseImporter {
         this.database = database;
         this.schemaFile = schemaFile;
         this.dataFile = dataFile;
+        this.shardFiles = new ArrayList<>();
         this.version = version;
+        this.bulkLoad = config.bulkLoad;
         assert com.vaticle.typedb.core.concurrent.executor.Executors.isInitialised();
         this.parallelisation = com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
         this.importExecutor = Executors.newFixedThreadPool(parallelisation * 2);
-        this.readerExecutor = Executors.newSingleThreadExecutor();
-        this.conceptTracker = new ConceptTracker(database);
+        this.readerExecutor = Executors.newFixedThreadPool(parallelisation);
+        this.conceptTracker = config.inMemoryIDMapping ?
+                ConceptTracker.offHeap() : ConceptTracker.onDisk(database, config.idMappingCacheSize);
         this.skippedRelations = new AtomicBoolean(false);
         this.status = new Status();
     }
@@ -151,8 +159,14 @@ public class DatabaseImporter {
         Instant start = Instant.now();
         validateHeader();
         new ParallelImport(AttributesAndChecksum::new).executeImport();
+        if (bulkLoad) session.database().ingestBulkLoad();
         new ParallelImport(EntitiesAndOwnerships::new).executeImport();
+        if (bulkLoad) session.database().ingestBulkLoad();
         importRelations();
+        if (bulkLoad) {
+            LOG.info("Recounting statistics of database {}", database);
+            session.database().recountStatistics();
+        }
         if (!checksum.verify(status)) throw TypeDBException.of(IMPORT_CHECKSUM_MISMATCH, checksum.mismatch(status));
         Instant end = Instant.now();
         LOG.info("Finished in: " + Duration.between(start, end).getSeconds() + " seconds");
@@ -171,11 +185,35 @@ public class DatabaseImporter {
             DataProto.Item.Header header = item.getHeader();
             LOG.info("Importing {} from TypeDB {} to {} in TypeDB {}", header.getOriginalDatabase(),
                     header.getTypedbVersion(), session.database().name(), version);
+            item = ITEM_PARSER.parseDelimitedFrom(inputStream);
+            if (item != null && item.getItemCase().equals(MANIFEST)) readManifest(item.getManifest());
         } catch (IOException e) {
             throw TypeDBException.of(e);
         }
     }
 
+    private void readManifest(DataProto.Item.Manifest manifest) {
+        for (DataProto.Item.Manifest.Shard shard : manifest.getShardList()) {
+            Path shardFile = dataFile.resolveSibling(shard.getFile());
+            if (!Files.exists(shardFile)) throw TypeDBException.of(FILE_NOT_FOUND, shardFile);
+            shardFiles.add(shardFile);
+        }
+        LOG.info("Importing {} shards in parallel", shardFiles.size());
+    }
+
+    private List<Path> dataFiles() {
+        List<Path> dataFiles = new ArrayList<>();
+        dataFiles.add(dataFile);
+        dataFiles.addAll(shardFiles);
+        return dataFiles;
+    }
+
+    private InputStream openDataFile(Path file) throws IOException {
+        InputStream inputStream = new BufferedInputStream(Files.newInputStream(file));
+        if (file.equals(dataFile)) return inputStream;
+        else return new BufferedInputStream(new GZIPInputStream(inputStream));
+    }
+
     public MigratorProto.Import.Progress getProgress() {
         if (checksum != null) {
             return MigratorProto.Import.Progress.newBuilder()
@@ -199,6 +237,45 @@ public class DatabaseImporter {
         }
     }
 
+    public static class Config {
+
+        private boolean bulkLoad;
+        private boolean inMemoryIDMapping;
+        private int idMappingCacheSize;
+
+        public Config() {
+            bulkLoad = false;
+            inMemoryIDMapping = false;
+            idMappingCacheSize = ConceptTracker.DEFAULT_CACHE_SIZE;
+        }
+
+        /**
+         * In bulk-load mode, attributes, entities and ownerships are written into SST files that are ingested into the
+         * database directly, and statistics are recounted once the import is complete. Relations are imported
+         * transactionally, as importing them requires reading the relations imported by earlier transactions.
+         */
+        public Config bulkLoad(boolean bulkLoad) {
+            this.bulkLoad = bulkLoad;
+            return this;
+        }
+
+        /**
+         * Map the IDs of the imported concepts in memory, outside the Java heap, rather than on disk.
+         */
+        public Config inMemoryIDMapping(boolean inMemoryIDMapping) {
+            this.inMemoryIDMapping = inMemoryIDMapping;
+            return this;
+        }
+
+        /**
+         * The number of ID mappings cached in memory when mapping IDs on disk.
+         */
+        public Config idMappingCacheSize(int idMappingCacheSize) {
+            this.idMappingCacheSize = idMappingCacheSize;
+            return this;
+        }
+    }
+
     private class ParallelImport {
 
         private final Function<BlockingQueue<DataProto.Item>, ImportWorker> workerConstructor;
@@ -222,16 +299,18 @@ public class DatabaseImporter {
 
         private BlockingQueue<DataProto.Item> asyncItemReader() {
             BlockingQueue<DataProto.Item> queue = new ArrayBlockingQueue<>(4000);
-            CompletableFuture.runAsync(() -> {
-                try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
-                    DataProto.Item item;
-                    while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
-                        queue.put(item);
+            for (Path file : dataFiles()) {
+                CompletableFuture.runAsync(() -> {
+                    try (InputStream inputStream = openDataFile(file)) {
+                        DataProto.Item item;
+                        while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
+                            queue.put(item);
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        throw TypeDBException.of(e);
                     }
-                } catch (IOException | InterruptedException e) {
-                    throw TypeDBException.of(e);
-                }
-            }, readerExecutor);
+                }, readerExecutor);
+            }
             return queue;
         }
     }
@@ -243,10 +322,12 @@ public class DatabaseImporter {
         private final Map<String, ByteArray> originalToBufferedIDs;
         private final Set<String> incompleteIDs;
         private final Set<String> completedIDs;
+        private final Options.Transaction transactionOptions;
         TypeDB.Transaction transaction;
 
-        ImportWorker(BlockingQueue<DataProto.Item> items) {
+        ImportWorker(BlockingQueue<DataProto.Item> items, boolean bulkLoad) {
             this.items = items;
+            transactionOptions = new Options.Transaction().bulkLoad(bulkLoad);
             originalToBufferedIDs = new HashMap<>();
             bufferedToOriginalIDs = new HashMap<>();
             incompleteIDs = new HashSet<>();
@@ -259,11 +340,11 @@ public class DatabaseImporter {
             int count = 0;
             DataProto.Item item;
             try {
-                transaction = session.transaction(Arguments.Transaction.Type.WRITE);
+                transaction = session.transaction(Arguments.Transaction.Type.WRITE, transactionOptions);
                 while ((item = items.poll(1, TimeUnit.SECONDS)) != null) {
                     if (count >= BATCH_SIZE) {
                         commitBatch();
-                        transaction = session.transaction(Arguments.Transaction.Type.WRITE);
+                        transaction = session.transaction(Arguments.Transaction.Type.WRITE, transactionOptions);
                         count = 0;
                     }
                     count += importItem(item);
@@ -340,7 +421,7 @@ public class DatabaseImporter {
     private class AttributesAndChecksum extends ImportWorker {
 
         AttributesAndChecksum(BlockingQueue<DataProto.Item> items) {
-            super(items);
+            super(items, bulkLoad);
         }
 
         @Override
@@ -392,7 +473,7 @@ public class DatabaseImporter {
     private class EntitiesAndOwnerships extends ImportWorker {
 
         EntitiesAndOwnerships(BlockingQueue<DataProto.Item> items) {
-            super(items);
+            super(items, bulkLoad);
         }
 
         @Override
@@ -420,7 +501,7 @@ public class DatabaseImporter {
     private class Relations extends ImportWorker {
 
         Relations(BlockingQueue<DataProto.Item> items) {
-            super(items);
+            super(items, false);
         }
 
         @Override
@@ -524,7 +605,13 @@ public class DatabaseImporter {
     }
 
     private void createCyclicalRelationsAndOwnerships(TypeDB.Transaction transaction) throws IOException {
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
+        for (Path file : dataFiles()) {
+            createCyclicalRelationsAndOwnerships(transaction, file);
+        }
+    }
+
+    private void createCyclicalRelationsAndOwnerships(TypeDB.Transaction transaction, Path file) throws IOException {
+        try (InputStream inputStream = openDataFile(file)) {
             DataProto.Item item;
             while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
                 if (item.getItemCase() == DataProto.Item.ItemCase.RELATION) {
@@ -546,7 +633,13 @@ public class DatabaseImporter {
     }
 
     private void addRolePlayers(TypeDB.Transaction transaction) throws IOException {
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
+        for (Path file : dataFiles()) {
+            addRolePlayers(transaction, file);
+        }
+    }
+
+    private void addRolePlayers(TypeDB.Transaction transaction, Path file) throws IOException {
+        try (InputStream inputStream = openDataFile(file)) {
             DataProto.Item item;
             while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
                 if (item.getItemCase() == DataProto.Item.ItemCase.RELATION && conceptTracker.isIncomplete(item.getRelation().getId())) {
@@ -579,116 +672,6 @@ public class DatabaseImporter {
         else return roleType;
     }
 
-    private static class ConceptTracker {
-
-        private static final String DIRECTORY_PREFIX = "typedb-import-files-";
-
-        private final RocksDB storage;
-        private final Path directory;
-
-        ConceptTracker(String database) {
-            try {
-                directory = Files.createTempDirectory(DIRECTORY_PREFIX + database);
-                LOG.info("Import started with '" + directory + "' for auxiliary files.");
-                assert !Files.list(directory).findFirst().isPresent();
-                storage = RocksDB.open(directory.toString());
-            } catch (IOException | RocksDBException e) {
-                throw TypeDBException.of(e);
-            }
-        }
-
-        public void close() {
-            storage.close();
-            cleanupDirectory();
-        }
-
-        private void cleanupDirectory() {
-            try {
-                Files.walk(directory).sorted(reverseOrder()).map(Path::toFile).forEach(path -> {
-                    boolean deleted = path.delete();
-                    if (!deleted) LOG.warn("Failed to delete temporary file '" + path.toString() + "'");
-                });
-            } catch (IOException e) {
-                throw TypeDBException.of(e);
-            }
-        }
-
-        private void recordMapped(String originalID, ByteArray newID) {
-            ByteArray originalIDEncoded = encodeOriginalID(originalID);
-            ByteArray mappingKey = ByteArray.join(Prefix.ID_MAPPING.bytes, originalIDEncoded);
-            try {
-                storage.put(mappingKey.getBytes(), newID.getBytes());
-            } catch (RocksDBException e) {
-                throw TypeDBException.of(e);
-            }
-        }
-
-        public ByteArray getMapped(String originalID) {
-            try {
-                ByteArray key = ByteArray.join(Prefix.ID_MAPPING.bytes, encodeOriginalID(originalID));
-                byte[] value = storage.get(key.getBytes());
-                assert value == null || value.length > 0;
-                if (value == null) return null;
-                else return ByteArray.of(value);
-            } catch (RocksDBException e) {
-                throw TypeDBException.of(e);
-            }
-        }
-
-        public boolean containsMapped(String originalID) {
-            return getMapped(originalID) != null;
-        }
-
-        private void recordIncomplete(String originalID) {
-            ByteArray key = ByteArray.join(Prefix.ID_INCOMPLETE.bytes, encodeOriginalID(originalID));
-            try {
-                storage.put(key.getBytes(), new byte[0]);
-            } catch (RocksDBException e) {
-                throw TypeDBException.of(e);
-            }
-        }
-
-        public boolean isIncomplete(String originalID) {
-            ByteArray key = ByteArray.join(Prefix.ID_INCOMPLETE.bytes, encodeOriginalID(originalID));
-            try {
-                return storage.get(key.getBytes()) != null;
-            } catch (RocksDBException e) {
-                throw TypeDBException.of(e);
-            }
-        }
-
-        public boolean containsIncomplete() {
-            RocksIterator iterator = storage.newIterator();
-            iterator.seek(Prefix.ID_INCOMPLETE.bytes.getBytes());
-            boolean hasIncomplete = iterator.isValid() && ByteArray.of(iterator.key()).hasPrefix(Prefix.ID_INCOMPLETE.bytes);
-            iterator.close();
-            return hasIncomplete;
-        }
-
-        private void deleteIncomplete(String originalID) {
-            ByteArray key = ByteArray.join(Prefix.ID_INCOMPLETE.bytes, encodeOriginalID(originalID));
-            try {
-                storage.delete(key.getBytes());
-            } catch (RocksDBException e) {
-                throw TypeDBException.of(e);
-            }
-        }
-
-        private ByteArray encodeOriginalID(String originalID) {
-            return ByteArray.encodeString(originalID, STRING_ENCODING);
-        }
-
-        enum Prefix {
-            ID_MAPPING(0),
-            ID_INCOMPLETE(1);
-            final ByteArray bytes;
-
-            Prefix(int key) {
-                this.bytes = ByteArray.of(new byte[]{unsignedByte(key)});
-            }
-        }
-    }
-
     private static class Status {
 
         private final AtomicLong entityCount = new AtomicLong(0);
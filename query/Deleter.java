@@ -19,10 +19,12 @@ package com.vaticle.typedb.core.query;
 
 import com.vaticle.factory.tracing.client.FactoryTracingThreadStatic;
 import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.ErrorMessage;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Context;
 import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.thing.Relation;
@@ -35,11 +37,14 @@ import com.vaticle.typedb.core.pattern.variable.TypeVariable;
 import com.vaticle.typedb.core.pattern.variable.ValueVariable;
 import com.vaticle.typedb.core.pattern.variable.Variable;
 import com.vaticle.typedb.core.pattern.variable.VariableRegistry;
+import com.vaticle.typedb.core.query.common.AnswerBuffer;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typeql.lang.pattern.variable.Reference;
 import com.vaticle.typeql.lang.query.TypeQLDelete;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -63,24 +68,26 @@ public class Deleter {
     private static final String TRACE_PREFIX = "deleter.";
 
     private final Matcher matcher;
+    private final ConceptManager conceptMgr;
     private final Set<ThingVariable> variables;
     private final Context.Query context;
 
-    public Deleter(Matcher matcher, Set<ThingVariable> variables, Context.Query context) {
+    public Deleter(Matcher matcher, ConceptManager conceptMgr, Set<ThingVariable> variables, Context.Query context) {
         this.matcher = matcher;
+        this.conceptMgr = conceptMgr;
         this.variables = variables;
         this.context = context;
         this.context.producer(Either.first(EXHAUSTIVE));
     }
 
-    public static Deleter create(Reasoner reasoner, TypeQLDelete query, Context.Query context) {
+    public static Deleter create(Reasoner reasoner, ConceptManager conceptMgr, TypeQLDelete query, Context.Query context) {
         try (FactoryTracingThreadStatic.ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "create")) {
             VariableRegistry registry = VariableRegistry.createFromThings(query.variables(), false);
             registry.variables().forEach(Deleter::validate);
 
             assert query.match().namedVariablesUnbound().containsAll(query.namedVariablesUnbound());
             Matcher matcher = Matcher.create(reasoner, query.match().get(query.namedVariablesUnbound()));
-            return new Deleter(matcher, registry.things(), context);
+            return new Deleter(matcher, conceptMgr, registry.things(), context);
         }
     }
 
@@ -115,8 +122,29 @@ public class Deleter {
 
     public void execute() {
         try (FactoryTracingThreadStatic.ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "execute")) {
-            List<? extends ConceptMap> matches = matcher.execute(context).toList();
-            matches.forEach(matched -> new Operation(matched, variables).executeInPlace());
+            if (context.options().boundedWrites()) executeBounded();
+            else {
+                List<? extends ConceptMap> matches = matcher.execute(context).toList();
+                matches.forEach(matched -> new Operation(matched, variables).executeInPlace());
+            }
+        }
+    }
+
+    /**
+     * Every answer is matched before any is deleted, as the match reads the deletes of the transaction. The answers
+     * are spilled to disk beyond a bounded number, and are read back as they are deleted. The things deleted by
+     * earlier answers can no longer be read back by IID, so they are recorded as they are deleted, and later answers
+     * are read back with them, exactly as they are held in memory when the writes are not bounded.
+     */
+    private void executeBounded() {
+        Map<ByteArray, Thing> deleted = new HashMap<>();
+        AnswerBuffer matches = new AnswerBuffer(conceptMgr, context.options().spillDir(), deleted::get);
+        try {
+            matcher.execute(context).forEachRemaining(matches::add);
+            matches.iterator().forEachRemaining(matched -> new Operation(matched, variables, deleted).executeInPlace());
+        } catch (RuntimeException e) {
+            matches.delete();
+            throw e;
         }
     }
 
@@ -127,11 +155,22 @@ public class Deleter {
         private final ConceptMap matched;
         private final Set<ThingVariable> variables;
         private final Map<ThingVariable, Thing> detached;
+        @Nullable
+        private final Map<ByteArray, Thing> deleted;
 
         Operation(ConceptMap matched, Set<ThingVariable> variables) {
+            this(matched, variables, null);
+        }
+
+        /**
+         * @param deleted records the things deleted by the operation, by IID, including the relations deleted as they
+         *                lose their last player, or null if they are not recorded
+         */
+        Operation(ConceptMap matched, Set<ThingVariable> variables, @Nullable Map<ByteArray, Thing> deleted) {
             this.matched = matched;
             this.variables = variables;
             this.detached = new HashMap<>();
+            this.deleted = deleted;
         }
 
         void executeInPlace() {
@@ -168,7 +207,7 @@ public class Deleter {
                     var.relation().get().players().forEach(rolePlayer -> {
                         Thing player = matched.get(rolePlayer.player().reference().asName()).asThing();
                         RoleType roleType = getRoleType(relation, player, rolePlayer);
-                        relation.removePlayer(roleType, player);
+                        recordDeleted(relation, () -> relation.removePlayer(roleType, player));
                     });
                 } else {
                     throw TypeDBException.of(DELETE_RELATION_CONSTRAINT_TOO_MANY, var.reference());
@@ -183,15 +222,36 @@ public class Deleter {
                 if (var.isa().isPresent() && !thing.isDeleted()) {
                     Label typeLabel = var.isa().get().type().label().get().properLabel();
                     if (var.isa().get().isExplicit()) {
-                        if (type.getLabel().equals(typeLabel)) thing.delete();
+                        if (type.getLabel().equals(typeLabel)) recordDeleted(thing, thing::delete);
                         else throw TypeDBException.of(INVALID_DELETE_THING_DIRECT, var.reference(), typeLabel);
                     } else {
-                        if (type.getSupertypes().anyMatch(t -> t.getLabel().equals(typeLabel))) thing.delete();
+                        if (type.getSupertypes().anyMatch(t -> t.getLabel().equals(typeLabel))) recordDeleted(thing, thing::delete);
                         else throw TypeDBException.of(INVALID_DELETE_THING, var.reference(), typeLabel);
                     }
                     matched.concepts().remove(var.id());
                 }
             }
         }
+
+        /**
+         * Run a deletion of the given thing, or of one of its edges, and record the things it deleted: the thing
+         * itself, and the relations it plays in, transitively, that are deleted as they lose their last player.
+         */
+        private void recordDeleted(Thing thing, Runnable deletion) {
+            if (deleted == null) {
+                deletion.run();
+                return;
+            }
+            Set<Thing> affected = new HashSet<>();
+            collectAffected(thing, affected);
+            deletion.run();
+            affected.forEach(t -> {
+                if (t.isDeleted()) deleted.put(t.getIID(), t);
+            });
+        }
+
+        private static void collectAffected(Thing thing, Set<Thing> affected) {
+            if (affected.add(thing)) thing.getRelations().forEachRemaining(relation -> collectAffected(relation, affected));
+        }
     }
 }
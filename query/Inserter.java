@@ -41,6 +41,7 @@ import com.vaticle.typedb.core.pattern.variable.TypeVariable;
 import com.vaticle.typedb.core.pattern.variable.ValueVariable;
 import com.vaticle.typedb.core.pattern.variable.Variable;
 import com.vaticle.typedb.core.pattern.variable.VariableRegistry;
+import com.vaticle.typedb.core.query.common.AnswerBuffer;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
@@ -153,8 +154,9 @@ public class Inserter {
 
     public FunctionalIterator<ConceptMap> execute() {
         try (FactoryTracingThreadStatic.ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "execute")) {
-            if (matcher != null) return context.options().parallel() ? executeParallel() : executeSerial();
-            else return single(new Operation(conceptMgr, new ConceptMap(), variables).execute());
+            if (matcher == null) return single(new Operation(conceptMgr, new ConceptMap(), variables).execute());
+            else if (context.options().boundedWrites()) return executeBounded();
+            else return context.options().parallel() ? executeParallel() : executeSerial();
         }
     }
 
@@ -176,6 +178,24 @@ public class Inserter {
         return iterate(iterate(matches).map(matched -> new Operation(conceptMgr, matched, variables).execute()).toList());
     }
 
+    /**
+     * Every answer is matched before any is inserted, as the match reads the inserts of the transaction. Both the
+     * matched and the inserted answers are spilled to disk beyond a bounded number.
+     */
+    private FunctionalIterator<ConceptMap> executeBounded() {
+        AnswerBuffer matches = new AnswerBuffer(conceptMgr, context.options().spillDir());
+        AnswerBuffer inserts = new AnswerBuffer(conceptMgr, context.options().spillDir());
+        try {
+            matcher.execute(context).forEachRemaining(matches::add);
+            matches.iterator().forEachRemaining(matched -> inserts.add(new Operation(conceptMgr, matched, variables).execute()));
+            return inserts.iterator();
+        } catch (RuntimeException e) {
+            matches.delete();
+            inserts.delete();
+            throw e;
+        }
+    }
+
     public static class Operation {
 
         private static final String TRACE_PREFIX = "operation.";
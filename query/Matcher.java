@@ -20,44 +20,70 @@ package com.vaticle.typedb.core.query;
 
 import com.vaticle.typedb.common.collection.Either;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.concept.Concept;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.answer.ConceptMapGroup;
 import com.vaticle.typedb.core.concept.answer.Numeric;
 import com.vaticle.typedb.core.concept.answer.NumericGroup;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.value.Value;
+import com.vaticle.typedb.core.concurrent.producer.Producer;
 import com.vaticle.typedb.core.pattern.Disjunction;
+import com.vaticle.typedb.core.query.common.Quantile;
 import com.vaticle.typedb.core.reasoner.Reasoner;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typedb.core.traversal.common.Modifiers.Filter;
+import com.vaticle.typedb.core.traversal.common.Modifiers.Sorting;
 import com.vaticle.typeql.lang.common.TypeQLToken;
 import com.vaticle.typeql.lang.pattern.variable.UnboundVariable;
 import com.vaticle.typeql.lang.query.TypeQLMatch;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 
+import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.common.collection.Collections.map;
+import static com.vaticle.typedb.common.collection.Collections.pair;
 import static com.vaticle.typedb.common.collection.Collections.set;
-import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.AGGREGATE_ATTRIBUTE_NOT_NUMBER;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Query.Producer.EXHAUSTIVE;
+import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.async1;
+import static com.vaticle.typedb.core.concurrent.producer.Producers.BATCH_SIZE_MAX;
 import static com.vaticle.typedb.core.query.Matcher.Aggregator.aggregator;
 import static java.lang.Math.sqrt;
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 public class Matcher {
 
@@ -110,6 +136,23 @@ public class Matcher {
         return reasoner.execute(disjunction, query.modifiers(), context);
     }
 
+    Optional<FunctionalIterator<? extends ConceptMap>> executeSortedBy(UnboundVariable var, Context.Query context) {
+        TypeQLMatch.Modifiers modifiers = query.modifiers();
+        if (modifiers.sort().isPresent() || modifiers.offset().isPresent() || modifiers.limit().isPresent()) {
+            return Optional.empty();
+        }
+        return reasoner.executeNativelySorted(disjunction, Filter.create(modifiers.filter()), ascending(var), context);
+    }
+
+    Optional<Producer<ConceptMap>> executeProducer(Context.Query context) {
+        return reasoner.executeProducer(disjunction, query.modifiers(), context);
+    }
+
+    private static Sorting ascending(UnboundVariable var) {
+        Identifier.Variable.Retrievable id = Identifier.Variable.of(var.reference().asName());
+        return Sorting.create(list(id), map(pair(id, ASC)));
+    }
+
     public static class Aggregator {
 
         private final Matcher matcher;
@@ -124,18 +167,23 @@ public class Matcher {
         }
 
         public Numeric execute() {
-            FunctionalIterator<? extends ConceptMap> answers = matcher.execute(context);
             TypeQLToken.Aggregate.Method method = query.method();
+            if (method == TypeQLToken.Aggregate.Method.COUNT) {
+                Optional<Long> count = matcher.reasoner.countFromStatistics(matcher.disjunction, matcher.query.modifiers(), context);
+                if (count.isPresent()) return Numeric.ofLong(count.get());
+            }
+            FunctionalIterator<? extends ConceptMap> answers = matcher.execute(context);
             UnboundVariable var = query.var();
-            return aggregate(answers, method, var);
+            return aggregate(answers, method, var, context.options());
         }
 
-        static Numeric aggregate(FunctionalIterator<? extends ConceptMap> answers,
-                                 TypeQLToken.Aggregate.Method method, UnboundVariable var) {
-            return answers.stream().collect(aggregator(method, var));
+        static Numeric aggregate(FunctionalIterator<? extends ConceptMap> answers, TypeQLToken.Aggregate.Method method,
+                                 UnboundVariable var, Options.Query options) {
+            return answers.stream().collect(aggregator(method, var, options));
         }
 
-        static Collector<ConceptMap, ?, Numeric> aggregator(TypeQLToken.Aggregate.Method method, UnboundVariable var) {
+        static Collector<ConceptMap, ?, Numeric> aggregator(TypeQLToken.Aggregate.Method method, UnboundVariable var,
+                                                            Options.Query options) {
             Collector<ConceptMap, ?, Numeric> aggregator;
             switch (method) {
                 case COUNT:
@@ -148,7 +196,7 @@ public class Matcher {
                     aggregator = mean(var);
                     break;
                 case MEDIAN:
-                    aggregator = median(var);
+                    aggregator = median(var, options);
                     break;
                 case MIN:
                     aggregator = min(var);
@@ -274,29 +322,34 @@ public class Matcher {
             };
         }
 
-        static Collector<ConceptMap, ?, Numeric> median(UnboundVariable var) {
-            return new Collector<ConceptMap, MedianCalculator, Numeric>() {
+        static Collector<ConceptMap, ?, Numeric> median(UnboundVariable var, Options.Query options) {
+            return new Collector<ConceptMap, Quantile, Numeric>() {
 
                 @Override
-                public Supplier<MedianCalculator> supplier() {
-                    return MedianCalculator::new;
+                public Supplier<Quantile> supplier() {
+                    if (options.approximateMedian()) return Quantile::approximate;
+                    else return () -> Quantile.exact(options.spillDir());
                 }
 
                 @Override
-                public BiConsumer<MedianCalculator, ConceptMap> accumulator() {
-                    return (medianFinder, answer) -> medianFinder.accumulate(numeric(answer, var));
+                public BiConsumer<Quantile, ConceptMap> accumulator() {
+                    return (quantile, answer) -> quantile.add(numeric(answer, var));
                 }
 
                 @Override
-                public BinaryOperator<MedianCalculator> combiner() {
-                    return (t, u) -> {
-                        throw TypeDBException.of(ILLEGAL_OPERATION);
-                    };
+                public BinaryOperator<Quantile> combiner() {
+                    return Quantile::merge;
                 }
 
                 @Override
-                public Function<MedianCalculator, Numeric> finisher() {
-                    return MedianCalculator::median;
+                public Function<Quantile, Numeric> finisher() {
+                    return quantile -> {
+                        try {
+                            return quantile.median();
+                        } finally {
+                            quantile.close();
+                        }
+                    };
                 }
 
                 @Override
@@ -357,9 +410,7 @@ public class Matcher {
 
                 @Override
                 public BinaryOperator<STDCalculator> combiner() {
-                    return (t, u) -> {
-                        throw TypeDBException.of(ILLEGAL_OPERATION);
-                    };
+                    return STDCalculator::merge;
                 }
 
                 @Override
@@ -432,38 +483,6 @@ public class Matcher {
             else return Numeric.ofDouble(x.asDouble() + y.asDouble());
         }
 
-        private static class MedianCalculator {
-
-            PriorityQueue<Numeric> maxHeap; //lower half
-            PriorityQueue<Numeric> minHeap; //higher half
-
-            MedianCalculator() {
-                maxHeap = new PriorityQueue<>(Collections.reverseOrder());
-                minHeap = new PriorityQueue<>();
-            }
-
-            void accumulate(Numeric numeric) {
-                maxHeap.offer(numeric);
-                minHeap.offer(maxHeap.poll());
-
-                if (maxHeap.size() < minHeap.size()) {
-                    maxHeap.offer(minHeap.poll());
-                }
-            }
-
-            Numeric median() {
-                if (maxHeap.isEmpty() && minHeap.isEmpty()) {
-                    return Numeric.ofNaN();
-                } else if (maxHeap.size() == minHeap.size()) {
-                    return Numeric.ofDouble(sum(maxHeap.peek(), minHeap.peek()).asNumber().doubleValue() / 2);
-                } else if (maxHeap.peek() == null) {
-                    return Numeric.ofNaN();
-                } else {
-                    return maxHeap.peek();
-                }
-            }
-        }
-
         /**
          * Online algorithm to calculate unbiased sample standard deviation
          * https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Online_algorithm
@@ -481,6 +500,20 @@ public class Matcher {
                 M2 += delta * delta2;
             }
 
+            /**
+             * Combine the partial calculation of another set of values, following the parallel algorithm
+             * https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Parallel_algorithm
+             */
+            STDCalculator merge(STDCalculator other) {
+                if (other.n == 0) return this;
+                long total = n + other.n;
+                double delta = other.mean - mean;
+                M2 += other.M2 + delta * delta * ((double) n * other.n / total);
+                mean += delta * other.n / total;
+                n = total;
+                return this;
+            }
+
             Numeric std() {
                 if (n < 2) return Numeric.ofNaN();
                 else return Numeric.ofDouble(sqrt(M2 / (double) (n - 1)));
@@ -552,13 +585,32 @@ public class Matcher {
         }
 
         public FunctionalIterator<ConceptMapGroup> execute() {
-            // TODO: Replace this temporary implementation of TypeQL Match Group query with a native grouping traversal
+            Optional<FunctionalIterator<? extends ConceptMap>> sorted = matcher.executeSortedBy(query.var(), context);
+            if (sorted.isPresent()) return grouped(sorted.get(), query.var(), toList(), ConceptMapGroup::new);
+            Optional<Producer<ConceptMap>> producer = matcher.executeProducer(context);
+            if (producer.isPresent()) return grouped(producer.get(), query.var(), toList(), ConceptMapGroup::new);
+
             List<ConceptMapGroup> answerGroups = new ArrayList<>();
             matcher.execute(context).stream().collect(groupingBy(a -> a.get(query.var())))
                     .forEach((o, cm) -> answerGroups.add(new ConceptMapGroup(o, cm)));
             return iterate(answerGroups);
         }
 
+        private static <ACC, RESULT, GROUP> FunctionalIterator<GROUP> grouped(
+                FunctionalIterator<? extends ConceptMap> sortedAnswers, UnboundVariable var,
+                Collector<ConceptMap, ACC, RESULT> collector, BiFunction<Concept, RESULT, GROUP> groupFn) {
+            return new SortedGroupIterator<>(sortedAnswers, var, collector, groupFn);
+        }
+
+        private static <ACC, RESULT, GROUP> FunctionalIterator<GROUP> grouped(
+                Producer<ConceptMap> producer, UnboundVariable var,
+                Collector<ConceptMap, ACC, RESULT> collector, BiFunction<Concept, RESULT, GROUP> groupFn) {
+            List<GROUP> groups = new ArrayList<>();
+            new ParallelGroupCollector<>(producer, var, collector, async1()).collect()
+                    .forEach((concept, result) -> groups.add(groupFn.apply(concept, result)));
+            return iterate(groups);
+        }
+
         public static class Aggregator {
 
             private final Group group;
@@ -570,13 +622,153 @@ public class Matcher {
             }
 
             public FunctionalIterator<NumericGroup> execute() {
-                // TODO: Replace this temporary implementation of TypeQL Match Group query with a native grouping traversal
+                UnboundVariable groupVar = query.group().var();
+                Optional<FunctionalIterator<? extends ConceptMap>> sorted = group.matcher.executeSortedBy(groupVar, group.context);
+                if (sorted.isPresent()) {
+                    return grouped(sorted.get(), groupVar, aggregator(query.method(), query.var(), group.context.options()), NumericGroup::new);
+                }
+                Optional<Producer<ConceptMap>> producer = group.matcher.executeProducer(group.context);
+                if (producer.isPresent()) {
+                    return grouped(producer.get(), groupVar, aggregator(query.method(), query.var(), group.context.options()), NumericGroup::new);
+                }
+
                 List<NumericGroup> numericGroups = new ArrayList<>();
                 group.matcher.execute(group.context).stream()
-                        .collect(groupingBy(a -> a.get(query.group().var()), aggregator(query.method(), query.var())))
+                        .collect(groupingBy(a -> a.get(groupVar), aggregator(query.method(), query.var(), group.context.options())))
                         .forEach((o, n) -> numericGroups.add(new NumericGroup(o, n)));
                 return iterate(numericGroups);
             }
         }
+
+        /**
+         * Groups answers produced by parallel workers, in no particular order. Each worker accumulates the answers it
+         * produces into its own partial groups, so that workers never contend over a group, and the partial groups
+         * are combined once the producer is done. Only the accumulation of each group is held in memory, which is a
+         * running aggregate for aggregate groups.
+         */
+        private static class ParallelGroupCollector<ACC, RESULT> implements Producer.Queue<ConceptMap> {
+
+            private final Producer<ConceptMap> producer;
+            private final UnboundVariable var;
+            private final Collector<ConceptMap, ACC, RESULT> collector;
+            private final Executor executor;
+            private final ConcurrentMap<Thread, Map<Concept, ACC>> partialGroups;
+            private final AtomicLong produced;
+            private final CompletableFuture<Void> isDone;
+
+            private ParallelGroupCollector(Producer<ConceptMap> producer, UnboundVariable var,
+                                           Collector<ConceptMap, ACC, RESULT> collector, Executor executor) {
+                this.producer = producer;
+                this.var = var;
+                this.collector = collector;
+                this.executor = executor;
+                this.partialGroups = new ConcurrentHashMap<>();
+                this.produced = new AtomicLong(0);
+                this.isDone = new CompletableFuture<>();
+            }
+
+            private Map<Concept, RESULT> collect() {
+                try {
+                    producer.produce(this, BATCH_SIZE_MAX, executor);
+                    isDone.join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof TypeDBException) throw (TypeDBException) e.getCause();
+                    else throw TypeDBException.of(e.getCause());
+                } finally {
+                    producer.recycle();
+                }
+                Map<Concept, ACC> groups = new LinkedHashMap<>();
+                partialGroups.values().forEach(partial -> partial.forEach(
+                        (concept, acc) -> groups.merge(concept, acc, collector.combiner())
+                ));
+                Map<Concept, RESULT> results = new LinkedHashMap<>();
+                groups.forEach((concept, acc) -> results.put(concept, collector.finisher().apply(acc)));
+                return results;
+            }
+
+            @Override
+            public void put(ConceptMap answer) {
+                // a worker only ever runs one job at a time, so its partial groups are never accumulated concurrently
+                Map<Concept, ACC> partial = partialGroups.computeIfAbsent(Thread.currentThread(), t -> new HashMap<>());
+                collector.accumulator().accept(partial.computeIfAbsent(answer.get(var), c -> collector.supplier().get()), answer);
+                if (produced.incrementAndGet() % BATCH_SIZE_MAX == 0) producer.produce(this, BATCH_SIZE_MAX, executor);
+            }
+
+            @Override
+            public void done() {
+                isDone.complete(null);
+            }
+
+            @Override
+            public void done(Throwable e) {
+                isDone.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Groups answers that arrive ordered by the group variable, so that only the group under construction is
+         * held in memory and each group is emitted as soon as the order moves past it. Distinct concepts can be equal
+         * in the sort order (eg. attributes of different types with the same value) and may arrive interleaved,
+         * so each run of equally ordered answers is grouped by concept before being emitted.
+         */
+        private static class SortedGroupIterator<ACC, RESULT, GROUP> extends AbstractFunctionalIterator<GROUP> {
+
+            private final FunctionalIterator<? extends ConceptMap> answers;
+            private final UnboundVariable var;
+            private final Collector<ConceptMap, ACC, RESULT> collector;
+            private final BiFunction<Concept, RESULT, GROUP> groupFn;
+            private final Comparator<ConceptMap> comparator;
+            private final Queue<GROUP> groups;
+            private ConceptMap lookahead;
+
+            private SortedGroupIterator(FunctionalIterator<? extends ConceptMap> answers, UnboundVariable var,
+                                        Collector<ConceptMap, ACC, RESULT> collector, BiFunction<Concept, RESULT, GROUP> groupFn) {
+                this.answers = answers;
+                this.var = var;
+                this.collector = collector;
+                this.groupFn = groupFn;
+                this.comparator = ConceptMap.Comparator.create(ascending(var));
+                this.groups = new LinkedList<>();
+                this.lookahead = null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (groups.isEmpty() && (lookahead != null || answers.hasNext())) fetchRun();
+                return !groups.isEmpty();
+            }
+
+            private void fetchRun() {
+                ConceptMap first = lookahead != null ? lookahead : answers.next();
+                lookahead = null;
+                Map<Concept, ACC> run = new LinkedHashMap<>();
+                accumulate(run, first);
+                while (answers.hasNext()) {
+                    ConceptMap answer = answers.next();
+                    if (comparator.compare(first, answer) == 0) accumulate(run, answer);
+                    else {
+                        lookahead = answer;
+                        break;
+                    }
+                }
+                run.forEach((concept, acc) -> groups.add(groupFn.apply(concept, collector.finisher().apply(acc))));
+            }
+
+            private void accumulate(Map<Concept, ACC> run, ConceptMap answer) {
+                ACC acc = run.computeIfAbsent(answer.get(var), c -> collector.supplier().get());
+                collector.accumulator().accept(acc, answer);
+            }
+
+            @Override
+            public GROUP next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return groups.remove();
+            }
+
+            @Override
+            public void recycle() {
+                answers.recycle();
+            }
+        }
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query;
+
+import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBCheckedException;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
+import com.vaticle.typedb.core.pattern.Conjunction;
+import com.vaticle.typedb.core.pattern.Disjunction;
+import com.vaticle.typedb.core.pattern.variable.Variable;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typeql.lang.query.TypeQLMatch;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.INVALID_QUERY_PARAMETER;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+
+/**
+ * A match query that is prepared once and executed many times, with some of its variables bound by parameters on each
+ * execution: thing variables to IIDs, type variables to labels, and unassigned value variables to values.
+ *
+ * Every execution answers a pattern of the same shape, so it reuses the type inference and traversal plans cached by
+ * the first, and skips parsing and pattern construction. A prepared query does not depend on a transaction, so it may
+ * be kept by a session and executed in each of its transactions.
+ */
+public class PreparedMatch {
+
+    private final TypeQLMatch query;
+    private final Disjunction disjunction;
+
+    PreparedMatch(TypeQLMatch query) {
+        this.query = query;
+        this.disjunction = Disjunction.create(query.conjunction().normalise());
+    }
+
+    public TypeQLMatch query() {
+        return query;
+    }
+
+    /**
+     * The pattern of the prepared query, with the parameters bound. The prepared pattern itself is never bound or
+     * type-inferred, as type inference annotates the pattern it is given, so each execution binds a clone of it.
+     */
+    Disjunction bind(Parameters parameters) {
+        Disjunction bound = disjunction.clone();
+        parameters.bounds.keySet().forEach(id -> {
+            if (!iterate(bound.conjunctions()).anyMatch(conjunction -> conjunction.variable(id) != null) ||
+                    iterate(bound.conjunctions()).anyMatch(conjunction -> isAssigned(conjunction, id))) {
+                throw TypeDBException.of(INVALID_QUERY_PARAMETER, id);
+            }
+        });
+        bound.conjunctions().forEach(conjunction -> conjunction.bound(parameters.bounds));
+        return bound;
+    }
+
+    private static boolean isAssigned(Conjunction conjunction, Identifier.Variable.Retrievable id) {
+        Variable variable = conjunction.variable(id);
+        return variable != null && variable.isValue() && variable.asValue().assignment() != null;
+    }
+
+    @Override
+    public String toString() {
+        return query.toString();
+    }
+
+    public static class Parameters {
+
+        private final Map<Identifier.Variable.Retrievable, Either<Label, ByteArray>> bounds;
+
+        public Parameters() {
+            this.bounds = new HashMap<>();
+        }
+
+        public Parameters iid(String variable, ByteArray iid) {
+            bounds.put(Identifier.Variable.namedConcept(variable), Either.second(iid));
+            return this;
+        }
+
+        public Parameters label(String variable, Label label) {
+            bounds.put(Identifier.Variable.namedConcept(variable), Either.first(label));
+            return this;
+        }
+
+        public Parameters value(String variable, boolean value) {
+            return value(variable, new VertexIID.Value.Boolean(value));
+        }
+
+        public Parameters value(String variable, long value) {
+            return value(variable, new VertexIID.Value.Long(value));
+        }
+
+        public Parameters value(String variable, double value) {
+            try {
+                return value(variable, new VertexIID.Value.Double(value));
+            } catch (TypeDBCheckedException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        public Parameters value(String variable, String value) {
+            try {
+                return value(variable, new VertexIID.Value.String(value));
+            } catch (TypeDBCheckedException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        public Parameters value(String variable, LocalDateTime value) {
+            return value(variable, new VertexIID.Value.DateTime(value));
+        }
+
+        private Parameters value(String variable, VertexIID.Value<?> value) {
+            bounds.put(Identifier.Variable.namedValue(variable), Either.second(value.bytes()));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query;
+
+import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typeql.lang.TypeQL;
+import com.vaticle.typeql.lang.query.TypeQLMatch;
+import com.vaticle.typeql.lang.query.TypeQLQuery;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.vaticle.typedb.core.common.cache.CommonCache.DEFAULT_CACHE_TIMEOUT_MINUTES;
+
+/**
+ * Parsed match queries, keyed by their query text, shared between the transactions of a database. Parsing does not
+ * depend on the schema or the query options, and the parsed queries are only read after parsing, so they are safe to
+ * share. Type inference and traversal plans of the parsed queries are cached separately, by the logic and traversal
+ * caches.
+ *
+ * Write queries usually carry the data they write in their text, so they are rarely repeated, and are not cached.
+ * Neither are queries longer than {@code MAX_QUERY_LENGTH}, so that the cache holds a bounded amount of query text.
+ */
+public class QueryCache {
+
+    public static final int MAX_QUERY_LENGTH = 4_096;
+
+    private final CommonCache<String, TypeQLQuery> parsedQueries;
+    private final boolean enabled;
+
+    public QueryCache() {
+        this(0, DEFAULT_CACHE_TIMEOUT_MINUTES, false);
+    }
+
+    /**
+     * @param size     the maximum number of parsed match queries, or characters of query text if weighted; 0 disables
+     *                 the cache
+     * @param weighted if true, the cache is bounded by the total length of its query texts, rather than their count
+     */
+    public QueryCache(int size, int timeOutMinutes, boolean weighted) {
+        if (weighted) this.parsedQueries = new CommonCache<>(size, timeOutMinutes, (query, parsed) -> query.length());
+        else this.parsedQueries = new CommonCache<>(size, timeOutMinutes);
+        this.enabled = size > 0;
+    }
+
+    public TypeQLQuery parse(String query) {
+        if (!enabled || query.length() > MAX_QUERY_LENGTH) return TypeQL.parseQuery(query);
+        TypeQLQuery parsed = parsedQueries.getIfPresent(query);
+        if (parsed == null) {
+            parsed = TypeQL.parseQuery(query);
+            if (isMatch(parsed)) parsedQueries.put(query, parsed);
+        }
+        return parsed;
+    }
+
+    private static boolean isMatch(TypeQLQuery query) {
+        return query instanceof TypeQLMatch || query instanceof TypeQLMatch.Aggregate ||
+                query instanceof TypeQLMatch.Group || query instanceof TypeQLMatch.Group.Aggregate;
+    }
+
+    public Map<String, CommonCache.Statistics> statistics() {
+        Map<String, CommonCache.Statistics> statistics = new LinkedHashMap<>();
+        statistics.put("parsed-queries", parsedQueries.statistics());
+        return statistics;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query;
+
+import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typeql.lang.query.TypeQLQuery;
+import org.junit.Test;
+
+import static com.vaticle.typedb.core.common.cache.CommonCache.DEFAULT_CACHE_TIMEOUT_MINUTES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class QueryCacheTest {
+
+    private static final int SIZE = 10;
+
+    private static CommonCache.Statistics statistics(QueryCache cache) {
+        return cache.statistics().get("parsed-queries");
+    }
+
+    private static String match(int i) {
+        return "match $x isa person, has name 'person-" + i + "';";
+    }
+
+    /**
+     * Eviction happens asynchronously, after the writes to the cache.
+     */
+    private static void awaitEviction(QueryCache cache, long maxWeight) throws InterruptedException {
+        for (int i = 0; i < 100 && statistics(cache).weight() > maxWeight; i++) Thread.sleep(10);
+    }
+
+    @Test
+    public void match_queries_are_cached() {
+        QueryCache cache = new QueryCache(SIZE, DEFAULT_CACHE_TIMEOUT_MINUTES, false);
+        TypeQLQuery parsed = cache.parse(match(0));
+        assertSame(parsed, cache.parse(match(0)));
+        assertSame(parsed, cache.parse(match(0)));
+        assertEquals(2, statistics(cache).hitCount());
+
+        String aggregate = "match $x isa person; count;";
+        assertSame(cache.parse(aggregate), cache.parse(aggregate));
+        String group = "match $x isa person, has age $a; group $a;";
+        assertSame(cache.parse(group), cache.parse(group));
+        assertEquals(3, statistics(cache).size());
+    }
+
+    @Test
+    public void write_queries_are_not_cached() {
+        QueryCache cache = new QueryCache(SIZE, DEFAULT_CACHE_TIMEOUT_MINUTES, false);
+        String insert = "insert $x isa person, has name 'alice';";
+        assertNotSame(cache.parse(insert), cache.parse(insert));
+        String define = "define person sub entity;";
+        assertNotSame(cache.parse(define), cache.parse(define));
+        assertEquals(0, statistics(cache).size());
+    }
+
+    @Test
+    public void long_queries_are_not_cached() {
+        QueryCache cache = new QueryCache(SIZE, DEFAULT_CACHE_TIMEOUT_MINUTES, false);
+        StringBuilder query = new StringBuilder("match $x isa person");
+        for (int i = 0; query.length() <= QueryCache.MAX_QUERY_LENGTH; i++) query.append(", has name 'person-").append(i).append("'");
+        query.append(";");
+        assertNotSame(cache.parse(query.toString()), cache.parse(query.toString()));
+        assertEquals(0, statistics(cache).size());
+    }
+
+    @Test
+    public void queries_are_evicted_beyond_the_cache_size() throws InterruptedException {
+        QueryCache cache = new QueryCache(SIZE, DEFAULT_CACHE_TIMEOUT_MINUTES, false);
+        for (int i = 0; i < SIZE * 10; i++) cache.parse(match(i));
+        awaitEviction(cache, SIZE);
+        assertTrue(statistics(cache).size() <= SIZE);
+        assertTrue(statistics(cache).evictionCount() > 0);
+    }
+
+    @Test
+    public void weighted_cache_is_bounded_by_query_length() throws InterruptedException {
+        int maxLength = match(0).length() * SIZE;
+        QueryCache cache = new QueryCache(maxLength, DEFAULT_CACHE_TIMEOUT_MINUTES, true);
+        for (int i = 0; i < SIZE * 10; i++) cache.parse(match(i));
+        awaitEviction(cache, maxLength);
+        assertTrue(statistics(cache).weight() <= maxLength);
+        assertTrue(statistics(cache).size() <= SIZE);
+    }
+
+    @Test
+    public void disabled_cache_parses_every_query() {
+        QueryCache cache = new QueryCache(0, DEFAULT_CACHE_TIMEOUT_MINUTES, false);
+        assertNotSame(cache.parse(match(0)), cache.parse(match(0)));
+    }
+}
@@ -22,6 +22,7 @@ import com.vaticle.factory.tracing.client.FactoryTracingThreadStatic.ThreadTrace
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Context;
 import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.answer.ConceptMapGroup;
@@ -34,6 +35,7 @@ import com.vaticle.typeql.lang.query.TypeQLDefine;
 import com.vaticle.typeql.lang.query.TypeQLDelete;
 import com.vaticle.typeql.lang.query.TypeQLInsert;
 import com.vaticle.typeql.lang.query.TypeQLMatch;
+import com.vaticle.typeql.lang.query.TypeQLQuery;
 import com.vaticle.typeql.lang.query.TypeQLUndefine;
 import com.vaticle.typeql.lang.query.TypeQLUpdate;
 import org.slf4j.Logger;
@@ -54,22 +56,53 @@ public class QueryManager {
     private final LogicManager logicMgr;
     private final Reasoner reasoner;
     private final ConceptManager conceptMgr;
+    private final Context.Transaction transactionCtx;
     private final Context.Query defaultContext;
+    private final QueryCache queryCache;
 
-    public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner, Context.Transaction context) {
+    public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner, QueryCache queryCache,
+                        Context.Transaction context) {
         this.conceptMgr = conceptMgr;
+        this.queryCache = queryCache;
         this.logicMgr = logicMgr;
         this.reasoner = reasoner;
+        this.transactionCtx = context;
         this.defaultContext = new Context.Query(context, new Options.Query());
     }
 
+    public TypeQLQuery parse(String query) {
+        return queryCache.parse(query);
+    }
+
     public FunctionalIterator<? extends ConceptMap> match(TypeQLMatch query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public FunctionalIterator<? extends ConceptMap> match(TypeQLMatch query, Context.Query context) {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match")) {
-            return Matcher.create(reasoner, query, context).execute().onError(conceptMgr::exception);
+            return profiled(Matcher.create(reasoner, query, context).execute(), query, context).onError(conceptMgr::exception);
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
+    public PreparedMatch prepare(TypeQLMatch query) {
+        try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "prepare")) {
+            return new PreparedMatch(query);
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
+    public FunctionalIterator<? extends ConceptMap> match(PreparedMatch query, PreparedMatch.Parameters parameters) {
+        return match(query, parameters, defaultContext());
+    }
+
+    public FunctionalIterator<? extends ConceptMap> match(PreparedMatch query, PreparedMatch.Parameters parameters,
+                                                          Context.Query context) {
+        try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match_prepared")) {
+            return profiled(reasoner.execute(query.bind(parameters), query.query().modifiers(), context), query.query(), context)
+                    .onError(conceptMgr::exception);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
@@ -80,78 +113,81 @@ public class QueryManager {
     }
 
     public Numeric match(TypeQLMatch.Aggregate query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public Numeric match(TypeQLMatch.Aggregate query, Context.Query queryContext) {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match_aggregate")) {
-            return Matcher.create(reasoner, query, queryContext).execute();
+            Numeric answer = Matcher.create(reasoner, query, queryContext).execute();
+            logProfile(query, queryContext);
+            return answer;
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
     }
 
     public FunctionalIterator<ConceptMapGroup> match(TypeQLMatch.Group query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public FunctionalIterator<ConceptMapGroup> match(TypeQLMatch.Group query, Context.Query queryContext) {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match_group")) {
-            return Matcher.create(reasoner, query, queryContext).execute().onError(conceptMgr::exception);
+            return profiled(Matcher.create(reasoner, query, queryContext).execute(), query, queryContext).onError(conceptMgr::exception);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
     }
 
     public FunctionalIterator<NumericGroup> match(TypeQLMatch.Group.Aggregate query) {
-        return match(query, defaultContext);
+        return match(query, defaultContext());
     }
 
     public FunctionalIterator<NumericGroup> match(TypeQLMatch.Group.Aggregate query, Context.Query queryContext) {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match_group_aggregate")) {
-            return Matcher.create(reasoner, query, queryContext).execute().onError(conceptMgr::exception);
+            return profiled(Matcher.create(reasoner, query, queryContext).execute(), query, queryContext).onError(conceptMgr::exception);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
     }
 
     public FunctionalIterator<ConceptMap> insert(TypeQLInsert query) {
-        return insert(query, defaultContext);
+        return insert(query, defaultContext());
     }
 
     public FunctionalIterator<ConceptMap> insert(TypeQLInsert query, Context.Query context) {
         if (context.sessionType().isSchema()) throw conceptMgr.exception(SESSION_SCHEMA_VIOLATION);
         if (context.transactionType().isRead()) throw conceptMgr.exception(TRANSACTION_DATA_READ_VIOLATION);
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "insert")) {
-            return Inserter.create(reasoner, conceptMgr, query, context).execute().onError(conceptMgr::exception);
+            return profiled(Inserter.create(reasoner, conceptMgr, query, context).execute(), query, context).onError(conceptMgr::exception);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
     }
 
     public void delete(TypeQLDelete query) {
-        delete(query, defaultContext);
+        delete(query, defaultContext());
     }
 
     public void delete(TypeQLDelete query, Context.Query context) {
         if (context.sessionType().isSchema()) throw conceptMgr.exception(SESSION_SCHEMA_VIOLATION);
         if (context.transactionType().isRead()) throw conceptMgr.exception(TRANSACTION_DATA_READ_VIOLATION);
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "delete")) {
-            Deleter.create(reasoner, query, context).execute();
+            Deleter.create(reasoner, conceptMgr, query, context).execute();
+            logProfile(query, context);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
     }
 
     public void update(TypeQLUpdate query) {
-        update(query, defaultContext);
+        update(query, defaultContext());
     }
 
     public FunctionalIterator<ConceptMap> update(TypeQLUpdate query, Context.Query context) {
         if (context.sessionType().isSchema()) throw conceptMgr.exception(SESSION_SCHEMA_VIOLATION);
         if (context.transactionType().isRead()) throw conceptMgr.exception(TRANSACTION_DATA_READ_VIOLATION);
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "update")) {
-            return Updater.create(reasoner, conceptMgr, query, context).execute().onError(conceptMgr::exception);
+            return profiled(Updater.create(reasoner, conceptMgr, query, context).execute(), query, context).onError(conceptMgr::exception);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
@@ -184,4 +220,27 @@ public class QueryManager {
             throw conceptMgr.exception(exception);
         }
     }
+
+    /**
+     * Profiled queries each record their own profile, so they cannot share the default context.
+     */
+    private Context.Query defaultContext() {
+        if (defaultContext.profile().isEnabled()) return new Context.Query(transactionCtx, new Options.Query());
+        else return defaultContext;
+    }
+
+    private <T> FunctionalIterator<T> profiled(FunctionalIterator<T> answers, TypeQLQuery query, Context.Query context) {
+        if (!context.profile().isEnabled()) return answers;
+        else return answers.onConsumed(() -> logProfile(query, context));
+    }
+
+    private void logProfile(TypeQLQuery query, Context.Query context) {
+        QueryProfile profile = context.profile();
+        if (!profile.isEnabled()) return;
+        if (profile.elapsedMillis() >= context.options().profileSlowQueryMillis()) {
+            LOG.info("Slow query:\n{}\n{}", query, profile);
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("Profiled query:\n{}\n{}", query, profile);
+        }
+    }
 }
@@ -20,18 +20,24 @@ package com.vaticle.typedb.core.query;
 
 import com.vaticle.factory.tracing.client.FactoryTracingThreadStatic;
 import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Context;
 import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.thing.Thing;
 import com.vaticle.typedb.core.pattern.variable.ThingVariable;
 import com.vaticle.typedb.core.pattern.variable.VariableRegistry;
+import com.vaticle.typedb.core.query.common.AnswerBuffer;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typeql.lang.pattern.variable.UnboundVariable;
 import com.vaticle.typeql.lang.query.TypeQLUpdate;
 
+import javax.annotation.Nullable;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.vaticle.factory.tracing.client.FactoryTracingThreadStatic.traceOnThread;
@@ -81,7 +87,8 @@ public class Updater {
 
     public FunctionalIterator<ConceptMap> execute() {
         try (FactoryTracingThreadStatic.ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "execute")) {
-            return context.options().parallel() ? executeParallel() : executeSerial();
+            if (context.options().boundedWrites()) return executeBounded();
+            else return context.options().parallel() ? executeParallel() : executeSerial();
         }
     }
 
@@ -102,8 +109,32 @@ public class Updater {
         return iterate(answers);
     }
 
+    /**
+     * Every answer is matched before any is updated, as the match reads the writes of the transaction. Both the
+     * matched and the updated answers are spilled to disk beyond a bounded number, and are read back with the things
+     * deleted since they were spilled, as they are held in memory when the writes are not bounded.
+     */
+    private FunctionalIterator<ConceptMap> executeBounded() {
+        Map<ByteArray, Thing> deleted = new HashMap<>();
+        AnswerBuffer matches = new AnswerBuffer(conceptMgr, context.options().spillDir(), deleted::get);
+        AnswerBuffer updates = new AnswerBuffer(conceptMgr, context.options().spillDir(), deleted::get);
+        try {
+            matcher.execute(context).onError(conceptMgr::exception).forEachRemaining(matches::add);
+            matches.iterator().forEachRemaining(matched -> updates.add(executeUpdate(matched, deleted)));
+            return updates.iterator();
+        } catch (RuntimeException e) {
+            matches.delete();
+            updates.delete();
+            throw e;
+        }
+    }
+
     private ConceptMap executeUpdate(ConceptMap matched) {
-        new Deleter.Operation(matched, deleteVariables).executeInPlace();
+        return executeUpdate(matched, null);
+    }
+
+    private ConceptMap executeUpdate(ConceptMap matched, @Nullable Map<ByteArray, Thing> deleted) {
+        new Deleter.Operation(matched, deleteVariables, deleted).executeInPlace();
         return new Inserter.Operation(conceptMgr, matched, insertVariables).execute();
     }
 }
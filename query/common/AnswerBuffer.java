@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query.common;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.reasoner.common.AnswerCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+
+/**
+ * Answers in the order they were added, held in memory up to the spill threshold. Once the buffer fills up, it is
+ * written to a file in the spill directory, so that any number of answers is held in bounded memory. The answers are
+ * read back in the same order, and each file is deleted once it is read, or once the answers are recycled. Spilled
+ * answers are read back through an {@link AnswerCodec}, so they are resolved to concepts only as they are read, and
+ * things deleted since they were spilled are dropped, unless the buffer is given the deleted things to read back.
+ */
+public class AnswerBuffer {
+
+    public static final int DEFAULT_SPILL_THRESHOLD = 10_000;
+    private static final String SPILL_FILE_PREFIX = "typedb-answers-";
+
+    private final AnswerCodec codec;
+    private final int spillThreshold;
+    private final Path spillDir;
+    private final Deque<Path> spilled;
+    private List<ConceptMap> buffer;
+
+    public AnswerBuffer(ConceptManager conceptMgr, Path spillDir) {
+        this(conceptMgr, DEFAULT_SPILL_THRESHOLD, spillDir);
+    }
+
+    public AnswerBuffer(ConceptManager conceptMgr, Path spillDir, Function<ByteArray, Thing> deletedThings) {
+        this(conceptMgr, DEFAULT_SPILL_THRESHOLD, spillDir, deletedThings);
+    }
+
+    public AnswerBuffer(ConceptManager conceptMgr, int spillThreshold, Path spillDir) {
+        this(conceptMgr, spillThreshold, spillDir, iid -> null);
+    }
+
+    public AnswerBuffer(ConceptManager conceptMgr, int spillThreshold, Path spillDir,
+                        Function<ByteArray, Thing> deletedThings) {
+        this.codec = new AnswerCodec(conceptMgr, deletedThings);
+        this.spillThreshold = spillThreshold;
+        this.spillDir = spillDir;
+        this.spilled = new ArrayDeque<>();
+        this.buffer = new ArrayList<>();
+    }
+
+    public void add(ConceptMap answer) {
+        buffer.add(answer);
+        if (buffer.size() == spillThreshold) spill();
+    }
+
+    private void spill() {
+        try {
+            Files.createDirectories(spillDir);
+            Path file = Files.createTempFile(spillDir, SPILL_FILE_PREFIX, null);
+            spilled.add(file);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                for (ConceptMap answer : buffer) codec.write(output, answer);
+            }
+            buffer = new ArrayList<>();
+        } catch (IOException e) {
+            delete();
+            throw TypeDBException.of(e);
+        }
+    }
+
+    /**
+     * Read back the answers in the order they were added, after which no more answers may be added.
+     */
+    public FunctionalIterator<ConceptMap> iterator() {
+        if (spilled.isEmpty()) return iterate(buffer);
+        else return new SpilledIterator();
+    }
+
+    public void delete() {
+        try {
+            for (Path file : spilled) Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw TypeDBException.of(e);
+        } finally {
+            spilled.clear();
+            buffer = new ArrayList<>();
+        }
+    }
+
+    private class SpilledIterator extends AbstractFunctionalIterator<ConceptMap> {
+
+        private final Iterator<ConceptMap> buffered;
+        private DataInputStream input;
+        private ConceptMap next;
+
+        private SpilledIterator() {
+            this.buffered = buffer.iterator();
+            this.input = null;
+            this.next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) next = fetchNext();
+            return next != null;
+        }
+
+        private ConceptMap fetchNext() {
+            try {
+                while (!spilled.isEmpty()) {
+                    if (input == null) {
+                        input = new DataInputStream(new BufferedInputStream(Files.newInputStream(spilled.peekFirst())));
+                    }
+                    try {
+                        return codec.read(input);
+                    } catch (EOFException e) {
+                        input.close();
+                        input = null;
+                        Files.deleteIfExists(spilled.removeFirst());
+                    }
+                }
+            } catch (IOException e) {
+                recycle();
+                throw TypeDBException.of(e);
+            }
+            return buffered.hasNext() ? buffered.next() : null;
+        }
+
+        @Override
+        public ConceptMap next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            ConceptMap answer = next;
+            next = null;
+            return answer;
+        }
+
+        @Override
+        public void recycle() {
+            try {
+                if (input != null) input.close();
+            } catch (IOException e) {
+                throw TypeDBException.of(e);
+            } finally {
+                input = null;
+                delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,507 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query.common;
+
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.concept.answer.Numeric;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
+
+/**
+ * Calculators for quantiles (eg. the median) over a stream of numbers, holding values in primitive arrays rather than
+ * as boxed {@code Numeric}s.
+ */
+public abstract class Quantile {
+
+    long count = 0;
+
+    public static Quantile.Exact exact(Path spillDir) {
+        return new Exact(Exact.DEFAULT_SPILL_THRESHOLD, spillDir);
+    }
+
+    public static Quantile.Approximate approximate() {
+        return new Approximate(Approximate.DEFAULT_ACCURACY);
+    }
+
+    public void add(Numeric numeric) {
+        if (numeric.isLong()) add(numeric.asLong());
+        else add(numeric.asDouble());
+    }
+
+    public abstract void add(long value);
+
+    public abstract void add(double value);
+
+    public abstract Quantile merge(Quantile other);
+
+    public long count() {
+        return count;
+    }
+
+    public abstract Numeric median();
+
+    public void close() {
+    }
+
+    public boolean isExact() {
+        return false;
+    }
+
+    public Exact asExact() {
+        throw TypeDBException.of(ILLEGAL_OPERATION);
+    }
+
+    public boolean isApproximate() {
+        return false;
+    }
+
+    public Approximate asApproximate() {
+        throw TypeDBException.of(ILLEGAL_OPERATION);
+    }
+
+    /**
+     * Encode a double into a long, such that the signed order of the longs is the order of the doubles
+     */
+    static long sortable(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    static double unsortable(long sortable) {
+        return Double.longBitsToDouble(sortable ^ ((sortable >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Exact quantiles over all values, held in a primitive buffer. Once the buffer reaches its spill threshold, it is
+     * sorted and written to a file in the spill directory, and quantiles are selected by merging the sorted runs.
+     * Values are held as longs until the first double is seen, after which all values are held as sortable doubles.
+     */
+    public static class Exact extends Quantile {
+
+        static final int DEFAULT_SPILL_THRESHOLD = 1 << 20;
+        private static final int INITIAL_CAPACITY = 64;
+        private static final String SPILL_FILE_PREFIX = "typedb-quantile-";
+
+        private final int spillThreshold;
+        private final Path spillDir;
+        private final List<SpilledRun> spilledRuns;
+        private long[] buffer;
+        private int size;
+        private boolean isDouble;
+
+        Exact(int spillThreshold, Path spillDir) {
+            this.spillThreshold = spillThreshold;
+            this.spillDir = spillDir;
+            this.spilledRuns = new ArrayList<>();
+            this.buffer = new long[INITIAL_CAPACITY];
+            this.size = 0;
+            this.isDouble = false;
+        }
+
+        @Override
+        public void add(long value) {
+            if (isDouble) append(sortable((double) value));
+            else append(value);
+        }
+
+        @Override
+        public void add(double value) {
+            if (!isDouble) convertToDouble();
+            append(sortable(value));
+        }
+
+        private void append(long value) {
+            if (size == spillThreshold) spill();
+            else if (size == buffer.length) buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, spillThreshold));
+            buffer[size++] = value;
+            count++;
+        }
+
+        private void convertToDouble() {
+            for (int i = 0; i < size; i++) buffer[i] = sortable((double) buffer[i]);
+            isDouble = true;
+        }
+
+        private void spill() {
+            Arrays.sort(buffer, 0, size);
+            try {
+                Files.createDirectories(spillDir);
+                Path file = Files.createTempFile(spillDir, SPILL_FILE_PREFIX, null);
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                    for (int i = 0; i < size; i++) output.writeLong(buffer[i]);
+                }
+                spilledRuns.add(new SpilledRun(file, size, isDouble));
+                size = 0;
+            } catch (IOException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public Exact merge(Quantile other) {
+            Exact exact = other.asExact();
+            if (!isDouble && (exact.isDouble || exact.spilledRuns.stream().anyMatch(run -> run.isDouble))) {
+                convertToDouble();
+            }
+            spilledRuns.addAll(exact.spilledRuns);
+            count += exact.count - exact.size;
+            for (int i = 0; i < exact.size; i++) {
+                if (exact.isDouble) add(unsortable(exact.buffer[i]));
+                else add(exact.buffer[i]);
+            }
+            exact.spilledRuns.clear();
+            return this;
+        }
+
+        @Override
+        public Numeric median() {
+            if (count == 0) return Numeric.ofNaN();
+            long lower = (count - 1) / 2;
+            long upper = count / 2;
+            long[] selected = select(lower, upper);
+            if (lower == upper) {
+                return isDouble ? Numeric.ofDouble(unsortable(selected[0])) : Numeric.ofLong(selected[0]);
+            } else {
+                return Numeric.ofDouble((doubleValue(selected[0]) + doubleValue(selected[1])) / 2);
+            }
+        }
+
+        /**
+         * @return the value with the given fraction of all values below it, using the nearest rank
+         */
+        public Numeric quantile(double fraction) {
+            if (fraction < 0 || fraction > 1) throw TypeDBException.of(ILLEGAL_ARGUMENT);
+            if (count == 0) return Numeric.ofNaN();
+            long rank = Math.max(0, (long) Math.ceil(fraction * count) - 1);
+            long selected = select(rank, rank)[0];
+            return isDouble ? Numeric.ofDouble(unsortable(selected)) : Numeric.ofLong(selected);
+        }
+
+        private double doubleValue(long value) {
+            return isDouble ? unsortable(value) : (double) value;
+        }
+
+        private long[] select(long lower, long upper) {
+            assert lower <= upper && upper < count;
+            Arrays.sort(buffer, 0, size);
+            if (spilledRuns.isEmpty()) return new long[]{buffer[(int) lower], buffer[(int) upper]};
+
+            PriorityQueue<RunCursor> cursors = new PriorityQueue<>();
+            try {
+                if (size > 0) cursors.add(new BufferCursor(buffer, size));
+                for (SpilledRun run : spilledRuns) {
+                    cursors.add(new SpilledRunCursor(run, isDouble && !run.isDouble));
+                }
+                long[] selected = new long[2];
+                for (long rank = 0; rank <= upper; rank++) {
+                    RunCursor cursor = cursors.poll();
+                    assert cursor != null;
+                    if (rank == lower) selected[0] = cursor.value;
+                    if (rank == upper) selected[1] = cursor.value;
+                    if (cursor.advance()) cursors.add(cursor);
+                    else cursor.close();
+                }
+                return selected;
+            } catch (IOException e) {
+                throw TypeDBException.of(e);
+            } finally {
+                cursors.forEach(RunCursor::close);
+            }
+        }
+
+        /**
+         * Delete any values spilled to disk. The calculator should not be used after it is closed.
+         */
+        @Override
+        public void close() {
+            spilledRuns.forEach(run -> run.file.toFile().delete());
+            spilledRuns.clear();
+        }
+
+        @Override
+        public boolean isExact() {
+            return true;
+        }
+
+        @Override
+        public Exact asExact() {
+            return this;
+        }
+
+        private static class SpilledRun {
+
+            private final Path file;
+            private final int size;
+            private final boolean isDouble;
+
+            private SpilledRun(Path file, int size, boolean isDouble) {
+                this.file = file;
+                this.size = size;
+                this.isDouble = isDouble;
+            }
+        }
+
+        private static abstract class RunCursor implements Comparable<RunCursor> {
+
+            long value;
+
+            abstract boolean advance() throws IOException;
+
+            void close() {
+            }
+
+            @Override
+            public int compareTo(RunCursor other) {
+                return Long.compare(value, other.value);
+            }
+        }
+
+        private static class BufferCursor extends RunCursor {
+
+            private final long[] buffer;
+            private final int size;
+            private int index;
+
+            private BufferCursor(long[] buffer, int size) {
+                assert size > 0;
+                this.buffer = buffer;
+                this.size = size;
+                this.index = 0;
+                this.value = buffer[0];
+            }
+
+            @Override
+            boolean advance() {
+                if (++index >= size) return false;
+                value = buffer[index];
+                return true;
+            }
+        }
+
+        private static class SpilledRunCursor extends RunCursor {
+
+            private final DataInputStream input;
+            private final boolean convertToDouble;
+            private int remaining;
+
+            private SpilledRunCursor(SpilledRun run, boolean convertToDouble) throws IOException {
+                assert run.size > 0;
+                this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file)));
+                this.convertToDouble = convertToDouble;
+                this.remaining = run.size;
+                advance();
+            }
+
+            @Override
+            boolean advance() throws IOException {
+                if (remaining == 0) return false;
+                long next = input.readLong();
+                value = convertToDouble ? sortable((double) next) : next;
+                remaining--;
+                return true;
+            }
+
+            @Override
+            void close() {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    throw TypeDBException.of(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Approximate quantiles in bounded memory, using a KLL sketch: a hierarchy of buffers where each value in level
+     * h stands for 2^h original values. When the sketch exceeds its capacity, the lowest full level is sorted and
+     * every other value is promoted to the next level. Lower levels get geometrically smaller capacities, so the
+     * sketch holds O(accuracy) values, and the rank error of a quantile is approximately 1.7 / accuracy.
+     */
+    public static class Approximate extends Quantile {
+
+        static final int DEFAULT_ACCURACY = 200;
+        private static final int MIN_LEVEL_CAPACITY = 2;
+        private static final double LEVEL_CAPACITY_DECAY = 2.0 / 3.0;
+
+        private final int accuracy;
+        private final List<Level> levels;
+
+        Approximate(int accuracy) {
+            this.accuracy = accuracy;
+            this.levels = new ArrayList<>();
+            this.levels.add(new Level());
+        }
+
+        @Override
+        public void add(long value) {
+            add((double) value);
+        }
+
+        @Override
+        public void add(double value) {
+            levels.get(0).add(value);
+            count++;
+            mayCompress();
+        }
+
+        @Override
+        public Approximate merge(Quantile other) {
+            Approximate approximate = other.asApproximate();
+            for (int h = 0; h < approximate.levels.size(); h++) {
+                if (h == levels.size()) levels.add(new Level());
+                Level from = approximate.levels.get(h);
+                for (int i = 0; i < from.size; i++) levels.get(h).add(from.values[i]);
+            }
+            count += approximate.count;
+            mayCompress();
+            return this;
+        }
+
+        private void mayCompress() {
+            while (size() >= capacity()) {
+                for (int h = 0; h < levels.size(); h++) {
+                    if (levels.get(h).size >= levelCapacity(h)) {
+                        compact(h);
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void compact(int height) {
+            if (height + 1 == levels.size()) levels.add(new Level());
+            Level level = levels.get(height);
+            Level next = levels.get(height + 1);
+            Arrays.sort(level.values, 0, level.size);
+            int pairs = level.size / 2;
+            int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+            for (int i = 0; i < pairs; i++) next.add(level.values[2 * i + offset]);
+            if (level.size % 2 == 1) {
+                level.values[0] = level.values[level.size - 1];
+                level.size = 1;
+            } else level.size = 0;
+        }
+
+        private int size() {
+            return levels.stream().mapToInt(level -> level.size).sum();
+        }
+
+        private int capacity() {
+            int capacity = 0;
+            for (int h = 0; h < levels.size(); h++) capacity += levelCapacity(h);
+            return capacity;
+        }
+
+        private int levelCapacity(int height) {
+            int depth = levels.size() - height - 1;
+            return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(accuracy * Math.pow(LEVEL_CAPACITY_DECAY, depth)));
+        }
+
+        @Override
+        public Numeric median() {
+            return quantile(0.5);
+        }
+
+        /**
+         * @return a value with approximately the given fraction of all values below it
+         */
+        public Numeric quantile(double fraction) {
+            if (fraction < 0 || fraction > 1) throw TypeDBException.of(ILLEGAL_ARGUMENT);
+            if (count == 0) return Numeric.ofNaN();
+            int size = size();
+            double[] values = new double[size];
+            long[] weights = new long[size];
+            int i = 0;
+            for (int h = 0; h < levels.size(); h++) {
+                Level level = levels.get(h);
+                Arrays.sort(level.values, 0, level.size);
+                for (int j = 0; j < level.size; j++) {
+                    values[i] = level.values[j];
+                    weights[i] = 1L << h;
+                    i++;
+                }
+            }
+            sortByValue(values, weights);
+            double target = fraction * count;
+            long cumulative = 0;
+            for (i = 0; i < size; i++) {
+                cumulative += weights[i];
+                if (cumulative >= target) return Numeric.ofDouble(values[i]);
+            }
+            return Numeric.ofDouble(values[size - 1]);
+        }
+
+        private static void sortByValue(double[] values, long[] weights) {
+            // sketches are small, so an insertion sort over the concatenated sorted levels is sufficient
+            for (int i = 1; i < values.length; i++) {
+                double value = values[i];
+                long weight = weights[i];
+                int j = i - 1;
+                while (j >= 0 && values[j] > value) {
+                    values[j + 1] = values[j];
+                    weights[j + 1] = weights[j];
+                    j--;
+                }
+                values[j + 1] = value;
+                weights[j + 1] = weight;
+            }
+        }
+
+        @Override
+        public boolean isApproximate() {
+            return true;
+        }
+
+        @Override
+        public Approximate asApproximate() {
+            return this;
+        }
+
+        private static class Level {
+
+            private double[] values;
+            private int size;
+
+            private Level() {
+                values = new double[MIN_LEVEL_CAPACITY];
+                size = 0;
+            }
+
+            private void add(double value) {
+                if (size == values.length) values = Arrays.copyOf(values, values.length * 2);
+                values[size++] = value;
+            }
+        }
+    }
+}
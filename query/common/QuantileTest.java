@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query.common;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Comparator.reverseOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QuantileTest {
+
+    private static final int SPILL_THRESHOLD = 100;
+
+    private Path spillDir;
+
+    @Before
+    public void setup() throws IOException {
+        spillDir = Files.createTempDirectory("quantile-test").resolve("spill");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.walk(spillDir.getParent()).sorted(reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+
+    private static List<Long> shuffledLongs(int size) {
+        List<Long> values = new ArrayList<>();
+        for (long i = 0; i < size; i++) values.add(i * 3 - size);
+        Collections.shuffle(values, new Random(0));
+        return values;
+    }
+
+    private static double median(List<? extends Number> values) {
+        List<Double> sorted = new ArrayList<>();
+        values.forEach(value -> sorted.add(value.doubleValue()));
+        Collections.sort(sorted);
+        int size = sorted.size();
+        return (sorted.get((size - 1) / 2) + sorted.get(size / 2)) / 2;
+    }
+
+    private int spilledFiles() throws IOException {
+        if (!spillDir.toFile().exists()) return 0;
+        return (int) Files.list(spillDir).count();
+    }
+
+    @Test
+    public void test_exact_median_in_memory() throws IOException {
+        List<Long> values = shuffledLongs(SPILL_THRESHOLD / 2 + 1);
+        Quantile.Exact exact = new Quantile.Exact(SPILL_THRESHOLD, spillDir);
+        values.forEach(exact::add);
+        assertEquals(0, spilledFiles());
+        assertEquals(values.size(), exact.count());
+        assertTrue(exact.median().isLong());
+        assertEquals((long) median(values), exact.median().asLong());
+        exact.close();
+    }
+
+    @Test
+    public void test_exact_median_of_even_count_is_mean_of_middle_values() {
+        Quantile.Exact exact = new Quantile.Exact(SPILL_THRESHOLD, spillDir);
+        exact.add(4L);
+        exact.add(1L);
+        exact.add(2L);
+        exact.add(7L);
+        assertEquals(3.0, exact.median().asNumber().doubleValue(), 0);
+        exact.close();
+    }
+
+    @Test
+    public void test_exact_median_of_nothing_is_nan() {
+        Quantile.Exact exact = new Quantile.Exact(SPILL_THRESHOLD, spillDir);
+        assertTrue(exact.median().isNaN());
+        exact.close();
+    }
+
+    @Test
+    public void test_exact_median_spilled() throws IOException {
+        List<Long> values = shuffledLongs(SPILL_THRESHOLD * 5 + 7);
+        Quantile.Exact exact = new Quantile.Exact(SPILL_THRESHOLD, spillDir);
+        values.forEach(exact::add);
+        assertEquals(5, spilledFiles());
+        assertEquals(values.size(), exact.count());
+        assertEquals(median(values), exact.median().asNumber().doubleValue(), 0);
+        exact.close();
+        assertEquals(0, spilledFiles());
+    }
+
+    @Test
+    public void test_exact_quantiles_spilled() {
+        List<Long> values = shuffledLongs(SPILL_THRESHOLD * 3);
+        Quantile.Exact exact = new Quantile.Exact(SPILL_THRESHOLD, spillDir);
+        values.forEach(exact::add);
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        assertEquals((long) sorted.get(0), exact.quantile(0).asLong());
+        assertEquals((long) sorted.get(74), exact.quantile(0.25).asLong());
+        assertEquals((long) sorted.get(224), exact.quantile(0.75).asLong());
+        assertEquals((long) sorted.get(sorted.size() - 1), exact.quantile(1).asLong());
+        exact.close();
+    }
+
+    @Test
+    public void test_exact_median_spilled_as_longs_then_doubles() throws IOException {
+        List<Number> values = new ArrayList<>(shuffledLongs(SPILL_THRESHOLD * 2 + 1));
+        Quantile.Exact exact = new Quantile.Exact(SPILL_THRESHOLD, spillDir);
+        values.forEach(value -> exact.add(value.longValue()));
+        for (int i = 0; i < SPILL_THRESHOLD; i++) {
+            double value = i + 0.5;
+            values.add(value);
+            exact.add(value);
+        }
+        assertEquals(3, spilledFiles());
+        assertEquals(median(values), exact.median().asNumber().doubleValue(), 0);
+        exact.close();
+    }
+
+    @Test
+    public void test_exact_merged_spilled() throws IOException {
+        List<Long> values = shuffledLongs(SPILL_THRESHOLD * 4);
+        Quantile.Exact first = new Quantile.Exact(SPILL_THRESHOLD, spillDir);
+        Quantile.Exact second = new Quantile.Exact(SPILL_THRESHOLD, spillDir);
+        for (int i = 0; i < values.size(); i++) {
+            if (i % 3 == 0) first.add(values.get(i));
+            else second.add(values.get(i));
+        }
+        Quantile.Exact merged = first.merge(second);
+        assertEquals(values.size(), merged.count());
+        assertEquals(median(values), merged.median().asNumber().doubleValue(), 0);
+        merged.close();
+        assertEquals(0, spilledFiles());
+    }
+
+    @Test
+    public void test_approximate_median_is_within_rank_error() {
+        int size = 100_000;
+        List<Long> values = shuffledLongs(size);
+        Quantile.Approximate approximate = Quantile.approximate();
+        values.forEach(approximate::add);
+        assertEquals(size, approximate.count());
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        long median = approximate.median().asNumber().longValue();
+        int rank = Math.abs(Collections.binarySearch(sorted, median));
+        assertTrue(Math.abs(rank - size / 2) < size / 50);
+    }
+}
@@ -19,6 +19,7 @@
 package com.vaticle.typedb.core.reasoner;
 
 import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
@@ -27,21 +28,27 @@ import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Context;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.type.AttributeType;
 import com.vaticle.typedb.core.concept.type.ThingType;
 import com.vaticle.typedb.core.concurrent.producer.Producer;
 import com.vaticle.typedb.core.concurrent.producer.Producers;
+import com.vaticle.typedb.core.graph.ThingGraph;
 import com.vaticle.typedb.core.logic.LogicManager;
 import com.vaticle.typedb.core.logic.resolvable.Concludable;
 import com.vaticle.typedb.core.pattern.Conjunction;
 import com.vaticle.typedb.core.pattern.Disjunction;
 import com.vaticle.typedb.core.pattern.Negation;
+import com.vaticle.typedb.core.pattern.variable.ThingVariable;
 import com.vaticle.typedb.core.pattern.variable.Variable;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
+import com.vaticle.typedb.core.reasoner.common.AnswerSorter;
+import com.vaticle.typedb.core.reasoner.common.ConcludableAnswerCache;
 import com.vaticle.typedb.core.reasoner.common.ReasonerPerfCounters;
 import com.vaticle.typedb.core.reasoner.controller.ControllerRegistry;
+import com.vaticle.typedb.core.reasoner.planner.ReasonerPlanCache;
 import com.vaticle.typedb.core.reasoner.planner.ReasonerPlanner;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
 import com.vaticle.typedb.core.traversal.common.Identifier;
@@ -49,6 +56,7 @@ import com.vaticle.typedb.core.traversal.common.Modifiers.Filter;
 import com.vaticle.typedb.core.traversal.common.Modifiers.Sorting;
 import com.vaticle.typeql.lang.query.TypeQLMatch;
 
+import javax.annotation.Nullable;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -84,14 +92,16 @@ public class Reasoner {
     private final ReasonerPlanner planner;
     private final ReasonerPerfCounters perfCounters;
 
-    public Reasoner(ConceptManager conceptMgr, LogicManager logicMgr,
-                    TraversalEngine traversalEng, Context.Transaction context) {
+    public Reasoner(ConceptManager conceptMgr, LogicManager logicMgr, TraversalEngine traversalEng,
+                    ReasonerPlanCache planCache, @Nullable ConcludableAnswerCache.Recorder answerRecorder,
+                    Context.Transaction context) {
         this.conceptMgr = conceptMgr;
         this.traversalEng = traversalEng;
         this.logicMgr = logicMgr;
         this.perfCounters = new ReasonerPerfCounters(context.options().infer() && context.options().reasonerPerfCounters());
-        this.planner = ReasonerPlanner.create(traversalEng, conceptMgr, logicMgr, perfCounters, context.options().explain());
-        this.controllerRegistry = new ControllerRegistry(actor(), traversalEng, conceptMgr, logicMgr, planner, perfCounters, context);
+        this.planner = ReasonerPlanner.create(traversalEng, conceptMgr, logicMgr, perfCounters, context.options().explain(), planCache);
+        this.controllerRegistry = new ControllerRegistry(actor(), traversalEng, conceptMgr, logicMgr, planner, perfCounters,
+                answerRecorder, context);
         this.explainablesManager = new ExplainablesManager();
     }
 
@@ -109,13 +119,13 @@ public class Reasoner {
         if (answerableDisjunction.conjunctions().isEmpty()) return empty();
         else if (mayReason(answerableDisjunction, context)) {
             answers = executeReasoner(answerableDisjunction, filter, context);
-            if (sorting.isPresent()) answers = eagerSort(answers, sorting.get());
+            if (sorting.isPresent()) answers = eagerSort(answers, sorting.get(), modifiers, context);
         } else if (sorting.isPresent() && isNativelySortable(answerableDisjunction, sorting.get())) {
-            answers = executeTraversalSorted(answerableDisjunction, filter, sorting.get());
+            answers = executeTraversalSorted(answerableDisjunction, filter, sorting.get(), context.options().parallel(), context.profile());
         } else {
             if (sorting.isPresent()) {
                 answers = executeTraversal(answerableDisjunction, context.producer(Either.first(EXHAUSTIVE)), filter);
-                answers = eagerSort(answers, sorting.get());
+                answers = eagerSort(answers, sorting.get(), modifiers, context);
             } else if (modifiers.limit().isPresent()) {
                 answers = executeTraversal(answerableDisjunction, context.producer(Either.second(modifiers.offset().orElse(0L) + modifiers.limit().get())), filter);
             } else {
@@ -128,6 +138,104 @@ public class Reasoner {
         return answers;
     }
 
+    /**
+     * Execute a disjunction with its answers ordered by the given sorting, if the traversal can produce that order
+     * natively, so that consumers can process the answers incrementally rather than materialising them.
+     *
+     * @return the ordered answers, or empty if the order could only be achieved by eagerly sorting all answers
+     */
+    public Optional<FunctionalIterator<? extends ConceptMap>> executeNativelySorted(Disjunction disjunction, Filter filter,
+                                                                                   Sorting sorting, Context.Query context) {
+        inferAndValidateTypes(disjunction);
+        // answers that are not comparable in the sort order can still be consumed unordered, by the caller
+        if (incomparableSortTypes(disjunction, sorting).isPresent()) return Optional.empty();
+        Disjunction answerableDisjunction = filterUnanswerable(disjunction);
+        if (answerableDisjunction.conjunctions().isEmpty()) return Optional.of(empty());
+        else if (mayReason(answerableDisjunction, context) || !isNativelySortable(answerableDisjunction, sorting)) {
+            return Optional.empty();
+        } else return Optional.of(executeTraversalSorted(answerableDisjunction, filter, sorting, context.options().parallel(), context.profile()));
+    }
+
+    /**
+     * Execute a disjunction as a producer of answers on the async pool, for consumers that process the answers in
+     * any order, so that they can consume them in each worker in parallel, rather than through a single iterator.
+     *
+     * @return the producer, or empty if the answers must be reasoned, modified, made distinct across conjunctions,
+     * or if the query is not parallel
+     */
+    public Optional<Producer<ConceptMap>> executeProducer(Disjunction disjunction, TypeQLMatch.Modifiers modifiers,
+                                                          Context.Query context) {
+        if (!context.options().parallel() || modifiers.sort().isPresent() || modifiers.offset().isPresent() ||
+                modifiers.limit().isPresent()) {
+            return Optional.empty();
+        }
+        inferAndValidateTypes(disjunction);
+        Disjunction answerableDisjunction = filterUnanswerable(disjunction);
+        if (answerableDisjunction.conjunctions().isEmpty()) return Optional.of(Producers.empty());
+        else if (answerableDisjunction.conjunctions().size() > 1 || mayReason(answerableDisjunction, context)) {
+            return Optional.empty();
+        } else {
+            Filter filter = Filter.create(modifiers.filter());
+            return Optional.of(producer(answerableDisjunction.conjunctions().get(0), filter, context.profile()));
+        }
+    }
+
+    /**
+     * Answer a count directly from the thing graph statistics, rather than enumerating the answers. This is possible
+     * when the query retrieves all instances of its inferred types, or all ownerships between an owner and an
+     * attribute variable, without reasoning, and when the statistics are exact in the current snapshot.
+     *
+     * @return the number of answers, or empty if the answers have to be counted by the caller
+     */
+    public Optional<Long> countFromStatistics(Disjunction disjunction, TypeQLMatch.Modifiers modifiers, Context.Query context) {
+        if (disjunction.conjunctions().size() != 1 || modifiers.offset().isPresent() || modifiers.limit().isPresent()) {
+            return Optional.empty();
+        }
+        Conjunction conjunction = disjunction.conjunctions().get(0);
+        Filter filter = Filter.create(modifiers.filter());
+        if (!isStatisticsCountable(conjunction, filter)) return Optional.empty();
+
+        inferAndValidateTypes(disjunction);
+        if (!conjunction.isAnswerable()) return Optional.of(0L);
+        else if (mayReason(disjunction, context)) return Optional.empty();
+
+        ThingGraph.Statistics statistics = traversalEng.graph().data().stats();
+        if (!statistics.isExact()) return Optional.empty();
+        Optional<ThingVariable> owner = iterate(conjunction.variables()).filter(v -> v.isThing() && !v.asThing().has().isEmpty())
+                .map(Variable::asThing).first();
+        if (owner.isPresent()) {
+            ThingVariable attribute = owner.get().has().iterator().next().attribute();
+            return Optional.of(cartesian(list(iterate(owner.get().inferredTypes()), iterate(attribute.inferredTypes())))
+                    .map(types -> statistics.hasEdgeCount(types.get(0), types.get(1))).reduce(0L, Long::sum));
+        } else {
+            ThingVariable thing = iterate(conjunction.variables()).filter(Variable::isThing).map(Variable::asThing).next();
+            return Optional.of(iterate(thing.inferredTypes()).map(statistics::thingVertexCount).reduce(0L, Long::sum));
+        }
+    }
+
+    private boolean isStatisticsCountable(Conjunction conjunction, Filter filter) {
+        if (!conjunction.negations().isEmpty()) return false;
+        Set<ThingVariable> things = new HashSet<>();
+        for (Variable variable : conjunction.variables()) {
+            if (variable.isThing() && variable.id().isName()) things.add(variable.asThing());
+            else if (!variable.isType() || !variable.id().isLabel() ||
+                    !iterate(variable.constraints()).allMatch(c -> c.asType().isLabel())) {
+                return false;
+            }
+        }
+        if (!filter.variables().isEmpty() && !filter.variables().equals(iterate(things).map(ThingVariable::id).toSet())) {
+            return false;
+        }
+        for (ThingVariable thing : things) {
+            if (thing.iid().isPresent() || thing.relation().isPresent() || !thing.is().isEmpty() ||
+                    !thing.predicates().isEmpty()) {
+                return false;
+            }
+        }
+        int hasCount = iterate(things).map(thing -> thing.has().size()).reduce(0, Integer::sum);
+        return (things.size() == 1 && hasCount == 0) || (things.size() == 2 && hasCount == 1);
+    }
+
     private Disjunction filterUnanswerable(Disjunction disjunction) {
         return new Disjunction(iterate(disjunction.conjunctions()).filter(Conjunction::isAnswerable).toList());
     }
@@ -158,6 +266,16 @@ public class Reasoner {
     }
 
     private void validateSorting(Disjunction disjunction, Sorting sorting) {
+        Optional<Pair<Identifier.Variable.Retrievable, List<AttributeType>>> incomparable =
+                incomparableSortTypes(disjunction, sorting);
+        if (incomparable.isPresent()) {
+            throw TypeDBException.of(SORT_ATTRIBUTE_NOT_COMPARABLE, incomparable.get().first(),
+                    incomparable.get().second().get(0).getLabel(), incomparable.get().second().get(1).getLabel());
+        }
+    }
+
+    private Optional<Pair<Identifier.Variable.Retrievable, List<AttributeType>>> incomparableSortTypes(
+            Disjunction disjunction, Sorting sorting) {
         Map<Identifier.Variable.Retrievable, HashSet<AttributeType>> sortAttrTypes = new HashMap<>();
         sorting.variables().forEach(id -> disjunction.conjunctions().forEach(conjunction -> {
             Variable variable = conjunction.variable(id);
@@ -169,13 +287,11 @@ public class Reasoner {
                 });
             }
         }));
-        sortAttrTypes.forEach((var, attrTypes) -> {
-            Optional<List<AttributeType>> incomparable = cartesian(list(iterate(attrTypes), iterate(attrTypes)))
-                    .filter(list -> !list.get(0).getValueType().comparables().contains(list.get(1).getValueType())).first();
-            if (incomparable.isPresent()) {
-                throw TypeDBException.of(SORT_ATTRIBUTE_NOT_COMPARABLE, var, incomparable.get().get(0).getLabel(), incomparable.get().get(1).getLabel());
-            }
-        });
+        return iterate(sortAttrTypes.entrySet()).flatMap(
+                entry -> cartesian(list(iterate(entry.getValue()), iterate(entry.getValue())))
+                        .filter(list -> !list.get(0).getValueType().comparables().contains(list.get(1).getValueType()))
+                        .map(list -> new Pair<>(entry.getKey(), list))
+        ).first();
     }
 
     private boolean mayReason(Disjunction disjunction, Context.Query context) {
@@ -215,9 +331,24 @@ public class Reasoner {
         return true;
     }
 
-    private FunctionalIterator<? extends ConceptMap> eagerSort(FunctionalIterator<? extends ConceptMap> answers, Sorting sorting) {
+    /**
+     * Sort answers that cannot be produced in order. Limited queries only retain the answers they can return, while
+     * unbounded sorts spill to disk rather than holding every answer on the heap. Spilled answers are re-read from
+     * storage, and so lose their explainables: sorts requiring explanations are held in memory.
+     */
+    private FunctionalIterator<? extends ConceptMap> eagerSort(FunctionalIterator<? extends ConceptMap> answers, Sorting sorting,
+                                                               TypeQLMatch.Modifiers modifiers, Context.Query context) {
         Comparator<ConceptMap> comparator = ConceptMap.Comparator.create(sorting);
-        return iterate(answers.stream().sorted(comparator).iterator());
+        if (modifiers.limit().isPresent()) {
+            long retained = modifiers.offset().orElse(0L) + modifiers.limit().get();
+            if (retained <= AnswerSorter.DEFAULT_SPILL_THRESHOLD) {
+                return AnswerSorter.topK(answers, comparator, (int) retained);
+            }
+        }
+        if (context.options().explain()) return iterate(answers.stream().sorted(comparator).iterator());
+        else return AnswerSorter.sort(
+                answers, comparator, conceptMgr, AnswerSorter.DEFAULT_SPILL_THRESHOLD, context.options().spillDir()
+        );
     }
 
     public FunctionalIterator<ConceptMap> executeReasoner(Disjunction disjunction, Filter filter, Context.Query context) {
@@ -230,29 +361,45 @@ public class Reasoner {
     public FunctionalIterator<ConceptMap> executeTraversal(Disjunction disjunction, Context.Query context, Filter filter) {
         FunctionalIterator<ConceptMap> answers;
         FunctionalIterator<Conjunction> conjs = iterate(disjunction.conjunctions());
-        if (!context.options().parallel()) answers = conjs.flatMap(conj -> iterator(conj, filter));
-        else answers = produce(conjs.map(c -> producer(c, filter)).toList(), context.producer(), async1());
+        QueryProfile profile = context.profile();
+        if (!context.options().parallel()) answers = conjs.flatMap(conj -> iterator(conj, filter, profile));
+        else answers = produce(conjs.map(c -> producer(c, filter, profile)).toList(), context.producer(), async1());
         if (disjunction.conjunctions().size() > 1) answers = answers.distinct();
         return answers;
     }
 
     public SortedIterator<ConceptMap.Sortable, Order.Asc> executeTraversalSorted(Disjunction disjunction, Filter filter,
                                                                                  Sorting sorting) {
-        // TODO: parallelised sorted queries
+        return executeTraversalSorted(disjunction, filter, sorting, false);
+    }
+
+    /**
+     * When parallel, each conjunction is traversed in partitions on the async pool, which are merged back into order
+     * as the answers are consumed. Partitions are produced in batches, so a limit stops the traversal early.
+     */
+    public SortedIterator<ConceptMap.Sortable, Order.Asc> executeTraversalSorted(Disjunction disjunction, Filter filter,
+                                                                                 Sorting sorting, boolean parallel) {
+        return executeTraversalSorted(disjunction, filter, sorting, parallel, QueryProfile.DISABLED);
+    }
+
+    private SortedIterator<ConceptMap.Sortable, Order.Asc> executeTraversalSorted(Disjunction disjunction, Filter filter, Sorting sorting,
+                                                                                  boolean parallel, QueryProfile profile) {
         FunctionalIterator<Conjunction> conjs = iterate(disjunction.conjunctions());
-        SortedIterator<ConceptMap.Sortable, Order.Asc> answers = conjs.mergeMap(conj -> iteratorSorted(conj, filter, sorting), ASC);
+        SortedIterator<ConceptMap.Sortable, Order.Asc> answers;
+        if (!parallel) answers = conjs.mergeMap(conj -> iteratorSorted(conj, filter, sorting, profile), ASC);
+        else answers = conjs.flatMap(conj -> iterate(iteratorsSorted(conj, filter, sorting, profile))).mergeMap(iter -> iter, ASC);
         if (disjunction.conjunctions().size() > 1) answers = answers.distinct();
         return answers;
     }
 
-    private Producer<ConceptMap> producer(Conjunction conjunction, Filter filter) {
+    private Producer<ConceptMap> producer(Conjunction conjunction, Filter filter, QueryProfile profile) {
         assert conjunction.isCoherent();
         if (!conjunction.isAnswerable()) return Producers.empty();
         if (conjunction.negations().isEmpty()) {
-            return traversalEng.producer(conjunction.traversal(filter), PARALLELISATION_FACTOR)
+            return traversalEng.producer(conjunction.traversal(filter), PARALLELISATION_FACTOR, profile)
                     .map(conceptMgr::conceptMap);
         } else {
-            return traversalEng.producer(conjunction.traversal(), PARALLELISATION_FACTOR)
+            return traversalEng.producer(conjunction.traversal(), PARALLELISATION_FACTOR, profile)
                     .map(conceptMgr::conceptMap).filter(answer -> !isNegated(answer, conjunction.negations()))
                     .map(answer -> answer.filter(filter)).distinct();
         }
@@ -271,21 +418,25 @@ public class Reasoner {
     }
 
     private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, Filter filter) {
+        return iterator(conjunction, filter, QueryProfile.DISABLED);
+    }
+
+    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, Filter filter, QueryProfile profile) {
         assert conjunction.isCoherent();
         if (!conjunction.isAnswerable()) return empty();
-        FunctionalIterator<ConceptMap> answers = traversalEng.iterator(conjunction.traversal(filter)).map(conceptMgr::conceptMap);
+        FunctionalIterator<ConceptMap> answers = traversalEng.iterator(conjunction.traversal(filter), profile).map(conceptMgr::conceptMap);
         if (conjunction.negations().isEmpty()) return answers;
         else {
-            return traversalEng.iterator(conjunction.traversal()).map(conceptMgr::conceptMap)
+            return traversalEng.iterator(conjunction.traversal(), profile).map(conceptMgr::conceptMap)
                     .filter(ans -> !isNegated(ans, conjunction.negations()))
                     .map(conceptMap -> conceptMap.filter(filter)).distinct();
         }
     }
 
     private SortedIterator<ConceptMap.Sortable, Order.Asc> iteratorSorted(Conjunction conjunction,
-                                                                          Filter filter, Sorting sorting) {
+                                                                          Filter filter, Sorting sorting, QueryProfile profile) {
         ConceptMap.Sortable.Comparator comparator = ConceptMap.Comparator.create(sorting);
-        SortedIterator<ConceptMap.Sortable, Order.Asc> answers = traversalEng.iterator(conjunction.traversal(filter, sorting))
+        SortedIterator<ConceptMap.Sortable, Order.Asc> answers = traversalEng.iterator(conjunction.traversal(filter, sorting), profile)
                 .mapSorted(vertexMap -> conceptMgr.conceptMapOrdered(vertexMap, comparator), ASC);
         if (conjunction.negations().isEmpty()) return answers;
         else {
@@ -294,6 +445,20 @@ public class Reasoner {
         }
     }
 
+    private List<SortedIterator<ConceptMap.Sortable, Order.Asc>> iteratorsSorted(Conjunction conjunction,
+                                                                                  Filter filter, Sorting sorting, QueryProfile profile) {
+        ConceptMap.Sortable.Comparator comparator = ConceptMap.Comparator.create(sorting);
+        return iterate(traversalEng.iterators(conjunction.traversal(filter, sorting), PARALLELISATION_FACTOR, profile)).map(partition -> {
+            FunctionalIterator<ConceptMap.Sortable> answers = partition.map(vertexMap -> conceptMgr.conceptMapOrdered(vertexMap, comparator));
+            if (!conjunction.negations().isEmpty()) {
+                answers = answers.filter(ans -> !isNegated(ans, conjunction.negations())).map(conceptMap -> conceptMap.filter(filter));
+            }
+            SortedIterator<ConceptMap.Sortable, Order.Asc> sorted = produce(Producers.async(answers), Either.first(INCREMENTAL), async1())
+                    .mapSorted(answer -> answer, ASC);
+            return conjunction.negations().isEmpty() ? sorted : sorted.distinct();
+        }).toList();
+    }
+
     private Conjunction bound(Conjunction conjunction, ConceptMap bounds, LogicManager logicMgr) {
         Conjunction clone = conjunction.clone();
         Map<Identifier.Variable.Retrievable, Either<Label, ByteArray>> converted = new HashMap<>();
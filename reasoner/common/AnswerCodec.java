@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner.common;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBCheckedException;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.concept.value.Value;
+import com.vaticle.typedb.core.concept.value.impl.ValueImpl;
+import com.vaticle.typedb.core.encoding.Encoding;
+import com.vaticle.typedb.core.graph.vertex.impl.ValueVertexImpl;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
+
+/**
+ * Writes answers to spill files and reads them back. Things are written by IID and read back through the concept
+ * manager, so the answers must be read within the transaction that wrote them. Things deleted since they were written
+ * are dropped from the answers read back, unless the codec is given the deleted things to read back instead. Values are written by value, and the variables and types of the answers
+ * are bounded by the query and the schema, so they are held in memory. Explanations are not written.
+ */
+public class AnswerCodec {
+
+    private static final byte THING = 0;
+    private static final byte INTERNED = 1;
+    private static final byte VALUE = 2;
+
+    private final ConceptManager conceptMgr;
+    private final Function<ByteArray, Thing> deletedThings;
+    private final List<Retrievable> retrievables;
+    private final Map<Retrievable, Integer> retrievableIndices;
+    private final List<Concept> interned;
+    private final Map<Concept, Integer> internedIndices;
+
+    public AnswerCodec(ConceptManager conceptMgr) {
+        this(conceptMgr, iid -> null);
+    }
+
+    /**
+     * @param deletedThings resolves the things deleted since the answers were written by their IID, or returns null
+     *                      for those to be dropped
+     */
+    public AnswerCodec(ConceptManager conceptMgr, Function<ByteArray, Thing> deletedThings) {
+        this.conceptMgr = conceptMgr;
+        this.deletedThings = deletedThings;
+        this.retrievables = new ArrayList<>();
+        this.retrievableIndices = new HashMap<>();
+        this.interned = new ArrayList<>();
+        this.internedIndices = new HashMap<>();
+    }
+
+    public void write(DataOutputStream output, ConceptMap answer) throws IOException {
+        output.writeInt(answer.concepts().size());
+        for (Map.Entry<Retrievable, ? extends Concept> entry : answer.concepts().entrySet()) {
+            output.writeInt(retrievableIndices.computeIfAbsent(entry.getKey(), id -> {
+                retrievables.add(id);
+                return retrievables.size() - 1;
+            }));
+            Concept concept = entry.getValue();
+            if (concept.isThing()) {
+                output.writeByte(THING);
+                byte[] iid = concept.asThing().getIID().getBytes();
+                output.writeShort(iid.length);
+                output.write(iid);
+            } else if (concept.isValue()) {
+                output.writeByte(VALUE);
+                writeValue(output, concept.asValue());
+            } else {
+                output.writeByte(INTERNED);
+                output.writeInt(internedIndices.computeIfAbsent(concept, c -> {
+                    interned.add(c);
+                    return interned.size() - 1;
+                }));
+            }
+        }
+    }
+
+    private void writeValue(DataOutputStream output, Value<?> value) throws IOException {
+        output.writeByte(value.valueType().key());
+        if (value.isBoolean()) output.writeBoolean(value.asBoolean().value());
+        else if (value.isLong()) output.writeLong(value.asLong().value());
+        else if (value.isDouble()) output.writeDouble(value.asDouble().value());
+        else if (value.isString()) {
+            byte[] bytes = value.asString().value().getBytes(STRING_ENCODING);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        } else if (value.isDateTime()) {
+            LocalDateTime dateTime = value.asDateTime().value();
+            output.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            output.writeInt(dateTime.getNano());
+        } else throw TypeDBException.of(ILLEGAL_STATE);
+    }
+
+    /**
+     * @throws java.io.EOFException if there are no more answers to read
+     */
+    public ConceptMap read(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        Map<Retrievable, Concept> concepts = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Retrievable id = retrievables.get(input.readInt());
+            byte kind = input.readByte();
+            if (kind == THING) {
+                byte[] iid = new byte[input.readUnsignedShort()];
+                input.readFully(iid);
+                Thing thing = conceptMgr.getThing(ByteArray.of(iid));
+                if (thing == null) thing = deletedThings.apply(ByteArray.of(iid));
+                if (thing != null) concepts.put(id, thing);
+            } else if (kind == VALUE) {
+                concepts.put(id, readValue(input));
+            } else if (kind == INTERNED) {
+                concepts.put(id, interned.get(input.readInt()));
+            } else throw TypeDBException.of(ILLEGAL_STATE);
+        }
+        return new ConceptMap(concepts);
+    }
+
+    private Value<?> readValue(DataInputStream input) throws IOException {
+        Encoding.ValueType<?> valueType = Encoding.ValueType.of(input.readByte());
+        try {
+            if (valueType == Encoding.ValueType.BOOLEAN) {
+                return ValueImpl.of(conceptMgr, ValueVertexImpl.of(Encoding.ValueType.BOOLEAN, input.readBoolean()));
+            } else if (valueType == Encoding.ValueType.LONG) {
+                return ValueImpl.of(conceptMgr, ValueVertexImpl.of(Encoding.ValueType.LONG, input.readLong()));
+            } else if (valueType == Encoding.ValueType.DOUBLE) {
+                return ValueImpl.of(conceptMgr, ValueVertexImpl.of(Encoding.ValueType.DOUBLE, input.readDouble()));
+            } else if (valueType == Encoding.ValueType.STRING) {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                return ValueImpl.of(conceptMgr, ValueVertexImpl.of(Encoding.ValueType.STRING, new String(bytes, STRING_ENCODING)));
+            } else if (valueType == Encoding.ValueType.DATETIME) {
+                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC);
+                return ValueImpl.of(conceptMgr, ValueVertexImpl.of(Encoding.ValueType.DATETIME, dateTime));
+            } else throw TypeDBException.of(ILLEGAL_STATE);
+        } catch (TypeDBCheckedException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner.common;
+
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import static com.vaticle.typedb.core.common.iterator.Iterators.empty;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+
+/**
+ * Sorts answers that cannot be produced in sorted order, in memory bounded by the answers requested rather than by
+ * all answers. Ties keep the order the answers were produced in, as with a stable sort of all answers.
+ */
+public class AnswerSorter {
+
+    public static final int DEFAULT_SPILL_THRESHOLD = 100_000;
+
+    /**
+     * Keep only the first answers in a bounded heap, dropping any answer that sorts after all of them.
+     */
+    public static FunctionalIterator<ConceptMap> topK(FunctionalIterator<? extends ConceptMap> answers,
+                                                      Comparator<ConceptMap> comparator, int k) {
+        if (k == 0) {
+            answers.recycle();
+            return empty();
+        }
+        Comparator<Ranked> rankComparator = Comparator.<Ranked, ConceptMap>comparing(ranked -> ranked.answer, comparator)
+                .thenComparingLong(ranked -> ranked.sequence);
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(rankComparator.reversed());
+        long sequence = 0;
+        while (answers.hasNext()) {
+            Ranked ranked = new Ranked(answers.next(), sequence++);
+            if (heap.size() < k) heap.add(ranked);
+            else if (rankComparator.compare(ranked, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(ranked);
+            }
+        }
+        ConceptMap[] sorted = new ConceptMap[heap.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) sorted[i] = heap.poll().answer;
+        return iterate(sorted);
+    }
+
+    /**
+     * Sort all answers, sorting them in memory in runs of at most the spill threshold. Once a run fills up, it is
+     * written to a file in the spill directory, and the runs are merged lazily as the sorted answers are consumed.
+     * The files are deleted once the sorted answers are consumed or recycled. Things are written by IID and read back
+     * through the concept manager, so the answers must be consumed within the transaction that produced them.
+     * Explanations are not written, so answers with explanations must not spill.
+     */
+    public static FunctionalIterator<ConceptMap> sort(FunctionalIterator<? extends ConceptMap> answers,
+                                                      Comparator<ConceptMap> comparator, ConceptManager conceptMgr,
+                                                      int spillThreshold, Path spillDir) {
+        return new ExternalSort(comparator, conceptMgr, spillThreshold, spillDir).sort(answers);
+    }
+
+    private static class Ranked {
+
+        private final ConceptMap answer;
+        private final long sequence;
+
+        private Ranked(ConceptMap answer, long sequence) {
+            this.answer = answer;
+            this.sequence = sequence;
+        }
+    }
+
+    private static class ExternalSort {
+
+        private static final String SPILL_FILE_PREFIX = "typedb-sort-";
+
+        private final Comparator<ConceptMap> comparator;
+        private final AnswerCodec codec;
+        private final int spillThreshold;
+        private final Path spillDir;
+        private final List<Path> spilledRuns;
+
+        private ExternalSort(Comparator<ConceptMap> comparator, ConceptManager conceptMgr, int spillThreshold,
+                             Path spillDir) {
+            this.comparator = comparator;
+            this.codec = new AnswerCodec(conceptMgr);
+            this.spillThreshold = spillThreshold;
+            this.spillDir = spillDir;
+            this.spilledRuns = new ArrayList<>();
+        }
+
+        private FunctionalIterator<ConceptMap> sort(FunctionalIterator<? extends ConceptMap> answers) {
+            List<ConceptMap> buffer = new ArrayList<>();
+            try {
+                while (answers.hasNext()) {
+                    buffer.add(answers.next());
+                    if (buffer.size() == spillThreshold) {
+                        spill(buffer);
+                        buffer.clear();
+                    }
+                }
+            } catch (RuntimeException e) {
+                delete();
+                throw e;
+            }
+            buffer.sort(comparator);
+            if (spilledRuns.isEmpty()) return iterate(buffer);
+            else return new MergeIterator(buffer).onConsumed(this::delete);
+        }
+
+        private void spill(List<ConceptMap> buffer) {
+            buffer.sort(comparator);
+            try {
+                Files.createDirectories(spillDir);
+                Path file = Files.createTempFile(spillDir, SPILL_FILE_PREFIX, null);
+                spilledRuns.add(file);
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                    for (ConceptMap answer : buffer) codec.write(output, answer);
+                }
+            } catch (IOException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        private void delete() {
+            try {
+                for (Path file : spilledRuns) Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw TypeDBException.of(e);
+            } finally {
+                spilledRuns.clear();
+            }
+        }
+
+        /**
+         * Merges the spilled runs and the final in-memory run. Ties are taken from the earliest run, which holds the
+         * earliest answers.
+         */
+        private class MergeIterator extends AbstractFunctionalIterator<ConceptMap> {
+
+            private final PriorityQueue<RunCursor> cursors;
+            private final List<RunCursor> opened;
+
+            private MergeIterator(List<ConceptMap> buffer) {
+                cursors = new PriorityQueue<>(Comparator.<RunCursor, ConceptMap>comparing(cursor -> cursor.answer, comparator)
+                        .thenComparingInt(cursor -> cursor.run));
+                opened = new ArrayList<>();
+                try {
+                    for (int run = 0; run < spilledRuns.size(); run++) {
+                        RunCursor cursor = new SpilledRunCursor(run, spilledRuns.get(run));
+                        opened.add(cursor);
+                        if (cursor.advance()) cursors.add(cursor);
+                    }
+                } catch (IOException e) {
+                    recycle();
+                    throw TypeDBException.of(e);
+                }
+                RunCursor bufferCursor = new BufferCursor(spilledRuns.size(), buffer);
+                if (bufferCursor.advance()) cursors.add(bufferCursor);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public ConceptMap next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                RunCursor cursor = cursors.poll();
+                ConceptMap answer = cursor.answer;
+                try {
+                    if (cursor.advance()) cursors.add(cursor);
+                } catch (IOException e) {
+                    recycle();
+                    throw TypeDBException.of(e);
+                }
+                return answer;
+            }
+
+            @Override
+            public void recycle() {
+                opened.forEach(RunCursor::close);
+                cursors.clear();
+                delete();
+            }
+        }
+
+        private abstract static class RunCursor {
+
+            final int run;
+            ConceptMap answer;
+
+            private RunCursor(int run) {
+                this.run = run;
+            }
+
+            abstract boolean advance() throws IOException;
+
+            void close() {}
+        }
+
+        private static class BufferCursor extends RunCursor {
+
+            private final List<ConceptMap> buffer;
+            private int index;
+
+            private BufferCursor(int run, List<ConceptMap> buffer) {
+                super(run);
+                this.buffer = buffer;
+                this.index = 0;
+            }
+
+            @Override
+            boolean advance() {
+                if (index == buffer.size()) return false;
+                answer = buffer.get(index++);
+                return true;
+            }
+        }
+
+        private class SpilledRunCursor extends RunCursor {
+
+            private final DataInputStream input;
+
+            private SpilledRunCursor(int run, Path file) throws IOException {
+                super(run);
+                this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            }
+
+            @Override
+            boolean advance() throws IOException {
+                try {
+                    answer = codec.read(input);
+                    return true;
+                } catch (EOFException e) {
+                    close();
+                    return false;
+                }
+            }
+
+            @Override
+            void close() {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    throw TypeDBException.of(e);
+                }
+            }
+        }
+    }
+}
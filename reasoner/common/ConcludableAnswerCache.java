@@ -0,0 +1,558 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner.common;
+
+import com.vaticle.typedb.common.collection.Pair;
+import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.thing.Attribute;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.concept.type.AttributeType;
+import com.vaticle.typedb.core.concept.type.RelationType;
+import com.vaticle.typedb.core.concept.type.RoleType;
+import com.vaticle.typedb.core.logic.LogicManager;
+import com.vaticle.typedb.core.logic.Materialiser;
+import com.vaticle.typedb.core.logic.Rule;
+import com.vaticle.typedb.core.logic.resolvable.Concludable;
+import com.vaticle.typedb.core.logic.resolvable.ResolvableConjunction;
+import com.vaticle.typedb.core.pattern.equivalence.AlphaEquivalence;
+import com.vaticle.typedb.core.traversal.TraversalEngine;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+
+import javax.annotation.Nullable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.vaticle.typedb.core.common.cache.CommonCache.DEFAULT_CACHE_TIMEOUT_MINUTES;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+
+/**
+ * Answers of concludables, for given bounds, that were completely derived by a read transaction, so that later read
+ * transactions of the database can replay them rather than resolving the concludable's rules again.
+ *
+ * Persisted things are recorded by IID. Inferred things only exist in the transaction that inferred them, so inferred
+ * attributes are recorded by type and value, and inferred relations by type and role players, and both are inferred
+ * again in the transaction replaying them. Inferred ownerships are likewise inferred again. Bounds must be persisted.
+ *
+ * Each table records the types its derivation read, and commits writing any of them invalidate the table.
+ * Invalidations advance the cache version: a transaction may only use tables cached at or before the version it
+ * opened at, and may only cache tables if no invalidation happened since it opened.
+ */
+public class ConcludableAnswerCache {
+
+    private final CommonCache<Key, Table> tables;
+    private final boolean enabled;
+    private final long maxRows;
+    private long version;
+
+    public ConcludableAnswerCache() {
+        this(0, DEFAULT_CACHE_TIMEOUT_MINUTES, false);
+    }
+
+    /**
+     * @param size     the maximum number of answer tables, or answers if weighted; 0 disables the cache
+     * @param weighted if true, the cache is bounded by the total number of answers of its tables, rather than their
+     *                 count
+     */
+    public ConcludableAnswerCache(int size, int timeOutMinutes, boolean weighted) {
+        if (weighted) this.tables = new CommonCache<>(size, timeOutMinutes, (key, table) -> Math.max(1, table.rows.size()));
+        else this.tables = new CommonCache<>(size, timeOutMinutes);
+        this.enabled = size > 0;
+        this.maxRows = weighted ? size : Long.MAX_VALUE;
+        this.version = 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Create the recorder of a read transaction, before the transaction opens its snapshot.
+     */
+    public synchronized Recorder recorder() {
+        assert enabled;
+        return new Recorder(version);
+    }
+
+    /**
+     * Invalidate the tables derived from any of the given types. Must be called both before and after a commit
+     * writing the types becomes visible, so that no transaction reads or caches tables derived from older data.
+     */
+    public synchronized void invalidate(Set<Label> modifiedTypes) {
+        if (modifiedTypes.isEmpty()) return;
+        version++;
+        tables.invalidateIf((key, table) -> iterate(table.dependencies).anyMatch(modifiedTypes::contains));
+    }
+
+    /**
+     * Invalidate every table, for writes whose types are not known. Must be called both before and after the writes
+     * become visible, as for {@link #invalidate(Set)}.
+     */
+    public synchronized void invalidateAll() {
+        version++;
+        tables.clear();
+    }
+
+    public Map<String, CommonCache.Statistics> statistics() {
+        Map<String, CommonCache.Statistics> statistics = new LinkedHashMap<>();
+        statistics.put("answers", tables.statistics());
+        return statistics;
+    }
+
+    private synchronized boolean isCurrent(long snapshotVersion) {
+        return version == snapshotVersion;
+    }
+
+    private synchronized Optional<Pair<Table, Map<Retrievable, Retrievable>>> lookup(Key key, long snapshotVersion) {
+        Table table = tables.getIfPresent(key);
+        if (table == null || table.version > snapshotVersion) return Optional.empty();
+        return table.key.mapping(key).map(mapping -> new Pair<>(table, mapping));
+    }
+
+    private synchronized void put(Key key, List<Row> rows, Set<Label> dependencies, long snapshotVersion) {
+        if (version != snapshotVersion) return;
+        tables.put(key, new Table(key, rows, dependencies, snapshotVersion));
+    }
+
+    /**
+     * Tables are decoded outside the cache's lock, since decoding may infer things again.
+     */
+    private Optional<List<ConceptMap>> get(Concludable concludable, ConceptMap bounds, long snapshotVersion,
+                                           ConceptManager conceptMgr, TraversalEngine traversalEng,
+                                           Function<ConceptMap, ConceptMap> withExplainable) {
+        Optional<Map<Retrievable, ByteArray>> encodedBounds = encodeBounds(bounds);
+        if (encodedBounds.isEmpty()) return Optional.empty();
+        Optional<Pair<Table, Map<Retrievable, Retrievable>>> cached = lookup(new Key(concludable, encodedBounds.get()), snapshotVersion);
+        if (cached.isEmpty()) return Optional.empty();
+        List<ConceptMap> answers = new ArrayList<>();
+        for (Row row : cached.get().first().rows) {
+            Optional<ConceptMap> answer = decode(row.concepts, cached.get().second(), conceptMgr, traversalEng);
+            if (answer.isEmpty()) return Optional.empty();
+            if (row.explainable && concludable.isHas()) mayInferOwnership(concludable, answer.get());
+            answers.add(row.explainable ? withExplainable.apply(answer.get()) : answer.get());
+        }
+        return Optional.of(answers);
+    }
+
+    private static void mayInferOwnership(Concludable concludable, ConceptMap answer) {
+        Thing owner = answer.get(concludable.asHas().owner().id()).asThing();
+        Attribute attribute = answer.get(concludable.asHas().attribute().id()).asAttribute();
+        if (!owner.hasInferred(attribute) && !owner.hasNonInferred(attribute)) owner.setHas(attribute, true);
+    }
+
+    private static Optional<Map<Retrievable, ByteArray>> encodeBounds(ConceptMap bounds) {
+        Map<Retrievable, ByteArray> encoded = new HashMap<>();
+        for (Map.Entry<Retrievable, ? extends Concept> entry : bounds.concepts().entrySet()) {
+            Concept concept = entry.getValue();
+            if (!concept.isThing() || concept.asThing().isInferred()) return Optional.empty();
+            encoded.put(entry.getKey(), concept.asThing().getIID());
+        }
+        return Optional.of(encoded);
+    }
+
+    private static Optional<Row> encode(ConceptMap answer) {
+        Map<Retrievable, Encoded> encoded = new HashMap<>();
+        for (Map.Entry<Retrievable, ? extends Concept> entry : answer.concepts().entrySet()) {
+            if (!entry.getValue().isThing()) return Optional.empty();
+            Optional<Encoded> thing = encode(entry.getValue().asThing());
+            if (thing.isEmpty()) return Optional.empty();
+            encoded.put(entry.getKey(), thing.get());
+        }
+        return Optional.of(new Row(encoded, answer.explainables().iterator().hasNext()));
+    }
+
+    private static Optional<Encoded> encode(Thing thing) {
+        if (!thing.isInferred()) return Optional.of(new Persisted(thing.getIID()));
+        else if (thing.isAttribute()) return Optional.of(new InferredAttribute(thing.asAttribute()));
+        else if (thing.isRelation()) {
+            Map<Pair<String, Encoded>, Integer> players = new HashMap<>();
+            for (Map.Entry<? extends RoleType, List<Thing>> rolePlayers : thing.asRelation().getPlayersByRoleType().entrySet()) {
+                for (Thing player : rolePlayers.getValue()) {
+                    Optional<Encoded> encoded = encode(player);
+                    if (encoded.isEmpty()) return Optional.empty();
+                    players.merge(new Pair<>(rolePlayers.getKey().getLabel().name(), encoded.get()), 1, Integer::sum);
+                }
+            }
+            return Optional.of(new InferredRelation(thing.getType().getLabel(), players));
+        } else return Optional.empty();
+    }
+
+    private static Optional<ConceptMap> decode(Map<Retrievable, Encoded> row, Map<Retrievable, Retrievable> mapping,
+                                               ConceptManager conceptMgr, TraversalEngine traversalEng) {
+        Map<Retrievable, Thing> concepts = new HashMap<>();
+        for (Map.Entry<Retrievable, Encoded> entry : row.entrySet()) {
+            Retrievable id = mapping.get(entry.getKey());
+            if (id == null) return Optional.empty();
+            Thing thing = entry.getValue().decode(conceptMgr, traversalEng);
+            if (thing == null) return Optional.empty();
+            concepts.put(id, thing);
+        }
+        return Optional.of(new ConceptMap(concepts));
+    }
+
+    /**
+     * The types whose instances may contribute to the answers of a concludable: the types of the concludable, and
+     * of the conditions of every rule it may trigger, transitively.
+     */
+    public static Set<Label> dependencies(Concludable concludable, LogicManager logicMgr) {
+        Set<Label> types = new HashSet<>();
+        Set<Rule> visited = new HashSet<>();
+        LinkedList<Concludable> frontier = new LinkedList<>();
+        frontier.add(concludable);
+        while (!frontier.isEmpty()) {
+            Concludable next = frontier.removeFirst();
+            next.pattern().variables().forEach(variable -> types.addAll(variable.inferredTypes()));
+            for (Rule rule : logicMgr.applicableRules(next).keySet()) {
+                if (!visited.add(rule)) continue;
+                for (Rule.Condition.ConditionBranch branch : rule.condition().branches()) {
+                    ResolvableConjunction conjunction = branch.conjunction();
+                    conjunction.pattern().variables().forEach(variable -> types.addAll(variable.inferredTypes()));
+                    conjunction.allConcludables().forEachRemaining(frontier::add);
+                }
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Records the answer tables of the concludables resolved by a read transaction. Only the first query of a
+     * transaction may publish its tables, once it has finished: every processor of the transaction then belongs to
+     * that query and has been exhausted. Negations stop pulling answers once one is found, so a transaction that
+     * resolves any negation publishes nothing. Once the recorder can no longer publish a table, it drops its answers
+     * rather than holding them for the rest of the transaction.
+     */
+    public class Recorder {
+
+        private final long snapshotVersion;
+        private final Map<Key, Recording> recordings;
+        private int roots;
+        private boolean disabled;
+
+        private Recorder(long snapshotVersion) {
+            this.snapshotVersion = snapshotVersion;
+            this.recordings = new ConcurrentHashMap<>();
+            this.roots = 0;
+            this.disabled = false;
+        }
+
+        /**
+         * @param withExplainable marks a replayed answer as explainable, if it was explainable when recorded
+         */
+        public Optional<List<ConceptMap>> memoised(Concludable concludable, ConceptMap bounds, ConceptManager conceptMgr,
+                                                   TraversalEngine traversalEng,
+                                                   Function<ConceptMap, ConceptMap> withExplainable) {
+            return get(concludable, bounds, snapshotVersion, conceptMgr, traversalEng, withExplainable);
+        }
+
+        /**
+         * @return the recording of the concludable's answers, or null if they could not be cached
+         */
+        @Nullable
+        public synchronized Recording record(Concludable concludable, ConceptMap bounds, Set<Label> dependencies) {
+            if (!disabled && !isCurrent(snapshotVersion)) disable();
+            if (disabled) return null;
+            Optional<Map<Retrievable, ByteArray>> encodedBounds = encodeBounds(bounds);
+            if (encodedBounds.isEmpty()) return null;
+            Recording recording = new Recording(dependencies);
+            recordings.put(new Key(concludable, encodedBounds.get()), recording);
+            return recording;
+        }
+
+        public synchronized void rootCreated() {
+            // the processors of a second query would leave the tables of the first incomplete
+            if (++roots > 1) disable();
+        }
+
+        public synchronized void disable() {
+            disabled = true;
+            recordings.values().forEach(Recording::abandon);
+            recordings.clear();
+        }
+
+        public synchronized void rootFinished() {
+            if (roots == 1 && !disabled) {
+                recordings.forEach((key, recording) -> {
+                    List<Row> rows = recording.rows();
+                    if (rows != null) put(key, rows, recording.dependencies, snapshotVersion);
+                });
+            }
+            disable();
+        }
+    }
+
+    /**
+     * The answers of a concludable, encoded as they are recorded. A recording is abandoned as soon as an answer cannot
+     * be encoded, or it has more answers than the cache can hold.
+     */
+    public class Recording {
+
+        private final Set<Row> rows;
+        private final Set<Label> dependencies;
+        private volatile boolean abandoned;
+
+        private Recording(Set<Label> dependencies) {
+            this.rows = ConcurrentHashMap.newKeySet();
+            this.dependencies = dependencies;
+            this.abandoned = false;
+        }
+
+        public void add(ConceptMap answer) {
+            if (abandoned) return;
+            Optional<Row> row = encode(answer);
+            if (row.isEmpty()) abandon();
+            else {
+                rows.add(row.get());
+                if (rows.size() > maxRows) abandon();
+            }
+        }
+
+        private void abandon() {
+            abandoned = true;
+            rows.clear();
+        }
+
+        @Nullable
+        private List<Row> rows() {
+            return abandoned ? null : new ArrayList<>(rows);
+        }
+    }
+
+    private static class Table {
+
+        private final Key key;
+        private final List<Row> rows;
+        private final Set<Label> dependencies;
+        private final long version;
+
+        private Table(Key key, List<Row> rows, Set<Label> dependencies, long version) {
+            this.key = key;
+            this.rows = Collections.unmodifiableList(rows);
+            this.dependencies = dependencies;
+            this.version = version;
+        }
+    }
+
+    private static class Row {
+
+        private final Map<Retrievable, Encoded> concepts;
+        private final boolean explainable;
+        private final int hash;
+
+        private Row(Map<Retrievable, Encoded> concepts, boolean explainable) {
+            this.concepts = concepts;
+            this.explainable = explainable;
+            this.hash = Objects.hash(concepts, explainable);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Row that = (Row) o;
+            return explainable == that.explainable && concepts.equals(that.concepts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A thing of a recorded answer, which is decoded in the transaction replaying the answer.
+     */
+    private static abstract class Encoded {
+
+        @Nullable
+        abstract Thing decode(ConceptManager conceptMgr, TraversalEngine traversalEng);
+    }
+
+    private static class Persisted extends Encoded {
+
+        private final ByteArray iid;
+
+        private Persisted(ByteArray iid) {
+            this.iid = iid;
+        }
+
+        @Override
+        Thing decode(ConceptManager conceptMgr, TraversalEngine traversalEng) {
+            return conceptMgr.getThing(iid);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return iid.equals(((Persisted) o).iid);
+        }
+
+        @Override
+        public int hashCode() {
+            return iid.hashCode();
+        }
+    }
+
+    private static class InferredAttribute extends Encoded {
+
+        private final Label type;
+        private final Object value;
+
+        private InferredAttribute(Attribute attribute) {
+            this.type = attribute.getType().getLabel();
+            if (attribute.isBoolean()) this.value = attribute.asBoolean().getValue();
+            else if (attribute.isLong()) this.value = attribute.asLong().getValue();
+            else if (attribute.isDouble()) this.value = attribute.asDouble().getValue();
+            else if (attribute.isString()) this.value = attribute.asString().getValue();
+            else if (attribute.isDateTime()) this.value = attribute.asDateTime().getValue();
+            else throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        Thing decode(ConceptManager conceptMgr, TraversalEngine traversalEng) {
+            AttributeType attrType = conceptMgr.getAttributeType(type.name());
+            if (attrType == null) return null;
+            else if (attrType.isBoolean()) return attrType.asBoolean().put((Boolean) value, true);
+            else if (attrType.isLong()) return attrType.asLong().put((Long) value, true);
+            else if (attrType.isDouble()) return attrType.asDouble().put((Double) value, true);
+            else if (attrType.isString()) return attrType.asString().put((String) value, true);
+            else if (attrType.isDateTime()) return attrType.asDateTime().put((LocalDateTime) value, true);
+            else throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            InferredAttribute that = (InferredAttribute) o;
+            return type.equals(that.type) && value.equals(that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, value);
+        }
+    }
+
+    private static class InferredRelation extends Encoded {
+
+        private final Label type;
+        private final Map<Pair<String, Encoded>, Integer> players;
+
+        private InferredRelation(Label type, Map<Pair<String, Encoded>, Integer> players) {
+            this.type = type;
+            this.players = players;
+        }
+
+        /**
+         * Reuses the relation of the same type and role players, if this transaction already has one.
+         */
+        @Override
+        Thing decode(ConceptManager conceptMgr, TraversalEngine traversalEng) {
+            RelationType relationType = conceptMgr.getRelationType(type.name());
+            if (relationType == null) return null;
+            Map<Pair<RoleType, Thing>, Integer> decoded = new HashMap<>();
+            for (Map.Entry<Pair<String, Encoded>, Integer> rolePlayer : players.entrySet()) {
+                RoleType roleType = relationType.getRelates(rolePlayer.getKey().first());
+                Thing player = rolePlayer.getKey().second().decode(conceptMgr, traversalEng);
+                if (roleType == null || player == null) return null;
+                decoded.put(new Pair<>(roleType, player), rolePlayer.getValue());
+            }
+            return Materialiser.putRelation(new Rule.Conclusion.Relation.Materialisable(relationType, decoded), traversalEng, conceptMgr);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            InferredRelation that = (InferredRelation) o;
+            return type.equals(that.type) && players.equals(that.players);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, players);
+        }
+    }
+
+    /**
+     * Identifies a concludable up to alpha equivalence, with bounds on the equivalent variables.
+     */
+    private static class Key {
+
+        private final Concludable concludable;
+        private final Map<Retrievable, ByteArray> bounds;
+        private final int hash;
+
+        private Key(Concludable concludable, Map<Retrievable, ByteArray> bounds) {
+            this.concludable = concludable;
+            this.bounds = bounds;
+            Set<Label> types = new HashSet<>();
+            concludable.pattern().variables().forEach(variable -> types.addAll(variable.inferredTypes()));
+            this.hash = Objects.hash(concludable.getClass(), types, new HashSet<>(bounds.values()));
+        }
+
+        /**
+         * Map the variables of this key onto the variables of an equal key.
+         */
+        private Optional<Map<Retrievable, Retrievable>> mapping(Key that) {
+            return concludable.alphaEquals(that.concludable).map(AlphaEquivalence::retrievableMapping)
+                    .filter(mapping -> mapsBounds(mapping, that.bounds)).first();
+        }
+
+        private boolean mapsBounds(Map<Retrievable, Retrievable> mapping, Map<Retrievable, ByteArray> thatBounds) {
+            if (bounds.size() != thatBounds.size()) return false;
+            for (Map.Entry<Retrievable, ByteArray> bound : bounds.entrySet()) {
+                Retrievable mapped = mapping.get(bound.getKey());
+                if (mapped == null || !bound.getValue().equals(thatBounds.get(mapped))) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return mapping((Key) o).isPresent();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -21,7 +21,9 @@ package com.vaticle.typedb.core.reasoner.controller;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.Iterators;
+import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.logic.Rule;
 import com.vaticle.typedb.core.logic.Rule.Conclusion;
@@ -30,6 +32,7 @@ import com.vaticle.typedb.core.logic.resolvable.Unifier;
 import com.vaticle.typedb.core.reasoner.ReasonerConsumer;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
 import com.vaticle.typedb.core.reasoner.answer.PartialExplanation;
+import com.vaticle.typedb.core.reasoner.common.ConcludableAnswerCache;
 import com.vaticle.typedb.core.reasoner.common.Traversal;
 import com.vaticle.typedb.core.reasoner.processor.AbstractProcessor;
 import com.vaticle.typedb.core.reasoner.processor.AbstractRequest;
@@ -39,12 +42,15 @@ import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive.Publisher;
 import com.vaticle.typedb.core.reasoner.processor.reactive.RootSink;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Source;
+import com.vaticle.typedb.core.traversal.TraversalEngine;
 import com.vaticle.typedb.core.traversal.common.Identifier.Variable;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -95,6 +101,7 @@ public abstract class ConcludableController<INPUT, OUTPUT,
             Processor.Match, Match> {
 
         private final Set<Variable.Retrievable> unboundVars;
+        private Set<Label> answerDependencies;
 
         public Match(Driver<Match> driver, Concludable concludable, Context context) {
             super(driver, concludable, context);
@@ -106,6 +113,8 @@ public abstract class ConcludableController<INPUT, OUTPUT,
             return new Processor.Match(
                     matchDriver, driver(), concludable, processorContext(), bounds, unboundVars, conclusionUnifiers,
                     () -> Traversal.traversalIterator(registry(), concludable.pattern(), bounds),
+                    registry().answerRecorder(), registry().conceptManager(), registry().traversalEngine(),
+                    this::answerDependencies,
                     () -> Processor.class.getSimpleName() + "(pattern: " + concludable.pattern() + ", bounds: " + bounds + ")"
             );
         }
@@ -124,6 +133,13 @@ public abstract class ConcludableController<INPUT, OUTPUT,
             return missingBounds;
         }
 
+        private Set<Label> answerDependencies() {
+            if (answerDependencies == null) {
+                answerDependencies = ConcludableAnswerCache.dependencies(concludable, registry().logicManager());
+            }
+            return answerDependencies;
+        }
+
         @Override
         public Driver<ConclusionController.Match> registerConclusionController(Rule rule) {
             return registry().getOrCreateMatchConclusion(rule.conclusion());
@@ -238,13 +254,25 @@ public abstract class ConcludableController<INPUT, OUTPUT,
 
         public static class Match extends Processor<Map<Variable, Concept>, ConceptMap, Match.Request, Match> {
 
+            private final ConcludableAnswerCache.Recorder answerRecorder;
+            private final ConceptManager conceptMgr;
+            private final TraversalEngine traversalEng;
+            private final Supplier<Set<Label>> answerDependencies;
+            private ConcludableAnswerCache.Recording recording;
+
             Match(
                     Driver<Match> driver, Driver<ConcludableController.Match> controller, Concludable concludable,
                     Context context, ConceptMap bounds, Set<Variable.Retrievable> unboundVars,
                     Map<Conclusion, Set<Unifier>> conclusionUnifiers,
-                    Supplier<FunctionalIterator<ConceptMap>> traversalSuppplier, Supplier<String> debugName
+                    Supplier<FunctionalIterator<ConceptMap>> traversalSuppplier,
+                    @Nullable ConcludableAnswerCache.Recorder answerRecorder, ConceptManager conceptMgr,
+                    TraversalEngine traversalEng, Supplier<Set<Label>> answerDependencies, Supplier<String> debugName
             ) {
                 super(driver, controller, concludable, context, bounds, conclusionUnifiers, traversalSuppplier, debugName);
+                this.answerRecorder = answerRecorder;
+                this.conceptMgr = conceptMgr;
+                this.traversalEng = traversalEng;
+                this.answerDependencies = answerDependencies;
             }
 
 
@@ -253,7 +281,16 @@ public abstract class ConcludableController<INPUT, OUTPUT,
                 setHubReactive(fanInFanOut(this));
                 if (canBypassReasoning(bounds)) {
                     addTraversal(true);
+                    return;
+                }
+                Optional<List<ConceptMap>> memoised = answerRecorder == null ? Optional.empty() :
+                        answerRecorder.memoised(concludable, bounds, conceptMgr, traversalEng, ans -> withExplainable(ans, concludable));
+                if (memoised.isPresent()) {
+                    new Source<>(this, () -> iterate(memoised.get())).registerSubscriber(hubReactive());
                 } else {
+                    if (answerRecorder != null) {
+                        recording = answerRecorder.record(concludable, bounds, answerDependencies.get());
+                    }
                     addTraversal(false);
                     addRules();
                 }
@@ -274,7 +311,8 @@ public abstract class ConcludableController<INPUT, OUTPUT,
                 if (includeInferred) {
                     new Source<>(this, traversalSuppplier).map(ans -> withExplainable(ans, concludable)).registerSubscriber(hubReactive());
                 } else {
-                    new Source<>(this, traversalSuppplier).flatMap(this::filterInferred).registerSubscriber(hubReactive());
+                    new Source<>(this, traversalSuppplier).flatMap(this::filterInferred).map(this::record)
+                            .registerSubscriber(hubReactive());
                 }
             }
 
@@ -298,12 +336,12 @@ public abstract class ConcludableController<INPUT, OUTPUT,
                 }
                 if (conceptToCheck != null) {
                     if (conceptToCheck.asThing().isInferred()) {
-                        return Iterators.single(conceptMap);
+                        return Iterators.single(record(conceptMap));
                     } else {
                         return empty();
                     }
                 }
-                return Iterators.single(conceptMap);
+                return Iterators.single(record(conceptMap));
             }
 
             @Override
@@ -314,6 +352,11 @@ public abstract class ConcludableController<INPUT, OUTPUT,
                         .map(ans -> withExplainable(ans, concludable));
             }
 
+            private ConceptMap record(ConceptMap answer) {
+                if (recording != null) recording.add(answer);
+                return answer;
+            }
+
             static ConceptMap withExplainable(ConceptMap conceptMap, Concludable concludable) {
                 if (concludable.isRelation() || concludable.isAttribute() || concludable.isIsa()) {
                     return conceptMap.withExplainableConcept(concludable.generatingVariable().id(), concludable.pattern());
@@ -38,6 +38,7 @@ import com.vaticle.typedb.core.pattern.Conjunction;
 import com.vaticle.typedb.core.pattern.equivalence.AlphaEquivalence;
 import com.vaticle.typedb.core.reasoner.ReasonerConsumer;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
+import com.vaticle.typedb.core.reasoner.common.ConcludableAnswerCache;
 import com.vaticle.typedb.core.reasoner.common.ReasonerPerfCounters;
 import com.vaticle.typedb.core.reasoner.common.Tracer;
 import com.vaticle.typedb.core.reasoner.planner.ReasonerPlanner;
@@ -48,6 +49,7 @@ import com.vaticle.typedb.core.traversal.common.Modifiers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
@@ -75,11 +77,13 @@ public class ControllerRegistry {
     private final TraversalEngine traversalEngine;
     private final AbstractController.Context controllerContext;
     private final Driver<MaterialisationController> materialisationController;
+    private final ConcludableAnswerCache.Recorder answerRecorder;
     private final AtomicBoolean terminated;
     private TypeDBException terminationCause;
 
     public ControllerRegistry(ActorExecutorGroup executorService, TraversalEngine traversalEngine, ConceptManager conceptMgr,
-                              LogicManager logicMgr, ReasonerPlanner reasonerPlanner, ReasonerPerfCounters perfCounters, Context.Transaction context) {
+                              LogicManager logicMgr, ReasonerPlanner reasonerPlanner, ReasonerPerfCounters perfCounters,
+                              @Nullable ConcludableAnswerCache.Recorder answerRecorder, Context.Transaction context) {
         this.traversalEngine = traversalEngine;
         this.conceptMgr = conceptMgr;
         this.logicMgr = logicMgr;
@@ -89,6 +93,7 @@ public class ControllerRegistry {
         this.conclusions = new ConcurrentHashMap<>();
         this.explainConclusions = new ConcurrentHashMap<>();
         this.controllers = new ConcurrentSet<>();
+        this.answerRecorder = answerRecorder;
         this.terminated = new AtomicBoolean(false);
         Tracer tracer = null;
         if (context.options().traceInference()) {
@@ -117,6 +122,15 @@ public class ControllerRegistry {
         return logicMgr;
     }
 
+    /**
+     * The recorder of concludable answer tables shared with other read transactions, or null if answers are not
+     * shared by this transaction.
+     */
+    @Nullable
+    ConcludableAnswerCache.Recorder answerRecorder() {
+        return answerRecorder;
+    }
+
     public void terminate(Throwable cause) {
         if (terminated.compareAndSet(false, true)) {
             terminationCause = TypeDBException.of(REASONING_TERMINATED_WITH_CAUSE, cause);
@@ -157,6 +171,7 @@ public class ControllerRegistry {
         Function<Driver<RootConjunctionController>, RootConjunctionController> actorFn = driver ->
                 new RootConjunctionController(driver, conjunction, filter, explain, controllerContext, reasonerConsumer);
         LOG.debug("Create Root Conjunction for: '{}'", conjunction);
+        if (answerRecorder != null) answerRecorder.rootCreated();
         createRootController(reasonerConsumer, actorFn);
     }
 
@@ -165,6 +180,7 @@ public class ControllerRegistry {
         Function<Driver<RootDisjunctionController>, RootDisjunctionController> actorFn =
                 driver -> new RootDisjunctionController(driver, disjunction, filter, explain, controllerContext, reasonerConsumer);
         LOG.debug("Create Root Disjunction for: '{}'", disjunction);
+        if (answerRecorder != null) answerRecorder.rootCreated();
         createRootController(reasonerConsumer, actorFn);
     }
 
@@ -238,6 +254,7 @@ public class ControllerRegistry {
         Function<Driver<NegationController>, NegationController> actorFn =
                 driver -> new NegationController(driver, negated, controllerContext);
         LOG.debug("Create NegationController for : {}", negated);
+        if (answerRecorder != null) answerRecorder.disable();
         return ControllerView.negation(createController(actorFn), filter(conjunction, negated));
     }
 
@@ -21,11 +21,13 @@ package com.vaticle.typedb.core.reasoner.controller;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.logic.resolvable.ResolvableConjunction;
 import com.vaticle.typedb.core.reasoner.ReasonerConsumer;
+import com.vaticle.typedb.core.reasoner.common.ConcludableAnswerCache;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive.Stream;
 import com.vaticle.typedb.core.reasoner.processor.reactive.RootSink;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.function.Supplier;
 
@@ -56,6 +58,7 @@ public class RootConjunctionController
     protected Processor createProcessorFromDriver(Driver<Processor> processorDriver, ConceptMap bounds) {
         return new Processor(
                 processorDriver, driver(), processorContext(), bounds, getPlan(bounds.concepts().keySet()), filter, explain, reasonerConsumer,
+                registry().answerRecorder(),
                 () -> Processor.class.getSimpleName() + "(pattern:" + conjunction + ", bounds: " + bounds + ")"
         );
     }
@@ -72,15 +75,18 @@ public class RootConjunctionController
         private RootSink<ConceptMap> rootSink;
         private final boolean explain;
         private final ReasonerConsumer<ConceptMap> reasonerConsumer;
+        private final ConcludableAnswerCache.Recorder answerRecorder;
 
         private Processor(Driver<Processor> driver, Driver<RootConjunctionController> controller,
                           Context context, ConceptMap bounds, ConjunctionStreamPlan plan,
                           Modifiers.Filter filter, boolean explain,
-                          ReasonerConsumer<ConceptMap> reasonerConsumer, Supplier<String> debugName) {
+                          ReasonerConsumer<ConceptMap> reasonerConsumer,
+                          @Nullable ConcludableAnswerCache.Recorder answerRecorder, Supplier<String> debugName) {
             super(driver, controller, context, bounds, plan, debugName);
             this.filter = filter;
             this.explain = explain;
             this.reasonerConsumer = reasonerConsumer;
+            this.answerRecorder = answerRecorder;
         }
 
         @Override
@@ -101,6 +107,7 @@ public class RootConjunctionController
         @Override
         public void onFinished(Reactive.Identifier finishable) {
             assert finishable == rootSink.identifier();
+            if (answerRecorder != null) answerRecorder.rootFinished();
             rootSink.finished();
         }
     }
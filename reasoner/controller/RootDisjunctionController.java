@@ -21,11 +21,13 @@ package com.vaticle.typedb.core.reasoner.controller;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.logic.resolvable.ResolvableDisjunction;
 import com.vaticle.typedb.core.reasoner.ReasonerConsumer;
+import com.vaticle.typedb.core.reasoner.common.ConcludableAnswerCache;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Reactive.Stream;
 import com.vaticle.typedb.core.reasoner.processor.reactive.RootSink;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.function.Supplier;
 
@@ -57,7 +59,7 @@ public class RootDisjunctionController
     protected Processor createProcessorFromDriver(Driver<Processor> processorDriver, ConceptMap bounds) {
         return new Processor(
                 processorDriver, driver(), processorContext(), disjunction, bounds, filter, explain,
-                reasonerConsumer,
+                reasonerConsumer, registry().answerRecorder(),
                 () -> Processor.class.getSimpleName() + "(pattern:" + disjunction + ", bounds: " + bounds + ")"
         );
     }
@@ -73,16 +75,19 @@ public class RootDisjunctionController
         private final Modifiers.Filter filter;
         private final boolean explain;
         private final ReasonerConsumer<ConceptMap> reasonerConsumer;
+        private final ConcludableAnswerCache.Recorder answerRecorder;
         private RootSink<ConceptMap> rootSink;
 
         private Processor(Driver<Processor> driver, Driver<RootDisjunctionController> controller,
                           Context context, ResolvableDisjunction disjunction, ConceptMap bounds,
                           Modifiers.Filter filter, boolean explain,
-                          ReasonerConsumer<ConceptMap> reasonerConsumer, Supplier<String> debugName) {
+                          ReasonerConsumer<ConceptMap> reasonerConsumer,
+                          @Nullable ConcludableAnswerCache.Recorder answerRecorder, Supplier<String> debugName) {
             super(driver, controller, context, disjunction, bounds, debugName);
             this.filter = filter;
             this.explain = explain;
             this.reasonerConsumer = reasonerConsumer;
+            this.answerRecorder = answerRecorder;
         }
 
         @Override
@@ -109,6 +114,7 @@ public class RootDisjunctionController
         @Override
         public void onFinished(Reactive.Identifier finishable) {
             assert finishable == rootSink.identifier();
+            if (answerRecorder != null) answerRecorder.rootFinished();
             rootSink.finished();
         }
     }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner.planner;
+
+import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typedb.core.reasoner.planner.ReasonerPlanner.CallMode;
+import com.vaticle.typedb.core.reasoner.planner.ReasonerPlanner.Plan;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reasoner plans of rule conjunctions, shared by the transactions of a database. Rule conjunctions are cached with
+ * their rules in the {@code LogicCache}, so a call mode identifies the same conjunction in every transaction until a
+ * schema change replaces both caches. A plan is replanned once the database statistics have moved on by more than
+ * {@link #STATISTICS_VERSION_TOLERANCE} versions since it was costed.
+ */
+public class ReasonerPlanCache {
+
+    static final long STATISTICS_VERSION_TOLERANCE = 64;
+
+    private final CommonCache<CallMode, Entry> plans;
+
+    public ReasonerPlanCache() {
+        this.plans = new CommonCache<>();
+    }
+
+    public ReasonerPlanCache(int size, int timeOutMinutes) {
+        this(size, timeOutMinutes, false);
+    }
+
+    /**
+     * @param weighted if true, the cache is bounded by the total number of resolvables ordered by its plans,
+     *                 rather than its entry count
+     */
+    public ReasonerPlanCache(int size, int timeOutMinutes, boolean weighted) {
+        if (weighted) {
+            this.plans = new CommonCache<>(size, timeOutMinutes, (callMode, entry) -> Math.max(1, entry.plan.plan().size()));
+        } else {
+            this.plans = new CommonCache<>(size, timeOutMinutes);
+        }
+    }
+
+    @Nullable
+    Plan get(CallMode callMode, long statisticsVersion) {
+        Entry entry = plans.getIfPresent(callMode);
+        if (entry == null) return null;
+        else if (statisticsVersion - entry.statisticsVersion > STATISTICS_VERSION_TOLERANCE) {
+            plans.invalidate(callMode);
+            return null;
+        } else return entry.plan;
+    }
+
+    void put(CallMode callMode, Plan plan, long statisticsVersion) {
+        plans.put(callMode, new Entry(plan, statisticsVersion));
+    }
+
+    public Map<String, CommonCache.Statistics> statistics() {
+        Map<String, CommonCache.Statistics> statistics = new LinkedHashMap<>();
+        statistics.put("plans", plans.statistics());
+        return statistics;
+    }
+
+    private static class Entry {
+
+        private final Plan plan;
+        private final long statisticsVersion;
+
+        private Entry(Plan plan, long statisticsVersion) {
+            this.plan = plan;
+            this.statisticsVersion = statisticsVersion;
+        }
+    }
+}
@@ -38,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.vaticle.typedb.common.collection.Collections.intersection;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
@@ -50,20 +51,30 @@ public abstract class ReasonerPlanner {
     private final boolean explain;
     final CommonCache<CallMode, Plan> planCache;
     final ReasonerPerfCounters perfCounters;
+    private final ReasonerPlanCache sharedPlanCache;
+    private final Set<ResolvableConjunction> shareableConjunctions;
 
-    public ReasonerPlanner(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr, ReasonerPerfCounters perfCounters, boolean explain) {
+    public ReasonerPlanner(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr, ReasonerPerfCounters perfCounters,
+                           boolean explain, ReasonerPlanCache sharedPlanCache) {
         this.traversalEng = traversalEng;
         this.conceptMgr = conceptMgr;
         this.logicMgr = logicMgr;
         this.perfCounters = perfCounters;
         this.explain = explain;
         this.planCache = new CommonCache<>();
+        this.sharedPlanCache = sharedPlanCache;
+        this.shareableConjunctions = ConcurrentHashMap.newKeySet();
     }
 
     public static ReasonerPlanner create(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr, ReasonerPerfCounters perfCounters, boolean explain) {
         return RecursivePlanner.create(traversalEng, conceptMgr, logicMgr, perfCounters, explain);
     }
 
+    public static ReasonerPlanner create(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr, ReasonerPerfCounters perfCounters,
+                                         boolean explain, ReasonerPlanCache sharedPlanCache) {
+        return RecursivePlanner.create(traversalEng, conceptMgr, logicMgr, perfCounters, explain, sharedPlanCache);
+    }
+
     static Set<Variable> estimateableVariables(Set<Variable> variables) {
         return iterate(variables).filter(Variable::isThing).toSet();
     }
@@ -89,10 +100,33 @@ public abstract class ReasonerPlanner {
 
     synchronized void plan(CallMode callMode) {
         if (planCache.getIfPresent(callMode) == null) {
-            planCache.put(callMode, computePlan(callMode));
+            Plan sharedPlan = isShareable(callMode) ? sharedPlanCache.get(callMode, statisticsVersion()) : null;
+            planCache.put(callMode, sharedPlan != null ? sharedPlan : computePlan(callMode));
         }
     }
 
+    void cachePlan(CallMode callMode, Plan plan) {
+        planCache.put(callMode, plan);
+        if (isShareable(callMode)) sharedPlanCache.put(callMode, plan, statisticsVersion());
+    }
+
+    /**
+     * Plans of rule conjunctions, and of the negations within them, do not depend on the transaction's query,
+     * so they can be shared with other transactions through the database's plan cache. Explanations plan
+     * differently, so their plans are kept to the transaction.
+     */
+    private boolean isShareable(CallMode callMode) {
+        return !explain && shareableConjunctions.contains(callMode.conjunction);
+    }
+
+    void mayShareNegation(ResolvableConjunction parent, ResolvableConjunction negatedBranch) {
+        if (shareableConjunctions.contains(parent)) shareableConjunctions.add(negatedBranch);
+    }
+
+    private long statisticsVersion() {
+        return traversalEng.graph().data().stats().getDBStatisticsVersion();
+    }
+
     Plan getPlan(CallMode callMode) {
         assert planCache.getIfPresent(callMode) != null;
         return planCache.getIfPresent(callMode);
@@ -164,6 +198,7 @@ public abstract class ReasonerPlanner {
                 if (dependencyFilter != null && !dependencyFilter.contains(ruleConjunction)) {
                     continue;
                 }
+                shareableConjunctions.add(ruleConjunction);
                 for (Unifier unifier : entry.getValue()) {
                     assert iterate(mode).allMatch(v -> v.id().isRetrievable());
                     Set<Variable> ruleMode = iterate(mode)
@@ -43,8 +43,9 @@ public class RecursivePlanner extends ReasonerPlanner {
     final OrderingCoster orderingCoster;
     private final Map<CallMode, Set<LocalAllCallsCosting>> callModeCostings;
 
-    protected RecursivePlanner(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr, ReasonerPerfCounters perfCounters, boolean explain) {
-        super(traversalEng, conceptMgr, logicMgr, perfCounters, explain);
+    protected RecursivePlanner(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr, ReasonerPerfCounters perfCounters,
+                               boolean explain, ReasonerPlanCache sharedPlanCache) {
+        super(traversalEng, conceptMgr, logicMgr, perfCounters, explain, sharedPlanCache);
         this.conjunctionGraph = new ConjunctionGraph(logicMgr);
         this.answerCountEstimator = new AnswerCountEstimator(logicMgr, traversalEng.graph(), this.conjunctionGraph);
         this.callModeCostings = new HashMap<>();
@@ -52,7 +53,12 @@ public class RecursivePlanner extends ReasonerPlanner {
     }
 
     public static RecursivePlanner create(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr, ReasonerPerfCounters perfCounters, boolean explain) {
-        return new RecursivePlanner(traversalEng, conceptMgr, logicMgr, perfCounters, explain);
+        return create(traversalEng, conceptMgr, logicMgr, perfCounters, explain, new ReasonerPlanCache());
+    }
+
+    public static RecursivePlanner create(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr, ReasonerPerfCounters perfCounters,
+                                          boolean explain, ReasonerPlanCache sharedPlanCache) {
+        return new RecursivePlanner(traversalEng, conceptMgr, logicMgr, perfCounters, explain, sharedPlanCache);
     }
 
     @Override
@@ -74,7 +80,7 @@ public class RecursivePlanner extends ReasonerPlanner {
             Plan plan = new Plan(bestCostingForCall.ordering, bestCostingForCall.callMode,
                     Math.round(Math.ceil(bestPlan.cost(bestCostingForCall.callMode, 1.0))),
                     bestPlan.cyclicScalingFactorSum.get(bestCostingForCall.callMode));
-            planCache.put(bestCostingForCall.callMode, plan);
+            cachePlan(bestCostingForCall.callMode, plan);
         }
     }
 
@@ -127,16 +133,17 @@ public class RecursivePlanner extends ReasonerPlanner {
         if (resolvable.isConcludable()) {
             Set<ResolvableConjunction> cyclicDependencies = conjunctionNode.cyclicDependencies(resolvable.asConcludable());
             for (CallMode callMode : triggeredCalls(resolvable.asConcludable(), resolvableMode, null)) {
-                recursivelyGenerateCostingsWithGuard(callMode);
-                if (!cyclicDependencies.contains(callMode.conjunction)) {
-                    plan(callMode); // Acyclic dependencies can be fully planned
+                if (cyclicDependencies.contains(callMode.conjunction)) {
+                    recursivelyGenerateCostingsWithGuard(callMode);
+                } else {
+                    plan(callMode); // Acyclic dependencies can be fully planned, or reused from another transaction
                 }
             }
         } else if (resolvable.isNegated()) {
             iterate(resolvable.asNegated().disjunction().conjunctions()).forEachRemaining(conjunction -> {
                 Set<Variable> branchVariables = Collections.intersection(estimateableVariables(conjunction.pattern().variables()), resolvableMode);
                 CallMode callMode = new CallMode(conjunction, branchVariables);
-                recursivelyGenerateCostingsWithGuard(callMode);
+                mayShareNegation(conjunctionNode.conjunction(), conjunction);
                 plan(callMode);
             });
         }
@@ -24,6 +24,7 @@ import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Context;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.server.common.RequestReader;
+import com.vaticle.typedb.core.server.common.ResPartBatcher;
 import com.vaticle.typedb.core.server.common.ResponseBuilder;
 import com.vaticle.typedb.core.server.common.SynchronizedStreamObserver;
 import com.vaticle.typedb.core.server.common.TracingData;
@@ -36,26 +37,25 @@ import com.vaticle.typedb.core.server.query.QueryService;
 import com.vaticle.typedb.protocol.TransactionProto;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.StampedLock;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
 import static com.vaticle.factory.tracing.client.FactoryTracingThreadStatic.continueTraceOnThread;
@@ -72,6 +72,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CLOSED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_NOT_OPENED;
 import static com.vaticle.typedb.core.concurrent.executor.Executors.scheduled;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.service;
 import static com.vaticle.typedb.core.server.common.RequestReader.applyDefaultOptions;
 import static com.vaticle.typedb.core.server.common.RequestReader.byteStringAsUUID;
 import static com.vaticle.typedb.core.server.common.ResponseBuilder.Transaction.serverMsg;
@@ -85,9 +86,14 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
     private static final String TRACE_PREFIX = "transaction_services.";
     private static final int MAX_NETWORK_LATENCY_MILLIS = 3_000;
 
+    private enum StreamState {IDLE, PREFETCHING, COMPENSATING, STREAMING}
+
     private final TypeDBService typeDBSvc;
     private final StreamObserver<TransactionProto.Transaction.Server> responder;
+    @Nullable
+    private final ServerCallStreamObserver<TransactionProto.Transaction.Server> flowControl;
     private final ConcurrentMap<UUID, ResponseStream<?>> streams;
+    private final ConcurrentLinkedQueue<ResponseStream<?>> pausedStreams;
     private final AtomicBoolean isRPCAlive;
     private final AtomicBoolean isTransactionOpen;
     private final ReadWriteLock requestLock;
@@ -112,6 +118,13 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
         this.typeDBSvc = typeDBSvc;
         this.responder = SynchronizedStreamObserver.of(responder);
         this.streams = new ConcurrentHashMap<>();
+        this.pausedStreams = new ConcurrentLinkedQueue<>();
+        if (responder instanceof ServerCallStreamObserver) {
+            this.flowControl = (ServerCallStreamObserver<TransactionProto.Transaction.Server>) responder;
+            this.flowControl.setOnReadyHandler(this::onReady);
+        } else {
+            this.flowControl = null;
+        }
         this.isRPCAlive = new AtomicBoolean(true);
         this.isTransactionOpen = new AtomicBoolean(false);
         this.requestLock = new StampedLock().asReadWriteLock();
@@ -273,6 +286,36 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
         stream.streamResParts();
     }
 
+    private boolean isReady() {
+        return flowControl == null || flowControl.isReady();
+    }
+
+    /**
+     * Resume the streams that were paused because the client could not receive more responses, now that it has
+     * drained them. The streams are resumed on the service executor, rather than on the transport's thread, and hold
+     * the read lock while streaming, as they do when answering a stream request.
+     */
+    private void onReady() {
+        while (isReady()) {
+            ResponseStream<?> stream = pausedStreams.poll();
+            if (stream == null) return;
+            service().execute(() -> resume(stream));
+        }
+    }
+
+    private void resume(ResponseStream<?> stream) {
+        if (!isRPCAlive.get() || !isTransactionOpen.get()) return;
+        Lock accessLock = requestLock.readLock();
+        accessLock.lock();
+        try {
+            stream.resumePaused();
+        } catch (Throwable error) {
+            close(error);
+        } finally {
+            accessLock.unlock();
+        }
+    }
+
     private Lock acquireRequestLock(TransactionProto.Transaction.Req request) {
         Lock accessLock = isWriteRequest(request) ? requestLock.writeLock() : requestLock.readLock();
         accessLock.lock();
@@ -366,50 +409,113 @@ public class TransactionService implements StreamObserver<TransactionProto.Trans
                 ((StatusRuntimeException) error).getStatus().getCode().equals(Status.CANCELLED.getCode());
     }
 
+    /**
+     * Streams the answers of a request in parts. Each stream request is answered with {@code prefetchSize} answers
+     * followed by a CONTINUE state.
+     *
+     * When the transport reports its readiness, answers are only produced while it is ready to send them, so that the
+     * server produces answers as fast as the client drains them: after the CONTINUE state, answers keep being streamed
+     * for as long as the transport is ready. A stream that is not ready is paused, and resumed once the transport is
+     * ready again. Otherwise, answers keep being streamed for the network latency after the CONTINUE state, to
+     * compensate for the time the next stream request takes to arrive.
+     *
+     * Answers are batched into parts by a {@link ResPartBatcher}, which sizes the parts by their serialised bytes.
+     */
     private class ResponseStream<T> {
 
         private final Function<List<T>, TransactionProto.Transaction.ResPart> resPartFn;
-        private final Iterator<T> iterator;
+        private final ResPartBatcher<T> batcher;
         private final UUID requestID;
         private final int prefetchSize;
+        private int prefetchRemaining;
+        private long compensationEndNanos;
+        private StreamState state;
+        private boolean isPaused;
 
         ResponseStream(Iterator<T> iterator, UUID requestID, int prefetchSize,
                        Function<List<T>, TransactionProto.Transaction.ResPart> resPartFn) {
-            this.iterator = iterator;
+            this.batcher = new ResPartBatcher<>(iterator);
             this.requestID = requestID;
             if (prefetchSize < 1) throw TypeDBException.of(RPC_PREFETCH_SIZE_TOO_SMALL, prefetchSize);
             this.prefetchSize = prefetchSize;
             this.resPartFn = resPartFn;
+            this.state = StreamState.IDLE;
+            this.isPaused = false;
         }
 
-        private void streamResParts() {
-            streamResPartsWhile(i -> i < prefetchSize && iterator.hasNext());
-            if (mayClose()) return;
+        private synchronized void streamResParts() {
+            state = StreamState.PREFETCHING;
+            prefetchRemaining = prefetchSize;
+            resume();
+        }
 
-            respondStreamState(CONTINUE);
-            Instant compensationEndTime = Instant.now().plusMillis(networkLatencyMillis);
-            streamResPartsWhile(i -> iterator.hasNext() && Instant.now().isBefore(compensationEndTime));
-            mayClose();
+        private synchronized void resumePaused() {
+            isPaused = false;
+            resume();
         }
 
-        private void streamResPartsWhile(Predicate<Integer> predicate) {
-            List<T> answers = new ArrayList<>();
-            Instant startTime = Instant.now();
-            for (int i = 0; predicate.test(i); i++) {
-                answers.add(iterator.next());
-                Instant currentTime = Instant.now();
-                if (Duration.between(startTime, currentTime).toMillis() >= 1) {
-                    respond(resPartFn.apply(answers));
-                    answers.clear();
-                    startTime = currentTime;
+        private synchronized void resume() {
+            if (state == StreamState.PREFETCHING) {
+                if (!streamResPartsWhile(() -> prefetchRemaining > 0)) return;
+                if (mayClose()) return;
+
+                respondStreamState(CONTINUE);
+                if (flowControl != null) state = StreamState.STREAMING;
+                else {
+                    state = StreamState.COMPENSATING;
+                    compensationEndNanos = System.nanoTime() + MILLISECONDS.toNanos(networkLatencyMillis);
                 }
             }
-            if (!answers.isEmpty()) respond(resPartFn.apply(answers));
+            if (state == StreamState.STREAMING) {
+                if (!streamResPartsWhile(() -> true)) return;
+                mayClose();
+            } else if (state == StreamState.COMPENSATING) {
+                if (!streamResPartsWhile(() -> System.nanoTime() - compensationEndNanos < 0)) return;
+                state = StreamState.IDLE;
+                mayClose();
+            }
+        }
+
+        /**
+         * @return false if the stream was paused because the transport is not ready, true otherwise
+         */
+        private boolean streamResPartsWhile(BooleanSupplier condition) {
+            while (batcher.hasNext() && condition.getAsBoolean()) {
+                if (!isReady() && pause()) return false;
+                List<T> answers = state == StreamState.PREFETCHING ? batcher.next(prefetchRemaining) : batcher.next();
+                prefetchRemaining -= answers.size();
+                TransactionProto.Transaction.ResPart resPart = resPartFn.apply(answers);
+                respond(resPart);
+                batcher.sent(answers, resPart.getSerializedSize());
+            }
+            return true;
+        }
+
+        /**
+         * The stream is queued before the transport's readiness is checked again, as the transport may have become
+         * ready, and run the on-ready handler, before the stream was queued.
+         *
+         * @return false if the transport became ready, and the stream can keep streaming, true otherwise
+         */
+        private boolean pause() {
+            if (!isPaused) {
+                isPaused = true;
+                pausedStreams.add(this);
+            }
+            if (isReady() && pausedStreams.remove(this)) {
+                isPaused = false;
+                return false;
+            }
+            return true;
         }
 
         private boolean mayClose() {
-            if (!iterator.hasNext()) respondStreamState(DONE);
-            return !iterator.hasNext();
+            if (!batcher.hasNext()) {
+                state = StreamState.IDLE;
+                respondStreamState(DONE);
+                return true;
+            }
+            return false;
         }
 
         private void respondStreamState(TransactionProto.Transaction.Stream.State state) {
@@ -103,6 +103,14 @@ public class TypeDBServer implements AutoCloseable {
                 .dataDir(config.storage().dataDir())
                 .storageDataCacheSize(config.storage().databaseCache().dataSize())
                 .storageIndexCacheSize(config.storage().databaseCache().indexSize())
+                .traversalPlanCacheSize(config.storage().queryCache().traversalPlans())
+                .logicCacheSize(config.storage().queryCache().logic())
+                .queryCacheTimeoutMinutes(config.storage().queryCache().expireAfterAccessMinutes())
+                .queryCacheWeighted(config.storage().queryCache().weighted())
+                .inferredAnswerCacheSize(config.storage().queryCache().inferredAnswers())
+                .parsedQueryCacheSize(config.storage().queryCache().parsedQueries())
+                .writeBufferLimit(config.storage().writeBufferLimit())
+                .actorWorkStealing(config.server().actorWorkStealing())
                 .reasonerDebuggerDir(config.log().debugger().reasonerTracer().output().path())
                 .reasonerPerfCounters(config.log().debugger().reasonerPerfCounters().isEnabled());
 
@@ -307,7 +315,8 @@ public class TypeDBServer implements AutoCloseable {
                 .setLevel(ch.qos.logback.classic.Level.WARN);
 
         CoreMigratorClient migrator = CoreMigratorClient.create(subcmdExport.port());
-        boolean success = migrator.exportDatabase(subcmdExport.database(), subcmdExport.schemaFile(), subcmdExport.dataFile());
+        boolean success = migrator.exportDatabase(subcmdExport.database(), subcmdExport.schemaFile(),
+                subcmdExport.dataFile(), subcmdExport.shards());
         System.exit(success ? 0 : 1);
     }
 
@@ -316,7 +325,9 @@ public class TypeDBServer implements AutoCloseable {
                 .setLevel(ch.qos.logback.classic.Level.WARN);
 
         CoreMigratorClient migrator = CoreMigratorClient.create(subcmdImport.port());
-        boolean success = migrator.importDatabase(subcmdImport.database(), subcmdImport.schemaFile(), subcmdImport.dataFile());
+        boolean success = migrator.importDatabase(subcmdImport.database(), subcmdImport.schemaFile(),
+                subcmdImport.dataFile(), subcmdImport.bulkLoad(), subcmdImport.inMemoryIDMapping(),
+                subcmdImport.idMappingCacheSize());
         System.exit(success ? 0 : 1);
     }
 }
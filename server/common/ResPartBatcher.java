@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.core.server.common;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Batches the answers of a stream into response parts. A part is complete once it holds as many answers as are
+ * expected to fill {@code TARGET_BYTES}, estimated from the size of the previous parts. The first part holds a single
+ * answer, so that the first answer is sent as soon as it is produced.
+ */
+public class ResPartBatcher<T> {
+
+    public static final int TARGET_BYTES = 64 * 1024;
+
+    private final Iterator<T> iterator;
+    private final int targetBytes;
+    private int answersPerPart;
+
+    public ResPartBatcher(Iterator<T> iterator) {
+        this(iterator, TARGET_BYTES);
+    }
+
+    ResPartBatcher(Iterator<T> iterator, int targetBytes) {
+        this.iterator = iterator;
+        this.targetBytes = targetBytes;
+        this.answersPerPart = 1;
+    }
+
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    /**
+     * @param limit the maximum number of answers of the part
+     */
+    public List<T> next(int limit) {
+        int size = Math.min(limit, answersPerPart);
+        List<T> answers = new ArrayList<>(size);
+        while (answers.size() < size && iterator.hasNext()) answers.add(iterator.next());
+        return answers;
+    }
+
+    public List<T> next() {
+        return next(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Record the serialised size of a part, to size the next parts.
+     */
+    public void sent(List<T> answers, int partBytes) {
+        if (answers.isEmpty()) return;
+        int bytesPerAnswer = Math.max(1, partBytes / answers.size());
+        answersPerPart = Math.max(1, targetBytes / bytesPerAnswer);
+    }
+}
@@ -32,6 +32,7 @@ import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.CONFIG_LOG_OUTPUT_UNRECOGNISED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.CONFIG_REASONER_REQUIRES_DIR_OUTPUT;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class CoreConfig {
 
@@ -66,24 +67,34 @@ public class CoreConfig {
     public static class Server {
 
         private final InetSocketAddress address;
+        private final boolean actorWorkStealing;
 
-        protected Server(InetSocketAddress address) {
+        protected Server(InetSocketAddress address, boolean actorWorkStealing) {
             this.address = address;
+            this.actorWorkStealing = actorWorkStealing;
         }
 
         public InetSocketAddress address() {
             return address;
         }
+
+        public boolean actorWorkStealing() {
+            return actorWorkStealing;
+        }
     }
 
     public static class Storage {
 
         private final Path dataDir;
         private final DatabaseCache databaseCache;
+        private final QueryCache queryCache;
+        private final int writeBufferLimit;
 
-        protected Storage(Path dataDir, DatabaseCache databaseCache) {
+        protected Storage(Path dataDir, DatabaseCache databaseCache, QueryCache queryCache, int writeBufferLimit) {
             this.dataDir = dataDir;
             this.databaseCache = databaseCache;
+            this.queryCache = queryCache;
+            this.writeBufferLimit = writeBufferLimit;
         }
 
         public Path dataDir() {
@@ -94,6 +105,14 @@ public class CoreConfig {
             return databaseCache;
         }
 
+        public QueryCache queryCache() {
+            return queryCache;
+        }
+
+        public int writeBufferLimit() {
+            return writeBufferLimit;
+        }
+
         public static class DatabaseCache {
 
             private final long dataSize;
@@ -112,6 +131,50 @@ public class CoreConfig {
                 return indexSize;
             }
         }
+
+        public static class QueryCache {
+
+            private final int traversalPlans;
+            private final int logic;
+            private final long expireAfterAccessSeconds;
+            private final boolean weighted;
+            private final int inferredAnswers;
+            private final int parsedQueries;
+
+            QueryCache(int traversalPlans, int logic, long expireAfterAccessSeconds, boolean weighted, int inferredAnswers,
+                       int parsedQueries) {
+                this.traversalPlans = traversalPlans;
+                this.logic = logic;
+                this.expireAfterAccessSeconds = expireAfterAccessSeconds;
+                this.weighted = weighted;
+                this.inferredAnswers = inferredAnswers;
+                this.parsedQueries = parsedQueries;
+            }
+
+            public int traversalPlans() {
+                return traversalPlans;
+            }
+
+            public int logic() {
+                return logic;
+            }
+
+            public int expireAfterAccessMinutes() {
+                return (int) Math.max(1, SECONDS.toMinutes(expireAfterAccessSeconds));
+            }
+
+            public boolean weighted() {
+                return weighted;
+            }
+
+            public int inferredAnswers() {
+                return inferredAnswers;
+            }
+
+            public int parsedQueries() {
+                return parsedQueries;
+            }
+        }
     }
 
     public static class Log {
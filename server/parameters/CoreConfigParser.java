@@ -39,7 +39,9 @@ import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.KeyValue
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.KeyValue.Predefined;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.BOOLEAN;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.BYTES_SIZE;
+import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.DURATION;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.INET_SOCKET_ADDRESS;
+import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.INTEGER;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.LIST_STRING;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.PATH;
 import static com.vaticle.typedb.core.server.parameters.util.YAMLParser.Value.Primitive.STRING;
@@ -83,19 +85,21 @@ public class CoreConfigParser extends YAMLParser.Value.Compound<CoreConfig> {
 
         protected static final Predefined<InetSocketAddress> address =
                 predefined("address", "Address to listen for TypeDB Clients on.", INET_SOCKET_ADDRESS);
-        private static final Set<Predefined<?>> parsers = set(address);
+        protected static final Predefined<Boolean> actorWorkStealing =
+                predefined("actor-work-stealing", "Let idle reasoner actor threads steal work from busy ones.", BOOLEAN);
+        private static final Set<Predefined<?>> parsers = set(address, actorWorkStealing);
 
         @Override
         public CoreConfig.Server parse(YAML yaml, String path) {
             if (yaml.isMap()) {
                 validatePredefinedKeys(parsers, yaml.asMap().keys(), path);
-                return new CoreConfig.Server(address.parse(yaml.asMap(), path));
+                return new CoreConfig.Server(address.parse(yaml.asMap(), path), actorWorkStealing.parse(yaml.asMap(), path));
             } else throw TypeDBException.of(CONFIG_YAML_MUST_BE_MAP, path);
         }
 
         @Override
         public List<com.vaticle.typedb.core.server.parameters.util.Help> helpList(String path) {
-            return list(address.help(path));
+            return list(address.help(path), actorWorkStealing.help(path));
         }
     }
 
@@ -108,20 +112,25 @@ public class CoreConfigParser extends YAMLParser.Value.Compound<CoreConfig> {
                 predefined("data", "Directory in which user databases will be stored.", PATH);
         protected static final Predefined<CoreConfig.Storage.DatabaseCache> dbCache =
                 predefined(DatabaseCache.name, DatabaseCache.description, new DatabaseCache());
-        private static final Set<Predefined<?>> parsers = set(data, dbCache);
+        protected static final Predefined<CoreConfig.Storage.QueryCache> queryCache =
+                predefined(QueryCache.name, QueryCache.description, new QueryCache());
+        protected static final Predefined<Integer> writeBufferLimit =
+                predefined("write-buffer-limit", "Maximum number of things and edges a transaction may write before it commits, except in bulk loads (0 disables).", INTEGER);
+        private static final Set<Predefined<?>> parsers = set(data, dbCache, queryCache, writeBufferLimit);
 
         @Override
         public CoreConfig.Storage parse(YAML yaml, String path) {
             if (yaml.isMap()) {
                 validatePredefinedKeys(parsers, yaml.asMap().keys(), path);
                 return new CoreConfig.Storage(configPathAbsolute(data.parse(yaml.asMap(), path)),
-                        dbCache.parse(yaml.asMap(), path));
+                        dbCache.parse(yaml.asMap(), path), queryCache.parse(yaml.asMap(), path),
+                        writeBufferLimit.parse(yaml.asMap(), path));
             } else throw TypeDBException.of(CONFIG_YAML_MUST_BE_MAP, path);
         }
 
         @Override
         public List<com.vaticle.typedb.core.server.parameters.util.Help> helpList(String path) {
-            return list(data.help(path), dbCache.help(path));
+            return list(data.help(path), dbCache.help(path), queryCache.help(path), writeBufferLimit.help(path));
         }
 
         private static class DatabaseCache extends Compound<CoreConfig.Storage.DatabaseCache> {
@@ -148,6 +157,45 @@ public class CoreConfigParser extends YAMLParser.Value.Compound<CoreConfig> {
                 return list(data.help(path), index.help(path));
             }
         }
+
+        private static class QueryCache extends Compound<CoreConfig.Storage.QueryCache> {
+
+            private static final String name = "query-cache";
+            private static final String description = "Per-database query plan and reasoner cache configuration.";
+
+            private static final Predefined<Integer> traversalPlans =
+                    predefined("traversal-plans", "Maximum number of cached traversal plans.", INTEGER);
+            private static final Predefined<Integer> logic =
+                    predefined("logic", "Maximum number of cached rules, unifiers and type inference results, per cache.", INTEGER);
+            private static final Predefined<Long> expireAfterAccess =
+                    predefined("expire-after-access", "Duration after which an unused cache entry is evicted.", DURATION);
+            private static final Predefined<Boolean> weighted =
+                    predefined("weighted", "Bound each cache by the estimated size of its entries, rather than their count.", BOOLEAN);
+            private static final Predefined<Integer> inferredAnswers =
+                    predefined("inferred-answers", "Maximum number of cached answer tables of rules, shared by read transactions (0 disables).", INTEGER);
+            private static final Predefined<Integer> parsedQueries =
+                    predefined("parsed-queries", "Maximum number of cached parsed match queries, keyed by query text (0 disables).", INTEGER);
+            private static final Set<Predefined<?>> parsers =
+                    set(traversalPlans, logic, expireAfterAccess, weighted, inferredAnswers, parsedQueries);
+
+            @Override
+            public CoreConfig.Storage.QueryCache parse(YAML yaml, String path) {
+                if (yaml.isMap()) {
+                    validatePredefinedKeys(parsers, yaml.asMap().keys(), path);
+                    return new CoreConfig.Storage.QueryCache(
+                            traversalPlans.parse(yaml.asMap(), path), logic.parse(yaml.asMap(), path),
+                            expireAfterAccess.parse(yaml.asMap(), path), weighted.parse(yaml.asMap(), path),
+                            inferredAnswers.parse(yaml.asMap(), path), parsedQueries.parse(yaml.asMap(), path)
+                    );
+                } else throw TypeDBException.of(CONFIG_YAML_MUST_BE_MAP, path);
+            }
+
+            @Override
+            public List<com.vaticle.typedb.core.server.parameters.util.Help> helpList(String path) {
+                return list(traversalPlans.help(path), logic.help(path), expireAfterAccess.help(path), weighted.help(path),
+                        inferredAnswers.help(path), parsedQueries.help(path));
+            }
+        }
     }
 
     protected static class Log extends Compound<CoreConfig.Log> {
@@ -98,12 +98,19 @@ public interface CoreSubcommand {
         private final Path schemaFile;
         private final Path dataFile;
         private final int port;
+        private final boolean bulkLoad;
+        private final boolean inMemoryIDMapping;
+        private final int idMappingCacheSize;
 
-        protected Import(String database, Path schemaFile, Path dataFile, int port) {
+        protected Import(String database, Path schemaFile, Path dataFile, int port, boolean bulkLoad,
+                         boolean inMemoryIDMapping, int idMappingCacheSize) {
             this.database = database;
             this.schemaFile = schemaFile;
             this.dataFile = dataFile;
             this.port = port;
+            this.bulkLoad = bulkLoad;
+            this.inMemoryIDMapping = inMemoryIDMapping;
+            this.idMappingCacheSize = idMappingCacheSize;
         }
 
         public String database() {
@@ -122,6 +129,18 @@ public interface CoreSubcommand {
             return port;
         }
 
+        public boolean bulkLoad() {
+            return bulkLoad;
+        }
+
+        public boolean inMemoryIDMapping() {
+            return inMemoryIDMapping;
+        }
+
+        public int idMappingCacheSize() {
+            return idMappingCacheSize;
+        }
+
         @Override
         public boolean isImport() {
             return true;
@@ -139,12 +158,14 @@ public interface CoreSubcommand {
         private final Path schemaFile;
         private final Path dataFile;
         private final int port;
+        private final int shards;
 
-        protected Export(String database, Path schemaFile, Path dataFile, int port) {
+        protected Export(String database, Path schemaFile, Path dataFile, int port, int shards) {
             this.database = database;
             this.schemaFile = schemaFile;
             this.dataFile = dataFile;
             this.port = port;
+            this.shards = shards;
         }
 
         public String database() {
@@ -163,6 +184,10 @@ public interface CoreSubcommand {
             return port;
         }
 
+        public int shards() {
+            return shards;
+        }
+
         @Override
         public boolean isExport() {
             return true;
@@ -18,6 +18,7 @@
 package com.vaticle.typedb.core.server.parameters;
 
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.migrator.database.ConceptTracker;
 import com.vaticle.typedb.core.server.parameters.util.Help;
 import com.vaticle.typedb.core.server.parameters.util.Option;
 import com.vaticle.typedb.core.server.parameters.util.OptionParser;
@@ -113,7 +114,15 @@ public class CoreSubcommandParser {
         public static final OptionParser.Path dataFile =
                 new OptionParser.Path("data", "Path to data file to import (.typedb format).");
         public static final OptionParser.Int port = new OptionParser.Int("port", "TypeDB's GRPC port.");
-        private static final Set<OptionParser> parsers = set(database, schemaFile, dataFile, port);
+        public static final OptionParser.Flag bulkLoad = new OptionParser.Flag("bulk-load",
+                "Write data directly into storage files rather than through transactions (for loading into a new database).");
+        public static final OptionParser.Flag inMemoryIDMapping = new OptionParser.Flag("in-memory-id-mapping",
+                "Map the IDs of imported concepts in memory rather than on disk (for imports whose IDs fit in memory).");
+        public static final OptionParser.Int idMappingCacheSize = new OptionParser.Int("id-mapping-cache",
+                "Number of on-disk ID mappings to cache in memory (default: " + ConceptTracker.DEFAULT_CACHE_SIZE + ").");
+        private static final Set<OptionParser> requiredParsers = set(database, schemaFile, dataFile, port);
+        private static final Set<OptionParser> parsers = set(database, schemaFile, dataFile, port, bulkLoad,
+                inMemoryIDMapping, idMappingCacheSize);
 
         public Import() {
             super(tokens, description);
@@ -121,15 +130,17 @@ public class CoreSubcommandParser {
 
         @Override
         protected CoreSubcommand.Import parse(Set<Option> options) {
-            validateRequiredOptions(parsers, options);
+            validateRequiredOptions(requiredParsers, options);
             validateUnrecognisedOptions(parsers, options);
             return new CoreSubcommand.Import(database.parse(options).get(), schemaFile.parse(options).get(),
-                    dataFile.parse(options).get(), port.parse(options).get());
+                    dataFile.parse(options).get(), port.parse(options).get(), bulkLoad.parse(options),
+                    inMemoryIDMapping.parse(options), idMappingCacheSize.parse(options).orElse(ConceptTracker.DEFAULT_CACHE_SIZE));
         }
 
         @Override
         public List<Help> helpList() {
-            return list(database.help(), schemaFile.help(), dataFile.help(), port.help());
+            return list(database.help(), schemaFile.help(), dataFile.help(), port.help(), bulkLoad.help(),
+                    inMemoryIDMapping.help(), idMappingCacheSize.help());
         }
     }
 
@@ -145,7 +156,10 @@ public class CoreSubcommandParser {
         public static final OptionParser.Path dataFile =
                 new OptionParser.Path("data", "Path to file to export data to (using .typedb format).");
         public static final OptionParser.Int port = new OptionParser.Int("port", "TypeDB's GRPC port.");
-        private static final Set<OptionParser> parsers = set(database, schemaFile, dataFile, port);
+        public static final OptionParser.Int shards = new OptionParser.Int("shards",
+                "Number of compressed files to export data into in parallel, listed in the data file (default: export into the data file only).");
+        private static final Set<OptionParser> requiredParsers = set(database, schemaFile, dataFile, port);
+        private static final Set<OptionParser> parsers = set(database, schemaFile, dataFile, port, shards);
 
         public Export() {
             super(tokens, description);
@@ -153,15 +167,15 @@ public class CoreSubcommandParser {
 
         @Override
         protected CoreSubcommand.Export parse(Set<Option> options) {
-            validateRequiredOptions(parsers, options);
+            validateRequiredOptions(requiredParsers, options);
             validateUnrecognisedOptions(parsers, options);
             return new CoreSubcommand.Export(database.parse(options).get(), schemaFile.parse(options).get(),
-                    dataFile.parse(options).get(), port.parse(options).get());
+                    dataFile.parse(options).get(), port.parse(options).get(), shards.parse(options).orElse(0));
         }
 
         @Override
         public List<Help> helpList() {
-            return list(database.help(), schemaFile.help(), dataFile.help(), port.help());
+            return list(database.help(), schemaFile.help(), dataFile.help(), port.help(), shards.help());
         }
     }
 }
@@ -30,7 +30,6 @@ import com.vaticle.typedb.core.reasoner.answer.Explanation;
 import com.vaticle.typedb.core.server.TransactionService;
 import com.vaticle.typedb.protocol.QueryProto;
 import com.vaticle.typedb.protocol.TransactionProto;
-import com.vaticle.typeql.lang.TypeQL;
 import com.vaticle.typeql.lang.query.TypeQLDefine;
 import com.vaticle.typeql.lang.query.TypeQLDelete;
 import com.vaticle.typeql.lang.query.TypeQLInsert;
@@ -112,62 +111,62 @@ public class QueryService {
     }
 
     private void define(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLDefine query = TypeQL.parseQuery(queryStr).asDefine();
+        TypeQLDefine query = queryMgr.parse(queryStr).asDefine();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         queryMgr.define(query, context);
         transactionSvc.respond(defineRes(reqID));
     }
 
     private void undefine(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLUndefine query = TypeQL.parseQuery(queryStr).asUndefine();
+        TypeQLUndefine query = queryMgr.parse(queryStr).asUndefine();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         queryMgr.undefine(query, context);
         transactionSvc.respond(undefineRes(reqID));
     }
 
     private void match(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLMatch query = TypeQL.parseQuery(queryStr).asMatch();
+        TypeQLMatch query = queryMgr.parse(queryStr).asMatch();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         FunctionalIterator<? extends ConceptMap> answers = queryMgr.match(query, context);
         transactionSvc.stream(answers, reqID, context.options(), a -> matchResPart(reqID, a));
     }
 
     private void matchAggregate(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLMatch.Aggregate query = TypeQL.parseQuery(queryStr).asMatchAggregate();
+        TypeQLMatch.Aggregate query = queryMgr.parse(queryStr).asMatchAggregate();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         transactionSvc.respond(matchAggregateRes(reqID, queryMgr.match(query, context)));
     }
 
     private void matchGroup(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLMatch.Group query = TypeQL.parseQuery(queryStr).asMatchGroup();
+        TypeQLMatch.Group query = queryMgr.parse(queryStr).asMatchGroup();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         FunctionalIterator<ConceptMapGroup> answers = queryMgr.match(query, context);
         transactionSvc.stream(answers, reqID, context.options(), a -> matchGroupResPart(reqID, a));
     }
 
     private void matchGroupAggregate(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLMatch.Group.Aggregate query = TypeQL.parseQuery(queryStr).asMatchGroupAggregate();
+        TypeQLMatch.Group.Aggregate query = queryMgr.parse(queryStr).asMatchGroupAggregate();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         FunctionalIterator<NumericGroup> answers = queryMgr.match(query, context);
         transactionSvc.stream(answers, reqID, context.options(), a -> matchGroupAggregateResPart(reqID, a));
     }
 
     private void insert(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLInsert query = TypeQL.parseQuery(queryStr).asInsert();
+        TypeQLInsert query = queryMgr.parse(queryStr).asInsert();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         FunctionalIterator<ConceptMap> answers = queryMgr.insert(query, context);
         transactionSvc.stream(answers, reqID, context.options(), a -> insertResPart(reqID, a));
     }
 
     private void delete(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLDelete query = TypeQL.parseQuery(queryStr).asDelete();
+        TypeQLDelete query = queryMgr.parse(queryStr).asDelete();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         queryMgr.delete(query, context);
         transactionSvc.respond(deleteRes(reqID));
     }
 
     private void update(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLUpdate query = TypeQL.parseQuery(queryStr).asUpdate();
+        TypeQLUpdate query = queryMgr.parse(queryStr).asUpdate();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         FunctionalIterator<ConceptMap> answers = queryMgr.update(query, context);
         transactionSvc.stream(answers, reqID, context.options(), a -> updateResPart(reqID, a));
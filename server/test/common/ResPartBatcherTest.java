@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.vaticle.typedb.core.server.common;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ResPartBatcherTest {
+
+    private static final int TARGET_BYTES = 1_000;
+
+    private static Iterator<Integer> answers(int count) {
+        return range(0, count).iterator();
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> range = new ArrayList<>();
+        for (int i = from; i < to; i++) range.add(i);
+        return range;
+    }
+
+    @Test
+    public void first_part_is_a_single_answer() {
+        ResPartBatcher<Integer> batcher = new ResPartBatcher<>(answers(100), TARGET_BYTES);
+        assertEquals(List.of(0), batcher.next());
+    }
+
+    @Test
+    public void parts_are_sized_by_bytes() {
+        ResPartBatcher<Integer> batcher = new ResPartBatcher<>(answers(100), TARGET_BYTES);
+        List<Integer> part = batcher.next();
+        batcher.sent(part, 100);
+        // 100 bytes per answer fills the target with 10 answers
+        assertEquals(range(1, 11), part = batcher.next());
+        batcher.sent(part, 250 * part.size());
+        assertEquals(range(11, 15), part = batcher.next());
+        batcher.sent(part, 2 * TARGET_BYTES * part.size());
+        // parts hold at least one answer, however large
+        assertEquals(List.of(15), batcher.next());
+    }
+
+    @Test
+    public void parts_are_bounded_by_the_limit() {
+        ResPartBatcher<Integer> batcher = new ResPartBatcher<>(answers(100), TARGET_BYTES);
+        List<Integer> part = batcher.next();
+        batcher.sent(part, 1);
+        assertEquals(range(1, 6), batcher.next(5));
+    }
+
+    @Test
+    public void last_part_holds_the_remaining_answers() {
+        ResPartBatcher<Integer> batcher = new ResPartBatcher<>(answers(7), TARGET_BYTES);
+        List<Integer> part = batcher.next();
+        batcher.sent(part, 1);
+        assertEquals(range(1, 7), batcher.next());
+        assertFalse(batcher.hasNext());
+    }
+}
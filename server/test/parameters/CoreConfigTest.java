@@ -49,8 +49,16 @@ public class CoreConfigTest {
         CoreConfig config = CoreConfigFactory.config(new CoreConfigParser());
         assertTrue(config.storage().dataDir().toString().endsWith("server/data"));
         assertEquals(new InetSocketAddress("0.0.0.0", 1729), config.server().address());
+        assertFalse(config.server().actorWorkStealing());
         assertEquals(500 * Bytes.MB, config.storage().databaseCache().dataSize());
         assertEquals(500 * Bytes.MB, config.storage().databaseCache().indexSize());
+        assertEquals(10_000, config.storage().queryCache().traversalPlans());
+        assertEquals(10_000, config.storage().queryCache().logic());
+        assertEquals(1_440, config.storage().queryCache().expireAfterAccessMinutes());
+        assertFalse(config.storage().queryCache().weighted());
+        assertEquals(0, config.storage().queryCache().inferredAnswers());
+        assertEquals(10_000, config.storage().queryCache().parsedQueries());
+        assertEquals(0, config.storage().writeBufferLimit());
         assertFalse(config.vaticleFactory().enable());
         assertTrue(config.log().output().outputs().containsKey("stdout"));
         assertTrue(config.log().output().outputs().containsKey("file"));
@@ -70,8 +78,16 @@ public class CoreConfigTest {
         CoreConfig config = CoreConfigFactory.config(configMinimalAbsPaths, new HashSet<>(), new CoreConfigParser());
         assertTrue(config.storage().dataDir().isAbsolute());
         assertEquals(new InetSocketAddress("0.0.0.0", 1730), config.server().address());
+        assertTrue(config.server().actorWorkStealing());
         assertEquals(200 * Bytes.MB, config.storage().databaseCache().dataSize());
         assertEquals(700 * Bytes.MB, config.storage().databaseCache().indexSize());
+        assertEquals(50_000, config.storage().queryCache().traversalPlans());
+        assertEquals(20_000, config.storage().queryCache().logic());
+        assertEquals(120, config.storage().queryCache().expireAfterAccessMinutes());
+        assertTrue(config.storage().queryCache().weighted());
+        assertEquals(1_000, config.storage().queryCache().inferredAnswers());
+        assertEquals(20_000, config.storage().queryCache().parsedQueries());
+        assertEquals(5_000_000, config.storage().writeBufferLimit());
         assertFalse(config.vaticleFactory().enable());
         assertTrue(config.log().output().outputs().containsKey("stdout"));
         assertTrue(config.log().output().outputs().containsKey("file"));
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.benchmark.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Runs the benchmarks, and writes their results as JSON, to be compared between releases.
+ *
+ * Usage: {@code benchmark-jmh [results file] [benchmark regex...]}. The results are written to
+ * {@code jmh-results.json} in the working directory by default, and every benchmark is run if no regex is given.
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULTS_FILE = "jmh-results.json";
+
+    public static void main(String[] args) throws RunnerException {
+        Path results = Paths.get(args.length > 0 ? args[0] : DEFAULT_RESULTS_FILE).toAbsolutePath();
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString())
+                .shouldFailOnError(true);
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) options.include(args[i]);
+        } else {
+            options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        }
+        new Runner(options.build()).run();
+        System.out.printf("Benchmark results written to %s%n", results);
+    }
+}
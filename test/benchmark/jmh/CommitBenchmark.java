@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.benchmark.jmh;
+
+import com.vaticle.typedb.core.concept.thing.Entity;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.DATA;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
+
+/**
+ * Commits of small write transactions, while other write transactions are open over the same snapshot, so that each
+ * commit is validated by the isolation manager against the transactions that committed before it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommitBenchmark {
+
+    private static final String DATABASE = "commit-benchmark";
+    private static final int OVERLAPPING = 16;
+
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        @Param({"1", "8"})
+        int writesPerTransaction;
+
+        Path directory;
+        CoreDatabaseManager databaseMgr;
+        CoreSession session;
+        int nextPerson;
+
+        @Setup
+        public void setup() {
+            directory = Dataset.createDirectory();
+            databaseMgr = Dataset.open(directory);
+            Dataset.defineSchema(databaseMgr, DATABASE);
+            session = databaseMgr.session(DATABASE, DATA);
+            nextPerson = 0;
+        }
+
+        @TearDown
+        public void tearDown() {
+            session.close();
+            databaseMgr.close();
+            Dataset.deleteDirectory(directory);
+        }
+
+        CoreTransaction write() {
+            CoreTransaction transaction = session.transaction(WRITE);
+            for (int i = 0; i < writesPerTransaction; i++) {
+                Entity person = transaction.concepts().getEntityType("person").create();
+                person.setHas(transaction.concepts().getAttributeType("name").asString().put(Dataset.name(nextPerson++)));
+                person.setHas(transaction.concepts().getAttributeType("age").asLong().put(nextPerson % Dataset.MAX_AGE));
+            }
+            return transaction;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OVERLAPPING)
+    public void commit_overlapping(Data data) {
+        List<CoreTransaction> transactions = new ArrayList<>(OVERLAPPING);
+        for (int i = 0; i < OVERLAPPING; i++) transactions.add(data.write());
+        for (CoreTransaction transaction : transactions) {
+            transaction.commit();
+            transaction.close();
+        }
+    }
+
+    @Benchmark
+    public void commit_alone(Data data) {
+        try (CoreTransaction transaction = data.write()) {
+            transaction.commit();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.benchmark.jmh;
+
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.concept.thing.Entity;
+import com.vaticle.typedb.core.concept.thing.Relation;
+import com.vaticle.typedb.core.concept.type.AttributeType;
+import com.vaticle.typedb.core.concept.type.EntityType;
+import com.vaticle.typedb.core.concept.type.RelationType;
+import com.vaticle.typedb.core.concept.type.RoleType;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typeql.lang.TypeQL;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.DATA;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
+
+/**
+ * A social network of people, with a name and an age, and friendships between them. The data is generated from a
+ * fixed seed, so that every run, of every release, benchmarks the same data.
+ */
+class Dataset {
+
+    static final long SEED = 0;
+    static final int FRIENDS_PER_PERSON = 4;
+    static final int MAX_AGE = 100;
+    static final String SCHEMA_QUERY = "define " +
+            "name sub attribute, value string; " +
+            "age sub attribute, value long; " +
+            "friendship sub relation, relates friend; " +
+            "person sub entity, owns name, owns age, plays friendship:friend;";
+    private static final int BATCH_SIZE = 1_000;
+
+    private Dataset() {
+    }
+
+    static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("typedb-benchmark");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static CoreDatabaseManager open(Path directory) {
+        return CoreDatabaseManager.open(new Options.Database().dataDir(directory.resolve("data"))
+                .reasonerDebuggerDir(directory.resolve("reasoner")).storageIndexCacheSize(MB * 64)
+                .storageDataCacheSize(MB * 64));
+    }
+
+    static void defineSchema(CoreDatabaseManager databaseMgr, String database) {
+        databaseMgr.create(database);
+        try (CoreSession session = databaseMgr.session(database, SCHEMA);
+             CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(TypeQL.parseQuery(SCHEMA_QUERY).asDefine());
+            transaction.commit();
+        }
+    }
+
+    /**
+     * Creates the database with {@code people} people, in batches of {@link #BATCH_SIZE}. Each person is a friend of
+     * {@link #FRIENDS_PER_PERSON} other people of their batch, on average.
+     */
+    static void load(CoreDatabaseManager databaseMgr, String database, int people) {
+        defineSchema(databaseMgr, database);
+        Random random = new Random(SEED);
+        try (CoreSession session = databaseMgr.session(database, DATA)) {
+            for (int batchStart = 0; batchStart < people; batchStart += BATCH_SIZE) {
+                int batchSize = Math.min(BATCH_SIZE, people - batchStart);
+                try (CoreTransaction transaction = session.transaction(WRITE)) {
+                    EntityType personType = transaction.concepts().getEntityType("person");
+                    AttributeType.String nameType = transaction.concepts().getAttributeType("name").asString();
+                    AttributeType.Long ageType = transaction.concepts().getAttributeType("age").asLong();
+                    RelationType friendshipType = transaction.concepts().getRelationType("friendship");
+                    RoleType friendType = friendshipType.getRelates("friend");
+
+                    List<Entity> batch = new ArrayList<>(batchSize);
+                    for (int i = batchStart; i < batchStart + batchSize; i++) {
+                        Entity person = personType.create();
+                        person.setHas(nameType.put(name(i)));
+                        person.setHas(ageType.put(random.nextInt(MAX_AGE)));
+                        batch.add(person);
+                    }
+                    for (int i = 0; i < batchSize * FRIENDS_PER_PERSON / 2; i++) {
+                        Relation friendship = friendshipType.create();
+                        friendship.addPlayer(friendType, batch.get(random.nextInt(batchSize)));
+                        friendship.addPlayer(friendType, batch.get(random.nextInt(batchSize)));
+                    }
+                    transaction.commit();
+                }
+            }
+        }
+    }
+
+    static String name(int person) {
+        return "person-" + person;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.benchmark.jmh;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBCheckedException;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.encoding.Encoding;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
+import com.vaticle.typedb.core.encoding.key.KeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typedb.core.encoding.Encoding.ValueType.STRING_ENCODING;
+
+/**
+ * Encoding and decoding of the values and IIDs that every read and write goes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+    private static final int VALUE_COUNT = 1_024;
+
+    @State(Scope.Thread)
+    public static class Values {
+
+        long[] longs;
+        double[] doubles;
+        String[] strings;
+        ByteArray[] encodedLongs;
+        ByteArray[] encodedDoubles;
+        ByteArray[] encodedStrings;
+        ByteArray[] thingIIDs;
+        ByteArray[] stringAttributeIIDs;
+        VertexIID.Type typeIID;
+        VertexIID.Type attributeTypeIID;
+        Label typeLabel;
+        KeyGenerator.Data keyGenerator;
+        int index;
+
+        @Setup
+        public void setup() throws TypeDBCheckedException {
+            Random random = new Random(Dataset.SEED);
+            longs = new long[VALUE_COUNT];
+            doubles = new double[VALUE_COUNT];
+            strings = new String[VALUE_COUNT];
+            encodedLongs = new ByteArray[VALUE_COUNT];
+            encodedDoubles = new ByteArray[VALUE_COUNT];
+            encodedStrings = new ByteArray[VALUE_COUNT];
+            thingIIDs = new ByteArray[VALUE_COUNT];
+            stringAttributeIIDs = new ByteArray[VALUE_COUNT];
+            typeIID = VertexIID.Type.of(ByteArray.join(
+                    Encoding.Vertex.Type.ENTITY_TYPE.prefix().bytes(), ByteArray.encodeShortAsSorted(1)
+            ));
+            attributeTypeIID = VertexIID.Type.of(ByteArray.join(
+                    Encoding.Vertex.Type.ATTRIBUTE_TYPE.prefix().bytes(), ByteArray.encodeShortAsSorted(1)
+            ));
+            typeLabel = Label.of("person");
+            keyGenerator = new KeyGenerator.Data.Buffered();
+            for (int i = 0; i < VALUE_COUNT; i++) {
+                longs[i] = random.nextLong();
+                doubles[i] = random.nextDouble();
+                strings[i] = Dataset.name(random.nextInt());
+                encodedLongs[i] = ByteArray.encodeLongAsSorted(longs[i]);
+                encodedDoubles[i] = ByteArray.encodeDoubleAsSorted(doubles[i]);
+                encodedStrings[i] = ByteArray.encodeStringAsSorted(strings[i], STRING_ENCODING);
+                thingIIDs[i] = VertexIID.Thing.generate(keyGenerator, typeIID, typeLabel).bytes();
+                stringAttributeIIDs[i] = new VertexIID.Attribute.String(attributeTypeIID, strings[i]).bytes();
+            }
+        }
+
+        int next() {
+            index = (index + 1) % VALUE_COUNT;
+            return index;
+        }
+    }
+
+    @Benchmark
+    public ByteArray encode_long(Values values) {
+        return ByteArray.encodeLongAsSorted(values.longs[values.next()]);
+    }
+
+    @Benchmark
+    public long decode_long(Values values) {
+        return values.encodedLongs[values.next()].decodeSortedAsLong();
+    }
+
+    @Benchmark
+    public ByteArray encode_double(Values values) throws TypeDBCheckedException {
+        return ByteArray.encodeDoubleAsSorted(values.doubles[values.next()]);
+    }
+
+    @Benchmark
+    public double decode_double(Values values) {
+        return values.encodedDoubles[values.next()].decodeSortedAsDouble();
+    }
+
+    @Benchmark
+    public ByteArray encode_string(Values values) throws TypeDBCheckedException {
+        return ByteArray.encodeStringAsSorted(values.strings[values.next()], STRING_ENCODING);
+    }
+
+    @Benchmark
+    public String decode_string(Values values) {
+        return values.encodedStrings[values.next()].decodeSortedAsString(STRING_ENCODING);
+    }
+
+    @Benchmark
+    public VertexIID.Thing generate_thing_iid(Values values) {
+        return VertexIID.Thing.generate(values.keyGenerator, values.typeIID, values.typeLabel);
+    }
+
+    @Benchmark
+    public VertexIID.Thing read_thing_iid(Values values) {
+        return VertexIID.Thing.of(values.thingIIDs[values.next()]);
+    }
+
+    @Benchmark
+    public VertexIID.Attribute.String construct_string_attribute_iid(Values values) throws TypeDBCheckedException {
+        return new VertexIID.Attribute.String(values.attributeTypeIID, values.strings[values.next()]);
+    }
+
+    @Benchmark
+    public String read_string_attribute_iid(Values values) {
+        return VertexIID.Thing.of(values.stringAttributeIIDs[values.next()]).asAttribute().asString().value();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.benchmark.jmh;
+
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.migrator.database.DatabaseExporter;
+import com.vaticle.typedb.core.migrator.database.DatabaseImporter;
+import com.vaticle.typedb.core.server.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports of a database export, as produced by the exporter, into a new database.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportBenchmark {
+
+    private static final String SOURCE = "import-benchmark-source";
+    private static final String TARGET = "import-benchmark-target";
+
+    @State(Scope.Benchmark)
+    public static class Export {
+
+        @Param({"10000"})
+        int people;
+
+        @Param({"false", "true"})
+        boolean bulkLoad;
+
+        Path directory;
+        Path schemaFile;
+        Path dataFile;
+        CoreDatabaseManager databaseMgr;
+
+        @Setup
+        public void setup() {
+            directory = Dataset.createDirectory();
+            schemaFile = directory.resolve("schema.tql");
+            dataFile = directory.resolve("data.typedb");
+            databaseMgr = Dataset.open(directory);
+            Dataset.load(databaseMgr, SOURCE, people);
+            new DatabaseExporter(databaseMgr, SOURCE, schemaFile, dataFile, Version.VERSION).run();
+        }
+
+        @TearDown(Level.Invocation)
+        public void deleteTarget() {
+            if (databaseMgr.contains(TARGET)) databaseMgr.get(TARGET).delete();
+        }
+
+        @TearDown
+        public void tearDown() {
+            databaseMgr.close();
+            Dataset.deleteDirectory(directory);
+        }
+    }
+
+    @Benchmark
+    public void import_database(Export export) {
+        DatabaseImporter importer = new DatabaseImporter(
+                export.databaseMgr, TARGET, export.schemaFile, export.dataFile, Version.VERSION,
+                new DatabaseImporter.Config().bulkLoad(export.bulkLoad)
+        );
+        try {
+            importer.run();
+        } finally {
+            importer.close();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.benchmark.jmh;
+
+import com.vaticle.typedb.core.concept.thing.Entity;
+import com.vaticle.typedb.core.concept.thing.impl.ThingImpl;
+import com.vaticle.typedb.core.concept.type.AttributeType;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typedb.core.encoding.Storage;
+import com.vaticle.typedb.core.encoding.iid.EdgeViewIID;
+import com.vaticle.typedb.core.encoding.iid.InfixIID;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
+import com.vaticle.typedb.core.encoding.key.Key;
+import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.vertex.ThingVertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.DATA;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
+import static com.vaticle.typedb.core.encoding.Encoding.Edge.Thing.Base.HAS;
+
+/**
+ * Scans of the storage, through the RocksDB iterators, and of the graph adjacency built on them. Run with
+ * {@code -prof gc} to also measure the heap allocated by each scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+    private static final String DATABASE = "storage-benchmark";
+    private static final int BATCH_SIZE = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        @Param({"10000", "100000"})
+        int people;
+
+        Path directory;
+        CoreDatabaseManager databaseMgr;
+        CoreSession session;
+        CoreTransaction transaction;
+        Storage.Data storage;
+        GraphManager graphMgr;
+        Key.Prefix<VertexIID.Thing> personPrefix;
+        Key.Prefix<VertexIID.Thing> namePrefix;
+
+        @Setup
+        public void setup() {
+            directory = Dataset.createDirectory();
+            databaseMgr = Dataset.open(directory);
+            Dataset.load(databaseMgr, DATABASE, people);
+            session = databaseMgr.session(DATABASE, DATA);
+            transaction = session.transaction(READ);
+            graphMgr = transaction.traversal().graph();
+            storage = graphMgr.data().storage();
+            personPrefix = VertexIID.Thing.prefix(graphMgr.schema().getType("person").iid());
+            namePrefix = VertexIID.Thing.prefix(graphMgr.schema().getType("name").iid());
+        }
+
+        @TearDown
+        public void tearDown() {
+            transaction.close();
+            session.close();
+            databaseMgr.close();
+            Dataset.deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * A single person owning many names, whose persisted edges are scanned as a whole.
+     */
+    @State(Scope.Benchmark)
+    public static class Supernode {
+
+        @Param({"200000"})
+        int edges;
+
+        Path directory;
+        CoreDatabaseManager databaseMgr;
+        CoreSession session;
+        CoreTransaction transaction;
+        Storage.Data storage;
+        ThingVertex person;
+        Key.Prefix<EdgeViewIID.Thing> hasPrefix;
+
+        @Setup
+        public void setup() {
+            directory = Dataset.createDirectory();
+            databaseMgr = Dataset.open(directory);
+            Dataset.defineSchema(databaseMgr, DATABASE);
+            session = databaseMgr.session(DATABASE, DATA);
+            try (CoreTransaction transaction = session.transaction(WRITE)) {
+                transaction.concepts().getEntityType("person").create();
+                transaction.commit();
+            }
+            for (int batchStart = 0; batchStart < edges; batchStart += BATCH_SIZE) {
+                try (CoreTransaction transaction = session.transaction(WRITE)) {
+                    AttributeType.String nameType = transaction.concepts().getAttributeType("name").asString();
+                    Entity person = transaction.concepts().getEntityType("person").getInstances().first().get();
+                    for (int i = batchStart; i < Math.min(edges, batchStart + BATCH_SIZE); i++) {
+                        person.setHas(nameType.put(Dataset.name(i)));
+                    }
+                    transaction.commit();
+                }
+            }
+            transaction = session.transaction(READ);
+            storage = transaction.traversal().graph().data().storage();
+            person = ((ThingImpl) transaction.concepts().getEntityType("person").getInstances().first().get()).readableVertex();
+            hasPrefix = EdgeViewIID.Thing.prefix(person.iid(), InfixIID.Thing.of(HAS.forward()));
+        }
+
+        @TearDown
+        public void tearDown() {
+            transaction.close();
+            session.close();
+            databaseMgr.close();
+            Dataset.deleteDirectory(directory);
+        }
+    }
+
+    @Benchmark
+    public long scan_keys_and_values(Data data) {
+        return data.storage.iterate(data.personPrefix, ASC).count();
+    }
+
+    @Benchmark
+    public long scan_keys(Data data) {
+        return data.storage.iterateKeys(data.personPrefix).count();
+    }
+
+    @Benchmark
+    public long scan_and_decode_string_attributes(Data data) {
+        return data.storage.iterate(data.namePrefix, ASC)
+                .map(kv -> kv.key().asAttribute().asString().value()).count();
+    }
+
+    @Benchmark
+    public long scan_has_edges(Data data) {
+        return data.storage.iterate(data.personPrefix, ASC)
+                .map(kv -> data.graphMgr.data().convertToReadable(kv.key()))
+                .flatMap(person -> person.outs().edge(HAS).to()).count();
+    }
+
+    @Benchmark
+    public long scan_supernode_edge_keys_and_values(Supernode supernode) {
+        return supernode.storage.iterate(supernode.hasPrefix, ASC)
+                .map(kv -> EdgeViewIID.Thing.of(kv.key().bytes())).count();
+    }
+
+    @Benchmark
+    public long scan_supernode_edge_keys(Supernode supernode) {
+        return supernode.storage.iterateKeys(supernode.hasPrefix).map(EdgeViewIID.Thing::of).count();
+    }
+
+    @Benchmark
+    public long scan_supernode_adjacency(Supernode supernode) {
+        return supernode.person.outs().edge(HAS).to().count();
+    }
+}
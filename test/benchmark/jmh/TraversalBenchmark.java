@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.benchmark.jmh;
+
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typeql.lang.TypeQL;
+import com.vaticle.typeql.lang.query.TypeQLMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.DATA;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
+
+/**
+ * Joins answered by the graph iterators of the traversal engine, from a lookup by attribute to a join across two
+ * relations. Each invocation answers its query in a new read transaction, as a client would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraversalBenchmark {
+
+    private static final String DATABASE = "traversal-benchmark";
+    private static final TypeQLMatch LOOKUP = TypeQL.parseQuery(
+            "match $x isa person, has name \"" + Dataset.name(0) + "\";").asMatch();
+    private static final TypeQLMatch ATTRIBUTE_JOIN = TypeQL.parseQuery(
+            "match $x isa person, has name $n, has age $a; $a > 90;").asMatch();
+    private static final TypeQLMatch RELATION_JOIN = TypeQL.parseQuery(
+            "match $x isa person, has age 30; (friend: $x, friend: $y) isa friendship; $y has name $n;").asMatch();
+    private static final TypeQLMatch TWO_HOP_JOIN = TypeQL.parseQuery(
+            "match $x isa person, has age 30; (friend: $x, friend: $y) isa friendship; " +
+                    "(friend: $y, friend: $z) isa friendship; $z has age 60;").asMatch();
+
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        @Param({"10000"})
+        int people;
+
+        Path directory;
+        CoreDatabaseManager databaseMgr;
+        CoreSession session;
+
+        @Setup
+        public void setup() {
+            directory = Dataset.createDirectory();
+            databaseMgr = Dataset.open(directory);
+            Dataset.load(databaseMgr, DATABASE, people);
+            session = databaseMgr.session(DATABASE, DATA);
+        }
+
+        @TearDown
+        public void tearDown() {
+            session.close();
+            databaseMgr.close();
+            Dataset.deleteDirectory(directory);
+        }
+
+        long count(TypeQLMatch query) {
+            try (CoreTransaction transaction = session.transaction(READ)) {
+                return transaction.query().match(query).count();
+            }
+        }
+    }
+
+    @Benchmark
+    public long lookup(Data data) {
+        return data.count(LOOKUP);
+    }
+
+    @Benchmark
+    public long attribute_join(Data data) {
+        return data.count(ATTRIBUTE_JOIN);
+    }
+
+    @Benchmark
+    public long relation_join(Data data) {
+        return data.count(RELATION_JOIN);
+    }
+
+    @Benchmark
+    public long two_hop_join(Data data) {
+        return data.count(TWO_HOP_JOIN);
+    }
+}
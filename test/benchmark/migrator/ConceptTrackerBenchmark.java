@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.migrator.benchmark;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.migrator.database.ConceptTracker;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLong;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the throughput of recording and looking up the ID mappings of an import, per million IDs. Lookups are
+ * made in random order, as relations reference their players regardless of the order they were imported in.
+ */
+public class ConceptTrackerBenchmark {
+
+    private static final int MILLION = 1_000_000;
+    private static final int[] ID_COUNTS = new int[]{MILLION, 5 * MILLION};
+    private static final long SEED = 0;
+
+    @Test
+    public void on_disk_without_cache() {
+        benchmark("on disk, without cache", () -> ConceptTracker.onDisk("benchmark", 0));
+    }
+
+    @Test
+    public void on_disk_with_cache() {
+        benchmark("on disk, with cache", () -> ConceptTracker.onDisk("benchmark", ConceptTracker.DEFAULT_CACHE_SIZE));
+    }
+
+    @Test
+    public void off_heap() {
+        benchmark("off heap", ConceptTracker::offHeap);
+    }
+
+    private void benchmark(String name, Supplier<ConceptTracker> trackerSupplier) {
+        for (int idCount : ID_COUNTS) {
+            ConceptTracker tracker = trackerSupplier.get();
+            try {
+                long recordStart = System.nanoTime();
+                for (int i = 0; i < idCount; i++) {
+                    tracker.recordMapped(originalID(i), newID(i));
+                }
+                long recordNanos = System.nanoTime() - recordStart;
+
+                Random random = new Random(SEED);
+                long lookupStart = System.nanoTime();
+                for (int i = 0; i < idCount; i++) {
+                    int id = random.nextInt(idCount);
+                    assertEquals(newID(id), tracker.getMapped(originalID(id)));
+                }
+                long lookupNanos = System.nanoTime() - lookupStart;
+
+                System.out.printf("%s, %,d IDs: recorded in %,d ms per million IDs, looked up in %,d ms per million IDs%n",
+                        name, idCount, recordNanos / 1_000_000 * MILLION / idCount,
+                        lookupNanos / 1_000_000 * MILLION / idCount);
+            } finally {
+                tracker.close();
+            }
+        }
+    }
+
+    private static String originalID(int i) {
+        return "V" + i;
+    }
+
+    private static ByteArray newID(int i) {
+        return ByteArray.join(encodeLong(i), encodeLong(~i));
+    }
+}
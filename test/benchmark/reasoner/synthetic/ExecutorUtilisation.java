@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner.benchmark.synthetic;
+
+import com.vaticle.typedb.common.concurrent.NamedThreadFactory;
+import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.concept.thing.Relation;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.concept.type.EntityType;
+import com.vaticle.typedb.core.concept.type.RelationType;
+import com.vaticle.typedb.core.concept.type.RoleType;
+import com.vaticle.typedb.core.concurrent.actor.ActorExecutor;
+import com.vaticle.typedb.core.concurrent.actor.ActorExecutorGroup;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+
+/**
+ * Compares the utilisation of the actor executors running a recursive reasoning query with and without work stealing.
+ * A few hot actors of the transitive closure dominate the load, so without work stealing the executors they are
+ * assigned to saturate while the others idle.
+ */
+public class ExecutorUtilisation {
+
+    private static final String database = "reasoner-benchmark-executor-utilisation";
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("reasoner-benchmark-executor-utilisation");
+    private static final Options.Database options = new Options.Database().dataDir(dataDir)
+            .storageDataCacheSize(MB).storageIndexCacheSize(MB);
+    private static final int ENTITIES = 1000;
+    private static final int EXECUTORS = Runtime.getRuntime().availableProcessors();
+
+    private static CoreDatabaseManager databaseMgr;
+
+    @Before
+    public void setUp() throws IOException {
+        com.vaticle.typedb.core.test.integration.util.Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        loadTransitivityData();
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    @Test
+    public void transitive_closure_without_work_stealing() throws InterruptedException {
+        runTransitiveClosure(false);
+    }
+
+    @Test
+    public void transitive_closure_with_work_stealing() throws InterruptedException {
+        runTransitiveClosure(true);
+    }
+
+    private void runTransitiveClosure(boolean workStealing) throws InterruptedException {
+        ActorExecutorGroup executors = new ActorExecutorGroup(
+                EXECUTORS, new NamedThreadFactory("typedb-actor"), System::currentTimeMillis, workStealing
+        );
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction tx = session.transaction(Arguments.Transaction.Type.READ, new Options.Transaction().infer(true))) {
+                tx.reasoner().controllerRegistry().setExecutorService(executors);
+                Util.timeQuery("match (from: $x, to: $y) isa P;", tx, "work stealing: " + workStealing + ",");
+            }
+            List<ActorExecutor.Metrics> metrics = executors.metrics();
+            long busyNanos = 0;
+            for (int i = 0; i < metrics.size(); i++) {
+                System.out.println("executor " + i + ": " + metrics.get(i));
+                busyNanos += metrics.get(i).busyNanos();
+            }
+            long maxBusyNanos = metrics.stream().mapToLong(ActorExecutor.Metrics::busyNanos).max().orElse(0);
+            System.out.printf("mean busy time as a proportion of the busiest executor: %.1f%%%n",
+                    maxBusyNanos == 0 ? 0 : 100.0 * busyNanos / metrics.size() / maxBusyNanos);
+        } finally {
+            executors.stop();
+        }
+    }
+
+    private void loadTransitivityData() {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                tx.query().define(Util.parseTQL("test/benchmark/reasoner/synthetic/resources/linearTransitivity.tql").asDefine());
+                tx.commit();
+            }
+        }
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                EntityType entityType = tx.concepts().getEntityType("a-entity");
+                Thing[] instances = new Thing[ENTITIES];
+                for (int i = 0; i < ENTITIES; i++) instances[i] = entityType.create();
+                RelationType relationType = tx.concepts().getRelationType("Q");
+                RoleType from = relationType.getRelates("from");
+                RoleType to = relationType.getRelates("to");
+                Random random = new Random(0);
+                for (int i = 0; i < ENTITIES; i++) {
+                    Relation relation = relationType.create();
+                    relation.addPlayer(from, instances[random.nextInt(ENTITIES)]);
+                    relation.addPlayer(to, instances[random.nextInt(ENTITIES)]);
+                }
+                tx.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.test.integration;
+
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typedb.core.query.common.AnswerBuffer;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+import com.vaticle.typeql.lang.TypeQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AnswerBufferTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("answer-buffer-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Path spillDir = dataDir.resolve("spill");
+    private static final Database options = new Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageDataCacheSize(MB).storageIndexCacheSize(MB);
+    private static final String database = "answer-buffer-test";
+    private static final int PEOPLE = 25;
+    private static final int SPILL_THRESHOLD = 10;
+
+    private static CoreDatabaseManager databaseMgr;
+
+    @Before
+    public void setUp() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "person sub entity, owns name;" +
+                        "name sub attribute, value string;").asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < PEOPLE; i++) {
+                    txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'person-" + i + "';").asInsert());
+                }
+                txn.commit();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    private static List<ConceptMap> answers(CoreTransaction txn) {
+        // the type variable is held in memory, rather than spilled by IID
+        return new ArrayList<>(txn.query().match(TypeQL.parseQuery(
+                "match $x isa! $t, has name $n;"
+        ).asMatch()).toList());
+    }
+
+    private static AnswerBuffer buffer(CoreTransaction txn, List<ConceptMap> answers) {
+        AnswerBuffer buffer = new AnswerBuffer(txn.concepts(), SPILL_THRESHOLD, spillDir);
+        answers.forEach(buffer::add);
+        return buffer;
+    }
+
+    private static List<Map<Retrievable, ? extends Concept>> concepts(List<ConceptMap> answers) {
+        // spilled answers are read back as plain concept maps, so only their concepts are compared
+        List<Map<Retrievable, ? extends Concept>> concepts = new ArrayList<>();
+        answers.forEach(answer -> concepts.add(answer.concepts()));
+        return concepts;
+    }
+
+    private static long spilledFiles() throws IOException {
+        if (!Files.exists(spillDir)) return 0;
+        return Files.list(spillDir).count();
+    }
+
+    @Test
+    public void test_answers_are_held_in_memory_below_the_threshold() throws IOException {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                List<ConceptMap> answers = answers(txn).subList(0, SPILL_THRESHOLD - 1);
+                AnswerBuffer buffer = buffer(txn, answers);
+                assertEquals(0, spilledFiles());
+                assertEquals(answers, buffer.iterator().toList());
+            }
+        }
+    }
+
+    @Test
+    public void test_answers_are_spilled_and_read_back_in_order() throws IOException {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                List<ConceptMap> answers = answers(txn);
+                assertEquals(PEOPLE, answers.size());
+                AnswerBuffer buffer = buffer(txn, answers);
+                assertEquals(PEOPLE / SPILL_THRESHOLD, spilledFiles());
+                assertEquals(concepts(answers), concepts(buffer.iterator().toList()));
+                assertEquals(0, spilledFiles());
+            }
+        }
+    }
+
+    @Test
+    public void test_spilled_files_are_deleted_when_recycled() throws IOException {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                List<ConceptMap> answers = answers(txn);
+                FunctionalIterator<ConceptMap> iterator = buffer(txn, answers).iterator();
+                for (int i = 0; i < 3; i++) assertEquals(answers.get(i).concepts(), iterator.next().concepts());
+                assertTrue(spilledFiles() > 0);
+                iterator.recycle();
+                assertEquals(0, spilledFiles());
+            }
+        }
+    }
+
+    @Test
+    public void test_things_deleted_after_spilling_are_dropped_from_answers() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                List<ConceptMap> answers = answers(txn);
+                AnswerBuffer buffer = buffer(txn, answers);
+                answers.get(0).getConcept("x").asThing().delete();
+
+                List<ConceptMap> readBack = buffer.iterator().toList();
+                assertEquals(PEOPLE, readBack.size());
+                assertFalse(readBack.get(0).containsConcept("x"));
+                assertEquals(answers.get(0).getConcept("n"), readBack.get(0).getConcept("n"));
+                assertEquals(answers.get(1).concepts(), readBack.get(1).concepts());
+            }
+        }
+    }
+}
@@ -19,10 +19,17 @@
 package com.vaticle.typedb.core.test.integration;
 
 import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.common.parameters.Options.Database;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.answer.ConceptMapGroup;
+import com.vaticle.typedb.core.concept.answer.NumericGroup;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.thing.Entity;
 import com.vaticle.typedb.core.concept.type.AttributeType;
@@ -30,12 +37,18 @@ import com.vaticle.typedb.core.concept.type.EntityType;
 import com.vaticle.typedb.core.concept.type.RelationType;
 import com.vaticle.typedb.core.concept.type.RoleType;
 import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typedb.core.pattern.Disjunction;
+import com.vaticle.typedb.core.query.PreparedMatch;
 import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typedb.core.traversal.common.Modifiers.Filter;
+import com.vaticle.typedb.core.traversal.common.Modifiers.Sorting;
 import com.vaticle.typeql.lang.TypeQL;
 import com.vaticle.typeql.lang.query.TypeQLDefine;
 import com.vaticle.typeql.lang.query.TypeQLDelete;
 import com.vaticle.typeql.lang.query.TypeQLInsert;
 import com.vaticle.typeql.lang.query.TypeQLMatch;
+import com.vaticle.typeql.lang.query.TypeQLQuery;
 import com.vaticle.typeql.lang.query.TypeQLUndefine;
 import org.junit.Test;
 
@@ -45,15 +58,20 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
+import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.INVALID_DELETE_HAS;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.test.integration.util.Util.assertNotNulls;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class QueryTest {
 
@@ -309,4 +327,433 @@ public class QueryTest {
             }
         }
     }
+
+    @Test
+    public void test_query_write_bounded() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    StringBuilder insertString = new StringBuilder("insert ");
+                    for (int i = 0; i < 10; i++) {
+                        insertString.append("$u").append(i).append(" isa user, has name 'user-").append(i)
+                                .append("', has email 'shared@vaticle.com'; ");
+                    }
+                    transaction.query().insert(TypeQL.parseQuery(insertString.toString()).asInsert());
+                    transaction.commit();
+                }
+
+                Options.Transaction bounded = new Options.Transaction().boundedWrites(true);
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE, bounded)) {
+                    assertEquals(10, transaction.query().insert(TypeQL.parseQuery(
+                            "match $u isa user; insert $u has full-name 'member';"
+                    ).asInsert()).count());
+                    transaction.query().update(TypeQL.parseQuery(
+                            "match $u isa user, has full-name $f; delete $u has $f; insert $u has full-name 'user';"
+                    ).asUpdate());
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery(
+                            "match $u isa user, has full-name 'user'; count;"
+                    ).asMatchAggregate()).asLong());
+                    transaction.commit();
+                }
+
+                // as when the writes are not bounded, the ownership of the email deleted by the first answer can no
+                // longer be deleted by the other answers
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE, bounded)) {
+                    try {
+                        transaction.query().delete(TypeQL.parseQuery(
+                                "match $u isa user, has email $e; delete $u has $e; $e isa email;"
+                        ).asDelete());
+                        fail("the ownership of a deleted attribute must not be deleted.");
+                    } catch (TypeDBException e) {
+                        assertTrue(e.code().isPresent());
+                        assertEquals(INVALID_DELETE_HAS.code(), e.code().get());
+                    }
+                }
+
+                // every answer shares the email, which only the first answer deletes, as deleting a thing that is
+                // already deleted is skipped
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE, bounded)) {
+                    transaction.query().delete(TypeQL.parseQuery(
+                            "match $u isa user, has email $e; delete $u isa user; $e isa email;"
+                    ).asDelete());
+                    assertCountsMatchAnswers(transaction);
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(0, transaction.query().match(TypeQL.parseQuery("match $u isa user; count;").asMatchAggregate()).asLong());
+                    assertEquals(0, transaction.query().match(TypeQL.parseQuery("match $e isa email; count;").asMatchAggregate()).asLong());
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery("match $n isa name; count;").asMatchAggregate()).asLong());
+                    assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $f isa full-name; count;").asMatchAggregate()).asLong());
+                    assertCountsMatchAnswers(transaction);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_parsed_queries_are_shared_until_the_schema_changes() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (CoreDatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            String match = "match $u isa user, has name $n;";
+            TypeQLQuery parsed;
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    parsed = transaction.query().parse(match);
+                }
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertSame(parsed, transaction.query().parse(match));
+                    assertEquals(1, typedb.get(database).cacheStatistics().get("query.parsed-queries").hitCount());
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().define(TypeQL.parseQuery("define nickname sub attribute, value string;").asDefine());
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertNotSame(parsed, transaction.query().parse(match));
+                    assertEquals(0, typedb.get(database).cacheStatistics().get("query.parsed-queries").hitCount());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_insert_beyond_write_buffer_limit() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                // each user with a name is three writes: the user, the name, and the edge between them
+                Options.Transaction limited = new Options.Transaction().writeBufferLimit(40);
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE, limited)) {
+                    for (int i = 0; i < 10; i++) {
+                        transaction.query().insert(TypeQL.parseQuery("insert $u isa user, has name 'user-" + i + "';").asInsert());
+                    }
+                    transaction.commit();
+                }
+
+                // re-inserting a persisted ownership writes nothing, so it does not count towards the limit
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE, limited)) {
+                    for (int i = 0; i < 50; i++) {
+                        transaction.query().insert(TypeQL.parseQuery(
+                                "match $u isa user, has name 'user-0'; insert $u has name 'user-0';"
+                        ).asInsert()).toList();
+                    }
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE, limited)) {
+                    try {
+                        for (int i = 10; i < 20; i++) {
+                            transaction.query().insert(TypeQL.parseQuery(
+                                    "insert $u isa user, has name 'user-" + i + "', has email 'user-" + i + "@vaticle.com';"
+                            ).asInsert());
+                        }
+                        fail("the transaction must fail once it exceeds its write buffer limit.");
+                    } catch (TypeDBException e) {
+                        assertFalse(transaction.isOpen());
+                    }
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery("match $u isa user; count;").asMatchAggregate()).asLong());
+                    assertEquals(0, transaction.query().match(TypeQL.parseQuery("match $e isa email; count;").asMatchAggregate()).asLong());
+                }
+
+                // bulk loads are not limited
+                Options.Transaction bulkLoad = new Options.Transaction().writeBufferLimit(40).bulkLoad(true);
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE, bulkLoad)) {
+                    for (int i = 10; i < 20; i++) {
+                        transaction.query().insert(TypeQL.parseQuery(
+                                "insert $u isa user, has name 'user-" + i + "', has email 'user-" + i + "@vaticle.com';"
+                        ).asInsert());
+                    }
+                    transaction.commit();
+                }
+                session.database().ingestBulkLoad();
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(20, transaction.query().match(TypeQL.parseQuery("match $u isa user; count;").asMatchAggregate()).asLong());
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery("match $e isa email; count;").asMatchAggregate()).asLong());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_insert_in_bulk_is_ingested_on_close() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                Options.Transaction bulkLoad = new Options.Transaction().bulkLoad(true);
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE, bulkLoad)) {
+                    for (int i = 0; i < 10; i++) {
+                        transaction.query().insert(TypeQL.parseQuery("insert $u isa user, has name 'user-" + i + "';").asInsert());
+                    }
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(0, transaction.query().match(TypeQL.parseQuery("match $u isa user; count;").asMatchAggregate()).asLong());
+                }
+            }
+        }
+
+        // the committed bulk load is ingested when the database is closed, rather than lost
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(10, transaction.query().match(TypeQL.parseQuery("match $u isa user; count;").asMatchAggregate()).asLong());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_group_in_order_and_by_hash() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    String insertString = "insert " +
+                            "$u1 isa user, has name 'butler', has email 'butler@vaticle.com'; " +
+                            "$u2 isa user, has name 'jeeves', has email 'jeeves@vaticle.com', has email 'jeeves@gmail.com'; " +
+                            "$u3 isa user, has name 'alfred'; " +
+                            "$r isa repository, has symbol 'vaticle/typedb', has active true;";
+                    transaction.query().insert(TypeQL.parseQuery(insertString).asInsert());
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    // names are strings, so the answers can be grouped as they arrive in name order
+                    String sortable = "$u isa user, has name $n, has email $e;";
+                    assertTrue(isGroupedInOrder(transaction, sortable, "n"));
+                    List<ConceptMapGroup> groups = transaction.query().match(
+                            TypeQL.parseQuery("match " + sortable + " group $n;").asMatchGroup()
+                    ).toList();
+                    assertEquals(list("butler", "jeeves"), iterate(groups)
+                            .map(group -> group.owner().asAttribute().asString().getValue()).toList());
+                    assertEquals(1, groups.get(0).conceptMaps().size());
+                    assertEquals(2, groups.get(1).conceptMaps().size());
+                    List<NumericGroup> counts = transaction.query().match(
+                            TypeQL.parseQuery("match " + sortable + " group $n; count;").asMatchGroupAggregate()
+                    ).toList();
+                    assertEquals(list(1L, 2L), iterate(counts).map(group -> group.numeric().asLong()).toList());
+
+                    // booleans are not comparable with strings, so the answers are grouped by hash instead
+                    String unsortable = "$x isa entity, has attribute $a;";
+                    assertFalse(isGroupedInOrder(transaction, unsortable, "a"));
+                    assertEquals(8, transaction.query().match(
+                            TypeQL.parseQuery("match " + unsortable + " group $a;").asMatchGroup()
+                    ).count());
+                    assertEquals(8, transaction.query().match(
+                            TypeQL.parseQuery("match " + unsortable + " group $a; count;").asMatchGroupAggregate()
+                    ).count());
+
+                    // the answers grouped by hash are aggregated by each worker in part, so every answer must be counted once
+                    long answers = transaction.query().match(TypeQL.parseQuery("match " + unsortable).asMatch()).count();
+                    assertEquals(answers, (long) transaction.query().match(
+                            TypeQL.parseQuery("match " + unsortable + " group $a; count;").asMatchGroupAggregate()
+                    ).reduce(0L, (group, count) -> count + group.numeric().asLong()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_count_from_statistics() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    String insertString = "insert " +
+                            "$o isa organisation, has name 'vaticle'; " +
+                            "$u1 isa user, has name 'butler', has email 'butler@vaticle.com'; " +
+                            "$u2 isa user, has name 'jeeves', has email 'jeeves@vaticle.com'; " +
+                            "$u3 isa user, has name 'alfred';";
+                    transaction.query().insert(TypeQL.parseQuery(insertString).asInsert());
+                    assertCountsMatchAnswers(transaction);
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().delete(TypeQL.parseQuery("match $u isa user, has name 'alfred'; delete $u isa user;").asDelete());
+                    assertCountsMatchAnswers(transaction);
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $u isa user; count;").asMatchAggregate()).asLong());
+                    assertCountsMatchAnswers(transaction);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_prepared_match() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().insert(TypeQL.parseQuery("insert " +
+                            "$u1 isa user, has name 'butler'; $u2 isa user, has name 'jeeves';").asInsert());
+                    transaction.commit();
+                }
+
+                PreparedMatch prepared;
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    prepared = transaction.query().prepare(TypeQL.parseQuery("match $u isa $t, has name $n; get $n;").asMatch());
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    for (String name : list("butler", "jeeves")) {
+                        ByteArray iid = transaction.query().match(TypeQL.parseQuery(
+                                "match $u isa user, has name '" + name + "';").asMatch()
+                        ).next().getConcept("u").asThing().getIID();
+                        List<? extends ConceptMap> answers = transaction.query().match(
+                                prepared, new PreparedMatch.Parameters().iid("u", iid).label("t", Label.of("user"))
+                        ).toList();
+                        assertEquals(1, answers.size());
+                        assertEquals(name, answers.get(0).getConcept("n").asAttribute().asString().getValue());
+                    }
+                    assertTrue(transaction.query().match(
+                            prepared, new PreparedMatch.Parameters().label("t", Label.of("organisation"))
+                    ).toList().isEmpty());
+                    try {
+                        transaction.query().match(prepared, new PreparedMatch.Parameters().value("x", 1));
+                        fail("a parameter must bind a variable of the prepared query.");
+                    } catch (TypeDBException e) {
+                        assertTrue(true);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertCountsMatchAnswers(TypeDB.Transaction transaction) {
+        List<String> patterns = list(
+                "$u isa user;",
+                "$u isa! user;",
+                "$x isa entity;",
+                "$n isa name;",
+                "$u isa user, has name $n;",
+                "$u has email $e;",
+                "$x isa entity, has attribute $a;"
+        );
+        for (String pattern : patterns) {
+            long fromStatistics = transaction.query().match(
+                    TypeQL.parseQuery("match " + pattern + " count;").asMatchAggregate()
+            ).asLong();
+            // a limit forces the answers to be enumerated
+            long fromAnswers = transaction.query().match(
+                    TypeQL.parseQuery("match " + pattern + " limit 1000; count;").asMatchAggregate()
+            ).asLong();
+            assertEquals(pattern, fromAnswers, fromStatistics);
+            assertTrue(pattern, isCountedFromStatistics(transaction, pattern));
+        }
+        assertFalse(isCountedFromStatistics(transaction, "$u isa user; limit 10;"));
+    }
+
+    private static boolean isGroupedInOrder(TypeDB.Transaction transaction, String pattern, String var) {
+        CoreTransaction coreTransaction = (CoreTransaction) transaction;
+        TypeQLMatch query = TypeQL.parseQuery("match " + pattern + " sort $" + var + ";").asMatch();
+        return coreTransaction.reasoner().executeNativelySorted(
+                Disjunction.create(query.conjunction().normalise()), Filter.create(query.modifiers().filter()),
+                Sorting.create(query.modifiers().sort().get()),
+                new Context.Query(coreTransaction.context(), new Options.Query())
+        ).isPresent();
+    }
+
+    private static boolean isCountedFromStatistics(TypeDB.Transaction transaction, String pattern) {
+        CoreTransaction coreTransaction = (CoreTransaction) transaction;
+        TypeQLMatch query = TypeQL.parseQuery("match " + pattern).asMatch();
+        return coreTransaction.reasoner().countFromStatistics(
+                Disjunction.create(query.conjunction().normalise()), query.modifiers(),
+                new Context.Query(coreTransaction.context(), new Options.Query())
+        ).isPresent();
+    }
 }
@@ -364,6 +364,51 @@ public class IsolationTest {
                     "insert $f (friend: $x, friend: $y) isa friendship;"));
             txn.commit();
             assertEquals(0, session.database().isolationMgr().committedEventCount());
+            assertEquals(0, session.database().isolationMgr().conflictIndexSize());
+        }
+    }
+
+    @Test
+    public void committed_transactions_are_retained_until_older_snapshots_close() throws ExecutionException, InterruptedException {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            TypeDB.Transaction longRunning = session.transaction(Arguments.Transaction.Type.WRITE);
+            for (int i = 0; i < 3; i++) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.query().insert(TypeQL.parseQuery("insert $x isa person;"));
+                    txn.commit();
+                }
+            }
+            assertEquals(3, session.database().isolationMgr().committedEventCount());
+            longRunning.close();
+            session.database().statisticsCorrector().submitCorrection().get(); // guarantee background work has finished
+            assertEquals(0, session.database().isolationMgr().committedEventCount());
+            assertEquals(0, session.database().isolationMgr().conflictIndexSize());
+        }
+    }
+
+    @Test
+    public void rejected_commit_does_not_conflict_with_later_transactions() {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            TypeDB.Transaction setupTxn = session.transaction(Arguments.Transaction.Type.WRITE);
+            setupTxn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Bob';"));
+            setupTxn.commit();
+            TypeDB.Transaction txn1 = session.transaction(Arguments.Transaction.Type.WRITE);
+            TypeDB.Transaction txn2 = session.transaction(Arguments.Transaction.Type.WRITE);
+            txn1.query().delete(TypeQL.parseQuery("match $a 'Bob' isa name; delete $a isa name;"));
+            txn2.query().insert(TypeQL.parseQuery("insert $a 'Bob' isa name;"));
+            txn1.commit();
+            try {
+                txn2.commit();
+                fail();
+            } catch (TypeDBException e) {
+                // success
+            }
+            TypeDB.Transaction txn3 = session.transaction(Arguments.Transaction.Type.WRITE);
+            TypeDB.Transaction txn4 = session.transaction(Arguments.Transaction.Type.WRITE);
+            txn3.query().insert(TypeQL.parseQuery("insert $a 'Bob' isa name;"));
+            txn4.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Alice';"));
+            txn3.commit();
+            txn4.commit();
         }
     }
 
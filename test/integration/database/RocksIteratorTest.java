@@ -19,8 +19,11 @@
 package com.vaticle.typedb.core.database;
 
 import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.common.parameters.Order;
 import com.vaticle.typedb.core.concept.type.AttributeType;
 import com.vaticle.typedb.core.concept.type.impl.AttributeTypeImpl;
 import com.vaticle.typedb.core.encoding.Storage;
@@ -47,6 +50,7 @@ import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Ty
 import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
 import static com.vaticle.typedb.core.common.parameters.Order.Desc.DESC;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class RocksIteratorTest {
 
@@ -68,6 +72,7 @@ public class RocksIteratorTest {
         TypeDB.Session session = dbMgr.session(database, Arguments.Session.Type.SCHEMA);
         try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
             transaction.concepts().putAttributeType("string-value", AttributeType.ValueType.STRING);
+            transaction.concepts().putAttributeType("string-key", AttributeType.ValueType.STRING);
             transaction.commit();
         }
         session.close();
@@ -127,4 +132,37 @@ public class RocksIteratorTest {
             assertEquals(strings, values);
         }
     }
+
+    @Test
+    public void keysRetrievedAscendingAndForwarded() {
+        try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
+            AttributeType.String stringKeyType = transaction.concepts().getAttributeType("string-key").asString();
+            for (int i = 0; i < 1_000; i++) {
+                stringKeyType.put(UUID.randomUUID().toString());
+            }
+            transaction.commit();
+        }
+
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            Storage.Data storage = transaction.graphMgr.data().storage();
+            AttributeType.String stringKeyType = transaction.concepts().getAttributeType("string-key").asString();
+            VertexIID.Type iid = ((AttributeTypeImpl) stringKeyType).vertex.iid();
+            Key.Prefix<VertexIID.Thing> iteratePrefix = VertexIID.Thing.Attribute.String.prefix(iid);
+            List<ByteArray> keys = storage.iterate(iteratePrefix, ASC).map(kv -> kv.key().bytes()).toList();
+            assertEquals(1_000, keys.size());
+            assertEquals(keys, storage.iterateKeys(iteratePrefix).toList());
+
+            // forward within the first batch, beyond it, backwards, and to the end of the prefix
+            Forwardable<ByteArray, Order.Asc> iterator = storage.iterateKeys(iteratePrefix);
+            iterator.forward(keys.get(10));
+            assertEquals(keys.get(10), iterator.next());
+            iterator.forward(keys.get(500));
+            assertEquals(keys.get(500), iterator.next());
+            iterator.forward(keys.get(100));
+            assertEquals(keys.get(501), iterator.next());
+            iterator.forward(keys.get(999));
+            assertEquals(keys.get(999), iterator.next());
+            assertFalse(iterator.hasNext());
+        }
+    }
 }
@@ -22,6 +22,7 @@ import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.encoding.iid.VertexIID;
 import com.vaticle.typedb.core.encoding.key.StatisticsKey;
 import com.vaticle.typedb.core.graph.ThingGraph;
 import com.vaticle.typedb.core.test.integration.util.Util;
@@ -37,6 +38,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 
+import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLong;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
@@ -383,4 +385,32 @@ public class StatisticsTest {
             }
         }
     }
+
+    @Test
+    public void recount_zeroes_stale_counts() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Alice';"));
+                txn.commit();
+            }
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                // no company owns a name, so these counts can only be stale
+                VertexIID.Type companyIID = txn.graphMgr.schema().getType(Label.of("company")).iid();
+                VertexIID.Type nameIID = txn.graphMgr.schema().getType(Label.of("name")).iid();
+                txn.graphMgr.data().storage().putUntracked(StatisticsKey.vertexCount(companyIID), encodeLong(3));
+                txn.graphMgr.data().storage().putUntracked(StatisticsKey.hasEdgeCount(companyIID, nameIID), encodeLong(5));
+                txn.commit();
+            }
+        }
+        databaseMgr.get(database).recountStatistics();
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                ThingGraph.Statistics statistics = txn.graphMgr.data().stats();
+                assertEquals(1, statistics.thingVertexCount(Label.of("person")));
+                assertEquals(1, statistics.hasEdgeCount(Label.of("person"), Label.of("name")));
+                assertEquals(0, statistics.thingVertexCount(Label.of("company")));
+                assertEquals(0, statistics.hasEdgeCount(Label.of("company"), Label.of("name")));
+            }
+        }
+    }
 }
@@ -52,6 +52,7 @@ public class MigratorTest {
     private static final Path schemaPath = Paths.get("test/integration/migrator/schema.tql");
     private final Path dataPath = Paths.get("test/integration/migrator/data.typedb");
     private final Path exportDataPath = Paths.get("test/integration/migrator/exported-data.typedb");
+    private final Path shardedDataPath = Paths.get("test/integration/migrator/exported-sharded-data.typedb");
 
     @Test
     public void test_import_export_database() throws IOException {
@@ -68,6 +69,44 @@ public class MigratorTest {
         }
     }
 
+    @Test
+    public void test_bulk_load_import_export_database() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            new DatabaseImporter(databaseMgr, database, schemaPath, dataPath, Version.VERSION,
+                    new DatabaseImporter.Config().bulkLoad(true).inMemoryIDMapping(true)).run();
+            Path exportedSchema = File.createTempFile("exportedSchema", ".tql").toPath();
+            new DatabaseExporter(
+                    databaseMgr, database, exportedSchema,
+                    exportDataPath, Version.VERSION
+            ).run();
+            assertEquals(trimSchema(readString(schemaPath, UTF_8)), trimSchema(readString(exportedSchema, UTF_8)));
+            assertEquals(getChecksums(dataPath), getChecksums(exportDataPath));
+        }
+    }
+
+    @Test
+    public void test_sharded_export_import_database() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            new DatabaseImporter(databaseMgr, database, schemaPath, dataPath, Version.VERSION).run();
+            Path exportedSchema = File.createTempFile("exportedSchema", ".tql").toPath();
+            new DatabaseExporter(
+                    databaseMgr, database, exportedSchema,
+                    shardedDataPath, Version.VERSION, new DatabaseExporter.Config().shards(4)
+            ).run();
+            assertEquals(getChecksums(dataPath), getChecksums(shardedDataPath));
+
+            String reimported = database + "-reimported";
+            new DatabaseImporter(databaseMgr, reimported, exportedSchema, shardedDataPath, Version.VERSION).run();
+            new DatabaseExporter(
+                    databaseMgr, reimported, exportedSchema,
+                    exportDataPath, Version.VERSION
+            ).run();
+            assertEquals(getChecksums(dataPath), getChecksums(exportDataPath));
+        }
+    }
+
     private String trimSchema(String schema) {
         return schema.substring(schema.indexOf("define")).trim();
     }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner;
+
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typedb.core.reasoner.common.AnswerSorter;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+import com.vaticle.typeql.lang.TypeQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AnswerSorterTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("answer-sorter-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Path spillDir = dataDir.resolve("spill");
+    private static final Database options = new Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageDataCacheSize(MB).storageIndexCacheSize(MB);
+    private static final String database = "answer-sorter-test";
+    private static final int MILKS = 57;
+    private static final int AGES = 7;
+    private static final int SPILL_THRESHOLD = 10;
+    private static final Comparator<ConceptMap> BY_AGE = Comparator.comparing(
+            answer -> answer.getConcept("a").asAttribute().asLong().getValue()
+    );
+
+    private static CoreDatabaseManager databaseMgr;
+
+    @Before
+    public void setUp() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "milk sub entity, owns age-in-days, owns name;" +
+                        "age-in-days sub attribute, value long;" +
+                        "name sub attribute, value string;").asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < MILKS; i++) {
+                    // ages repeat, so that the sorts must keep ties in the order they were produced
+                    txn.query().insert(TypeQL.parseQuery("insert $x isa milk, has age-in-days " + (i % AGES) +
+                            ", has name 'milk-" + i + "';").asInsert());
+                }
+                txn.commit();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    private static List<ConceptMap> answers(CoreTransaction txn) {
+        return new ArrayList<>(txn.query().match(TypeQL.parseQuery(
+                "match $x isa milk, has age-in-days $a, has name $n;"
+        ).asMatch()).toList());
+    }
+
+    private static List<ConceptMap> stableSorted(List<ConceptMap> answers) {
+        List<ConceptMap> sorted = new ArrayList<>(answers);
+        sorted.sort(BY_AGE);
+        return sorted;
+    }
+
+    private static List<Map<Retrievable, ? extends Concept>> concepts(List<ConceptMap> answers) {
+        // spilled answers are read back as plain concept maps, so only their concepts are compared
+        List<Map<Retrievable, ? extends Concept>> concepts = new ArrayList<>();
+        answers.forEach(answer -> concepts.add(answer.concepts()));
+        return concepts;
+    }
+
+    private static long spilledFiles() throws IOException {
+        if (!Files.exists(spillDir)) return 0;
+        return Files.list(spillDir).count();
+    }
+
+    @Test
+    public void test_top_k() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                List<ConceptMap> answers = answers(txn);
+                assertEquals(MILKS, answers.size());
+                List<ConceptMap> expected = stableSorted(answers);
+
+                assertEquals(expected.subList(0, 12), AnswerSorter.topK(iterate(answers), BY_AGE, 12).toList());
+                assertEquals(expected, AnswerSorter.topK(iterate(answers), BY_AGE, MILKS * 2).toList());
+                assertTrue(AnswerSorter.topK(iterate(answers), BY_AGE, 0).toList().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void test_sort_in_memory() throws IOException {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                List<ConceptMap> answers = answers(txn);
+                List<ConceptMap> sorted = AnswerSorter.sort(iterate(answers), BY_AGE, txn.concepts(), MILKS, spillDir).toList();
+                assertEquals(0, spilledFiles());
+                assertEquals(concepts(stableSorted(answers)), concepts(sorted));
+            }
+        }
+    }
+
+    @Test
+    public void test_sort_spills_and_merges() throws IOException {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                List<ConceptMap> answers = answers(txn);
+                FunctionalIterator<ConceptMap> sorted = AnswerSorter.sort(iterate(answers), BY_AGE, txn.concepts(), SPILL_THRESHOLD, spillDir);
+                assertEquals(MILKS / SPILL_THRESHOLD, spilledFiles());
+                assertEquals(concepts(stableSorted(answers)), concepts(sorted.toList()));
+                assertEquals(0, spilledFiles());
+            }
+        }
+    }
+
+    @Test
+    public void test_sort_deletes_spilled_runs_when_recycled() throws IOException {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                List<ConceptMap> answers = answers(txn);
+                FunctionalIterator<ConceptMap> sorted = AnswerSorter.sort(iterate(answers), BY_AGE, txn.concepts(), SPILL_THRESHOLD, spillDir);
+                List<ConceptMap> expected = stableSorted(answers);
+                for (int i = 0; i < 3; i++) assertEquals(expected.get(i).concepts(), sorted.next().concepts());
+                assertTrue(spilledFiles() > 0);
+                sorted.recycle();
+                assertEquals(0, spilledFiles());
+            }
+        }
+    }
+}
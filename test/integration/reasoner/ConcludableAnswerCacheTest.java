@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner;
+
+import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typeql.lang.TypeQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConcludableAnswerCacheTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("concludable-answer-cache-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Database options = new Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageDataCacheSize(MB).storageIndexCacheSize(MB).inferredAnswerCacheSize(1000);
+    private static final String database = "concludable-answer-cache-test";
+    private static CoreDatabaseManager databaseMgr;
+
+    @Before
+    public void setUp() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "person sub entity, owns name, owns nickname, plays friendship:friend;" +
+                        "friendship sub relation, relates friend;" +
+                        "name sub attribute, value string;" +
+                        "nickname sub attribute, value string;" +
+                        "rule namesakes-are-friends: when { " +
+                        "  $x isa person, has name $n; $y isa person, has name $n; " +
+                        "} then { (friend: $x, friend: $y) isa friendship; };" +
+                        "rule everyone-is-a-buddy: when { $x isa person, has name $n; } then { $x has nickname 'buddy'; };"
+                ).asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().insert(TypeQL.parseQuery("insert " +
+                        "$a isa person, has name 'alice'; $b isa person, has name 'alice'; $c isa person, has name 'bob';"
+                ).asInsert());
+                txn.commit();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    private static List<? extends ConceptMap> match(CoreSession session, String query) {
+        try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ, new Options.Transaction().infer(true))) {
+            return txn.query().match(TypeQL.parseQuery(query).asMatch()).toList();
+        }
+    }
+
+    private static CommonCache.Statistics answerCacheStatistics() {
+        return databaseMgr.get(database).cacheStatistics().get("reasoner.answers");
+    }
+
+    @Test
+    public void test_inferred_relations_are_cached() {
+        String query = "match $f (friend: $x, friend: $y) isa friendship;";
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            int answers = match(session, query).size();
+            assertTrue(answers > 0);
+            assertTrue(answerCacheStatistics().size() > 0);
+            long hits = answerCacheStatistics().hitCount();
+
+            assertEquals(answers, match(session, query).size());
+            assertTrue(answerCacheStatistics().hitCount() > hits);
+        }
+    }
+
+    @Test
+    public void test_inferred_attributes_are_cached() {
+        String query = "match $x isa person, has nickname $k;";
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            List<? extends ConceptMap> answers = match(session, query);
+            assertEquals(3, answers.size());
+            answers.forEach(answer -> assertEquals("buddy", answer.getConcept("k").asAttribute().asString().getValue()));
+            assertTrue(answerCacheStatistics().size() > 0);
+            long hits = answerCacheStatistics().hitCount();
+
+            answers = match(session, query);
+            assertEquals(3, answers.size());
+            answers.forEach(answer -> assertEquals("buddy", answer.getConcept("k").asAttribute().asString().getValue()));
+            assertTrue(answerCacheStatistics().hitCount() > hits);
+        }
+    }
+
+    @Test
+    public void test_writes_invalidate_cached_answers() {
+        String query = "match $x isa person, has nickname $k;";
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            assertEquals(3, match(session, query).size());
+            assertTrue(answerCacheStatistics().size() > 0);
+
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().insert(TypeQL.parseQuery("insert $d isa person, has name 'carol';").asInsert());
+                txn.commit();
+            }
+            assertEquals(0, answerCacheStatistics().size());
+            assertEquals(4, match(session, query).size());
+        }
+    }
+
+    @Test
+    public void test_bulk_load_ingestion_invalidates_cached_answers() {
+        String query = "match $x isa person, has nickname $k;";
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            assertEquals(3, match(session, query).size());
+            assertTrue(answerCacheStatistics().size() > 0);
+
+            Options.Transaction bulkLoad = new Options.Transaction().bulkLoad(true);
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE, bulkLoad)) {
+                txn.query().insert(TypeQL.parseQuery("insert $d isa person, has name 'carol';").asInsert());
+                txn.commit();
+            }
+            assertTrue(answerCacheStatistics().size() > 0);
+            session.database().ingestBulkLoad();
+            assertEquals(0, answerCacheStatistics().size());
+            assertEquals(4, match(session, query).size());
+        }
+    }
+
+    @Test
+    public void test_answers_are_not_cached_by_queries_with_negations() {
+        String query = "match $x isa person, has name $n; not { $x has nickname 'buddy'; };";
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            assertEquals(0, match(session, query).size());
+            assertEquals(0, answerCacheStatistics().size());
+        }
+    }
+}
@@ -47,6 +47,10 @@ import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
 
 public class ReasonerPlannerTest {
 
@@ -203,4 +207,83 @@ public class ReasonerPlannerTest {
             verifyPlan(planner, "path-recursive", set("n1", "n3"), Collections.list("c", "r"));
         }
     }
+
+    private ReasonerPlanner.CallMode ruleCallMode(String ruleLabel, Set<String> inputBounds) {
+        Rule rule = transaction.logic().rules().filter(rule1 -> rule1.getLabel().equals(ruleLabel)).next();
+        ResolvableConjunction condition = iterate(rule.condition().branches()).next().conjunction();
+        Set<Variable> bounds = iterate(condition.pattern().variables())
+                .filter(variable -> variable.id().isName())
+                .filter(variable -> inputBounds.contains(variable.id().asName().name()))
+                .toSet();
+        return new ReasonerPlanner.CallMode(condition, bounds);
+    }
+
+    private long statisticsVersion() {
+        return transaction.traversal().graph().data().stats().getDBStatisticsVersion();
+    }
+
+    @Test
+    public void test_rule_plans_are_shared_across_transactions() {
+        ReasonerPlanCache sharedCache = new ReasonerPlanCache();
+        String query = "{ $x isa node, has nid 0; (from: $x, to: $y) isa path; }";
+        ReasonerPlanner.Plan sharedPlan;
+        {
+            initialise(Arguments.Session.Type.DATA, Arguments.Transaction.Type.READ);
+            ReasonerPlanner planner = ReasonerPlanner.create(transaction.traversal(), transaction.concepts(), transaction.logic(), new ReasonerPerfCounters(false), false, sharedCache);
+            ResolvableConjunction conjunction = ResolvableConjunction.of(resolvedConjunction(query, transaction.logic()));
+            planner.plan(conjunction, set());
+            ReasonerPlanner.CallMode callMode = ruleCallMode("path-recursive", set("n1"));
+            sharedPlan = planner.getPlan(callMode);
+            assertSame(sharedPlan, sharedCache.get(callMode, statisticsVersion()));
+            // query conjunctions belong to their transaction, so their plans are not shared
+            assertNull(sharedCache.get(new ReasonerPlanner.CallMode(conjunction, set()), statisticsVersion()));
+        }
+        {
+            initialise(Arguments.Session.Type.DATA, Arguments.Transaction.Type.READ);
+            ReasonerPlanner planner = ReasonerPlanner.create(transaction.traversal(), transaction.concepts(), transaction.logic(), new ReasonerPerfCounters(false), false, sharedCache);
+            ResolvableConjunction conjunction = ResolvableConjunction.of(resolvedConjunction(query, transaction.logic()));
+            planner.plan(conjunction, set());
+            assertSame(sharedPlan, planner.getPlan(ruleCallMode("path-recursive", set("n1"))));
+        }
+        {
+            initialise(Arguments.Session.Type.DATA, Arguments.Transaction.Type.READ);
+            ReasonerPlanner planner = ReasonerPlanner.create(transaction.traversal(), transaction.concepts(), transaction.logic(), new ReasonerPerfCounters(false), true, sharedCache);
+            ResolvableConjunction conjunction = ResolvableConjunction.of(resolvedConjunction(query, transaction.logic()));
+            planner.plan(conjunction, set());
+            // explanations plan independently of the shared plans
+            assertNotSame(sharedPlan, planner.getPlan(ruleCallMode("path-recursive", set("n1"))));
+        }
+    }
+
+    @Test
+    public void test_shared_rule_plans_are_replanned_once_statistics_drift() {
+        ReasonerPlanCache sharedCache = new ReasonerPlanCache();
+        initialise(Arguments.Session.Type.DATA, Arguments.Transaction.Type.READ);
+        ReasonerPlanner planner = ReasonerPlanner.create(transaction.traversal(), transaction.concepts(), transaction.logic(), new ReasonerPerfCounters(false), false, sharedCache);
+        planner.plan(ResolvableConjunction.of(resolvedConjunction("{ (from: $x, to: $y) isa path; }", transaction.logic())), set());
+        ReasonerPlanner.CallMode callMode = ruleCallMode("path-recursive", set());
+        long version = statisticsVersion();
+
+        assertSame(planner.getPlan(callMode), sharedCache.get(callMode, version + ReasonerPlanCache.STATISTICS_VERSION_TOLERANCE));
+        assertNull(sharedCache.get(callMode, version + ReasonerPlanCache.STATISTICS_VERSION_TOLERANCE + 1));
+        // a drifted plan is evicted, rather than only hidden from later versions
+        assertNull(sharedCache.get(callMode, version));
+    }
+
+    @Test
+    public void test_shared_rule_plans_are_invalidated_by_schema_changes() {
+        String query = "match (from: $x, to: $y) isa path;";
+        initialise(Arguments.Session.Type.DATA, Arguments.Transaction.Type.READ);
+        transaction.close();
+        transaction = session.transaction(Arguments.Transaction.Type.READ, new Options.Transaction().infer(true));
+        transaction.query().match(TypeQL.parseQuery(query).asMatch()).toList();
+        assertTrue(databaseMgr.get(database).cacheStatistics().get("reasoner.plans").size() > 0);
+
+        initialise(Arguments.Session.Type.SCHEMA, Arguments.Transaction.Type.WRITE);
+        transaction.query().define(TypeQL.parseQuery("define colour sub attribute, value string;").asDefine());
+        transaction.commit();
+
+        initialise(Arguments.Session.Type.DATA, Arguments.Transaction.Type.READ);
+        assertEquals(0, databaseMgr.get(database).cacheStatistics().get("reasoner.plans").size());
+    }
 }
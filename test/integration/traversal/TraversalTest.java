@@ -22,9 +22,11 @@ import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Context;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.database.CoreDatabaseManager;
 import com.vaticle.typedb.core.database.CoreSession;
@@ -66,7 +68,9 @@ import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Ty
 import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
 import static com.vaticle.typedb.core.common.parameters.Order.Desc.DESC;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class TraversalTest {
@@ -230,6 +234,131 @@ public class TraversalTest {
         }
     }
 
+    @Test
+    public void sorting_strings_with_range_and_prefix() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            TypeQLDefine query = TypeQL.parseQuery("define person sub entity, owns name; name sub attribute, value string;");
+            transaction.query().define(query);
+            transaction.commit();
+        }
+        session.close();
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        List<String> names = list("alice", "alicia", "al", "bob", "bobby", "ab", "albert", "a\u0000b", "zoe", "\u00e9mile");
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            for (String name : names) {
+                transaction.query().insert(TypeQL.insert(TypeQL.cVar("x").isa("person").has("name", name)));
+            }
+            transaction.commit();
+        }
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            Identifier.Variable.Name var = Identifier.Variable.namedConcept("n");
+            Modifiers.Filter filter = Modifiers.Filter.create(set(var));
+            Modifiers.Sorting sorting = Modifiers.Sorting.create(singletonList(var), map(pair(var, ASC)));
+
+            Disjunction all = Disjunction.create(TypeQL.parseQuery("match $x isa person, has name $n;")
+                    .asMatch().conjunction().normalise());
+            transaction.logic().typeInference().applyCombination(all);
+            List<String> sorted = names.stream().sorted().collect(toList());
+            assertEquals(sorted, transaction.reasoner().executeTraversalSorted(all, filter, sorting).toList().stream()
+                    .map(ans -> ans.getConcept("n").asAttribute().asString().getValue()).collect(toList()));
+
+            Disjunction range = Disjunction.create(TypeQL.parseQuery("match $x isa person, has name $n; $n >= \"alice\"; $n < \"bobby\";")
+                    .asMatch().conjunction().normalise());
+            transaction.logic().typeInference().applyCombination(range);
+            assertEquals(list("alice", "alicia", "bob"), transaction.reasoner().executeTraversalSorted(range, filter, sorting).toList().stream()
+                    .map(ans -> ans.getConcept("n").asAttribute().asString().getValue()).collect(toList()));
+
+            Disjunction prefix = Disjunction.create(TypeQL.parseQuery("match $x isa person, has name $n; $n like \"^ali.*\";")
+                    .asMatch().conjunction().normalise());
+            transaction.logic().typeInference().applyCombination(prefix);
+            assertEquals(list("alice", "alicia"), transaction.reasoner().executeTraversalSorted(prefix, filter, sorting).toList().stream()
+                    .map(ans -> ans.getConcept("n").asAttribute().asString().getValue()).collect(toList()));
+        }
+    }
+
+    @Test
+    public void ngram_index_finds_contained_substrings() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            TypeQLDefine query = TypeQL.parseQuery("define person sub entity, owns name; name sub attribute, value string;");
+            transaction.query().define(query);
+            transaction.commit();
+        }
+        session.close();
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            for (String name : list("Alice Cooper", "alicia keys", "bob", "Malice", "li")) {
+                transaction.query().insert(TypeQL.insert(TypeQL.cVar("x").isa("person").has("name", name)));
+            }
+            transaction.commit();
+        }
+        session.close();
+        session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.concepts().getAttributeType("name").asString().setNGramIndexed();
+            transaction.commit();
+        }
+        session.close();
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().insert(TypeQL.insert(TypeQL.cVar("x").isa("person").has("name", "police")));
+            transaction.query().delete(TypeQL.parseQuery("match $n \"alicia keys\" isa name; delete $n isa name;"));
+            transaction.commit();
+        }
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().insert(TypeQL.insert(TypeQL.cVar("x").isa("person").has("name", "slice")));
+            assertTrue(transaction.concepts().getAttributeType("name").asString().isNGramIndexed());
+            assertEquals(set("Alice Cooper", "Malice", "police", "slice"), matchNames(transaction, "$n contains \"LIC\";"));
+            assertEquals(set("Malice", "police", "slice"), matchNames(transaction, "$n like \".*lice?$\";"));
+            assertEquals(set(), matchNames(transaction, "$n contains \"alicia\";"));
+            // hexadecimal and unicode escapes are not literal substrings of the regex
+            assertEquals(set("Malice"), matchNames(transaction, "$n like \"\\x4d\\u0061lice\";"));
+            assertEquals(set("Malice", "police", "slice"), matchNames(transaction, "$n like \".*\\x6cice\";"));
+        }
+    }
+
+    private Set<String> matchNames(CoreTransaction transaction, String predicate) {
+        return transaction.query().match(TypeQL.parseQuery("match $n isa name; " + predicate).asMatch())
+                .map(answer -> answer.getConcept("n").asAttribute().asString().getValue()).toSet();
+    }
+
+    @Test
+    public void parallel_sorting_matches_sequential_sorting() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            TypeQLDefine query = TypeQL.parseQuery("define person sub entity, owns age; age sub attribute, value long;");
+            transaction.query().define(query);
+            transaction.commit();
+        }
+        session.close();
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            for (int i = 0; i < 500; i++) {
+                transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has age " + (i * 7919 % 250) + ";").asInsert());
+            }
+            transaction.commit();
+        }
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            Disjunction disjunction = Disjunction.create(TypeQL.parseQuery("match $x isa person, has age $a;")
+                    .asMatch().conjunction().normalise());
+            transaction.logic().typeInference().applyCombination(disjunction);
+            Identifier.Variable.Name x = Identifier.Variable.namedConcept("x");
+            Identifier.Variable.Name a = Identifier.Variable.namedConcept("a");
+            Modifiers.Filter filter = Modifiers.Filter.create(set(x, a));
+            Modifiers.Sorting sorting = Modifiers.Sorting.create(singletonList(a), map(pair(a, ASC)));
+            List<ConceptMap.Sortable> sequential = transaction.reasoner().executeTraversalSorted(disjunction, filter, sorting, false).toList();
+            List<ConceptMap.Sortable> parallel = transaction.reasoner().executeTraversalSorted(disjunction, filter, sorting, true).toList();
+
+            assertEquals(500, parallel.size());
+            assertEquals(set(sequential), set(parallel));
+            for (int i = 0; i < parallel.size(); i++) {
+                assertEquals(sequential.get(i).getConcept("a"), parallel.get(i).getConcept("a"));
+            }
+            List<ConceptMap.Sortable> limited = transaction.reasoner().executeTraversalSorted(disjunction, filter, sorting, true)
+                    .limit(10).toList();
+            assertEquals(sequential.subList(0, 10).stream().map(ans -> ans.getConcept("a")).collect(toList()),
+                    limited.stream().map(ans -> ans.getConcept("a")).collect(toList()));
+        }
+    }
+
     @Test
     public void backward_isa_edge_fetches_supertypes() {
         try (CoreTransaction transaction = session.transaction(WRITE)) {
@@ -660,4 +789,37 @@ public class TraversalTest {
             assertTrue(expectedAnswers.containsAll(actualAnswers));
         }
     }
+
+    @Test
+    public void profiled_match_records_operators() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            TypeQLDefine query = TypeQL.parseQuery("define person sub entity, owns name; name sub attribute, value string;");
+            transaction.query().define(query);
+            transaction.commit();
+        }
+        session.close();
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name \"alice\";").asInsert());
+            transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name \"bob\";").asInsert());
+            transaction.commit();
+        }
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            Context.Query context = new Context.Query(transaction.context(), new Options.Query().profile(true));
+            long answers = transaction.query().match(TypeQL.parseQuery("match $x isa person, has name $n;").asMatch(), context).count();
+            assertEquals(2, answers);
+
+            QueryProfile profile = context.profile();
+            assertTrue(profile.isEnabled());
+            String report = profile.toString();
+            assertTrue(report.contains("Procedure 0"));
+            assertTrue(report.contains("$x"));
+            assertTrue(report.contains("$n"));
+        }
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            Context.Query context = new Context.Query(transaction.context(), new Options.Query());
+            assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $x isa person, has name $n;").asMatch(), context).count());
+            assertFalse(context.profile().isEnabled());
+        }
+    }
 }
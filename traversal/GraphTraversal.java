@@ -21,6 +21,7 @@ package com.vaticle.typedb.core.traversal;
 import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.concurrent.producer.FunctionalProducer;
 import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.encoding.iid.VertexIID;
@@ -41,6 +42,7 @@ import com.vaticle.typeql.lang.common.TypeQLToken;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -75,9 +77,10 @@ public abstract class GraphTraversal extends Traversal {
         modifiers.sorting(sorting);
     }
 
-    FunctionalIterator<VertexMap> permutationIterator(GraphManager graphMgr, Planner planner, boolean singleUse) {
+    FunctionalIterator<VertexMap> permutationIterator(GraphManager graphMgr, Planner planner, boolean singleUse,
+                                                      QueryProfile profile) {
         planner.tryOptimise(graphMgr, singleUse);
-        return planner.procedure().iterator(graphMgr, parameters, modifiers);
+        return planner.procedure().iterator(graphMgr, parameters, modifiers, profile);
     }
 
     public void labels(Identifier.Variable type, Set<Label> labels) {
@@ -138,7 +141,7 @@ public abstract class GraphTraversal extends Traversal {
 
         @Override
         FunctionalIterator<VertexMap> permutationIterator(GraphManager graphMgr) {
-            return permutationIterator(graphMgr, Planner.create(structure, modifiers), true);
+            return permutationIterator(graphMgr, Planner.create(structure, modifiers), true, QueryProfile.DISABLED);
         }
 
         public Optional<Map<Identifier.Variable.Retrievable, Set<TypeVertex>>> combination(
@@ -164,20 +167,32 @@ public abstract class GraphTraversal extends Traversal {
 
         @Override
         FunctionalIterator<VertexMap> permutationIterator(GraphManager graphMgr) {
+            return permutationIterator(graphMgr, QueryProfile.DISABLED);
+        }
+
+        FunctionalIterator<VertexMap> permutationIterator(GraphManager graphMgr, QueryProfile profile) {
             assert planner != null && cache != null;
-            FunctionalIterator<VertexMap> iter = permutationIterator(graphMgr, planner, false);
+            FunctionalIterator<VertexMap> iter = permutationIterator(graphMgr, planner, false, profile);
             cache.mayUpdatePlanner(structure, modifiers, planner);
             return iter;
         }
 
-        FunctionalProducer<VertexMap> permutationProducer(GraphManager graphMgr, int parallelisation) {
+        FunctionalProducer<VertexMap> permutationProducer(GraphManager graphMgr, int parallelisation, QueryProfile profile) {
             assert planner != null && cache != null;
             planner.tryOptimise(graphMgr, false);
-            FunctionalProducer<VertexMap> producer = planner.procedure().producer(graphMgr, parameters, modifiers, parallelisation);
+            FunctionalProducer<VertexMap> producer = planner.procedure().producer(graphMgr, parameters, modifiers, parallelisation, profile);
             cache.mayUpdatePlanner(structure, modifiers, planner);
             return producer;
         }
 
+        List<FunctionalIterator<VertexMap>> permutationIterators(GraphManager graphMgr, int partitions, QueryProfile profile) {
+            assert planner != null && cache != null;
+            planner.tryOptimise(graphMgr, false);
+            List<FunctionalIterator<VertexMap>> iterators = planner.procedure().iterators(graphMgr, parameters, modifiers, partitions, profile);
+            cache.mayUpdatePlanner(structure, modifiers, planner);
+            return iterators;
+        }
+
         public void equalThings(Identifier.Variable thing1, Identifier.Variable thing2) {
             structure.equalEdge(structure.thingVertex(thing1), structure.thingVertex(thing2));
         }
@@ -24,16 +24,34 @@ import com.vaticle.typedb.core.traversal.common.Modifiers;
 import com.vaticle.typedb.core.traversal.planner.Planner;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 public class TraversalCache {
 
+    private static final int ACTIVE_PLANNERS_SIZE = 30;
+
     private final CommonCache<Pair<Structure, Modifiers>, Planner> activePlanners;
     private final CommonCache<Pair<Structure, Modifiers>, Planner> optimalPlanners;
 
     public TraversalCache() {
-        activePlanners = new CommonCache<>(30);
-        optimalPlanners = new CommonCache<>(10_000);
+        activePlanners = new CommonCache<>(ACTIVE_PLANNERS_SIZE);
+        optimalPlanners = new CommonCache<>();
+    }
+
+    /**
+     * @param weighted if true, the optimal planners are bounded by the total size of their traversal structures,
+     *                 rather than their count
+     */
+    public TraversalCache(int size, int timeoutMinutes, boolean weighted) {
+        activePlanners = new CommonCache<>(ACTIVE_PLANNERS_SIZE, timeoutMinutes);
+        if (weighted) optimalPlanners = new CommonCache<>(size, timeoutMinutes, TraversalCache::weigh);
+        else optimalPlanners = new CommonCache<>(size, timeoutMinutes);
+    }
+
+    private static int weigh(Pair<Structure, Modifiers> key, Planner planner) {
+        return key.first().vertices().size() + key.first().edges().size();
     }
 
     public Planner getPlanner(Structure structure, Modifiers modifiers, Function<Pair<Structure, Modifiers>, Planner> constructor) {
@@ -53,4 +71,11 @@ public class TraversalCache {
             optimalPlanners.invalidate(key);
         }
     }
+
+    public Map<String, CommonCache.Statistics> statistics() {
+        Map<String, CommonCache.Statistics> statistics = new LinkedHashMap<>();
+        statistics.put("active-planners", activePlanners.statistics());
+        statistics.put("optimal-planners", optimalPlanners.statistics());
+        return statistics;
+    }
 }
@@ -19,12 +19,14 @@
 package com.vaticle.typedb.core.traversal;
 
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.concurrent.producer.FunctionalProducer;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
 import com.vaticle.typedb.core.traversal.common.VertexMap;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -44,13 +46,30 @@ public class TraversalEngine {
     }
 
     public FunctionalProducer<VertexMap> producer(GraphTraversal.Thing traversal, int parallelisation) {
+        return producer(traversal, parallelisation, QueryProfile.DISABLED);
+    }
+
+    public FunctionalProducer<VertexMap> producer(GraphTraversal.Thing traversal, int parallelisation, QueryProfile profile) {
         traversal.initialise(cache);
-        return traversal.permutationProducer(graphMgr, parallelisation);
+        return traversal.permutationProducer(graphMgr, parallelisation, profile);
     }
 
     public FunctionalIterator<VertexMap> iterator(GraphTraversal.Thing traversal) {
+        return iterator(traversal, QueryProfile.DISABLED);
+    }
+
+    public FunctionalIterator<VertexMap> iterator(GraphTraversal.Thing traversal, QueryProfile profile) {
         traversal.initialise(cache);
-        return traversal.permutationIterator(graphMgr);
+        return traversal.permutationIterator(graphMgr, profile);
+    }
+
+    public List<FunctionalIterator<VertexMap>> iterators(GraphTraversal.Thing traversal, int partitions) {
+        return iterators(traversal, partitions, QueryProfile.DISABLED);
+    }
+
+    public List<FunctionalIterator<VertexMap>> iterators(GraphTraversal.Thing traversal, int partitions, QueryProfile profile) {
+        traversal.initialise(cache);
+        return traversal.permutationIterators(graphMgr, partitions, profile);
     }
 
     public FunctionalIterator<VertexMap> iterator(GraphTraversal.Type traversal) {
@@ -24,6 +24,7 @@ import com.vaticle.typedb.core.common.optimiser.OptimiserConstraint;
 import com.vaticle.typedb.core.common.optimiser.OptimiserVariable;
 import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.graph.TraversalVertex;
 
@@ -34,6 +35,8 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILL
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.traversal.planner.GraphPlanner.INIT_ZERO;
 import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.EQ;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.SubString.CONTAINS;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.SubString.LIKE;
 import static java.lang.Math.log;
 import static java.lang.Math.max;
 
@@ -202,6 +205,8 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
 
     public static class Thing extends PlannerVertex<Properties.Thing> {
 
+        private static final double NGRAM_INDEX_SELECTIVITY = 0.01;
+
         Thing(Identifier id) {
             this(id, null);
         }
@@ -223,6 +228,10 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
                 assert !props().types().isEmpty();
                 if (iterate(props().predicates()).anyMatch(p -> p.operator().equals(EQ))) {
                     cost = props().types().size();
+                } else if (iterate(props().predicates()).anyMatch(p -> p.operator().equals(CONTAINS) || p.operator().equals(LIKE)) &&
+                        iterate(props().types()).map(graphMgr.schema()::getType).allMatch(TypeVertex::isNGramIndexed)) {
+                    // the n-gram index only iterates the attributes that share the n-grams of a substring
+                    cost = max(props().types().size(), graphMgr.data().stats().thingVertexSum(props().types()) * NGRAM_INDEX_SELECTIVITY);
                 } else {
                     cost = graphMgr.data().stats().thingVertexSum(props().types());
                 }
@@ -22,11 +22,17 @@ import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.traversal.Traversal;
 import com.vaticle.typeql.lang.common.TypeQLToken;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 public abstract class Predicate<PRED_OP extends PredicateOperator, PRED_ARG extends PredicateArgument> {
 
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String REGEX_OPTIONAL_QUANTIFIERS = "?*{";
+
     final PRED_OP operator;
     final PRED_ARG argument;
     private final int hash;
@@ -57,6 +63,128 @@ public abstract class Predicate<PRED_OP extends PredicateOperator, PRED_ARG exte
         return regex.matcher(value).matches();
     }
 
+    /**
+     * @return the literal prefix that every string matching the regex must start with, if there is one
+     */
+    public static Optional<String> regexPrefix(Pattern regex) {
+        String pattern = regex.pattern();
+        if (pattern.indexOf('|') >= 0) return Optional.empty();
+        int start = pattern.startsWith("^") ? 1 : 0;
+        int end = start;
+        while (end < pattern.length() && REGEX_METACHARACTERS.indexOf(pattern.charAt(end)) < 0) end++;
+        // a quantifier may make the last literal character optional
+        if (end < pattern.length() && REGEX_OPTIONAL_QUANTIFIERS.indexOf(pattern.charAt(end)) >= 0) end--;
+        if (end <= start || Character.isHighSurrogate(pattern.charAt(end - 1))) return Optional.empty();
+        else return Optional.of(pattern.substring(start, end));
+    }
+
+    /**
+     * @return literal substrings that every string matching the regex must contain, skipping anything that is not
+     * matched literally, or none if the regex has alternations or inline flags that could make any substring optional
+     */
+    public static List<String> regexLiterals(Pattern regex) {
+        String pattern = regex.pattern();
+        List<String> literals = new ArrayList<>();
+        if ((regex.flags() & (Pattern.COMMENTS | Pattern.LITERAL)) != 0 || pattern.indexOf('|') >= 0 ||
+                pattern.contains("(?") || pattern.contains("\\Q")) {
+            return literals;
+        }
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (REGEX_METACHARACTERS.indexOf(c) < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            // a quantifier may make the last literal character optional
+            if (REGEX_OPTIONAL_QUANTIFIERS.indexOf(c) >= 0 && literal.length() > 0) {
+                int last = literal.length() - 1;
+                if (last > 0 && Character.isSurrogatePair(literal.charAt(last - 1), literal.charAt(last))) last--;
+                literal.setLength(last);
+            }
+            if (c == '\\' && i + 1 < pattern.length() && !Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                // an escaped character that is not alphanumeric always matches itself
+                literal.append(pattern.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+            if (literal.length() > 0) literals.add(literal.toString());
+            literal.setLength(0);
+            if (c == '\\') i = skipRegexEscape(pattern, i);
+            else if (c == '[') i = skipRegexClass(pattern, i);
+            else if (c == '(') i = skipRegexGroup(pattern, i);
+            else if (c == '{') i = Math.max(pattern.indexOf('}', i), i) + 1;
+            else i++;
+        }
+        if (literal.length() > 0) literals.add(literal.toString());
+        return literals;
+    }
+
+    /**
+     * @return the index after the escape sequence starting at the given backslash, which may span more than the
+     * escaped character, as in the hexadecimal, unicode, octal and control character escapes
+     */
+    private static int skipRegexEscape(String pattern, int backslash) {
+        int i = backslash + 1;
+        if (i >= pattern.length()) return i;
+        char c = pattern.charAt(i++);
+        switch (c) {
+            case 'x':
+                if (i < pattern.length() && pattern.charAt(i) == '{') return Math.max(pattern.indexOf('}', i), i) + 1;
+                else return Math.min(i + 2, pattern.length());
+            case 'u':
+                return Math.min(i + 4, pattern.length());
+            case '0':
+                int end = Math.min(i + 3, pattern.length());
+                while (i < end && pattern.charAt(i) >= '0' && pattern.charAt(i) <= '7') i++;
+                return i;
+            case 'c':
+                return Math.min(i + 1, pattern.length());
+            case 'p':
+            case 'P':
+            case 'N':
+                if (i < pattern.length() && pattern.charAt(i) == '{') return Math.max(pattern.indexOf('}', i), i) + 1;
+                else return Math.min(i + 1, pattern.length());
+            case 'k':
+                return Math.max(pattern.indexOf('>', i), i) + 1;
+            default:
+                // back references may have more than one digit
+                if (c >= '1' && c <= '9') while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) i++;
+                return i;
+        }
+    }
+
+    private static int skipRegexClass(String pattern, int open) {
+        int i = open + 1;
+        if (i < pattern.length() && pattern.charAt(i) == '^') i++;
+        if (i < pattern.length() && pattern.charAt(i) == ']') i++;
+        int depth = 1;
+        while (i < pattern.length() && depth > 0) {
+            char c = pattern.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '[') depth++;
+            else if (c == ']') depth--;
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipRegexGroup(String pattern, int open) {
+        int i = open + 1;
+        int depth = 1;
+        while (i < pattern.length() && depth > 0) {
+            char c = pattern.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '[') i = skipRegexClass(pattern, i) - 1;
+            else if (c == '(') depth++;
+            else if (c == ')') depth--;
+            i++;
+        }
+        return i;
+    }
+
     public PRED_OP operator() {
         return operator;
     }
@@ -19,12 +19,15 @@
 package com.vaticle.typedb.core.traversal.procedure;
 
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Order;
 import com.vaticle.typedb.core.concurrent.producer.FunctionalProducer;
 import com.vaticle.typedb.core.encoding.Encoding;
 import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.vertex.Vertex;
 import com.vaticle.typedb.core.traversal.Traversal;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
@@ -45,13 +48,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 
+import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.parameters.Order.Asc.ASC;
@@ -115,7 +125,7 @@ public class GraphProcedure implements PermutationProcedure {
 
     @Override
     public FunctionalProducer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params,
-                                                  Modifiers modifiers, int parallelisation) {
+                                                  Modifiers modifiers, int parallelisation, QueryProfile profile) {
         if (LOG.isTraceEnabled()) {
             LOG.trace(params.toString());
             LOG.trace(this.toString());
@@ -125,10 +135,10 @@ public class GraphProcedure implements PermutationProcedure {
         if (initialVertex().id().isRetrievable() && modifiers.filter().variables().contains(initialVertex().id().asVariable().asRetrievable())) {
             return async(initialVertex().iterator(graphMgr, params, order.orElse(ASC), sortByValue)
                     // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
-                    .map(v -> new GraphIterator(graphMgr, v, this, params, modifiers).distinct()), parallelisation);
+                    .map(v -> new GraphIterator(graphMgr, v, this, params, modifiers, profile).distinct()), parallelisation);
         } else {
             return async(initialVertex().iterator(graphMgr, params, order.orElse(ASC), sortByValue)
-                    .map(v -> new GraphIterator(graphMgr, v, this, params, modifiers)), parallelisation)
+                    .map(v -> new GraphIterator(graphMgr, v, this, params, modifiers, profile)), parallelisation)
                     // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
                     .distinct();
         }
@@ -136,7 +146,7 @@ public class GraphProcedure implements PermutationProcedure {
 
     @Override
     public FunctionalIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
-                                                  Modifiers modifiers) {
+                                                  Modifiers modifiers, QueryProfile profile) {
         if (LOG.isTraceEnabled()) {
             LOG.trace(params.toString());
             LOG.trace(this.toString());
@@ -146,16 +156,43 @@ public class GraphProcedure implements PermutationProcedure {
         if (initialVertex().id().isRetrievable() && modifiers.filter().variables().contains(initialVertex().id().asVariable().asRetrievable())) {
             return initialVertex().iterator(graphMgr, params, order.orElse(ASC), sortByValue)
                     // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
-                    .flatMap(v -> new GraphIterator(graphMgr, v, this, params, modifiers).distinct());
+                    .flatMap(v -> new GraphIterator(graphMgr, v, this, params, modifiers, profile).distinct());
         } else {
             // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
             return initialVertex().iterator(graphMgr, params, order.orElse(ASC), sortByValue)
-                    .flatMap(v -> new GraphIterator(graphMgr, v, this, params, modifiers))
+                    .flatMap(v -> new GraphIterator(graphMgr, v, this, params, modifiers, profile))
                     // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
                     .distinct();
         }
     }
 
+    /**
+     * Split the iterator into partitions that may be consumed concurrently. The start vertices are scanned once, and
+     * each partition takes the next block of consecutive start vertices from the scan whenever it needs more, so that
+     * each partition preserves the order of the start vertices and the partitions can be merged back into that order.
+     */
+    @Override
+    public List<FunctionalIterator<VertexMap>> iterators(GraphManager graphMgr, Traversal.Parameters params,
+                                                         Modifiers modifiers, int partitions, QueryProfile profile) {
+        if (partitions <= 1 || !initialVertex().id().isRetrievable() ||
+                !modifiers.filter().variables().contains(initialVertex().id().asVariable().asRetrievable())) {
+            // answers would only be distinct within a partition
+            return list(iterator(graphMgr, params, modifiers, profile));
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace(params.toString());
+            LOG.trace(this.toString());
+        }
+        Optional<Order> order = modifiers.sorting().order(initialVertex().id());
+        boolean sortByValue = order.isPresent();
+        BlockScanner scanner = new BlockScanner(initialVertex().iterator(graphMgr, params, order.orElse(ASC), sortByValue), partitions);
+        List<FunctionalIterator<VertexMap>> iterators = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            iterators.add(scanner.partition().flatMap(v -> new GraphIterator(graphMgr, v, this, params, modifiers, profile).distinct()));
+        }
+        return iterators;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -184,6 +221,69 @@ public class GraphProcedure implements PermutationProcedure {
         return str.toString();
     }
 
+    @ThreadSafe
+    private static class BlockScanner {
+
+        private static final int BLOCK_SIZE = 16;
+
+        private final FunctionalIterator<? extends Vertex<?, ?>> scan;
+        private int openPartitions;
+
+        private BlockScanner(FunctionalIterator<? extends Vertex<?, ?>> scan, int partitions) {
+            this.scan = scan;
+            this.openPartitions = partitions;
+        }
+
+        private FunctionalIterator<Vertex<?, ?>> partition() {
+            return new Partition();
+        }
+
+        private synchronized List<Vertex<?, ?>> nextBlock() {
+            List<Vertex<?, ?>> block = new ArrayList<>(BLOCK_SIZE);
+            while (block.size() < BLOCK_SIZE && scan.hasNext()) block.add(scan.next());
+            return block;
+        }
+
+        private synchronized void closed() {
+            if (--openPartitions == 0) scan.recycle();
+        }
+
+        @NotThreadSafe
+        private class Partition extends AbstractFunctionalIterator<Vertex<?, ?>> {
+
+            private Iterator<Vertex<?, ?>> block;
+            private boolean isClosed;
+
+            private Partition() {
+                block = Collections.emptyIterator();
+                isClosed = false;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (block.hasNext()) return true;
+                else if (isClosed) return false;
+                block = nextBlock().iterator();
+                if (block.hasNext()) return true;
+                recycle();
+                return false;
+            }
+
+            @Override
+            public Vertex<?, ?> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return block.next();
+            }
+
+            @Override
+            public void recycle() {
+                if (isClosed) return;
+                isClosed = true;
+                closed();
+            }
+        }
+    }
+
     public static class Builder {
 
         private final Map<Identifier, ProcedureVertex<?, ?>> vertices;
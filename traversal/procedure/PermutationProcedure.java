@@ -19,17 +19,23 @@
 package com.vaticle.typedb.core.traversal.procedure;
 
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.concurrent.producer.FunctionalProducer;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.traversal.Traversal;
 import com.vaticle.typedb.core.traversal.common.Modifiers;
 import com.vaticle.typedb.core.traversal.common.VertexMap;
 
+import java.util.List;
+
 public interface PermutationProcedure {
 
     FunctionalProducer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params,
-                                           Modifiers modifiers, int parallelisation);
+                                           Modifiers modifiers, int parallelisation, QueryProfile profile);
 
     FunctionalIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
-                                           Modifiers modifiers);
+                                           Modifiers modifiers, QueryProfile profile);
+
+    List<FunctionalIterator<VertexMap>> iterators(GraphManager graphMgr, Traversal.Parameters params,
+                                                  Modifiers modifiers, int partitions, QueryProfile profile);
 }
@@ -26,6 +26,7 @@ import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.parameters.Order;
 import com.vaticle.typedb.core.encoding.Encoding;
+import com.vaticle.typedb.core.encoding.iid.IndexIID;
 import com.vaticle.typedb.core.encoding.iid.VertexIID;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
@@ -60,7 +61,6 @@ import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Expression.EVALUATION_ERROR;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
-import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNSUPPORTED_OPERATION;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.emptySorted;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
@@ -79,6 +79,8 @@ import static com.vaticle.typedb.core.encoding.Encoding.Vertex.Type.ROLE_TYPE;
 import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.EQ;
 import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.GTE;
 import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.LTE;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.SubString.CONTAINS;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.SubString.LIKE;
 
 public abstract class ProcedureVertex<
         VERTEX extends Vertex<?, ?>,
@@ -233,7 +235,7 @@ public abstract class ProcedureVertex<
             } else {
                 if (id().isVariable()) types = types.filter(t -> !t.encoding().equals(ROLE_TYPE));
                 List<Pair<TypeVertex, Forwardable<ThingVertex, ORDER>>> itersByType = types.map(t ->
-                        new Pair<>(t, graphMgr.data().getReadable(t, order))
+                        new Pair<>(t, iterateInstances(graphMgr, parameters, t, order))
                 ).toList();
                 return mergeAndFilterPredicatesOnVertices(
                         graphMgr, itersByType, parameters, order, forceValueSort
@@ -241,6 +243,41 @@ public abstract class ProcedureVertex<
             }
         }
 
+        /**
+         * Iterate the instances of a type, or only the candidates that can contain the longest literal substring
+         * that a string attribute must contain, looked up in the n-gram index of the type if it has one.
+         */
+        private <ORDER extends Order> Forwardable<ThingVertex, ORDER> iterateInstances(
+                GraphManager graphMgr, Traversal.Parameters params, TypeVertex type, ORDER order
+        ) {
+            if (type.isAttributeType() && type.valueType() == STRING && type.isNGramIndexed()) {
+                Optional<String> substring = containedLiteral(params);
+                if (substring.isPresent()) return graphMgr.data().getReadableContaining(type, substring.get(), order);
+            }
+            return graphMgr.data().getReadable(type, order);
+        }
+
+        private Optional<String> containedLiteral(Traversal.Parameters params) {
+            if (!id().isVariable()) return Optional.empty();
+            Optional<String> longest = Optional.empty();
+            for (Predicate.Value<?, ?> predicate : props().predicates()) {
+                if (!predicate.operator().equals(CONTAINS) && !predicate.operator().equals(LIKE)) continue;
+                for (Traversal.Parameters.Value<?> value : params.getValues(id().asVariable(), predicate)) {
+                    List<String> literals;
+                    if (value.isRegex()) literals = Predicate.regexLiterals(value.asRegex().pattern());
+                    else if (value.isString()) literals = list(value.asString().value());
+                    else continue;
+                    for (String literal : literals) {
+                        if (literal.length() >= IndexIID.NGram.GRAM_CHARS &&
+                                (longest.isEmpty() || literal.length() > longest.get().length())) {
+                            longest = Optional.of(literal);
+                        }
+                    }
+                }
+            }
+            return longest;
+        }
+
         <ORDER extends Order> Forwardable<? extends ThingVertex, ORDER> iterateAndFilter(
                 ThingVertex vertex, Traversal.Parameters params, ORDER order
         ) {
@@ -269,13 +306,7 @@ public abstract class ProcedureVertex<
                 List<? extends ThingVertex> vertices, Traversal.Parameters params, ORDER order, boolean forceValueSort
         ) {
             if (props().predicates().isEmpty() && !forceValueSort) return iterateSorted(vertices, order);
-            else {
-                if (iterate(vertices).anyMatch(v -> v.isAttribute() && v.asAttribute().valueType().equals(STRING))) {
-                    return iterateSorted(filterPredicatesAndMapVertices(vertices, params, ThingVertex::asAttribute), order);
-                } else {
-                    return iterateSorted(filterPredicatesAndMapVertices(vertices, params, v -> v.asAttribute().toValueSortable()), order);
-                }
-            }
+            else return iterateSorted(filterPredicatesAndMapVertices(vertices, params, v -> v.asAttribute().toValueSortable()), order);
         }
 
         private TreeSet<ThingVertex> filterPredicatesAndMapVertices(
@@ -293,13 +324,7 @@ public abstract class ProcedureVertex<
                 List<KeyValue<ThingVertex, ThingVertex>> edges, Traversal.Parameters params, ORDER order
         ) {
             if (props().predicates().isEmpty()) return iterateSorted(edges, order);
-            else {
-                if (iterate(edges).anyMatch(kv -> kv.key().isAttribute() && kv.key().asAttribute().type().valueType().equals(STRING))) {
-                    return iterateSorted(filterPredicatesAndMapEdges(edges, params, ThingVertex::asAttribute), order);
-                } else {
-                    return iterateSorted(filterPredicatesAndMapEdges(edges, params, v -> v.asAttribute().toValueSortable()), order);
-                }
-            }
+            else return iterateSorted(filterPredicatesAndMapEdges(edges, params, v -> v.asAttribute().toValueSortable()), order);
         }
 
         private TreeSet<KeyValue<ThingVertex, ThingVertex>> filterPredicatesAndMapEdges(
@@ -328,10 +353,7 @@ public abstract class ProcedureVertex<
         ) {
             if (forceValueSort) {
                 FunctionalIterator<Forwardable<ThingVertex, ORDER>> mapped = iterate(vertexIters).map(pair -> {
-                    if (pair.first().isAttributeType() && pair.first().asType().valueType().equals(STRING)) {
-                        // TODO: once strings are sortable by value, we can optimise the predicates
-                        return pair.second().filter(v -> checkPredicates(v, params, set()));
-                    } else if (pair.first().isAttributeType()) {
+                    if (pair.first().isAttributeType()) {
                         return applyPredicatesOnVertices(graphMgr, params, pair.first(), pair.second())
                                 .mapSorted(
                                         a -> a.asAttribute().toValueSortable(),
@@ -347,10 +369,7 @@ public abstract class ProcedureVertex<
                 return merge(mapped, order);
             } else {
                 return merge(iterate(vertexIters).map(pair -> {
-                    if (pair.first().isAttributeType() && pair.first().asType().valueType().equals(STRING)) {
-                        // TODO: once strings are sortable by value, we can optimise the predicates
-                        return pair.second().filter(v -> checkPredicates(v, params, set()));
-                    } else if (pair.first().isAttributeType()) {
+                    if (pair.first().isAttributeType()) {
                         return applyPredicatesOnVertices(graphMgr, params, pair.first(), pair.second());
                     } else return pair.second();
                 }), order);
@@ -362,13 +381,7 @@ public abstract class ProcedureVertex<
                 Traversal.Parameters params, ORDER order
         ) {
             if (props().predicates().isEmpty()) return merge(iterate(edgeIters).map(Pair::second), order);
-            else if (iterate(edgeIters).anyMatch(pair -> pair.first().isAttributeType() && pair.first().asType().valueType().equals(STRING))) {
-                // TODO: once strings are sortable by value, we can optimise the predicates
-                return merge(
-                        iterate(edgeIters).map(pair -> pair.second().filter(a -> checkPredicates(a.key(), params, set()))),
-                        order
-                );
-            } else {
+            else {
                 return merge(
                         iterate(edgeIters).map(pair -> applyPredicatesOnEdges(graphMgr, params, pair.first(), pair.second())),
                         order
@@ -384,15 +397,16 @@ public abstract class ProcedureVertex<
             if (props().predicates().isEmpty()) return vertexIterator;
 
             if (vertexIterator.order().isAscending()) {
-                Optional<Pair<Predicate.Value<?, ?>, Traversal.Parameters.Value<?>>> largest = params.largestGTValue(id().asVariable());
-                if (largest.isPresent()) {
-                    ThingVertex target = attributeVertexTarget(graphMgr, type, largest.get().second(), true);
-                    vertexIterator.forward(target);
-                }
+                Optional<ThingVertex> lowerBound = lowerBoundTarget(graphMgr, params, type);
+                lowerBound.ifPresent(vertexIterator::forward);
                 Optional<Pair<Predicate.Value<?, ?>, Traversal.Parameters.Value<?>>> smallest = params.smallestLTValue(id().asVariable());
                 if (smallest.isPresent()) {
                     vertexIterator = vertexIterator.takeWhile(v -> smallest.get().first().apply(v.asAttribute(), smallest.get().second()));
                 }
+                Optional<String> prefix = likePrefix(params, type);
+                if (prefix.isPresent()) {
+                    vertexIterator = vertexIterator.takeWhile(v -> v.asAttribute().asString().value().startsWith(prefix.get()));
+                }
             } else {
                 Optional<Pair<Predicate.Value<?, ?>, Traversal.Parameters.Value<?>>> smallest = params.smallestLTValue(id().asVariable());
                 if (smallest.isPresent()) {
@@ -414,15 +428,16 @@ public abstract class ProcedureVertex<
             assert toType.isAttributeType() && toType.asType().valueType().isSorted() && id().isVariable();
 
             if (edgeIterator.order().isAscending()) {
-                Optional<Pair<Predicate.Value<?, ?>, Traversal.Parameters.Value<?>>> largest = params.largestGTValue(id().asVariable());
-                if (largest.isPresent()) {
-                    ThingVertex target = attributeVertexTarget(graphMgr, toType, largest.get().second(), true);
-                    edgeIterator.forward(KeyValue.of(target, null));
-                }
+                Optional<ThingVertex> lowerBound = lowerBoundTarget(graphMgr, params, toType);
+                if (lowerBound.isPresent()) edgeIterator.forward(KeyValue.of(lowerBound.get(), null));
                 Optional<Pair<Predicate.Value<?, ?>, Traversal.Parameters.Value<?>>> smallest = params.smallestLTValue(id().asVariable());
                 if (smallest.isPresent()) {
                     edgeIterator = edgeIterator.takeWhile(kv -> smallest.get().first().apply(kv.key().asAttribute(), smallest.get().second()));
                 }
+                Optional<String> prefix = likePrefix(params, toType);
+                if (prefix.isPresent()) {
+                    edgeIterator = edgeIterator.takeWhile(kv -> kv.key().asAttribute().asString().value().startsWith(prefix.get()));
+                }
             } else {
                 Optional<Pair<Predicate.Value<?, ?>, Traversal.Parameters.Value<?>>> smallest = params.smallestLTValue(id().asVariable());
                 if (smallest.isPresent()) {
@@ -437,6 +452,33 @@ public abstract class ProcedureVertex<
             return edgeIterator.filter(kv -> checkPredicates(kv.key(), params, optimisablePredicates));
         }
 
+        /**
+         * The first attribute an ascending iterator can seek to: the largest lower bound of the attribute's values,
+         * or the prefix that the values of a string attribute must start with if that is greater.
+         */
+        private Optional<ThingVertex> lowerBoundTarget(GraphManager graphMgr, Traversal.Parameters params, TypeVertex type) {
+            Optional<Pair<Predicate.Value<?, ?>, Traversal.Parameters.Value<?>>> largest = params.largestGTValue(id().asVariable());
+            Optional<String> prefix = likePrefix(params, type);
+            if (prefix.isPresent() && (largest.isEmpty() || STRING.comparator().compare(prefix.get(), largest.get().second().asString().value()) > 0)) {
+                return Optional.of(attributeVertexTarget(graphMgr, type, STRING, prefix.get(), true));
+            } else return largest.map(value -> attributeVertexTarget(graphMgr, type, value.second(), true));
+        }
+
+        private Optional<String> likePrefix(Traversal.Parameters params, TypeVertex type) {
+            if (!type.valueType().equals(STRING)) return Optional.empty();
+            Optional<String> longest = Optional.empty();
+            for (Predicate.Value<?, ?> predicate : props().predicates()) {
+                if (!predicate.operator().equals(LIKE)) continue;
+                for (Traversal.Parameters.Value<?> value : params.getValues(id().asVariable(), predicate)) {
+                    Optional<String> prefix = Predicate.regexPrefix(value.asRegex().pattern());
+                    if (prefix.isPresent() && (longest.isEmpty() || prefix.get().length() > longest.get().length())) {
+                        longest = prefix;
+                    }
+                }
+            }
+            return longest;
+        }
+
         private boolean checkPredicates(
                 ThingVertex vertex, Traversal.Parameters params, Set<PredicateOperator> excludeOperators
         ) {
@@ -537,7 +579,15 @@ public abstract class ProcedureVertex<
                     throw TypeDBException.of(e);
                 }
                 return ThingVertexImpl.Target.of(graphMgr.data(), iid);
-            } else if (type.valueType().equals(STRING)) throw TypeDBException.of(UNSUPPORTED_OPERATION);
+            } else if (type.valueType().equals(STRING)) {
+                VertexIID.Attribute.String iid;
+                try {
+                    iid = new VertexIID.Thing.Attribute.String(type.iid(), convertToString(sourceEncoding, sourceValue));
+                } catch (TypeDBCheckedException e) {
+                    throw TypeDBException.of(e);
+                }
+                return ThingVertexImpl.Target.of(graphMgr.data(), iid);
+            }
             else throw TypeDBException.of(ILLEGAL_STATE);
         }
 
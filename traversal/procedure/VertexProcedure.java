@@ -20,6 +20,7 @@ package com.vaticle.typedb.core.traversal.procedure;
 
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.common.parameters.Order;
 import com.vaticle.typedb.core.concurrent.producer.FunctionalProducer;
 import com.vaticle.typedb.core.graph.GraphManager;
@@ -36,6 +37,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.common.collection.Collections.map;
 import static com.vaticle.typedb.common.collection.Collections.pair;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
@@ -73,15 +75,15 @@ public class VertexProcedure implements PermutationProcedure {
 
     @Override
     public FunctionalProducer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params,
-                                                  Modifiers modifiers, int parallelisation) {
+                                                  Modifiers modifiers, int parallelisation, QueryProfile profile) {
         LOG.trace(params.toString());
         LOG.trace(this.toString());
-        return async(iterator(graphMgr, params, modifiers));
+        return async(iterator(graphMgr, params, modifiers, profile));
     }
 
     @Override
     public FunctionalIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
-                                                  Modifiers modifiers) {
+                                                  Modifiers modifiers, QueryProfile profile) {
         LOG.trace(params.toString());
         LOG.trace(this.toString());
         assert vertex.id().isRetrievable() && modifiers.filter().variables().contains(vertex.id().asVariable().asRetrievable());
@@ -100,6 +102,12 @@ public class VertexProcedure implements PermutationProcedure {
         });
     }
 
+    @Override
+    public List<FunctionalIterator<VertexMap>> iterators(GraphManager graphMgr, Traversal.Parameters params,
+                                                         Modifiers modifiers, int partitions, QueryProfile profile) {
+        return list(iterator(graphMgr, params, modifiers, profile));
+    }
+
     @Override
     public String toString() {
         StringBuilder str = new StringBuilder();
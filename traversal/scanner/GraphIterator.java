@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.AbstractFunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.parameters.Order;
+import com.vaticle.typedb.core.common.perfcounter.QueryProfile;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.Value;
@@ -68,6 +69,7 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
     private final GraphProcedure procedure;
     private final Traversal.Parameters params;
     private final Modifiers modifiers;
+    private final QueryProfile.Procedure profile;
     private final Map<Identifier.Variable, Scope> scopes;
     private final Map<ProcedureVertex<?, ?>, VertexTraverser> vertexTraversers;
     private final Vertex<?, ?> initial;
@@ -81,18 +83,30 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
     private enum IteratorState {INIT, EMPTY, FETCHED, COMPLETED}
 
     public GraphIterator(GraphManager graphMgr, Vertex<?, ?> initial, GraphProcedure procedure,
-                         Traversal.Parameters params, Modifiers modifiers) {
+                         Traversal.Parameters params, Modifiers modifiers, QueryProfile profile) {
         this.graphMgr = graphMgr;
         this.procedure = procedure;
         this.params = params;
         this.initial = initial;
         this.modifiers = modifiers;
+        this.profile = profile.isEnabled() ? profile.procedure(procedure, this::registerOperators) : null;
         this.toTraverse = new TreeSet<>(Comparator.comparing(ProcedureVertex::order));
         this.toRevisit = new TreeSet<>(Comparator.comparing(ProcedureVertex::order));
         this.scopes = new HashMap<>();
         this.vertexTraversers = new HashMap<>();
         setup();
         this.iteratorState = IteratorState.INIT;
+        if (this.profile != null) this.profile.iteratorCreated();
+    }
+
+    /**
+     * Each vertex of the procedure is profiled as an operator, followed by the edges it is retrieved through.
+     */
+    private void registerOperators(QueryProfile.Procedure procedureProfile) {
+        for (ProcedureVertex<?, ?> v : procedure.vertices()) {
+            procedureProfile.register(v, v.toString(), true);
+            for (ProcedureEdge<?, ?> edge : v.ins()) procedureProfile.register(edge, "    " + edge, false);
+        }
     }
 
     private void setup() {
@@ -145,6 +159,7 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
     public VertexMap next() {
         if (!hasNext()) throw new NoSuchElementException();
         iteratorState = IteratorState.EMPTY;
+        if (profile != null) profile.answerFound();
         return toVertexMap();
     }
 
@@ -284,6 +299,7 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
 
         private final ProcedureVertex<?, ?> procedureVertex;
         private final Scope localScope;
+        private final QueryProfile.Operator operatorProfile;
         private final Set<ProcedureVertex<?, ?>> implicitDependees;
         private ProcedureVertex<?, ?> lastDependee;
         private final Order order;
@@ -295,6 +311,7 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         private VertexTraverser(ProcedureVertex<?, ?> procedureVertex) {
             this.procedureVertex = procedureVertex;
             this.localScope = procedureVertex.id().isScoped() ? scopes.get(procedureVertex.id().asScoped().scope()) : null;
+            this.operatorProfile = profile != null ? profile.operator(procedureVertex) : null;
             this.implicitDependees = new HashSet<>();
             this.anyAnswerFound = false;
             this.lastDependee = procedureVertex.ins().stream().map(ProcedureEdge::from).max(Comparator.comparing(ProcedureVertex::order)).orElse(null);
@@ -314,9 +331,20 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         }
 
         private boolean findNextVertex() {
+            if (operatorProfile == null) return findNextVertexUnprofiled();
+            long start = System.nanoTime();
+            try {
+                return findNextVertexUnprofiled();
+            } finally {
+                operatorProfile.time(System.nanoTime() - start);
+            }
+        }
+
+        private boolean findNextVertexUnprofiled() {
             Forwardable<Vertex<?, ?>, ? extends Order> iterator = getIterator();
             while (iterator.hasNext()) {
                 vertex = getIterator().next();
+                if (operatorProfile != null) operatorProfile.iterated(vertex.iid().bytes().length());
                 if (verifyLoops()) {
                     anyAnswerFound = true;
                     return true;
@@ -381,6 +409,7 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
                 if (procedureVertex.equals(procedure.initialVertex())) iterator = createIteratorFromInitial();
                 else if (procedureVertex.isStartVertex()) iterator = createIteratorFromStart();
                 else iterator = createIteratorFromEdges();
+                if (operatorProfile != null) operatorProfile.seek();
                 // TODO: we may only need to find one valid answer if all dependents are not included in the filter and also find an answer
             }
             return iterator;
@@ -419,6 +448,21 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         }
 
         private Forwardable<Vertex<?, ?>, Order.Asc> branch(Vertex<?, ?> fromVertex, ProcedureEdge<?, ?> edge) {
+            Forwardable<Vertex<?, ?>, Order.Asc> iterator = openBranch(fromVertex, edge);
+            if (profile == null) return iterator;
+            QueryProfile.Operator edgeProfile = profile.operator(edge);
+            edgeProfile.seek();
+            return iterator.mapSorted(
+                    v -> {
+                        edgeProfile.iterated(v.iid().bytes().length());
+                        return v;
+                    },
+                    v -> v,
+                    ASC
+            );
+        }
+
+        private Forwardable<Vertex<?, ?>, Order.Asc> openBranch(Vertex<?, ?> fromVertex, ProcedureEdge<?, ?> edge) {
             if (procedureVertex.id().isScoped()) {
                 return applyLocalScope((Forwardable<Vertex<?, ?>, Order.Asc>) edge.branch(graphMgr, fromVertex, params));
             } else if (edge.isRolePlayer()) {